@@ -6,6 +6,7 @@ import com.databricks.jdbc.api.impl.DatabricksConnection;
 import com.databricks.jdbc.api.impl.DatabricksConnectionContextFactory;
 import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
 import com.databricks.jdbc.common.DatabricksClientType;
+import com.databricks.jdbc.common.safe.DatabricksDriverFeatureFlagsContextFactory;
 import com.databricks.jdbc.common.util.*;
 import com.databricks.jdbc.dbclient.IDatabricksClient;
 import com.databricks.jdbc.dbclient.impl.common.SessionId;
@@ -22,6 +23,11 @@ import java.sql.SQLException;
 import java.util.List;
 import java.util.Properties;
 import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
 /** Databricks JDBC driver. */
@@ -29,6 +35,20 @@ public class Driver implements IDatabricksDriver, java.sql.Driver {
   private static final JdbcLogger LOGGER = JdbcLoggerFactory.getLogger(Driver.class);
   private static final Driver INSTANCE;
 
+  private static final ExecutorService DEFERRED_STARTUP_EXECUTOR =
+      Executors.newSingleThreadExecutor(
+          new ThreadFactory() {
+            private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+            @Override
+            public Thread newThread(Runnable r) {
+              Thread thread =
+                  new Thread(r, "Databricks-Deferred-Startup-" + threadNumber.getAndIncrement());
+              thread.setDaemon(true);
+              return thread;
+            }
+          });
+
   static {
     try {
       DriverManager.registerDriver(INSTANCE = new Driver());
@@ -54,20 +74,30 @@ public class Driver implements IDatabricksDriver, java.sql.Driver {
       // Return null connection if URL is not accepted - as per JDBC standard.
       return null;
     }
+    // Only work needed to run the first query is done here, the rest is deferred
+    StartupTimings startupTimings = new StartupTimings();
+    long phaseStart = System.nanoTime();
     IDatabricksConnectionContext connectionContext =
         DatabricksConnectionContextFactory.create(url, info);
+    phaseStart = startupTimings.record(StartupTimings.PARSE_CONNECTION_CONTEXT, phaseStart);
     DriverUtil.setUpLogging(connectionContext);
+    phaseStart = startupTimings.record(StartupTimings.SET_UP_LOGGING, phaseStart);
     UserAgentManager.setUserAgent(connectionContext);
-    LOGGER.info(getDriverSystemConfiguration().toString());
-    DatabricksConnection connection = new DatabricksConnection(connectionContext);
+    phaseStart = startupTimings.record(StartupTimings.SET_USER_AGENT, phaseStart);
+    DatabricksConnection connection = new DatabricksConnection(connectionContext, startupTimings);
+    phaseStart = startupTimings.record(StartupTimings.CREATE_CLIENT, phaseStart);
     boolean isConnectionOpen = false;
     try {
       connection.open();
       isConnectionOpen = true;
-      DriverUtil.resolveMetadataClient(connection);
+      startupTimings.record(StartupTimings.OPEN_SESSION, phaseStart);
+      runDeferredStartupTasks(connection, connectionContext, startupTimings);
       return connection;
     } catch (Exception e) {
       if (!isConnectionOpen) {
+        // The deferred startup work only runs for opened connections, log the configuration here
+        // so that it is available to diagnose the failure
+        LOGGER.info(getDriverSystemConfiguration().toString());
         connection.close();
       }
       String errorMessage =
@@ -113,6 +143,47 @@ public class Driver implements IDatabricksDriver, java.sql.Driver {
     return INSTANCE;
   }
 
+  /**
+   * Runs the startup work that the first query does not depend on in the background: logging the
+   * driver system configuration and fetching the feature flags that decide whether telemetry is
+   * sent. Connections that fail to open log the system configuration synchronously instead.
+   */
+  private static void runDeferredStartupTasks(
+      DatabricksConnection connection,
+      IDatabricksConnectionContext connectionContext,
+      StartupTimings startupTimings) {
+    try {
+      DEFERRED_STARTUP_EXECUTOR.execute(
+          () -> {
+            DatabricksThreadContextHolder.setConnectionContext(connectionContext);
+            try {
+              long phaseStart = System.nanoTime();
+              LOGGER.info(getDriverSystemConfiguration().toString());
+              phaseStart =
+                  startupTimings.record(StartupTimings.LOG_SYSTEM_CONFIGURATION, phaseStart);
+              if (connectionContext.isTelemetryEnabled() && !connection.isClosed()) {
+                DatabricksDriverFeatureFlagsContextFactory.getInstance(connectionContext)
+                    .prefetch();
+                if (connection.isClosed()) {
+                  // The connection was closed while fetching and has already removed the flags,
+                  // do not keep the context that was created for it
+                  DatabricksDriverFeatureFlagsContextFactory.removeInstance(connectionContext);
+                } else {
+                  startupTimings.record(StartupTimings.FETCH_FEATURE_FLAGS, phaseStart);
+                }
+              }
+              LOGGER.debug("Connection startup timings: {}", startupTimings);
+            } catch (Exception e) {
+              LOGGER.debug("Deferred connection startup work failed: {}", e.getMessage());
+            } finally {
+              DatabricksThreadContextHolder.clearAllContext();
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      LOGGER.debug("Skipping deferred connection startup work: {}", e.getMessage());
+    }
+  }
+
   @Override
   public void closeConnection(String url, Properties info, String connectionId)
       throws SQLException {
@@ -1,8 +1,14 @@
 package com.databricks.jdbc.api;
 
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Statement;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Extends the standard JDBC {@link Connection} interface to provide Databricks-specific
@@ -29,4 +35,30 @@ public interface IDatabricksConnection extends Connection {
    *     connection
    */
   String getConnectionId() throws SQLException;
+
+  /**
+   * Executes the given query on a new statement without blocking the calling thread. The statement
+   * is closed when the returned result set is closed, or when the execution fails.
+   *
+   * @param sql The SQL query to be executed
+   * @return A {@link CompletableFuture} completed with the {@link ResultSet} of the query
+   * @throws SQLException if this method is called on a closed connection
+   * @throws SQLFeatureNotSupportedException if the implementation does not support asynchronous
+   *     queries
+   * @see IDatabricksStatement#executeQueryAsync(String)
+   */
+  default CompletableFuture<ResultSet> executeQueryAsync(String sql) throws SQLException {
+    throw new SQLFeatureNotSupportedException("executeQueryAsync is not supported");
+  }
+
+  /**
+   * Returns the time spent in each phase of opening this connection, in the order the phases
+   * completed. Work deferred until after the connection was returned, such as fetching feature
+   * flags, is included once it has finished.
+   *
+   * @return phase names mapped to their durations, empty if the connection does not record them
+   */
+  default Map<String, Duration> getStartupTimings() {
+    return Collections.emptyMap();
+  }
 }
@@ -2,7 +2,9 @@ package com.databricks.jdbc.api;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Extends the standard JDBC {@link Statement} interface to provide Databricks-specific
@@ -35,4 +37,36 @@ public interface IDatabricksStatement extends Statement {
    *     access error occurs
    */
   ResultSet getExecutionResult() throws SQLException;
+
+  /**
+   * Executes the given query without blocking the calling thread. The statement is submitted and
+   * its status is polled on a small driver-wide scheduler shared by all in-flight executions, so
+   * many concurrent queries do not each hold a thread. Cancelling the returned future cancels the
+   * statement on the server.
+   *
+   * @param sql The SQL query to be executed
+   * @return A {@link CompletableFuture} completed with the {@link ResultSet} once the query has
+   *     succeeded, or completed exceptionally with a {@link SQLException} if it failed, timed out
+   *     or was cancelled
+   * @throws SQLException if this method is called on a closed statement
+   * @throws SQLFeatureNotSupportedException if the implementation does not support asynchronous
+   *     queries
+   */
+  default CompletableFuture<ResultSet> executeQueryAsync(String sql) throws SQLException {
+    throw new SQLFeatureNotSupportedException("executeQueryAsync is not supported");
+  }
+
+  /**
+   * Marks whether the commands added with {@link #addBatch(String)} are independent of each other.
+   * Order-independent batches are executed concurrently, each command as a separate server
+   * operation within the session, with up to {@code BatchExecutionParallelism} commands in flight.
+   * Update counts are reported in batch order, but commands may complete in any order, and all
+   * commands are executed even if some of them fail. Every failure is reported through the
+   * resulting {@link java.sql.BatchUpdateException}. This is a hint, implementations that do not
+   * support concurrent batches ignore it and execute the commands in order.
+   *
+   * @param orderIndependent {@code true} if the batch may be executed concurrently
+   * @throws SQLException if this method is called on a closed statement
+   */
+  default void setBatchOrderIndependent(boolean orderIndependent) throws SQLException {}
 }
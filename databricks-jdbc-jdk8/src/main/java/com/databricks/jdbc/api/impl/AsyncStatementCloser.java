@@ -0,0 +1,119 @@
+package com.databricks.jdbc.api.impl;
+
+import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
+import com.databricks.jdbc.common.util.DatabricksThreadContextHolder;
+import com.databricks.jdbc.dbclient.IDatabricksClient;
+import com.databricks.jdbc.dbclient.impl.common.StatementId;
+import com.databricks.jdbc.exception.DatabricksSQLException;
+import com.databricks.jdbc.log.JdbcLogger;
+import com.databricks.jdbc.log.JdbcLoggerFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closes statements on the server from a small, driver-wide scheduled pool, so that closing a
+ * statement does not wait for the round trip.
+ *
+ * <p>Failed attempts are retried with exponential backoff up to {@link #MAX_ATTEMPTS} times. A
+ * statement that could not be closed is left to the server, which closes it together with its
+ * session.
+ */
+final class AsyncStatementCloser {
+
+  private static final JdbcLogger LOGGER = JdbcLoggerFactory.getLogger(AsyncStatementCloser.class);
+
+  static final int MAX_ATTEMPTS = 3;
+  private static final long INITIAL_RETRY_DELAY_MILLIS = 200;
+
+  private static final AsyncStatementCloser INSTANCE =
+      new AsyncStatementCloser(
+          Executors.newSingleThreadScheduledExecutor(
+              new ThreadFactory() {
+                private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+                @Override
+                public Thread newThread(Runnable r) {
+                  Thread thread =
+                      new Thread(
+                          r, "Databricks-Statement-Closer-" + threadNumber.getAndIncrement());
+                  thread.setDaemon(true);
+                  return thread;
+                }
+              }));
+
+  private final ScheduledExecutorService scheduler;
+
+  AsyncStatementCloser(ScheduledExecutorService scheduler) {
+    this.scheduler = scheduler;
+  }
+
+  static AsyncStatementCloser getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Closes the statement on the server in the background. Falls back to closing it on the calling
+   * thread if the background pool does not accept the task.
+   *
+   * @param client client of the session the statement belongs to
+   * @param statementId statement to close
+   * @param connectionContext context of the connection, made available to the closing thread
+   */
+  void closeStatement(
+      IDatabricksClient client,
+      StatementId statementId,
+      IDatabricksConnectionContext connectionContext) {
+    try {
+      scheduler.execute(() -> attemptClose(client, statementId, connectionContext, 1));
+    } catch (RejectedExecutionException e) {
+      LOGGER.debug("Closing statement {} on the calling thread", statementId);
+      try {
+        client.closeStatement(statementId);
+      } catch (DatabricksSQLException | RuntimeException closeException) {
+        LOGGER.warn("Failed to close statement {}: {}", statementId, closeException.getMessage());
+      }
+    }
+  }
+
+  private void attemptClose(
+      IDatabricksClient client,
+      StatementId statementId,
+      IDatabricksConnectionContext connectionContext,
+      int attempt) {
+    DatabricksThreadContextHolder.setConnectionContext(connectionContext);
+    DatabricksThreadContextHolder.setStatementId(statementId);
+    try {
+      client.closeStatement(statementId);
+      LOGGER.debug("Closed statement {} after {} attempt(s)", statementId, attempt);
+    } catch (DatabricksSQLException | RuntimeException e) {
+      if (attempt >= MAX_ATTEMPTS) {
+        LOGGER.warn(
+            "Failed to close statement {} after {} attempts: {}",
+            statementId,
+            attempt,
+            e.getMessage());
+        return;
+      }
+      long delayMillis = INITIAL_RETRY_DELAY_MILLIS << (attempt - 1);
+      LOGGER.debug(
+          "Failed to close statement {} ({}), retrying in {} ms",
+          statementId,
+          e.getMessage(),
+          delayMillis);
+      try {
+        scheduler.schedule(
+            () -> attemptClose(client, statementId, connectionContext, attempt + 1),
+            delayMillis,
+            TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException rejected) {
+        LOGGER.warn("Failed to close statement {}: {}", statementId, e.getMessage());
+      }
+    } finally {
+      DatabricksThreadContextHolder.clearAllContext();
+    }
+  }
+}
@@ -0,0 +1,208 @@
+package com.databricks.jdbc.api.impl;
+
+import com.databricks.jdbc.api.ExecutionState;
+import com.databricks.jdbc.api.IExecutionStatus;
+import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
+import com.databricks.jdbc.common.util.DatabricksThreadContextHolder;
+import com.databricks.jdbc.dbclient.impl.common.StatementPollingStrategy;
+import com.databricks.jdbc.dbclient.impl.common.TimeoutHandler;
+import com.databricks.jdbc.exception.DatabricksSQLException;
+import com.databricks.jdbc.log.JdbcLogger;
+import com.databricks.jdbc.log.JdbcLoggerFactory;
+import com.databricks.jdbc.model.telemetry.enums.DatabricksDriverErrorCode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives asynchronous statement executions to completion on a small, driver-wide scheduled pool.
+ *
+ * <p>Instead of parking one thread per in-flight statement, every statement is represented by a
+ * short task that submits the statement, checks its status and, while it is still running,
+ * reschedules itself according to a {@link StatementPollingStrategy}. A handful of threads can
+ * therefore drive hundreds of concurrent queries. The returned future completes with the result set
+ * once the statement succeeds, or exceptionally if it fails, is cancelled or times out.
+ */
+final class AsyncStatementPoller {
+
+  private static final JdbcLogger LOGGER = JdbcLoggerFactory.getLogger(AsyncStatementPoller.class);
+
+  private static final int POLLER_THREAD_COUNT =
+      Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+  private static final AsyncStatementPoller INSTANCE =
+      new AsyncStatementPoller(
+          Executors.newScheduledThreadPool(
+              POLLER_THREAD_COUNT,
+              new ThreadFactory() {
+                private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+                @Override
+                public Thread newThread(Runnable r) {
+                  Thread thread =
+                      new Thread(r, "Databricks-Async-Poller-" + threadNumber.getAndIncrement());
+                  thread.setDaemon(true);
+                  return thread;
+                }
+              }));
+
+  private final ScheduledExecutorService scheduler;
+
+  AsyncStatementPoller(ScheduledExecutorService scheduler) {
+    this.scheduler = scheduler;
+  }
+
+  static AsyncStatementPoller getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Submits the query on the given statement and returns a future for its result set. Cancelling
+   * the future cancels the statement on the server.
+   *
+   * @param statement statement used to execute the query
+   * @param sql query to execute
+   * @return future completed with the result set once the statement has finished
+   */
+  CompletableFuture<ResultSet> executeQuery(DatabricksStatement statement, String sql) {
+    AsyncExecution execution = new AsyncExecution(statement, sql);
+    execution.future.whenComplete(
+        (resultSet, throwable) -> {
+          if (execution.future.isCancelled()) {
+            cancelQuietly(statement);
+          }
+        });
+    schedule(execution, execution::submit, 0);
+    return execution.future;
+  }
+
+  private void schedule(AsyncExecution execution, PollerTask task, long delayMillis) {
+    if (execution.future.isDone()) {
+      return;
+    }
+    try {
+      scheduler.schedule(() -> run(execution, task), delayMillis, TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      execution.future.completeExceptionally(
+          new DatabricksSQLException(
+              "Unable to schedule asynchronous statement execution",
+              e,
+              DatabricksDriverErrorCode.EXECUTE_STATEMENT_FAILED));
+    }
+  }
+
+  private void run(AsyncExecution execution, PollerTask task) {
+    if (execution.future.isDone()) {
+      return;
+    }
+    DatabricksThreadContextHolder.setConnectionContext(execution.connectionContext);
+    try {
+      task.run();
+    } catch (Exception e) {
+      execution.future.completeExceptionally(e);
+    } finally {
+      DatabricksThreadContextHolder.clearAllContext();
+    }
+  }
+
+  private static boolean isFailed(ExecutionState state) {
+    return state == ExecutionState.FAILED
+        || state == ExecutionState.ABORTED
+        || state == ExecutionState.CLOSED;
+  }
+
+  private static SQLException toException(DatabricksStatement statement, IExecutionStatus status) {
+    String errorMessage =
+        String.format(
+            "Statement execution failed %s -> %s. Error Message: %s",
+            statement.getStatementId(), status.getExecutionState(), status.getErrorMessage());
+    LOGGER.debug(errorMessage);
+    return new DatabricksSQLException(
+        errorMessage, status.getSqlState(), DatabricksDriverErrorCode.EXECUTE_STATEMENT_FAILED);
+  }
+
+  private static void cancelQuietly(DatabricksStatement statement) {
+    try {
+      if (!statement.isClosed()) {
+        statement.cancel();
+      }
+    } catch (SQLException e) {
+      LOGGER.warn("Failed to cancel statement {}: {}", statement.getStatementId(), e.getMessage());
+    }
+  }
+
+  @FunctionalInterface
+  private interface PollerTask {
+    void run() throws SQLException;
+  }
+
+  /** State of a single asynchronous execution, only ever touched by one poller task at a time. */
+  private final class AsyncExecution {
+    private final DatabricksStatement statement;
+    private final String sql;
+    private final IDatabricksConnectionContext connectionContext;
+    private final CompletableFuture<ResultSet> future = new CompletableFuture<>();
+    private StatementPollingStrategy pollingStrategy;
+    private TimeoutHandler timeoutHandler;
+
+    private AsyncExecution(DatabricksStatement statement, String sql) {
+      this.statement = statement;
+      this.sql = sql;
+      this.connectionContext = statement.connection.getConnectionContext();
+    }
+
+    private void submit() throws SQLException {
+      ResultSet handle = statement.executeAsync(sql);
+      IExecutionStatus status = ((DatabricksResultSet) handle).getExecutionStatus();
+      if (isFailed(status.getExecutionState())) {
+        future.completeExceptionally(toException(statement, status));
+        return;
+      }
+      pollingStrategy = StatementPollingStrategy.forConnection(connectionContext);
+      timeoutHandler =
+          TimeoutHandler.forStatement(
+              statement.getQueryTimeout(),
+              statement.getStatementId(),
+              statement.connection.getSession().getDatabricksClient());
+      schedule(this, this::poll, pollingStrategy.nextDelayMillis());
+    }
+
+    private void poll() throws SQLException {
+      timeoutHandler.checkTimeout();
+      DatabricksResultSet resultSet = (DatabricksResultSet) statement.getExecutionResult();
+      IExecutionStatus status = resultSet.getExecutionStatus();
+      ExecutionState state = status.getExecutionState();
+      if (state == ExecutionState.PENDING || state == ExecutionState.RUNNING) {
+        schedule(this, this::poll, pollingStrategy.nextDelayMillis());
+        return;
+      }
+      if (state != ExecutionState.SUCCEEDED) {
+        future.completeExceptionally(toException(statement, status));
+        return;
+      }
+      if (!DatabricksStatement.shouldReturnResultSet(sql)) {
+        future.completeExceptionally(
+            new DatabricksSQLException(
+                "A ResultSet was expected but not generated from query. However, query "
+                    + "execution was successful.",
+                DatabricksDriverErrorCode.RESULT_SET_ERROR));
+        return;
+      }
+      statement.resultSet = resultSet;
+      LOGGER.debug(
+          "Statement {} finished after {} status polls",
+          statement.getStatementId(),
+          pollingStrategy.getPollCount());
+      if (!future.complete(resultSet)) {
+        // The caller gave up on the result in the meantime
+        resultSet.close();
+      }
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package com.databricks.jdbc.api.impl;
+
+import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
+import com.databricks.jdbc.common.DatabricksJdbcUrlParams;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Identifies the principal a connection authenticates as, for driver-wide state that connections
+ * may only share if the server would give them the same answers.
+ */
+public final class ConnectionPrincipal {
+
+  private ConnectionPrincipal() {}
+
+  /**
+   * Returns a fingerprint of the principal a connection authenticates as. It is a hash of the host
+   * and the connection properties, including the warehouse and the secrets the connection
+   * authenticates with, so connections that use different credentials never share a fingerprint
+   * while neither the secrets nor the connection context have to be kept.
+   *
+   * <p>Flows without credential material in the connection properties, such as browser based U2M or
+   * Azure managed identity, cannot tell the users they act for apart, and an access token set
+   * through the {@code Auth_AccessToken} client info property can be replaced by the application at
+   * any time. The fingerprint of such connections contains the connection's UUID, so it is never
+   * shared with another connection.
+   *
+   * @param connectionContext the context of the connection
+   * @param clientInfoProperties the client info properties of the connection's session
+   */
+  public static String getFingerprint(
+      IDatabricksConnectionContext connectionContext, Map<String, String> clientInfoProperties) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    if (connectionContext instanceof DatabricksConnectionContext
+        && hasCredentials(connectionContext)
+        && !hasOutOfBandToken(connectionContext, clientInfoProperties)) {
+      DatabricksConnectionContext context = (DatabricksConnectionContext) connectionContext;
+      hasher.putString(String.valueOf(context.getHostForOAuth()), StandardCharsets.UTF_8);
+      hasher.putByte((byte) 0);
+      for (Map.Entry<String, String> parameter :
+          new TreeMap<>(context.getParameters()).entrySet()) {
+        hasher
+            .putString(parameter.getKey(), StandardCharsets.UTF_8)
+            .putByte((byte) 0)
+            .putString(String.valueOf(parameter.getValue()), StandardCharsets.UTF_8)
+            .putByte((byte) 0);
+      }
+    } else {
+      hasher.putString(
+          String.valueOf(connectionContext.getConnectionUuid()), StandardCharsets.UTF_8);
+    }
+    return hasher.hash().toString();
+  }
+
+  private static boolean hasCredentials(IDatabricksConnectionContext connectionContext) {
+    return connectionContext.getJWTKeyFile() != null
+        || connectionContext.getGoogleCredentials() != null
+        || Arrays.asList(
+                connectionContext.getClientSecret(),
+                connectionContext.getOAuthRefreshToken(),
+                connectionContext.getToken(),
+                connectionContext.getJWTPassphrase())
+            .stream()
+            .anyMatch(Objects::nonNull);
+  }
+
+  private static boolean hasOutOfBandToken(
+      IDatabricksConnectionContext connectionContext, Map<String, String> clientInfoProperties) {
+    return connectionContext.getPassThroughAccessToken() != null
+        || (clientInfoProperties != null
+            && clientInfoProperties.containsKey(
+                DatabricksJdbcUrlParams.AUTH_ACCESS_TOKEN.getParamName().toLowerCase()));
+  }
+}
@@ -1,6 +1,8 @@
 package com.databricks.jdbc.api.impl;
 
 import static com.databricks.jdbc.common.DatabricksJdbcConstants.ALLOWED_SESSION_CONF_TO_DEFAULT_VALUES_MAP;
+import static com.databricks.jdbc.common.DatabricksJdbcConstants.SET_PATTERN;
+import static com.databricks.jdbc.common.DatabricksJdbcConstants.USE_PATTERN;
 
 import com.databricks.jdbc.api.*;
 import com.databricks.jdbc.api.IDatabricksStatement;
@@ -12,6 +14,8 @@ import com.databricks.jdbc.common.DatabricksClientConfiguratorManager;
 import com.databricks.jdbc.common.DatabricksJdbcConstants;
 import com.databricks.jdbc.common.safe.DatabricksDriverFeatureFlagsContextFactory;
 import com.databricks.jdbc.common.util.DatabricksThreadContextHolder;
+import com.databricks.jdbc.common.util.SqlTemplateCache;
+import com.databricks.jdbc.common.util.StartupTimings;
 import com.databricks.jdbc.common.util.UserAgentManager;
 import com.databricks.jdbc.common.util.ValidationUtil;
 import com.databricks.jdbc.dbclient.IDatabricksClient;
@@ -26,7 +30,9 @@ import com.databricks.jdbc.telemetry.TelemetryClientFactory;
 import com.databricks.jdbc.telemetry.TelemetryHelper;
 import com.google.common.annotations.VisibleForTesting;
 import java.sql.*;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
@@ -38,6 +44,15 @@ public class DatabricksConnection implements IDatabricksConnection, IDatabricksC
   private final Set<IDatabricksStatementInternal> statementSet = ConcurrentHashMap.newKeySet();
   private SQLWarning warnings = null;
   private final IDatabricksConnectionContext connectionContext;
+  private final SqlTemplateCache sqlTemplateCache;
+  private final DescribeQueryMetadataCache describeQueryMetadataCache;
+  private final StartupTimings startupTimings;
+
+  // Session state restored by resetSessionState(), null until a baseline is marked
+  private volatile Map<String, String> baselineSessionConfigs;
+  private String baselineCatalog;
+  private String baselineSchema;
+  private volatile boolean sessionStateModified;
 
   /**
    * Creates an instance of Databricks connection for given connection context.
@@ -46,9 +61,24 @@ public class DatabricksConnection implements IDatabricksConnection, IDatabricksC
    */
   public DatabricksConnection(IDatabricksConnectionContext connectionContext)
       throws DatabricksSQLException {
+    this(connectionContext, new StartupTimings());
+  }
+
+  /**
+   * Creates an instance of Databricks connection for given connection context.
+   *
+   * @param connectionContext underlying connection context
+   * @param startupTimings timings of the startup phases, reported by {@link #getStartupTimings()}
+   */
+  public DatabricksConnection(
+      IDatabricksConnectionContext connectionContext, StartupTimings startupTimings)
+      throws DatabricksSQLException {
     this.connectionContext = connectionContext;
+    this.startupTimings = startupTimings;
     DatabricksThreadContextHolder.setConnectionContext(connectionContext);
     this.session = new DatabricksSession(connectionContext);
+    this.sqlTemplateCache = new SqlTemplateCache(connectionContext.getSqlTemplateCacheSize());
+    this.describeQueryMetadataCache = createDescribeQueryMetadataCache();
   }
 
   @VisibleForTesting
@@ -56,8 +86,11 @@ public class DatabricksConnection implements IDatabricksConnection, IDatabricksC
       IDatabricksConnectionContext connectionContext, IDatabricksClient testDatabricksClient)
       throws DatabricksSQLException {
     this.connectionContext = connectionContext;
+    this.startupTimings = new StartupTimings();
     DatabricksThreadContextHolder.setConnectionContext(connectionContext);
     this.session = new DatabricksSession(connectionContext, testDatabricksClient);
+    this.sqlTemplateCache = new SqlTemplateCache(connectionContext.getSqlTemplateCacheSize());
+    this.describeQueryMetadataCache = createDescribeQueryMetadataCache();
     UserAgentManager.setUserAgent(connectionContext);
     TelemetryHelper.updateTelemetryAppName(connectionContext, null);
   }
@@ -67,6 +100,11 @@ public class DatabricksConnection implements IDatabricksConnection, IDatabricksC
     this.session.open();
   }
 
+  @Override
+  public Map<String, Duration> getStartupTimings() {
+    return startupTimings.getPhaseDurations();
+  }
+
   @Override
   public Statement getStatement(String statementId) throws SQLException {
     return new DatabricksStatement(this, StatementId.deserialize(statementId));
@@ -81,6 +119,26 @@ public class DatabricksConnection implements IDatabricksConnection, IDatabricksC
     return SessionId.create(Objects.requireNonNull(session.getSessionInfo())).toString();
   }
 
+  @Override
+  public CompletableFuture<ResultSet> executeQueryAsync(String sql) throws SQLException {
+    LOGGER.debug("public CompletableFuture<ResultSet> executeQueryAsync(String sql = {})", sql);
+    throwExceptionIfConnectionIsClosed();
+    DatabricksStatement statement = (DatabricksStatement) createStatement();
+    statement.closeOnCompletion();
+    CompletableFuture<ResultSet> future = statement.executeQueryAsync(sql);
+    future.whenComplete(
+        (resultSet, throwable) -> {
+          if (throwable != null) {
+            try {
+              statement.close();
+            } catch (SQLException e) {
+              LOGGER.warn("Failed to close statement after async execution failure", e);
+            }
+          }
+        });
+    return future;
+  }
+
   @Override
   public IDatabricksSession getSession() {
     return session;
@@ -242,24 +300,28 @@ public class DatabricksConnection implements IDatabricksConnection, IDatabricksC
   public Statement createStatement(int resultSetType, int resultSetConcurrency)
       throws SQLException {
 
-    if (resultSetType != ResultSet.TYPE_FORWARD_ONLY
+    if (!isSupportedResultSetType(resultSetType)
         || resultSetConcurrency != ResultSet.CONCUR_READ_ONLY) {
       throw new DatabricksSQLFeatureNotSupportedException(
-          "Only ResultSet.TYPE_FORWARD_ONLY and ResultSet.CONCUR_READ_ONLY are supported");
+          "Only ResultSet.TYPE_FORWARD_ONLY, ResultSet.TYPE_SCROLL_INSENSITIVE and ResultSet.CONCUR_READ_ONLY are supported");
     }
-    return createStatement();
+    DatabricksStatement statement = (DatabricksStatement) createStatement();
+    statement.setResultSetType(resultSetType);
+    return statement;
   }
 
   @Override
   public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency)
       throws SQLException {
 
-    if (resultSetType != ResultSet.TYPE_FORWARD_ONLY
+    if (!isSupportedResultSetType(resultSetType)
         || resultSetConcurrency != ResultSet.CONCUR_READ_ONLY) {
       throw new DatabricksSQLFeatureNotSupportedException(
-          "Only ResultSet.TYPE_FORWARD_ONLY and ResultSet.CONCUR_READ_ONLY are supported");
+          "Only ResultSet.TYPE_FORWARD_ONLY, ResultSet.TYPE_SCROLL_INSENSITIVE and ResultSet.CONCUR_READ_ONLY are supported");
     }
-    return prepareStatement(sql);
+    DatabricksPreparedStatement statement = (DatabricksPreparedStatement) prepareStatement(sql);
+    statement.setResultSetType(resultSetType);
+    return statement;
   }
 
   @Override
@@ -326,13 +388,13 @@ public class DatabricksConnection implements IDatabricksConnection, IDatabricksC
   @Override
   public Statement createStatement(
       int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
-    if (resultSetType != ResultSet.TYPE_FORWARD_ONLY
+    if (!isSupportedResultSetType(resultSetType)
         || resultSetConcurrency != ResultSet.CONCUR_READ_ONLY
         || resultSetHoldability != ResultSet.CLOSE_CURSORS_AT_COMMIT) {
       throw new DatabricksSQLFeatureNotImplementedException(
-          "Databricks OSS JDBC only supports resultSetType as ResultSet.TYPE_FORWARD_ONLY, resultSetConcurrency as ResultSet.CONCUR_READ_ONLY and resultSetHoldability as ResultSet.CLOSE_CURSORS_AT_COMMIT");
+          "Databricks OSS JDBC only supports resultSetType as ResultSet.TYPE_FORWARD_ONLY or ResultSet.TYPE_SCROLL_INSENSITIVE, resultSetConcurrency as ResultSet.CONCUR_READ_ONLY and resultSetHoldability as ResultSet.CLOSE_CURSORS_AT_COMMIT");
     }
-    return createStatement();
+    return createStatement(resultSetType, resultSetConcurrency);
   }
 
   @Override
@@ -643,6 +705,93 @@ public class DatabricksConnection implements IDatabricksConnection, IDatabricksC
     return connectionContext;
   }
 
+  /**
+   * Returns the cache of parsed SQL templates used to interpolate prepared statement parameters.
+   */
+  SqlTemplateCache getSqlTemplateCache() {
+    return sqlTemplateCache;
+  }
+
+  private DescribeQueryMetadataCache createDescribeQueryMetadataCache() {
+    int cacheSize = connectionContext.getDescribeQueryCacheSize();
+    if (!connectionContext.isSharedDescribeQueryCacheEnabled()) {
+      return new DescribeQueryMetadataCache(cacheSize);
+    }
+    // The identity is resolved on every use, since client info may set an access token later
+    return new DescribeQueryMetadataCache(
+        cacheSize,
+        () ->
+            ConnectionPrincipal.getFingerprint(
+                connectionContext, session.getClientInfoProperties()));
+  }
+
+  /** Returns the cache of DESCRIBE QUERY metadata used by unexecuted prepared statements. */
+  DescribeQueryMetadataCache getDescribeQueryMetadataCache() {
+    return describeQueryMetadataCache;
+  }
+
+  /** Invalidates connection level caches that the successfully executed statement may affect. */
+  void onStatementExecuted(String sql) {
+    describeQueryMetadataCache.onStatementExecuted(sql);
+    if (baselineSessionConfigs != null && !sessionStateModified) {
+      String trimmedSql = DatabricksStatement.trimCommentsAndWhitespaces(sql);
+      if (USE_PATTERN.matcher(trimmedSql).find() || SET_PATTERN.matcher(trimmedSql).find()) {
+        sessionStateModified = true;
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void markSessionStateBaseline() throws SQLException {
+    this.baselineCatalog = getCatalog();
+    this.baselineSchema = getSchema();
+    this.baselineSessionConfigs = new HashMap<>(session.getSessionConfigs());
+    this.sessionStateModified = false;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The session is only reset on the server if a {@code USE} or {@code SET} statement ran since
+   * the baseline was marked. Its configuration is reset with {@code RESET} before the baseline
+   * configuration, catalog and schema are applied again.
+   */
+  @Override
+  public void resetSessionState() throws SQLException {
+    for (IDatabricksStatementInternal statement : statementSet) {
+      statement.close(true);
+      statementSet.remove(statement);
+    }
+    warnings = null;
+    Map<String, String> sessionConfigs = baselineSessionConfigs;
+    if (sessionConfigs == null || !sessionStateModified) {
+      return;
+    }
+    LOGGER.debug("Restoring session state of connection {}", session.getSessionId());
+    try (Statement statement = createStatement()) {
+      statement.execute("RESET");
+      for (Map.Entry<String, String> config : sessionConfigs.entrySet()) {
+        statement.execute(String.format("SET %s = %s", config.getKey(), config.getValue()));
+      }
+      if (baselineCatalog != null) {
+        statement.execute("SET CATALOG " + quoteIdentifier(baselineCatalog));
+      }
+      if (baselineSchema != null) {
+        statement.execute("USE SCHEMA " + quoteIdentifier(baselineSchema));
+      }
+    }
+    session.setCatalog(baselineCatalog);
+    session.setSchema(baselineSchema);
+    session.getSessionConfigs().keySet().retainAll(sessionConfigs.keySet());
+    session.getSessionConfigs().putAll(sessionConfigs);
+    sessionStateModified = false;
+  }
+
+  private static String quoteIdentifier(String identifier) {
+    return "`" + identifier.replace("`", "``") + "`";
+  }
+
   /**
    * This function creates the exception message for the failed setClientInfo command
    *
@@ -718,4 +867,9 @@ public class DatabricksConnection implements IDatabricksConnection, IDatabricksC
           errorMessage, DatabricksDriverErrorCode.CATALOG_OR_SCHEMA_FETCH_ERROR);
     }
   }
+
+  private static boolean isSupportedResultSetType(int resultSetType) {
+    return resultSetType == ResultSet.TYPE_FORWARD_ONLY
+        || resultSetType == ResultSet.TYPE_SCROLL_INSENSITIVE;
+  }
 }
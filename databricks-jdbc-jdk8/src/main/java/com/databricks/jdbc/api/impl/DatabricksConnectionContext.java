@@ -22,9 +22,13 @@ import com.databricks.sdk.core.ProxyConfig;
 import com.databricks.sdk.core.utils.Cloud;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
 import java.net.URI;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.stream.Collectors;
 import org.apache.http.client.utils.URIBuilder;
@@ -33,14 +37,26 @@ public class DatabricksConnectionContext implements IDatabricksConnectionContext
 
   private static final JdbcLogger LOGGER =
       JdbcLoggerFactory.getLogger(DatabricksConnectionContext.class);
+  /**
+   * Contexts parsed from a URL and properties, used as templates for later connections with the
+   * same URL and properties so that they skip parsing and validation.
+   */
+  private static final Cache<List<Object>, DatabricksConnectionContext> PARSED_CONTEXT_CACHE =
+      CacheBuilder.newBuilder()
+          .maximumSize(PARSED_CONTEXT_CACHE_SIZE)
+          .expireAfterAccess(PARSED_CONTEXT_CACHE_EXPIRY_MINUTES, TimeUnit.MINUTES)
+          .build();
+
   private final String host;
   @VisibleForTesting final int port;
   private final String schema;
   private final String connectionURL;
+  private final String hostUrl;
   private final IDatabricksComputeResource computeResource;
   private final Map<String, String> customHeaders;
   private DatabricksClientType clientType;
   @VisibleForTesting final ImmutableMap<String, String> parameters;
+  @VisibleForTesting final ParsedSettings settings;
   @VisibleForTesting final String connectionUuid;
 
   private DatabricksConnectionContext(
@@ -56,23 +72,43 @@ public class DatabricksConnectionContext implements IDatabricksConnectionContext
     this.schema = schema;
     this.parameters = parameters;
     this.customHeaders = parseCustomHeaders(parameters);
+    this.settings = new ParsedSettings(parameters, true);
+    this.hostUrl = buildHostUrlOrNull();
     this.computeResource = buildCompute();
     this.connectionUuid = UUID.randomUUID().toString();
     this.clientType = getClientTypeFromContext();
   }
 
   private DatabricksConnectionContext(
-      String connectionURL, String host, ImmutableMap<String, String> parameters) {
+      String connectionURL, String host, ImmutableMap<String, String> parameters)
+      throws DatabricksValidationException {
     this.connectionURL = connectionURL;
     this.host = host;
     this.port = DEFAULT_PORT;
     this.schema = DEFAULT_SCHEMA;
     this.parameters = parameters;
     this.customHeaders = parseCustomHeaders(parameters);
+    this.settings = new ParsedSettings(parameters, false);
+    this.hostUrl = buildHostUrlOrNull();
     this.computeResource = null;
     this.connectionUuid = UUID.randomUUID().toString();
   }
 
+  /** Creates a context for a new connection from a context parsed earlier. */
+  private DatabricksConnectionContext(DatabricksConnectionContext parsedContext) {
+    this.connectionURL = parsedContext.connectionURL;
+    this.host = parsedContext.host;
+    this.port = parsedContext.port;
+    this.schema = parsedContext.schema;
+    this.parameters = parsedContext.parameters;
+    this.customHeaders = parsedContext.customHeaders;
+    this.settings = parsedContext.settings;
+    this.hostUrl = parsedContext.hostUrl;
+    this.computeResource = parsedContext.computeResource;
+    this.connectionUuid = UUID.randomUUID().toString();
+    this.clientType = parsedContext.clientType;
+  }
+
   /**
    * Builds a map of properties from the given connection parameter string and properties object.
    *
@@ -113,7 +149,12 @@ public class DatabricksConnectionContext implements IDatabricksConnectionContext
       String connectionParamString = urlMatcher.group(3) != null ? urlMatcher.group(3) : "";
       ImmutableMap<String, String> connectionPropertiesMap =
           buildPropertiesMap(connectionParamString, properties);
-      return new DatabricksConnectionContext(url, host, connectionPropertiesMap);
+      try {
+        return new DatabricksConnectionContext(url, host, connectionPropertiesMap);
+      } catch (DatabricksValidationException e) {
+        // Settings are not validated here, invalid values fall back to their defaults
+        return null;
+      }
     }
     return null;
   }
@@ -127,6 +168,17 @@ public class DatabricksConnectionContext implements IDatabricksConnectionContext
    */
   public static IDatabricksConnectionContext parse(String url, Properties properties)
       throws DatabricksSQLException {
+    List<Object> cacheKey = getParsedContextCacheKey(url, properties);
+    DatabricksConnectionContext parsedContext = PARSED_CONTEXT_CACHE.getIfPresent(cacheKey);
+    if (parsedContext == null) {
+      parsedContext = parseUncached(url, properties);
+      PARSED_CONTEXT_CACHE.put(cacheKey, parsedContext);
+    }
+    return new DatabricksConnectionContext(parsedContext);
+  }
+
+  private static DatabricksConnectionContext parseUncached(String url, Properties properties)
+      throws DatabricksSQLException {
     if (!ValidationUtil.isValidJdbcUrl(url)) {
       throw new DatabricksParsingException(
           "Invalid url " + url, DatabricksDriverErrorCode.CONNECTION_ERROR);
@@ -165,6 +217,18 @@ public class DatabricksConnectionContext implements IDatabricksConnectionContext
     }
   }
 
+  /**
+   * Returns the key of the parsed context cache. Properties are copied as strings, so that later
+   * changes to the caller's properties do not affect cached contexts.
+   */
+  private static List<Object> getParsedContextCacheKey(String url, Properties properties) {
+    Map<String, String> propertiesSnapshot = new HashMap<>();
+    for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+      propertiesSnapshot.put(entry.getKey().toString(), entry.getValue().toString());
+    }
+    return Arrays.asList(url, propertiesSnapshot);
+  }
+
   @Override
   public int hashCode() {
     return Objects.hash(host, port, schema, parameters);
@@ -188,7 +252,19 @@ public class DatabricksConnectionContext implements IDatabricksConnectionContext
 
   @Override
   public String getHostUrl() throws DatabricksParsingException {
-    LOGGER.debug("public String getHostUrl()");
+    return hostUrl != null ? hostUrl : buildHostUrl();
+  }
+
+  private String buildHostUrlOrNull() {
+    try {
+      return buildHostUrl();
+    } catch (DatabricksParsingException e) {
+      // Reported by getHostUrl() when it is needed
+      return null;
+    }
+  }
+
+  private String buildHostUrl() throws DatabricksParsingException {
     // Determine the schema based on the transport mode
     String schema =
         (getSSLMode() != null && getSSLMode().equals("0"))
@@ -221,7 +297,6 @@ public class DatabricksConnectionContext implements IDatabricksConnectionContext
   }
 
   public String getHttpPath() {
-    LOGGER.debug("String getHttpPath()");
     return getParameter(DatabricksJdbcUrlParams.HTTP_PATH);
   }
 
@@ -249,12 +324,52 @@ public class DatabricksConnectionContext implements IDatabricksConnectionContext
 
   @Override
   public int getAsyncExecPollInterval() {
-    return Integer.parseInt(getParameter(DatabricksJdbcUrlParams.POLL_INTERVAL));
+    return settings.asyncExecPollInterval;
+  }
+
+  @Override
+  public int getAsyncExecMaxPollInterval() {
+    return settings.asyncExecMaxPollInterval;
+  }
+
+  @Override
+  public boolean isBatchInsertRewriteEnabled() {
+    return getParameter(DatabricksJdbcUrlParams.ENABLE_BATCH_INSERT_REWRITE).equals("1");
+  }
+
+  @Override
+  public int getBatchInsertMaxRows() {
+    return Integer.parseInt(getParameter(DatabricksJdbcUrlParams.BATCH_INSERT_MAX_ROWS));
+  }
+
+  @Override
+  public long getBatchInsertMaxBytes() {
+    return Long.parseLong(getParameter(DatabricksJdbcUrlParams.BATCH_INSERT_MAX_BYTES));
+  }
+
+  @Override
+  public int getBatchInsertMaxParameters() {
+    return Integer.parseInt(getParameter(DatabricksJdbcUrlParams.BATCH_INSERT_MAX_PARAMETERS));
+  }
+
+  @Override
+  public String getBulkLoadStagingPath() {
+    return getParameter(DatabricksJdbcUrlParams.BULK_LOAD_STAGING_PATH);
+  }
+
+  @Override
+  public int getBulkLoadMinRows() {
+    return Integer.parseInt(getParameter(DatabricksJdbcUrlParams.BULK_LOAD_MIN_ROWS));
+  }
+
+  @Override
+  public int getThriftClientPoolSize() {
+    return Integer.parseInt(getParameter(DatabricksJdbcUrlParams.THRIFT_CLIENT_POOL_SIZE));
   }
 
   @Override
   public Boolean getDirectResultMode() {
-    return Objects.equals(getParameter(DatabricksJdbcUrlParams.DIRECT_RESULT), "1");
+    return settings.directResultMode;
   }
 
   public Cloud getCloud() throws DatabricksParsingException {
@@ -398,11 +513,7 @@ public class DatabricksConnectionContext implements IDatabricksConnectionContext
 
   @Override
   public CompressionCodec getCompressionCodec() {
-    String compressionType =
-        getParameter(
-            DatabricksJdbcUrlParams.LZ4_COMPRESSION_FLAG,
-            getParameter(DatabricksJdbcUrlParams.COMPRESSION_FLAG));
-    return CompressionCodec.parseCompressionType(compressionType);
+    return settings.compressionCodec;
   }
 
   public DatabricksClientType getClientTypeFromContext() {
@@ -427,12 +538,12 @@ public class DatabricksConnectionContext implements IDatabricksConnectionContext
 
   @Override
   public int getCloudFetchThreadPoolSize() {
-    return Integer.parseInt(getParameter(DatabricksJdbcUrlParams.CLOUD_FETCH_THREAD_POOL_SIZE));
+    return settings.cloudFetchThreadPoolSize;
   }
 
   @Override
   public double getCloudFetchSpeedThreshold() {
-    return Double.parseDouble(getParameter(DatabricksJdbcUrlParams.CLOUD_FETCH_SPEED_THRESHOLD));
+    return settings.cloudFetchSpeedThreshold;
   }
 
   @Override
@@ -553,7 +664,7 @@ public class DatabricksConnectionContext implements IDatabricksConnectionContext
 
   @Override
   public Boolean shouldEnableArrow() {
-    return Objects.equals(getParameter(DatabricksJdbcUrlParams.ENABLE_ARROW), "1");
+    return settings.enableArrow;
   }
 
   @Override
@@ -595,6 +706,17 @@ public class DatabricksConnectionContext implements IDatabricksConnectionContext
     return Objects.equals(getParameter(DatabricksJdbcUrlParams.RATE_LIMIT_RETRY), "1");
   }
 
+  @Override
+  public boolean isAdaptiveRateLimitEnabled() {
+    return Objects.equals(getParameter(DatabricksJdbcUrlParams.ENABLE_ADAPTIVE_RATE_LIMIT), "1");
+  }
+
+  @Override
+  public boolean isMetadataRequestCoalescingEnabled() {
+    return Objects.equals(
+        getParameter(DatabricksJdbcUrlParams.ENABLE_METADATA_REQUEST_COALESCING), "1");
+  }
+
   @Override
   public int getTemporarilyUnavailableRetryTimeout() {
     return Integer.parseInt(
@@ -616,11 +738,52 @@ public class DatabricksConnectionContext implements IDatabricksConnectionContext
     return getParameter(DatabricksJdbcUrlParams.SUPPORT_MANY_PARAMETERS).equals("1");
   }
 
+  @Override
+  public int getSqlTemplateCacheSize() {
+    return Integer.parseInt(getParameter(DatabricksJdbcUrlParams.SQL_TEMPLATE_CACHE_SIZE));
+  }
+
+  @Override
+  public int getDescribeQueryCacheSize() {
+    return Integer.parseInt(getParameter(DatabricksJdbcUrlParams.DESCRIBE_QUERY_CACHE_SIZE));
+  }
+
+  @Override
+  public boolean isSharedDescribeQueryCacheEnabled() {
+    return Objects.equals(
+        getParameter(DatabricksJdbcUrlParams.ENABLE_SHARED_DESCRIBE_QUERY_CACHE), "1");
+  }
+
+  @Override
+  public long getResultCacheTtl() {
+    return Long.parseLong(getParameter(DatabricksJdbcUrlParams.RESULT_CACHE_TTL));
+  }
+
+  @Override
+  public long getResultCacheMaxBytes() {
+    return Long.parseLong(getParameter(DatabricksJdbcUrlParams.RESULT_CACHE_MAX_BYTES));
+  }
+
+  @Override
+  public String getResultCacheSpillDirectory() {
+    return getParameter(DatabricksJdbcUrlParams.RESULT_CACHE_SPILL_DIRECTORY);
+  }
+
+  @Override
+  public int getScrollCacheChunks() {
+    return Integer.parseInt(getParameter(DatabricksJdbcUrlParams.SCROLL_CACHE_CHUNKS));
+  }
+
   @Override
   public String getConnectionURL() {
     return connectionURL;
   }
 
+  /** Returns the URL parameters and connection properties, keyed by lower case name. */
+  Map<String, String> getParameters() {
+    return parameters;
+  }
+
   @Override
   public boolean checkCertificateRevocation() {
     return Objects.equals(getParameter(DatabricksJdbcUrlParams.CHECK_CERTIFICATE_REVOCATION), "1");
@@ -779,6 +942,11 @@ public class DatabricksConnectionContext implements IDatabricksConnectionContext
     return Integer.parseInt(getParameter(DatabricksJdbcUrlParams.MAX_BATCH_SIZE));
   }
 
+  @Override
+  public int getBatchExecutionParallelism() {
+    return Integer.parseInt(getParameter(DatabricksJdbcUrlParams.BATCH_EXECUTION_PARALLELISM));
+  }
+
   @Override
   public String getConnectionUuid() {
     return connectionUuid;
@@ -791,7 +959,7 @@ public class DatabricksConnectionContext implements IDatabricksConnectionContext
 
   @Override
   public boolean isTelemetryEnabled() {
-    return getParameter(DatabricksJdbcUrlParams.ENABLE_TELEMETRY, "0").equals("1");
+    return settings.telemetryEnabled;
   }
 
   @Override
@@ -813,21 +981,7 @@ public class DatabricksConnectionContext implements IDatabricksConnectionContext
 
   @Override
   public int getDefaultStringColumnLength() {
-    try {
-      int defaultStringColumnLength = Integer.parseInt(getParameter(DEFAULT_STRING_COLUMN_LENGTH));
-      if (defaultStringColumnLength < 0
-          || defaultStringColumnLength > MAX_DEFAULT_STRING_COLUMN_LENGTH) {
-        LOGGER.warn(
-            "DefaultStringColumnLength value {} is out of bounds (0 to 32767). Falling back to default value 255.",
-            defaultStringColumnLength);
-        return DEFUALT_STRING_COLUMN_LENGTH;
-      }
-      return defaultStringColumnLength;
-    } catch (NumberFormatException e) {
-      LOGGER.warn(
-          "Invalid number format for DefaultStringColumnLength. Falling back to default value 255.");
-      return DEFUALT_STRING_COLUMN_LENGTH;
-    }
+    return settings.defaultStringColumnLength;
   }
 
   @Override
@@ -844,12 +998,12 @@ public class DatabricksConnectionContext implements IDatabricksConnectionContext
 
   @Override
   public boolean isComplexDatatypeSupportEnabled() {
-    return getParameter(DatabricksJdbcUrlParams.ENABLE_COMPLEX_DATATYPE_SUPPORT).equals("1");
+    return settings.complexDatatypeSupport;
   }
 
   @Override
   public boolean isRequestTracingEnabled() {
-    return getParameter(DatabricksJdbcUrlParams.ENABLE_REQUEST_TRACING).equals("1");
+    return settings.requestTracing;
   }
 
   @Override
@@ -897,19 +1051,13 @@ public class DatabricksConnectionContext implements IDatabricksConnectionContext
 
   @Override
   public int getRowsFetchedPerBlock() {
-    int maxRows = DEFAULT_ROW_LIMIT_PER_BLOCK;
-    try {
-      maxRows = Integer.parseInt(getParameter(DatabricksJdbcUrlParams.ROWS_FETCHED_PER_BLOCK));
-    } catch (NumberFormatException e) {
-      LOGGER.warn("Invalid value for RowsFetchedPerBlock, using default value");
-    }
-    return maxRows;
+    return settings.rowsFetchedPerBlock;
   }
 
   /** {@inheritDoc} */
   @Override
   public int getSocketTimeout() {
-    return Integer.parseInt(getParameter(DatabricksJdbcUrlParams.SOCKET_TIMEOUT));
+    return settings.socketTimeout;
   }
 
   @Override
@@ -922,6 +1070,27 @@ public class DatabricksConnectionContext implements IDatabricksConnectionContext
     return getParameter(DatabricksJdbcUrlParams.ENABLE_TOKEN_CACHE).equals("1");
   }
 
+  @Override
+  public double getTokenRefreshLifetimeFraction() {
+    String defaultValue = DatabricksJdbcUrlParams.TOKEN_REFRESH_LIFETIME_FRACTION.getDefaultValue();
+    try {
+      double fraction =
+          Double.parseDouble(getParameter(DatabricksJdbcUrlParams.TOKEN_REFRESH_LIFETIME_FRACTION));
+      if (fraction > 0 && fraction <= 1) {
+        return fraction;
+      }
+      LOGGER.warn(
+          "TokenRefreshLifetimeFraction value {} is out of bounds (0 to 1). Falling back to default value {}.",
+          fraction,
+          defaultValue);
+    } catch (NumberFormatException e) {
+      LOGGER.warn(
+          "Invalid number format for TokenRefreshLifetimeFraction. Falling back to default value {}.",
+          defaultValue);
+    }
+    return Double.parseDouble(defaultValue);
+  }
+
   @Override
   public String getApplicationName() {
     return getParameter(DatabricksJdbcUrlParams.APPLICATION_NAME);
@@ -930,7 +1099,7 @@ public class DatabricksConnectionContext implements IDatabricksConnectionContext
   /** {@inheritDoc} */
   @Override
   public int getChunkReadyTimeoutSeconds() {
-    return Integer.parseInt(getParameter(DatabricksJdbcUrlParams.CHUNK_READY_TIMEOUT_SECONDS));
+    return settings.chunkReadyTimeoutSeconds;
   }
 
   @Override
@@ -940,14 +1109,7 @@ public class DatabricksConnectionContext implements IDatabricksConnectionContext
 
   @Override
   public int getHttpMaxConnectionsPerRoute() {
-    int maxConnectionsPerRoute = DEFAULT_MAX_HTTP_CONNECTIONS_PER_ROUTE;
-    try {
-      maxConnectionsPerRoute =
-          Integer.parseInt(getParameter(DatabricksJdbcUrlParams.HTTP_MAX_CONNECTIONS_PER_ROUTE));
-    } catch (NumberFormatException e) {
-      LOGGER.warn("Invalid value for HttpMaxConnectionsPerRoutes");
-    }
-    return maxConnectionsPerRoute;
+    return settings.httpMaxConnectionsPerRoute;
   }
 
   @Override
@@ -1025,4 +1187,155 @@ public class DatabricksConnectionContext implements IDatabricksConnectionContext
     return Math.max(
         1000, Integer.parseInt(getParameter(DatabricksJdbcUrlParams.TELEMETRY_FLUSH_INTERVAL)));
   }
+
+  /**
+   * Settings read while executing queries and fetching results. They are parsed once when the
+   * context is created, so that these paths read final fields instead of parsing strings.
+   */
+  @VisibleForTesting
+  static final class ParsedSettings {
+    final int asyncExecPollInterval;
+    final int asyncExecMaxPollInterval;
+    final int cloudFetchThreadPoolSize;
+    final double cloudFetchSpeedThreshold;
+    final int chunkReadyTimeoutSeconds;
+    final int socketTimeout;
+    final int rowsFetchedPerBlock;
+    final int defaultStringColumnLength;
+    final int httpMaxConnectionsPerRoute;
+    final boolean enableArrow;
+    final boolean directResultMode;
+    final boolean complexDatatypeSupport;
+    final boolean requestTracing;
+    final boolean telemetryEnabled;
+    final CompressionCodec compressionCodec;
+
+    /**
+     * @param parameters connection parameters
+     * @param validate whether invalid values are rejected, or replaced by their default values
+     * @throws DatabricksValidationException if a value is invalid and {@code validate} is set
+     */
+    ParsedSettings(Map<String, String> parameters, boolean validate)
+        throws DatabricksValidationException {
+      asyncExecPollInterval =
+          parse(parameters, DatabricksJdbcUrlParams.POLL_INTERVAL, Integer::parseInt, validate);
+      asyncExecMaxPollInterval =
+          parse(parameters, DatabricksJdbcUrlParams.MAX_POLL_INTERVAL, Integer::parseInt, validate);
+      cloudFetchThreadPoolSize =
+          parse(
+              parameters,
+              DatabricksJdbcUrlParams.CLOUD_FETCH_THREAD_POOL_SIZE,
+              Integer::parseInt,
+              validate);
+      cloudFetchSpeedThreshold =
+          parse(
+              parameters,
+              DatabricksJdbcUrlParams.CLOUD_FETCH_SPEED_THRESHOLD,
+              Double::parseDouble,
+              validate);
+      chunkReadyTimeoutSeconds =
+          parse(
+              parameters,
+              DatabricksJdbcUrlParams.CHUNK_READY_TIMEOUT_SECONDS,
+              Integer::parseInt,
+              validate);
+      socketTimeout =
+          parse(parameters, DatabricksJdbcUrlParams.SOCKET_TIMEOUT, Integer::parseInt, validate);
+      rowsFetchedPerBlock = parseRowsFetchedPerBlock(parameters);
+      defaultStringColumnLength = parseDefaultStringColumnLength(parameters);
+      httpMaxConnectionsPerRoute = parseHttpMaxConnectionsPerRoute(parameters);
+      enableArrow = isEnabled(parameters, DatabricksJdbcUrlParams.ENABLE_ARROW);
+      directResultMode = isEnabled(parameters, DatabricksJdbcUrlParams.DIRECT_RESULT);
+      complexDatatypeSupport =
+          isEnabled(parameters, DatabricksJdbcUrlParams.ENABLE_COMPLEX_DATATYPE_SUPPORT);
+      requestTracing = isEnabled(parameters, DatabricksJdbcUrlParams.ENABLE_REQUEST_TRACING);
+      telemetryEnabled =
+          "1".equals(getParameter(parameters, DatabricksJdbcUrlParams.ENABLE_TELEMETRY, "0"));
+      compressionCodec =
+          CompressionCodec.parseCompressionType(
+              getParameter(
+                  parameters,
+                  DatabricksJdbcUrlParams.LZ4_COMPRESSION_FLAG,
+                  getParameter(
+                      parameters,
+                      DatabricksJdbcUrlParams.COMPRESSION_FLAG,
+                      DatabricksJdbcUrlParams.COMPRESSION_FLAG.getDefaultValue())));
+    }
+
+    private static <T> T parse(
+        Map<String, String> parameters,
+        DatabricksJdbcUrlParams key,
+        Function<String, T> parser,
+        boolean validate)
+        throws DatabricksValidationException {
+      String value = getParameter(parameters, key, key.getDefaultValue());
+      try {
+        return parser.apply(value);
+      } catch (NumberFormatException e) {
+        if (!validate) {
+          return parser.apply(key.getDefaultValue());
+        }
+        throw new DatabricksValidationException(
+            String.format("Invalid value '%s' for %s", value, key.getParamName()), e);
+      }
+    }
+
+    private static int parseRowsFetchedPerBlock(Map<String, String> parameters) {
+      try {
+        return Integer.parseInt(
+            getParameter(
+                parameters,
+                DatabricksJdbcUrlParams.ROWS_FETCHED_PER_BLOCK,
+                DatabricksJdbcUrlParams.ROWS_FETCHED_PER_BLOCK.getDefaultValue()));
+      } catch (NumberFormatException e) {
+        LOGGER.warn("Invalid value for RowsFetchedPerBlock, using default value");
+        return DEFAULT_ROW_LIMIT_PER_BLOCK;
+      }
+    }
+
+    private static int parseDefaultStringColumnLength(Map<String, String> parameters) {
+      try {
+        int defaultStringColumnLength =
+            Integer.parseInt(
+                getParameter(
+                    parameters,
+                    DEFAULT_STRING_COLUMN_LENGTH,
+                    DEFAULT_STRING_COLUMN_LENGTH.getDefaultValue()));
+        if (defaultStringColumnLength < 0
+            || defaultStringColumnLength > MAX_DEFAULT_STRING_COLUMN_LENGTH) {
+          LOGGER.warn(
+              "DefaultStringColumnLength value {} is out of bounds (0 to 32767). Falling back to default value 255.",
+              defaultStringColumnLength);
+          return DEFUALT_STRING_COLUMN_LENGTH;
+        }
+        return defaultStringColumnLength;
+      } catch (NumberFormatException e) {
+        LOGGER.warn(
+            "Invalid number format for DefaultStringColumnLength. Falling back to default value 255.");
+        return DEFUALT_STRING_COLUMN_LENGTH;
+      }
+    }
+
+    private static int parseHttpMaxConnectionsPerRoute(Map<String, String> parameters) {
+      try {
+        return Integer.parseInt(
+            getParameter(
+                parameters,
+                DatabricksJdbcUrlParams.HTTP_MAX_CONNECTIONS_PER_ROUTE,
+                DatabricksJdbcUrlParams.HTTP_MAX_CONNECTIONS_PER_ROUTE.getDefaultValue()));
+      } catch (NumberFormatException e) {
+        LOGGER.warn("Invalid value for HttpMaxConnectionsPerRoutes");
+        return DEFAULT_MAX_HTTP_CONNECTIONS_PER_ROUTE;
+      }
+    }
+
+    private static boolean isEnabled(Map<String, String> parameters, DatabricksJdbcUrlParams key) {
+      return "1".equals(getParameter(parameters, key, key.getDefaultValue()));
+    }
+
+    private static String getParameter(
+        Map<String, String> parameters, DatabricksJdbcUrlParams key, String defaultValue) {
+      return parameters.getOrDefault(key.getParamName().toLowerCase(), defaultValue);
+    }
+  }
 }
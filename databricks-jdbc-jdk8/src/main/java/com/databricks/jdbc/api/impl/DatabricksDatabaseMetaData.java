@@ -1214,7 +1214,7 @@ public class DatabricksDatabaseMetaData implements DatabaseMetaData {
   public boolean supportsResultSetType(int type) throws SQLException {
     LOGGER.debug("public boolean supportsResultSetType(int type = {})", type);
     throwExceptionIfConnectionIsClosed();
-    return type == ResultSet.TYPE_FORWARD_ONLY;
+    return type == ResultSet.TYPE_FORWARD_ONLY || type == ResultSet.TYPE_SCROLL_INSENSITIVE;
   }
 
   @Override
@@ -1225,7 +1225,8 @@ public class DatabricksDatabaseMetaData implements DatabaseMetaData {
             type,
             concurrency));
     throwExceptionIfConnectionIsClosed();
-    return type == ResultSet.TYPE_FORWARD_ONLY && concurrency == ResultSet.CONCUR_READ_ONLY;
+    return (type == ResultSet.TYPE_FORWARD_ONLY || type == ResultSet.TYPE_SCROLL_INSENSITIVE)
+        && concurrency == ResultSet.CONCUR_READ_ONLY;
   }
 
   @Override
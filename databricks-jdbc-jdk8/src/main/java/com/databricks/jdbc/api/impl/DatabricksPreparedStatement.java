@@ -4,11 +4,18 @@ import static com.databricks.jdbc.common.util.DatabricksTypeUtil.NULL;
 import static com.databricks.jdbc.common.util.DatabricksTypeUtil.getDatabricksTypeFromSQLType;
 import static com.databricks.jdbc.common.util.DatabricksTypeUtil.inferDatabricksType;
 import static com.databricks.jdbc.common.util.SQLInterpolator.interpolateSQL;
-import static com.databricks.jdbc.common.util.SQLInterpolator.surroundPlaceholdersWithQuotes;
 import static com.databricks.jdbc.common.util.ValidationUtil.throwErrorIfNull;
 
+import com.databricks.jdbc.api.impl.batch.BatchInsertRewriter;
+import com.databricks.jdbc.api.impl.batch.ColumnarBatchBuffer;
+import com.databricks.jdbc.api.impl.batch.VolumeBulkLoader;
+import com.databricks.jdbc.api.impl.volume.DatabricksVolumeClientFactory;
+import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
+import com.databricks.jdbc.api.internal.IDatabricksSession;
 import com.databricks.jdbc.common.StatementType;
 import com.databricks.jdbc.common.util.DatabricksTypeUtil;
+import com.databricks.jdbc.common.util.SqlTemplate;
+import com.databricks.jdbc.common.util.SqlTemplateCache;
 import com.databricks.jdbc.exception.*;
 import com.databricks.jdbc.log.JdbcLogger;
 import com.databricks.jdbc.log.JdbcLoggerFactory;
@@ -33,8 +40,9 @@ public class DatabricksPreparedStatement extends DatabricksStatement implements
       JdbcLoggerFactory.getLogger(DatabricksPreparedStatement.class);
   private final String sql;
   private DatabricksParameterMetaData databricksParameterMetaData;
-  private List<DatabricksParameterMetaData> databricksBatchParameterMetaData;
+  private final ColumnarBatchBuffer batchBuffer = new ColumnarBatchBuffer();
   private final boolean interpolateParameters;
+  private SqlTemplate sqlTemplate;
   private final int CHUNK_SIZE = 8192;
 
   public DatabricksPreparedStatement(DatabricksConnection connection, String sql) {
@@ -42,7 +50,6 @@ public class DatabricksPreparedStatement extends DatabricksStatement implements
     this.sql = sql;
     this.interpolateParameters = connection.getConnectionContext().supportManyParameters();
     this.databricksParameterMetaData = new DatabricksParameterMetaData(sql);
-    this.databricksBatchParameterMetaData = new ArrayList<>();
   }
 
   DatabricksPreparedStatement(
@@ -54,7 +61,6 @@ public class DatabricksPreparedStatement extends DatabricksStatement implements
     this.sql = sql;
     this.interpolateParameters = interpolateParameters;
     this.databricksParameterMetaData = databricksParameterMetaData;
-    this.databricksBatchParameterMetaData = new ArrayList<>();
   }
 
   @Override
@@ -88,16 +94,31 @@ public class DatabricksPreparedStatement extends DatabricksStatement implements
   @Override
   public long[] executeLargeBatch() throws DatabricksBatchUpdateException {
     LOGGER.debug("public long executeLargeBatch()");
-    long[] largeUpdateCount = new long[databricksBatchParameterMetaData.size()];
+    IDatabricksConnectionContext connectionContext = connection.getConnectionContext();
+    String stagingPath = connectionContext.getBulkLoadStagingPath();
+    if (stagingPath != null
+        && !stagingPath.isEmpty()
+        && batchBuffer.size() >= connectionContext.getBulkLoadMinRows()) {
+      VolumeBulkLoader bulkLoader = VolumeBulkLoader.forSql(sql, stagingPath);
+      VolumeBulkLoader.BatchLayout layout =
+          bulkLoader == null ? null : bulkLoader.analyze(batchBuffer);
+      if (layout != null) {
+        return executeBulkLoad(bulkLoader, layout);
+      }
+      LOGGER.debug("Batch statement cannot be bulk loaded through {}", stagingPath);
+    }
+    if (batchBuffer.size() > 1 && connectionContext.isBatchInsertRewriteEnabled()) {
+      BatchInsertRewriter rewriter = BatchInsertRewriter.forSql(sql);
+      if (rewriter != null) {
+        return executeRewrittenBatch(rewriter);
+      }
+      LOGGER.debug("Batch statement is not a single-row INSERT ... VALUES, executing row by row");
+    }
+    long[] largeUpdateCount = new long[batchBuffer.size()];
 
-    for (int sqlQueryIndex = 0;
-        sqlQueryIndex < databricksBatchParameterMetaData.size();
-        sqlQueryIndex++) {
-      DatabricksParameterMetaData databricksParameterMetaData =
-          databricksBatchParameterMetaData.get(sqlQueryIndex);
+    for (int sqlQueryIndex = 0; sqlQueryIndex < batchBuffer.size(); sqlQueryIndex++) {
       try {
-        executeInternal(
-            sql, databricksParameterMetaData.getParameterBindings(), StatementType.UPDATE, false);
+        executeInternal(sql, batchBuffer.getRow(sqlQueryIndex), StatementType.UPDATE, false);
         largeUpdateCount[sqlQueryIndex] = resultSet.getUpdateCount();
       } catch (Exception e) {
         LOGGER.error(
@@ -115,6 +136,95 @@ public class DatabricksPreparedStatement extends DatabricksStatement implements
     return largeUpdateCount;
   }
 
+  /**
+   * Executes the batch as multi-row inserts. Every rewritten statement inserts a group of
+   * consecutive rows, and the update counts of its rows are filled in once the statement succeeds.
+   * If a statement fails, its rows and all following rows are marked as {@link
+   * Statement#EXECUTE_FAILED}.
+   */
+  private long[] executeRewrittenBatch(BatchInsertRewriter rewriter)
+      throws DatabricksBatchUpdateException {
+    IDatabricksConnectionContext connectionContext = connection.getConnectionContext();
+    List<Integer> groupSizes =
+        rewriter.partition(
+            batchBuffer,
+            connectionContext.getBatchInsertMaxRows(),
+            connectionContext.getBatchInsertMaxBytes(),
+            interpolateParameters ? 0 : connectionContext.getBatchInsertMaxParameters());
+    LOGGER.debug(
+        "Rewriting batch of {} rows into {} multi-row INSERT statements",
+        batchBuffer.size(),
+        groupSizes.size());
+
+    long[] largeUpdateCount = new long[batchBuffer.size()];
+    int groupStart = 0;
+    for (int groupSize : groupSizes) {
+      int groupEnd = groupStart + groupSize;
+      try {
+        String groupSql = rewriter.buildSql(groupSize);
+        Map<Integer, ImmutableSqlParameter> groupParameters =
+            rewriter.mergeParameters(batchBuffer, groupStart, groupEnd);
+        if (interpolateParameters) {
+          executeInternal(
+              interpolateSQL(groupSql, groupParameters),
+              new HashMap<>(),
+              StatementType.UPDATE,
+              false);
+        } else {
+          executeInternal(groupSql, groupParameters, StatementType.UPDATE, false);
+        }
+        // Each row of a multi-row insert inserts exactly one row, unless the server reports a
+        // different total in which case the per-row split is unknown
+        long rowUpdateCount =
+            resultSet.getUpdateCount() == groupSize ? 1 : Statement.SUCCESS_NO_INFO;
+        Arrays.fill(largeUpdateCount, groupStart, groupEnd, rowUpdateCount);
+      } catch (Exception e) {
+        LOGGER.error(
+            "Error executing rewritten batch insert for rows {} to {}: {}",
+            groupStart,
+            groupEnd - 1,
+            e.getMessage(),
+            e);
+        Arrays.fill(
+            largeUpdateCount, groupStart, largeUpdateCount.length, Statement.EXECUTE_FAILED);
+        throw new DatabricksBatchUpdateException(
+            e.getMessage(), DatabricksDriverErrorCode.BATCH_EXECUTE_EXCEPTION, largeUpdateCount);
+      }
+      groupStart = groupEnd;
+    }
+    return largeUpdateCount;
+  }
+
+  /**
+   * Executes the batch as a single {@code COPY INTO} from a file staged in a volume. The load is
+   * one statement, so either every row succeeds or every row is marked as {@link
+   * Statement#EXECUTE_FAILED}.
+   */
+  private long[] executeBulkLoad(VolumeBulkLoader bulkLoader, VolumeBulkLoader.BatchLayout layout)
+      throws DatabricksBatchUpdateException {
+    LOGGER.debug("Bulk loading batch of {} rows through a staging volume", batchBuffer.size());
+    long[] largeUpdateCount = new long[batchBuffer.size()];
+    try {
+      long loadedRows =
+          bulkLoader.load(
+              batchBuffer,
+              layout,
+              DatabricksVolumeClientFactory.getVolumeClient(connection.getConnectionContext()),
+              copyIntoSql -> {
+                executeInternal(copyIntoSql, new HashMap<>(), StatementType.UPDATE, false);
+                return resultSet.getUpdateCount();
+              });
+      Arrays.fill(
+          largeUpdateCount, loadedRows == batchBuffer.size() ? 1 : Statement.SUCCESS_NO_INFO);
+    } catch (Exception e) {
+      LOGGER.error("Error bulk loading batch: {}", e.getMessage(), e);
+      Arrays.fill(largeUpdateCount, Statement.EXECUTE_FAILED);
+      throw new DatabricksBatchUpdateException(
+          e.getMessage(), DatabricksDriverErrorCode.BATCH_EXECUTE_EXCEPTION, largeUpdateCount);
+    }
+    return largeUpdateCount;
+  }
+
   @Override
   public void setNull(int parameterIndex, int sqlType) throws SQLException {
     LOGGER.debug("public void setNull(int parameterIndex, int sqlType)");
@@ -344,7 +454,7 @@ public class DatabricksPreparedStatement extends DatabricksStatement implements
   @Override
   public void addBatch() {
     LOGGER.debug("public void addBatch()");
-    this.databricksBatchParameterMetaData.add(databricksParameterMetaData);
+    this.batchBuffer.addRow(databricksParameterMetaData.getParameterBindings());
     this.databricksParameterMetaData = new DatabricksParameterMetaData(sql);
   }
 
@@ -353,7 +463,7 @@ public class DatabricksPreparedStatement extends DatabricksStatement implements
     LOGGER.debug("public void clearBatch()");
     checkIfClosed();
     this.databricksParameterMetaData = new DatabricksParameterMetaData(sql);
-    this.databricksBatchParameterMetaData = new ArrayList<>();
+    this.batchBuffer.clear();
   }
 
   @Override
@@ -716,7 +826,7 @@ public class DatabricksPreparedStatement extends DatabricksStatement implements
   }
 
   private void checkIfBatchOperation() throws DatabricksSQLException {
-    if (!this.databricksBatchParameterMetaData.isEmpty()) {
+    if (!this.batchBuffer.isEmpty()) {
       String errorMessage =
           "Batch must either be executed with executeBatch() or cleared with clearBatch()";
       LOGGER.error(errorMessage);
@@ -827,7 +937,7 @@ public class DatabricksPreparedStatement extends DatabricksStatement implements
       throws SQLException {
     String interpolatedSql =
         this.interpolateParameters
-            ? interpolateSQL(sql, this.databricksParameterMetaData.getParameterBindings())
+            ? getSqlTemplate().interpolate(this.databricksParameterMetaData.getParameterBindings())
             : sql;
 
     Map<Integer, ImmutableSqlParameter> paramMap =
@@ -837,19 +947,54 @@ public class DatabricksPreparedStatement extends DatabricksStatement implements
     return executeInternal(interpolatedSql, paramMap, statementType);
   }
 
+  /**
+   * Returns the parsed template of the statement's SQL, taken from the connection's template cache
+   * on first use.
+   */
+  private SqlTemplate getSqlTemplate() {
+    if (sqlTemplate == null) {
+      SqlTemplateCache cache = connection.getSqlTemplateCache();
+      sqlTemplate = cache != null ? cache.get(sql) : SqlTemplate.parse(sql);
+    }
+    return sqlTemplate;
+  }
+
   /**
    * Executes a DESCRIBE QUERY command to retrieve metadata about the SQL query.
    *
-   * <p>This method is used when the result set is null
+   * <p>This method is used when the result set is null. Results are cached per connection, keyed by
+   * the SQL and the session's catalog and schema, so repeated prepares of the same SQL do not run
+   * the command again.
    *
    * @return a {@link ResultSetMetaData} object containing the metadata of the query.
    * @throws DatabricksSQLException if there is an error executing the DESCRIBE QUERY command
    */
   private ResultSetMetaData getMetaDataFromDescribeQuery() throws DatabricksSQLException {
-    String describeQuerySQL = "DESCRIBE QUERY " + surroundPlaceholdersWithQuotes(sql);
+    DescribeQueryMetadataCache cache = connection.getDescribeQueryMetadataCache();
+    if (cache == null) {
+      return describeQuery();
+    }
+    IDatabricksSession session = connection.getSession();
+    ResultSetMetaData metaData = cache.get(session.getCatalog(), session.getSchema(), sql);
+    if (metaData == null) {
+      metaData = describeQuery();
+      cache.put(session.getCatalog(), session.getSchema(), sql, metaData);
+    } else {
+      LOGGER.debug("Using cached DESCRIBE QUERY metadata");
+    }
+    return metaData;
+  }
+
+  private ResultSetMetaData describeQuery() throws DatabricksSQLException {
+    String describeQuerySQL = "DESCRIBE QUERY " + getSqlTemplate().quotePlaceholders();
+    // With interpolation every placeholder has been replaced by a literal, so no values are bound
+    DatabricksParameterMetaData describeQueryParameters =
+        interpolateParameters
+            ? new DatabricksParameterMetaData(describeQuerySQL)
+            : databricksParameterMetaData;
     try (DatabricksPreparedStatement preparedStatement =
             new DatabricksPreparedStatement(
-                connection, describeQuerySQL, interpolateParameters, databricksParameterMetaData);
+                connection, describeQuerySQL, interpolateParameters, describeQueryParameters);
         ResultSet metadataResultSet = preparedStatement.executeQuery(); ) {
       ArrayList<String> columnNames = new ArrayList<>();
       ArrayList<String> columnDataTypes = new ArrayList<>();
@@ -16,6 +16,7 @@ import com.databricks.jdbc.api.internal.IDatabricksSession;
 import com.databricks.jdbc.api.internal.IDatabricksStatementInternal;
 import com.databricks.jdbc.common.Nullable;
 import com.databricks.jdbc.common.StatementType;
+import com.databricks.jdbc.common.util.ValidationUtil;
 import com.databricks.jdbc.common.util.WarningUtil;
 import com.databricks.jdbc.dbclient.impl.common.StatementId;
 import com.databricks.jdbc.exception.DatabricksParsingException;
@@ -69,11 +70,16 @@ public class DatabricksResultSet implements IDatabricksResultSet, IDatabricksRes
   private SQLWarning warnings = null;
   private boolean wasNull;
   private boolean silenceNonTerminalExceptions = false;
+  private int fetchSize;
+  private int fetchDirection = ResultSet.FETCH_FORWARD;
 
   private ResultSetType resultSetType = ResultSetType.UNASSIGNED;
 
   private boolean complexDatatypeSupport = false;
 
+  /** Raw inline result kept until it is handed to the {@link QueryResultCache}. */
+  private QueryResultCache.CachedResult cachedResult;
+
   // Constructor for SEA result set
   public DatabricksResultSet(
       StatementStatus statementStatus,
@@ -90,6 +96,8 @@ public class DatabricksResultSet implements IDatabricksResultSet, IDatabricksRes
       this.executionResult =
           ExecutionResultFactory.getResultSet(
               resultData, resultManifest, statementId, session, parentStatement);
+      this.cachedResult =
+          QueryResultCache.capture(parentStatement, statementType, resultData, resultManifest);
       this.resultSetMetaData =
           new DatabricksResultSetMetaData(
               statementId,
@@ -112,6 +120,7 @@ public class DatabricksResultSet implements IDatabricksResultSet, IDatabricksRes
     this.statementType = statementType;
     this.updateCount = null;
     this.parentStatement = parentStatement;
+    this.fetchSize = parentStatement == null ? 0 : parentStatement.getFetchSize();
     this.isClosed = false;
     this.wasNull = false;
   }
@@ -132,6 +141,7 @@ public class DatabricksResultSet implements IDatabricksResultSet, IDatabricksRes
     this.statementType = statementType;
     this.updateCount = null;
     this.parentStatement = parentStatement;
+    this.fetchSize = parentStatement == null ? 0 : parentStatement.getFetchSize();
     this.isClosed = false;
     this.wasNull = false;
     this.complexDatatypeSupport = complexDatatypeSupport;
@@ -151,6 +161,7 @@ public class DatabricksResultSet implements IDatabricksResultSet, IDatabricksRes
     if (resultsResp != null) {
       this.executionResult =
           ExecutionResultFactory.getResultSet(resultsResp, session, parentStatement);
+      this.cachedResult = QueryResultCache.capture(parentStatement, statementType, resultsResp);
       long rowSize = executionResult.getRowCount();
       List<String> arrowMetadata = null;
       if (executionResult instanceof ArrowStreamResult) {
@@ -181,6 +192,7 @@ public class DatabricksResultSet implements IDatabricksResultSet, IDatabricksRes
     this.statementType = statementType;
     this.updateCount = null;
     this.parentStatement = parentStatement;
+    this.fetchSize = parentStatement == null ? 0 : parentStatement.getFetchSize();
     this.isClosed = false;
     this.wasNull = false;
   }
@@ -604,40 +616,52 @@ public class DatabricksResultSet implements IDatabricksResultSet, IDatabricksRes
   @Override
   public void beforeFirst() throws SQLException {
     checkIfClosed();
-    throw new DatabricksSQLFeatureNotSupportedException(
-        "Databricks JDBC does not support random access (beforeFirst)");
+    checkIfScrollable("beforeFirst");
+    executionResult.moveToRow(-1);
   }
 
   @Override
   public void afterLast() throws SQLException {
     checkIfClosed();
-    throw new DatabricksSQLFeatureNotSupportedException(
-        "Databricks JDBC does not support random access (afterLast)");
+    checkIfScrollable("afterLast");
+    executionResult.moveToRow(executionResult.getRowCount());
   }
 
   @Override
   public boolean first() throws SQLException {
     checkIfClosed();
-    throw new DatabricksSQLFeatureNotSupportedException(
-        "Databricks JDBC does not support random access (first)");
+    checkIfScrollable("first");
+    return executionResult.moveToRow(0);
   }
 
   @Override
   public boolean last() throws SQLException {
     checkIfClosed();
-    throw new DatabricksSQLFeatureNotSupportedException(
-        "Databricks JDBC does not support random access (last)");
+    checkIfScrollable("last");
+    return executionResult.moveToRow(executionResult.getRowCount() - 1);
   }
 
   @Override
   public int getRow() throws SQLException {
     checkIfClosed();
-    return (int) executionResult.getCurrentRow() + 1;
+    long currentRow = executionResult.getCurrentRow();
+    // There is no current row before the first row or, once moved there, after the last row
+    if (currentRow < 0
+        || (executionResult.supportsRandomAccess()
+            && currentRow >= executionResult.getRowCount())) {
+      return 0;
+    }
+    return (int) currentRow + 1;
   }
 
   @Override
   public boolean absolute(int row) throws SQLException {
     checkIfClosed();
+    if (isScrollable()) {
+      // Negative rows count backwards from the end of the result, 0 moves before the first row
+      long targetRow = row > 0 ? row - 1L : row < 0 ? executionResult.getRowCount() + row : -1;
+      return executionResult.moveToRow(Math.max(-1, targetRow));
+    }
     if (row < 1 || row < executionResult.getCurrentRow()) {
       throw new DatabricksSQLFeatureNotSupportedException(
           "Invalid operation for forward only ResultSets");
@@ -653,56 +677,61 @@ public class DatabricksResultSet implements IDatabricksResultSet, IDatabricksRes
   @Override
   public boolean relative(int rows) throws SQLException {
     checkIfClosed();
-    throw new DatabricksSQLFeatureNotSupportedException(
-        "Databricks JDBC does not support random access (relative)");
+    checkIfScrollable("relative");
+    return executionResult.moveToRow(Math.max(-1, executionResult.getCurrentRow() + rows));
   }
 
   @Override
   public boolean previous() throws SQLException {
     checkIfClosed();
-    throw new DatabricksSQLFeatureNotSupportedException(
-        "Databricks JDBC does not support random access (previous)");
+    checkIfScrollable("previous");
+    return executionResult.moveToRow(Math.max(-1, executionResult.getCurrentRow() - 1));
   }
 
   @Override
   public void setFetchDirection(int direction) throws SQLException {
     checkIfClosed();
-    // Only allow forward direction
-    if (direction != ResultSet.FETCH_FORWARD) {
-      throw new DatabricksSQLFeatureNotSupportedException(
-          "Databricks JDBC only supports FETCH_FORWARD direction");
+    if (direction == ResultSet.FETCH_FORWARD
+        || (isScrollable()
+            && (direction == ResultSet.FETCH_REVERSE || direction == ResultSet.FETCH_UNKNOWN))) {
+      // The direction is only a hint, chunks are downloaded as the cursor visits them
+      this.fetchDirection = direction;
+      return;
     }
+    throw new DatabricksSQLFeatureNotSupportedException(
+        "Databricks JDBC only supports FETCH_FORWARD direction for forward only ResultSets");
   }
 
   @Override
   public int getFetchDirection() throws SQLException {
     checkIfClosed();
-    return ResultSet.FETCH_FORWARD;
+    return fetchDirection;
   }
 
   @Override
   public void setFetchSize(int rows) throws SQLException {
-    /* As we fetch chunks of data together,
-    setting fetchSize is an overkill.
-    Hence, we don't support it.*/
+    /* Adjusts the number of rows buffered ahead of the cursor for the rest of the scan. Chunks
+    that are already downloaded or in flight are kept. */
     LOGGER.debug("public void setFetchSize(int rows = {})", rows);
     checkIfClosed();
-    addWarningAndLog("As FetchSize is not supported in the Databricks JDBC, ignoring it");
+    ValidationUtil.checkIfNonNegative(rows, "fetchSize");
+    this.fetchSize = rows;
+    if (executionResult != null) {
+      executionResult.setFetchSize(rows);
+    }
   }
 
   @Override
   public int getFetchSize() throws SQLException {
     LOGGER.debug("public int getFetchSize()");
     checkIfClosed();
-    addWarningAndLog(
-        "As FetchSize is not supported in the Databricks JDBC, we don't set it in the first place");
-    return 0;
+    return fetchSize;
   }
 
   @Override
   public int getType() throws SQLException {
     checkIfClosed();
-    return ResultSet.TYPE_FORWARD_ONLY;
+    return isScrollable() ? ResultSet.TYPE_SCROLL_INSENSITIVE : ResultSet.TYPE_FORWARD_ONLY;
   }
 
   @Override
@@ -1824,6 +1853,16 @@ public class DatabricksResultSet implements IDatabricksResultSet, IDatabricksRes
     return iface.isInstance(this);
   }
 
+  /**
+   * Returns the raw inline result captured for the {@link QueryResultCache} and releases the
+   * reference to it, or {@code null} if no result was captured.
+   */
+  QueryResultCache.CachedResult takeCachedResult() {
+    QueryResultCache.CachedResult result = cachedResult;
+    cachedResult = null;
+    return result;
+  }
+
   @Override
   public String getStatementId() {
     return statementId.toString();
@@ -1917,6 +1956,23 @@ public class DatabricksResultSet implements IDatabricksResultSet, IDatabricksRes
     }
   }
 
+  /**
+   * Returns whether the cursor can move to any row, which requires a {@code
+   * TYPE_SCROLL_INSENSITIVE} statement and a result that supports random access.
+   */
+  private boolean isScrollable() {
+    return parentStatement != null
+        && parentStatement.isScrollable()
+        && executionResult.supportsRandomAccess();
+  }
+
+  private void checkIfScrollable(String operation) throws SQLException {
+    if (!isScrollable()) {
+      throw new DatabricksSQLFeatureNotSupportedException(
+          String.format("Databricks JDBC does not support random access (%s)", operation));
+    }
+  }
+
   @FunctionalInterface
   private interface ConverterFunction<T> {
     T apply(ObjectConverter converter, Object obj) throws SQLException;
@@ -11,6 +11,7 @@ import com.databricks.jdbc.common.DatabricksJdbcUrlParams;
 import com.databricks.jdbc.common.IDatabricksComputeResource;
 import com.databricks.jdbc.dbclient.IDatabricksClient;
 import com.databricks.jdbc.dbclient.IDatabricksMetadataClient;
+import com.databricks.jdbc.dbclient.impl.common.CoalescingMetadataClient;
 import com.databricks.jdbc.dbclient.impl.sqlexec.DatabricksEmptyMetadataClient;
 import com.databricks.jdbc.dbclient.impl.sqlexec.DatabricksMetadataSdkClient;
 import com.databricks.jdbc.dbclient.impl.sqlexec.DatabricksSdkClient;
@@ -36,6 +37,8 @@ public class DatabricksSession implements IDatabricksSession {
   private static final JdbcLogger LOGGER = JdbcLoggerFactory.getLogger(DatabricksSession.class);
   private IDatabricksClient databricksClient;
   private IDatabricksMetadataClient databricksMetadataClient;
+  private volatile boolean isMetadataClientResolved;
+  private volatile CoalescingMetadataClient coalescingMetadataClient;
   private final IDatabricksComputeResource computeResource;
   private boolean isSessionOpen;
   private ImmutableSessionInfo sessionInfo;
@@ -187,10 +190,35 @@ public class DatabricksSession implements IDatabricksSession {
   @Override
   public IDatabricksMetadataClient getDatabricksMetadataClient() {
     LOGGER.debug("public IDatabricksClient getDatabricksMetadataClient()");
-    if (this.connectionContext.getClientType() == DatabricksClientType.THRIFT) {
-      return (IDatabricksMetadataClient) databricksClient;
+    if (!isMetadataClientResolved) {
+      resolveMetadataClient();
+    }
+    IDatabricksMetadataClient metadataClient =
+        this.connectionContext.getClientType() == DatabricksClientType.THRIFT
+            ? (IDatabricksMetadataClient) databricksClient
+            : databricksMetadataClient;
+    if (metadataClient != null && connectionContext.isMetadataRequestCoalescingEnabled()) {
+      return getCoalescingMetadataClient(metadataClient);
+    }
+    return metadataClient;
+  }
+
+  /**
+   * Returns the session's coalescing wrapper of the metadata client, creating it on first use and
+   * whenever the wrapped client has changed.
+   */
+  private IDatabricksMetadataClient getCoalescingMetadataClient(
+      IDatabricksMetadataClient metadataClient) {
+    CoalescingMetadataClient coalescingClient = coalescingMetadataClient;
+    if (coalescingClient != null && coalescingClient.wraps(metadataClient)) {
+      return coalescingClient;
+    }
+    synchronized (this) {
+      if (coalescingMetadataClient == null || !coalescingMetadataClient.wraps(metadataClient)) {
+        coalescingMetadataClient = new CoalescingMetadataClient(metadataClient);
+      }
+      return coalescingMetadataClient;
     }
-    return databricksMetadataClient;
   }
 
   @Override
@@ -282,6 +310,18 @@ public class DatabricksSession implements IDatabricksSession {
     databricksMetadataClient = new DatabricksEmptyMetadataClient(connectionContext);
   }
 
+  /** Picks the metadata client on first use rather than while the connection is opened. */
+  private synchronized void resolveMetadataClient() {
+    if (isMetadataClientResolved) {
+      return;
+    }
+    if (connectionContext.getUseEmptyMetadata()) {
+      LOGGER.warn("Empty metadata client is being used.");
+      setEmptyMetadataClient();
+    }
+    isMetadataClientResolved = true;
+  }
+
   @Override
   public void forceClose() {
     try {
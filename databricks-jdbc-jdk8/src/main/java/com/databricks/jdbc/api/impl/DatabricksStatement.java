@@ -4,9 +4,12 @@ import static com.databricks.jdbc.common.DatabricksJdbcConstants.*;
 import static com.databricks.jdbc.common.EnvironmentVariables.*;
 import static java.lang.String.format;
 
+import com.databricks.jdbc.api.ExecutionState;
 import com.databricks.jdbc.api.IDatabricksResultSet;
 import com.databricks.jdbc.api.IDatabricksStatement;
 import com.databricks.jdbc.api.impl.batch.DatabricksBatchExecutor;
+import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
+import com.databricks.jdbc.api.internal.IDatabricksSession;
 import com.databricks.jdbc.api.internal.IDatabricksStatementInternal;
 import com.databricks.jdbc.common.StatementType;
 import com.databricks.jdbc.common.util.*;
@@ -42,10 +45,14 @@ public class DatabricksStatement implements IDatabricksStatement, IDatabricksSta
   private SQLWarning warnings = null;
   private long maxRows = DEFAULT_RESULT_ROW_LIMIT;
   private int maxFieldSize = 0;
+  private int fetchSize = 0;
+  private int resultSetType = ResultSet.TYPE_FORWARD_ONLY;
   private boolean escapeProcessing = DEFAULT_ESCAPE_PROCESSING;
   private InputStreamEntity inputStream = null;
   private boolean allowInputStreamForUCVolume = false;
   private final DatabricksBatchExecutor databricksBatchExecutor;
+  private volatile boolean capturingResultForCache = false;
+  private volatile String asyncSql;
 
   public DatabricksStatement(DatabricksConnection connection) {
     this.connection = connection;
@@ -53,8 +60,7 @@ public class DatabricksStatement implements IDatabricksStatement, IDatabricksSta
     this.statementId = null;
     this.isClosed = false;
     this.timeoutInSeconds = DEFAULT_STATEMENT_TIMEOUT_SECONDS;
-    this.databricksBatchExecutor =
-        new DatabricksBatchExecutor(this, connection.getConnectionContext().getMaxBatchSize());
+    this.databricksBatchExecutor = createBatchExecutor(connection.getConnectionContext());
   }
 
   public DatabricksStatement(DatabricksConnection connection, StatementId statementId) {
@@ -63,8 +69,7 @@ public class DatabricksStatement implements IDatabricksStatement, IDatabricksSta
     this.resultSet = null;
     this.isClosed = false;
     this.timeoutInSeconds = DEFAULT_STATEMENT_TIMEOUT_SECONDS;
-    this.databricksBatchExecutor =
-        new DatabricksBatchExecutor(this, connection.getConnectionContext().getMaxBatchSize());
+    this.databricksBatchExecutor = createBatchExecutor(connection.getConnectionContext());
   }
 
   @Override
@@ -111,18 +116,25 @@ public class DatabricksStatement implements IDatabricksStatement, IDatabricksSta
       LOGGER.warn(warningMsg);
       warnings = WarningUtil.addWarning(warnings, warningMsg);
     } else {
-      this.connection.getSession().getDatabricksClient().closeStatement(statementId);
+      // Release the local resources first, this also aborts chunk downloads that are in flight
       if (resultSet != null) {
         this.resultSet.close();
         this.resultSet = null;
       }
 
+      IDatabricksClient client = this.connection.getSession().getDatabricksClient();
       if (removeFromSession) {
+        AsyncStatementCloser.getInstance()
+            .closeStatement(client, statementId, connection.getConnectionContext());
         this.connection.closeStatement(this);
+      } else {
+        // The session is about to be closed, close the statement before it goes away
+        client.closeStatement(statementId);
       }
       DatabricksThreadContextHolder.clearStatementInfo();
     }
 
+    databricksBatchExecutor.cancel();
     shutDownExecutor();
     this.isClosed = true;
   }
@@ -194,6 +206,7 @@ public class DatabricksStatement implements IDatabricksStatement, IDatabricksSta
   public void cancel() throws SQLException {
     LOGGER.debug("public void cancel()");
     checkIfClosed();
+    databricksBatchExecutor.cancel();
 
     if (statementId != null) {
       this.connection.getSession().getDatabricksClient().cancelStatement(statementId);
@@ -278,26 +291,19 @@ public class DatabricksStatement implements IDatabricksStatement, IDatabricksSta
   }
 
   @Override
-  public void setFetchSize(int rows) {
-    /* As we fetch chunks of data together,
-    setting fetchSize is an overkill.
-    Hence, we don't support it.*/
+  public void setFetchSize(int rows) throws SQLException {
+    /* The fetch size bounds the number of rows fetched per page and buffered ahead of the
+    cursor by the result sets created afterwards. Zero leaves the driver defaults in place. */
     LOGGER.debug(String.format("public void setFetchSize(int rows = {%s})", rows));
-    String warningString = "As FetchSize is not supported in the Databricks JDBC, ignoring it";
-
-    LOGGER.warn(warningString);
-    warnings = WarningUtil.addWarning(warnings, warningString);
+    checkIfClosed();
+    ValidationUtil.checkIfNonNegative(rows, "fetchSize");
+    this.fetchSize = rows;
   }
 
   @Override
   public int getFetchSize() {
     LOGGER.debug("public int getFetchSize()");
-    String warningString =
-        "As FetchSize is not supported in the Databricks JDBC, we don't set it in the first place";
-
-    LOGGER.warn(warningString);
-    warnings = WarningUtil.addWarning(warnings, warningString);
-    return 0;
+    return fetchSize;
   }
 
   @Override
@@ -311,7 +317,22 @@ public class DatabricksStatement implements IDatabricksStatement, IDatabricksSta
   public int getResultSetType() throws SQLException {
     LOGGER.debug("public int getResultSetType()");
     checkIfClosed();
-    return ResultSet.TYPE_FORWARD_ONLY;
+    return resultSetType;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean isScrollable() {
+    return resultSetType == ResultSet.TYPE_SCROLL_INSENSITIVE;
+  }
+
+  /**
+   * Sets the type of the result sets created by this statement.
+   *
+   * @param resultSetType {@code TYPE_FORWARD_ONLY} or {@code TYPE_SCROLL_INSENSITIVE}
+   */
+  void setResultSetType(int resultSetType) {
+    this.resultSetType = resultSetType;
   }
 
   /** {@inheritDoc} */
@@ -586,12 +607,18 @@ public class DatabricksStatement implements IDatabricksStatement, IDatabricksSta
     checkIfClosed();
     IDatabricksClient client = connection.getSession().getDatabricksClient();
     DatabricksThreadContextHolder.setStatementType(StatementType.SQL);
-    return client.executeStatementAsync(
-        sql,
-        connection.getSession().getComputeResource(),
-        Collections.emptyMap(),
-        connection.getSession(),
-        this);
+    DatabricksResultSet handle =
+        client.executeStatementAsync(
+            sql,
+            connection.getSession().getComputeResource(),
+            Collections.emptyMap(),
+            connection.getSession(),
+            this);
+    // The statement may change what cached metadata describes before it is polled for, and again
+    // once it has finished, see getExecutionResult()
+    asyncSql = sql;
+    connection.onStatementExecuted(sql);
+    return handle;
   }
 
   @Override
@@ -603,10 +630,33 @@ public class DatabricksStatement implements IDatabricksStatement, IDatabricksSta
       throw new DatabricksSQLException(
           "No execution available for statement", DatabricksDriverErrorCode.INPUT_VALIDATION_ERROR);
     }
-    return connection
-        .getSession()
-        .getDatabricksClient()
-        .getStatementResult(statementId, connection.getSession(), this);
+    DatabricksResultSet result =
+        connection
+            .getSession()
+            .getDatabricksClient()
+            .getStatementResult(statementId, connection.getSession(), this);
+    String sql = asyncSql;
+    if (sql != null
+        && result.getExecutionStatus().getExecutionState() == ExecutionState.SUCCEEDED) {
+      asyncSql = null;
+      connection.onStatementExecuted(sql);
+    }
+    return result;
+  }
+
+  @Override
+  public void setBatchOrderIndependent(boolean orderIndependent) throws SQLException {
+    LOGGER.debug(
+        "public void setBatchOrderIndependent(boolean orderIndependent = {})", orderIndependent);
+    checkIfClosed();
+    databricksBatchExecutor.setOrderIndependent(orderIndependent);
+  }
+
+  @Override
+  public CompletableFuture<ResultSet> executeQueryAsync(String sql) throws SQLException {
+    LOGGER.debug("CompletableFuture<ResultSet> executeQueryAsync(String sql = {})", sql);
+    checkIfClosed();
+    return AsyncStatementPoller.getInstance().executeQuery(this, sql);
   }
 
   // Implemented for JDK 8 (no default in Statement prior to JDBC 4.3)
@@ -765,6 +815,7 @@ public class DatabricksStatement implements IDatabricksStatement, IDatabricksSta
           errMsg, e, DatabricksDriverErrorCode.EXECUTE_STATEMENT_FAILED);
     }
     LOGGER.debug("Result retrieved successfully {}", resultSet.toString());
+    connection.onStatementExecuted(sql);
     return resultSet;
   }
 
@@ -792,14 +843,58 @@ public class DatabricksStatement implements IDatabricksStatement, IDatabricksSta
   DatabricksResultSet getResultFromClient(
       String sql, Map<Integer, ImmutableSqlParameter> params, StatementType statementType)
       throws SQLException {
-    IDatabricksClient client = connection.getSession().getDatabricksClient();
-    return client.executeStatement(
-        sql,
-        connection.getSession().getComputeResource(),
-        params,
-        statementType,
-        connection.getSession(),
-        this);
+    IDatabricksSession session = connection.getSession();
+    IDatabricksClient client = session.getDatabricksClient();
+    long resultCacheTtlSeconds = getResultCacheTtlSeconds(sql);
+    if (resultCacheTtlSeconds <= 0) {
+      return client.executeStatement(
+          sql, session.getComputeResource(), params, statementType, session, this);
+    }
+    IDatabricksConnectionContext connectionContext = connection.getConnectionContext();
+    QueryResultCache cache = QueryResultCache.getInstance(connectionContext);
+    QueryResultCache.Key key =
+        new QueryResultCache.Key(
+            ConnectionPrincipal.getFingerprint(
+                connectionContext, session.getClientInfoProperties()),
+            session.getCatalog(),
+            session.getSchema(),
+            sql,
+            params,
+            maxRows);
+    DatabricksResultSet cachedResultSet = cache.get(key, session, this);
+    if (cachedResultSet != null) {
+      LOGGER.debug("Serving result of {} from the result cache", sql);
+      return cachedResultSet;
+    }
+    DatabricksResultSet result;
+    capturingResultForCache = true;
+    try {
+      result =
+          client.executeStatement(
+              sql, session.getComputeResource(), params, statementType, session, this);
+    } finally {
+      capturingResultForCache = false;
+    }
+    cache.put(key, result.takeCachedResult(), TimeUnit.SECONDS.toMillis(resultCacheTtlSeconds));
+    return result;
+  }
+
+  /**
+   * Returns the number of seconds the result of the given SQL may be served from the result cache,
+   * or 0 if it must not be cached. Only SELECT queries are cached.
+   */
+  private long getResultCacheTtlSeconds(String sql) {
+    IDatabricksConnectionContext connectionContext = connection.getConnectionContext();
+    if (connectionContext == null) {
+      return 0;
+    }
+    long ttlSeconds = QueryResultCache.getTtlSeconds(sql, connectionContext.getResultCacheTtl());
+    return ttlSeconds > 0 && isSelectQuery(sql) ? ttlSeconds : 0;
+  }
+
+  /** Returns whether a result set created now should capture its raw result for the cache. */
+  boolean isCapturingResultForCache() {
+    return capturingResultForCache;
   }
 
   void checkIfClosed() throws DatabricksSQLException {
@@ -809,6 +904,14 @@ public class DatabricksStatement implements IDatabricksStatement, IDatabricksSta
     }
   }
 
+  private DatabricksBatchExecutor createBatchExecutor(
+      IDatabricksConnectionContext connectionContext) {
+    return new DatabricksBatchExecutor(
+        this,
+        connectionContext.getMaxBatchSize(),
+        connectionContext.getBatchExecutionParallelism());
+  }
+
   /**
    * Shuts down the ExecutorService used for asynchronous execution.
    *
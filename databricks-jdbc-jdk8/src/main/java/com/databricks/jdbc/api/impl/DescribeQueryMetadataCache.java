@@ -0,0 +1,198 @@
+package com.databricks.jdbc.api.impl;
+
+import static com.databricks.jdbc.common.DatabricksJdbcConstants.DDL_PATTERN;
+import static com.databricks.jdbc.common.DatabricksJdbcConstants.USE_PATTERN;
+
+import com.databricks.jdbc.log.JdbcLogger;
+import com.databricks.jdbc.log.JdbcLoggerFactory;
+import com.google.common.annotations.VisibleForTesting;
+import java.sql.ResultSetMetaData;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Least-recently-used cache of the {@link ResultSetMetaData} returned by {@code DESCRIBE QUERY} for
+ * prepared statements that have not been executed yet.
+ *
+ * <p>Entries are keyed by the SQL text with insignificant whitespace removed, together with the
+ * session's catalog and schema. The whole cache is invalidated when a statement that changes the
+ * current catalog or schema, or that may change table definitions, is executed through the
+ * connection. Changes made by other connections are not observed until the entry is evicted.
+ *
+ * <p>By default every connection has a cache of its own. Connections that enable {@code
+ * EnableSharedDescribeQueryCache} instead use a driver-wide cache, and their keys additionally
+ * include the {@link ConnectionPrincipal} of the connection, which covers the host and warehouse,
+ * so that entries are only shared by connections that the server would describe the query for
+ * alike. The size of the shared cache is taken from the first connection that uses it. A connection
+ * that changes its current catalog or schema stops using the shared cache, since its session may
+ * not reflect the change, and statements that may change table definitions clear the shared cache
+ * for all connections.
+ */
+class DescribeQueryMetadataCache {
+
+  private static final JdbcLogger LOGGER =
+      JdbcLoggerFactory.getLogger(DescribeQueryMetadataCache.class);
+
+  /** Entries of the driver-wide cache, created by the first connection that uses it. */
+  private static Map<String, ResultSetMetaData> sharedEntries;
+
+  private final int maxSize;
+
+  /** Returns the identity that scopes the keys of the shared cache, {@code null} if not shared. */
+  private final Supplier<String> sharedScope;
+
+  /** Driver-wide entries the connection was created with, {@code null} if not shared. */
+  private final Map<String, ResultSetMetaData> connectionSharedEntries;
+
+  /** Entries the cache currently uses, guarded by their own lock. */
+  private volatile Map<String, ResultSetMetaData> entries;
+
+  DescribeQueryMetadataCache(int maxSize) {
+    this(maxSize, null);
+  }
+
+  /**
+   * @param maxSize maximum number of cached entries, 0 disables the cache
+   * @param sharedScope returns the identity of the connection if the driver-wide cache is used, or
+   *     {@code null} for a cache of the connection's own
+   */
+  DescribeQueryMetadataCache(int maxSize, Supplier<String> sharedScope) {
+    this.maxSize = Math.max(0, maxSize);
+    this.sharedScope = sharedScope;
+    this.connectionSharedEntries = sharedScope == null ? null : getSharedEntries(this.maxSize);
+    this.entries =
+        connectionSharedEntries == null ? newEntries(this.maxSize) : connectionSharedEntries;
+  }
+
+  /** Returns the cached metadata, or {@code null} if there is none. */
+  ResultSetMetaData get(String catalog, String schema, String sql) {
+    if (maxSize == 0) {
+      return null;
+    }
+    Map<String, ResultSetMetaData> currentEntries = entries;
+    String key = key(currentEntries, catalog, schema, sql);
+    synchronized (currentEntries) {
+      return currentEntries.get(key);
+    }
+  }
+
+  void put(String catalog, String schema, String sql, ResultSetMetaData metaData) {
+    if (maxSize > 0) {
+      Map<String, ResultSetMetaData> currentEntries = entries;
+      String key = key(currentEntries, catalog, schema, sql);
+      synchronized (currentEntries) {
+        currentEntries.put(key, metaData);
+      }
+    }
+  }
+
+  int size() {
+    Map<String, ResultSetMetaData> currentEntries = entries;
+    synchronized (currentEntries) {
+      return currentEntries.size();
+    }
+  }
+
+  /**
+   * Invalidates all entries if the executed statement changes the session's catalog or schema, or
+   * may change table definitions.
+   *
+   * @param sql SQL of a successfully executed statement
+   */
+  void onStatementExecuted(String sql) {
+    Map<String, ResultSetMetaData> currentEntries = entries;
+    synchronized (currentEntries) {
+      if (currentEntries.isEmpty() && !isShared(currentEntries)) {
+        return;
+      }
+    }
+    String trimmedSql = DatabricksStatement.trimCommentsAndWhitespaces(sql);
+    boolean changesDefinitions = DDL_PATTERN.matcher(trimmedSql).find();
+    if (!changesDefinitions && !USE_PATTERN.matcher(trimmedSql).find()) {
+      return;
+    }
+    LOGGER.debug("Invalidating DESCRIBE QUERY metadata cache after {}", trimmedSql);
+    if (isShared(currentEntries)) {
+      if (changesDefinitions) {
+        synchronized (currentEntries) {
+          currentEntries.clear();
+        }
+      } else {
+        // Keys of the shared cache must not depend on a stale catalog or schema of this session
+        entries = newEntries(maxSize);
+      }
+    } else {
+      synchronized (currentEntries) {
+        currentEntries.clear();
+      }
+    }
+  }
+
+  private boolean isShared(Map<String, ResultSetMetaData> currentEntries) {
+    return connectionSharedEntries != null && currentEntries == connectionSharedEntries;
+  }
+
+  private static synchronized Map<String, ResultSetMetaData> getSharedEntries(int maxSize) {
+    if (sharedEntries == null) {
+      sharedEntries = newEntries(maxSize);
+    }
+    return sharedEntries;
+  }
+
+  @VisibleForTesting
+  static synchronized void resetSharedEntries() {
+    sharedEntries = null;
+  }
+
+  private static Map<String, ResultSetMetaData> newEntries(int maxSize) {
+    return new LinkedHashMap<String, ResultSetMetaData>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, ResultSetMetaData> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  private String key(
+      Map<String, ResultSetMetaData> currentEntries, String catalog, String schema, String sql) {
+    String key = key(catalog, schema, sql);
+    return isShared(currentEntries) ? sharedScope.get() + '\u0000' + key : key;
+  }
+
+  private static String key(String catalog, String schema, String sql) {
+    return catalog + '\u0000' + schema + '\u0000' + normalize(sql);
+  }
+
+  /**
+   * Collapses every run of whitespace outside string literals and quoted identifiers to a single
+   * space and removes leading and trailing whitespace.
+   */
+  static String normalize(String sql) {
+    StringBuilder sb = new StringBuilder(sql.length());
+    char quote = 0;
+    boolean pendingSpace = false;
+    for (int i = 0; i < sql.length(); i++) {
+      char c = sql.charAt(i);
+      if (quote == 0 && Character.isWhitespace(c)) {
+        pendingSpace = sb.length() > 0;
+        continue;
+      }
+      if (pendingSpace) {
+        sb.append(' ');
+        pendingSpace = false;
+      }
+      sb.append(c);
+      if (quote != 0) {
+        if (c == '\\' && quote != '`' && i + 1 < sql.length()) {
+          sb.append(sql.charAt(++i));
+        } else if (c == quote) {
+          quote = 0;
+        }
+      } else if (c == '\'' || c == '"' || c == '`') {
+        quote = c;
+      }
+    }
+    return sb.toString();
+  }
+}
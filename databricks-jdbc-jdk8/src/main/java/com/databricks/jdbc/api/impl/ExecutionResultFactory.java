@@ -31,7 +31,8 @@ class ExecutionResultFactory {
       IDatabricksSession session,
       IDatabricksStatementInternal statement)
       throws DatabricksSQLException {
-    IExecutionResult resultHandler = getResultHandler(data, manifest, statementId, session);
+    IExecutionResult resultHandler =
+        getResultHandler(data, manifest, statementId, session, statement);
     if (manifest.getIsVolumeOperation() != null && manifest.getIsVolumeOperation()) {
       return new VolumeOperationResult(
           manifest.getTotalRowCount(),
@@ -45,7 +46,11 @@ class ExecutionResultFactory {
   }
 
   private static IExecutionResult getResultHandler(
-      ResultData data, ResultManifest manifest, StatementId statementId, IDatabricksSession session)
+      ResultData data,
+      ResultManifest manifest,
+      StatementId statementId,
+      IDatabricksSession session,
+      IDatabricksStatementInternal statement)
       throws DatabricksSQLException {
     if (manifest.getFormat() == null) {
       throw new DatabricksParsingException(
@@ -56,7 +61,13 @@ class ExecutionResultFactory {
     // We use JSON_ARRAY for metadata and update commands, and ARROW_STREAM for query results
     switch (manifest.getFormat()) {
       case ARROW_STREAM:
-        return new ArrowStreamResult(manifest, data, statementId, session);
+        return new ArrowStreamResult(
+            manifest,
+            data,
+            statementId,
+            session,
+            statement == null ? 0 : statement.getFetchSize(),
+            statement != null && statement.isScrollable());
       case JSON_ARRAY:
         // This is used for metadata and update commands
         return new InlineJsonResult(manifest, data);
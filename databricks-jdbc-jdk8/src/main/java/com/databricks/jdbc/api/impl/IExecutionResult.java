@@ -1,6 +1,7 @@
 package com.databricks.jdbc.api.impl;
 
 import com.databricks.jdbc.exception.DatabricksSQLException;
+import com.databricks.jdbc.model.telemetry.enums.DatabricksDriverErrorCode;
 
 /** Interface to provide methods over an underlying statement result */
 public interface IExecutionResult {
@@ -37,4 +38,30 @@ public interface IExecutionResult {
   long getRowCount();
 
   long getChunkCount();
+
+  /**
+   * Sets the number of rows that should be buffered ahead of the cursor, 0 for the default. Results
+   * that do not stream rows ignore it.
+   */
+  default void setFetchSize(int rows) throws DatabricksSQLException {}
+
+  /** Returns whether the cursor can be moved to any row with {@link #moveToRow(long)}. */
+  default boolean supportsRandomAccess() {
+    return false;
+  }
+
+  /**
+   * Moves the cursor to the given row, starting with 0. A row before the first row positions the
+   * cursor before the first row, a row after the last row positions it after the last row.
+   *
+   * @param row row to move to
+   * @return true if the cursor is on a row
+   * @throws DatabricksSQLException if the result does not support random access or the row cannot
+   *     be fetched
+   */
+  default boolean moveToRow(long row) throws DatabricksSQLException {
+    throw new DatabricksSQLException(
+        "Random access is not supported for this result",
+        DatabricksDriverErrorCode.UNSUPPORTED_OPERATION);
+  }
 }
@@ -82,6 +82,20 @@ public class InlineJsonResult implements IExecutionResult {
     return !isClosed() && currentRow < data.size() - 1;
   }
 
+  @Override
+  public boolean supportsRandomAccess() {
+    return true;
+  }
+
+  @Override
+  public boolean moveToRow(long row) {
+    if (isClosed()) {
+      return false;
+    }
+    currentRow = Math.max(-1, Math.min(row, data.size()));
+    return currentRow >= 0 && currentRow < data.size();
+  }
+
   @Override
   public void close() {
     this.isClosed = true;
@@ -0,0 +1,604 @@
+package com.databricks.jdbc.api.impl;
+
+import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
+import com.databricks.jdbc.api.internal.IDatabricksSession;
+import com.databricks.jdbc.api.internal.IDatabricksStatementInternal;
+import com.databricks.jdbc.common.StatementType;
+import com.databricks.jdbc.common.util.JsonUtil;
+import com.databricks.jdbc.dbclient.impl.common.StatementId;
+import com.databricks.jdbc.log.JdbcLogger;
+import com.databricks.jdbc.log.JdbcLoggerFactory;
+import com.databricks.jdbc.model.client.thrift.generated.TFetchResultsResp;
+import com.databricks.jdbc.model.client.thrift.generated.THandleIdentifier;
+import com.databricks.jdbc.model.client.thrift.generated.TSparkArrowBatch;
+import com.databricks.jdbc.model.client.thrift.generated.TSparkRowSetType;
+import com.databricks.jdbc.model.core.ResultData;
+import com.databricks.jdbc.model.core.ResultManifest;
+import com.databricks.jdbc.model.core.StatementStatus;
+import com.databricks.sdk.service.sql.Format;
+import com.databricks.sdk.service.sql.StatementState;
+import com.google.common.annotations.VisibleForTesting;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.thrift.TDeserializer;
+import org.apache.thrift.TException;
+import org.apache.thrift.TSerializer;
+
+/**
+ * Driver-wide cache of SELECT results, shared by all connections of the JVM.
+ *
+ * <p>The cache is opt-in: a result is only cached if the {@code ResultCacheTtl} connection property
+ * or a {@code RESULT_CACHE(TTL=<seconds>)} hint comment in the SQL gives it a positive time to
+ * live. Entries are keyed by the {@link ConnectionPrincipal} of the connection, the session's
+ * catalog and schema, the whitespace-normalized SQL, the bound parameters and the row limit, so a
+ * result is only served to connections that the server would give the same rows. Writes made
+ * through the driver do not invalidate entries, they are only removed once their time to live has
+ * passed.
+ *
+ * <p>Only results that are returned completely inline as Arrow are cached, since external links
+ * expire. The compressed Arrow buffers are kept as received from the server and a hit replays them
+ * through the regular {@link DatabricksResultSet} constructors, so rows are read with the same
+ * {@link com.databricks.jdbc.api.impl.arrow.ArrowStreamResult} cursor without a server call. Every
+ * hit gets a statement id of its own.
+ *
+ * <p>Results are evicted in least-recently-used order once the cached buffers exceed {@code
+ * ResultCacheMaxBytes}. If {@code ResultCacheSpillDirectory} is set, evicted results are written to
+ * files in that directory instead of being dropped, up to the same number of bytes, and read back
+ * on their next hit. Spill files are deleted once their result is read back, expires or is evicted
+ * from the directory. The size limit and spill directory are taken from the first connection that
+ * uses the cache.
+ */
+public final class QueryResultCache {
+
+  private static final JdbcLogger LOGGER = JdbcLoggerFactory.getLogger(QueryResultCache.class);
+
+  private static final Pattern TTL_HINT_PATTERN =
+      Pattern.compile(
+          "/\\*\\+\\s*RESULT_CACHE\\s*\\(\\s*TTL\\s*=\\s*(\\d+)\\s*\\)\\s*\\*/",
+          Pattern.CASE_INSENSITIVE);
+
+  private static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+
+  /** Accounted for every entry in addition to its Arrow buffers, for the manifest and key. */
+  private static final long ENTRY_OVERHEAD_BYTES = 1024;
+
+  private static final byte SEA_RESULT = 0;
+  private static final byte THRIFT_RESULT = 1;
+
+  private static volatile QueryResultCache instance;
+
+  private final long maxBytes;
+  private final Path spillDirectory;
+  private final LongSupplier clock;
+  private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<Key, SpilledEntry> spilledEntries = new LinkedHashMap<>(16, 0.75f, true);
+  private long memoryBytes;
+  private long spilledBytes;
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong evictionCount = new AtomicLong();
+  private final AtomicLong spillCount = new AtomicLong();
+
+  @VisibleForTesting
+  QueryResultCache(long maxBytes, Path spillDirectory, LongSupplier clock) {
+    this.maxBytes = Math.max(0, maxBytes);
+    this.spillDirectory = spillDirectory;
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the driver-wide result cache. If no connection has used the cache yet, it is created
+   * with the default size limit and without a spill directory.
+   */
+  public static QueryResultCache getInstance() {
+    return getInstance(null);
+  }
+
+  static QueryResultCache getInstance(IDatabricksConnectionContext connectionContext) {
+    if (instance == null) {
+      synchronized (QueryResultCache.class) {
+        if (instance == null) {
+          instance = create(connectionContext);
+        }
+      }
+    }
+    return instance;
+  }
+
+  private static QueryResultCache create(IDatabricksConnectionContext connectionContext) {
+    if (connectionContext == null) {
+      return new QueryResultCache(DEFAULT_MAX_BYTES, null, System::currentTimeMillis);
+    }
+    Path spillDirectory = null;
+    String directory = connectionContext.getResultCacheSpillDirectory();
+    if (directory != null && !directory.isEmpty()) {
+      try {
+        spillDirectory = Files.createDirectories(Paths.get(directory));
+      } catch (IOException | RuntimeException e) {
+        LOGGER.warn(
+            "Cannot use {} as result cache spill directory, spilling is disabled: {}",
+            directory,
+            e.getMessage());
+      }
+    }
+    return new QueryResultCache(
+        connectionContext.getResultCacheMaxBytes(), spillDirectory, System::currentTimeMillis);
+  }
+
+  /**
+   * Returns the time to live requested by a {@code RESULT_CACHE(TTL=<seconds>)} hint in the SQL, or
+   * the given default if the SQL has no such hint.
+   */
+  static long getTtlSeconds(String sql, long defaultTtlSeconds) {
+    if (sql.indexOf("/*+") < 0) {
+      return defaultTtlSeconds;
+    }
+    Matcher matcher = TTL_HINT_PATTERN.matcher(sql);
+    if (!matcher.find()) {
+      return defaultTtlSeconds;
+    }
+    try {
+      return Long.parseLong(matcher.group(1));
+    } catch (NumberFormatException e) {
+      return defaultTtlSeconds;
+    }
+  }
+
+  /**
+   * Returns the cached result of the given key as a new result set of the given statement, or
+   * {@code null} if the result is not cached or has expired.
+   */
+  DatabricksResultSet get(Key key, IDatabricksSession session, IDatabricksStatementInternal parent)
+      throws SQLException {
+    CachedResult result = lookup(key);
+    return result == null ? null : result.toResultSet(session, parent);
+  }
+
+  @VisibleForTesting
+  CachedResult lookup(Key key) {
+    long now = clock.getAsLong();
+    SpilledEntry spilledEntry;
+    synchronized (this) {
+      Entry entry = entries.get(key);
+      if (entry != null) {
+        if (entry.expiresAtMillis > now) {
+          hitCount.incrementAndGet();
+          return entry.result;
+        }
+        entries.remove(key);
+        memoryBytes -= entry.result.byteSize;
+      }
+      spilledEntry = spilledEntries.remove(key);
+      if (spilledEntry != null) {
+        spilledBytes -= spilledEntry.byteSize;
+      }
+    }
+    if (spilledEntry != null) {
+      CachedResult result = spilledEntry.expiresAtMillis > now ? readSpilled(spilledEntry) : null;
+      deleteQuietly(spilledEntry.file);
+      if (result != null) {
+        hitCount.incrementAndGet();
+        store(key, result, spilledEntry.expiresAtMillis);
+        return result;
+      }
+    }
+    missCount.incrementAndGet();
+    return null;
+  }
+
+  /**
+   * Caches a result for the given number of milliseconds. Results larger than the size limit and
+   * {@code null} results are ignored.
+   */
+  void put(Key key, CachedResult result, long ttlMillis) {
+    if (result == null || ttlMillis <= 0 || result.byteSize > maxBytes) {
+      return;
+    }
+    store(key, result, clock.getAsLong() + ttlMillis);
+  }
+
+  private void store(Key key, CachedResult result, long expiresAtMillis) {
+    List<Map.Entry<Key, Entry>> evicted = new ArrayList<>();
+    SpilledEntry staleSpilledEntry;
+    synchronized (this) {
+      Entry previous = entries.put(key, new Entry(result, expiresAtMillis));
+      if (previous != null) {
+        memoryBytes -= previous.result.byteSize;
+      }
+      memoryBytes += result.byteSize;
+      staleSpilledEntry = spilledEntries.remove(key);
+      if (staleSpilledEntry != null) {
+        spilledBytes -= staleSpilledEntry.byteSize;
+      }
+      Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+      while (memoryBytes > maxBytes && iterator.hasNext()) {
+        Map.Entry<Key, Entry> eldest = iterator.next();
+        iterator.remove();
+        memoryBytes -= eldest.getValue().result.byteSize;
+        evictionCount.incrementAndGet();
+        evicted.add(eldest);
+      }
+      LOGGER.debug(
+          "Result cache holds {} results in {} bytes, {} spilled results in {} bytes",
+          entries.size(),
+          memoryBytes,
+          spilledEntries.size(),
+          spilledBytes);
+    }
+    if (staleSpilledEntry != null) {
+      deleteQuietly(staleSpilledEntry.file);
+    }
+    if (spillDirectory != null) {
+      long now = clock.getAsLong();
+      for (Map.Entry<Key, Entry> entry : evicted) {
+        if (entry.getValue().expiresAtMillis > now) {
+          spill(entry.getKey(), entry.getValue());
+        }
+      }
+    }
+  }
+
+  private void spill(Key key, Entry entry) {
+    Path file;
+    try {
+      file = Files.createTempFile(spillDirectory, "result-cache-", ".bin");
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+        entry.result.writeTo(out);
+      }
+    } catch (IOException | TException e) {
+      LOGGER.warn("Failed to spill cached result to {}: {}", spillDirectory, e.getMessage());
+      return;
+    }
+    List<Path> dropped = new ArrayList<>();
+    long now = clock.getAsLong();
+    synchronized (this) {
+      SpilledEntry previous =
+          spilledEntries.put(
+              key, new SpilledEntry(file, entry.result.byteSize, entry.expiresAtMillis));
+      if (previous != null) {
+        spilledBytes -= previous.byteSize;
+        dropped.add(previous.file);
+      }
+      spilledBytes += entry.result.byteSize;
+      Iterator<SpilledEntry> iterator = spilledEntries.values().iterator();
+      while (iterator.hasNext()) {
+        SpilledEntry spilledEntry = iterator.next();
+        if (spilledEntry.expiresAtMillis <= now) {
+          iterator.remove();
+          spilledBytes -= spilledEntry.byteSize;
+          dropped.add(spilledEntry.file);
+        }
+      }
+      iterator = spilledEntries.values().iterator();
+      while (spilledBytes > maxBytes && iterator.hasNext()) {
+        SpilledEntry eldest = iterator.next();
+        iterator.remove();
+        spilledBytes -= eldest.byteSize;
+        dropped.add(eldest.file);
+      }
+    }
+    spillCount.incrementAndGet();
+    dropped.forEach(QueryResultCache::deleteQuietly);
+  }
+
+  private static CachedResult readSpilled(SpilledEntry spilledEntry) {
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(spilledEntry.file)))) {
+      return CachedResult.readFrom(in, spilledEntry.byteSize);
+    } catch (IOException | TException | RuntimeException e) {
+      LOGGER.warn("Failed to read spilled result {}: {}", spilledEntry.file, e.getMessage());
+      return null;
+    }
+  }
+
+  private static void deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      LOGGER.debug("Failed to delete spilled result {}: {}", file, e.getMessage());
+    }
+  }
+
+  /** Removes all cached results, including spilled ones. */
+  public void clear() {
+    List<Path> files = new ArrayList<>();
+    synchronized (this) {
+      entries.clear();
+      spilledEntries.values().forEach(spilledEntry -> files.add(spilledEntry.file));
+      spilledEntries.clear();
+      memoryBytes = 0;
+      spilledBytes = 0;
+    }
+    files.forEach(QueryResultCache::deleteQuietly);
+  }
+
+  /** Returns the number of lookups that were served from the cache. */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /** Returns the number of lookups of cacheable queries that were not served from the cache. */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /** Returns the number of results evicted from memory because of the size limit. */
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  /** Returns the number of evicted results written to the spill directory. */
+  public long getSpillCount() {
+    return spillCount.get();
+  }
+
+  /** Returns the number of bytes of cached results held in memory. */
+  public synchronized long getMemoryBytes() {
+    return memoryBytes;
+  }
+
+  /** Returns the number of cached results, in memory and spilled. */
+  public synchronized int size() {
+    return entries.size() + spilledEntries.size();
+  }
+
+  /**
+   * Returns the result of the given SEA response if it should be captured for the cache, i.e. the
+   * statement is collecting its result for the cache and the result is complete inline Arrow.
+   */
+  static CachedResult capture(
+      IDatabricksStatementInternal parentStatement,
+      StatementType statementType,
+      ResultData resultData,
+      ResultManifest resultManifest) {
+    if (!isCapturing(parentStatement)
+        || resultData == null
+        || resultManifest == null
+        || resultManifest.getFormat() != Format.ARROW_STREAM
+        || Boolean.TRUE.equals(resultManifest.getIsVolumeOperation())
+        || resultData.getAttachment() == null
+        || resultData.getNextChunkIndex() != null
+        || (resultData.getExternalLinks() != null && !resultData.getExternalLinks().isEmpty())) {
+      return null;
+    }
+    return new CachedResult(
+        statementType,
+        resultData,
+        resultManifest,
+        null,
+        resultData.getAttachment().length + ENTRY_OVERHEAD_BYTES);
+  }
+
+  /**
+   * Returns the result of the given Thrift response if it should be captured for the cache, i.e.
+   * the statement is collecting its result for the cache and all rows are inline Arrow batches.
+   */
+  static CachedResult capture(
+      IDatabricksStatementInternal parentStatement,
+      StatementType statementType,
+      TFetchResultsResp resultsResp) {
+    if (!isCapturing(parentStatement)
+        || resultsResp == null
+        || resultsResp.hasMoreRows
+        || resultsResp.getResultSetMetadata() == null
+        || resultsResp.getResultSetMetadata().getResultFormat() != TSparkRowSetType.ARROW_BASED_SET
+        || resultsResp.getResults() == null
+        || resultsResp.getResults().getArrowBatches() == null) {
+      return null;
+    }
+    long byteSize = ENTRY_OVERHEAD_BYTES;
+    for (TSparkArrowBatch batch : resultsResp.getResults().getArrowBatches()) {
+      // Also trims the buffer to the batch, so replays never modify the shared response
+      byteSize += batch.getBatch().length;
+    }
+    return new CachedResult(statementType, null, null, resultsResp, byteSize);
+  }
+
+  private static boolean isCapturing(IDatabricksStatementInternal parentStatement) {
+    return parentStatement instanceof DatabricksStatement
+        && ((DatabricksStatement) parentStatement).isCapturingResultForCache();
+  }
+
+  /** Identity of a cached query result. */
+  static final class Key {
+    private final String principal;
+    private final String catalog;
+    private final String schema;
+    private final String sql;
+    private final String parameters;
+    private final long maxRows;
+
+    Key(
+        String principal,
+        String catalog,
+        String schema,
+        String sql,
+        Map<Integer, ImmutableSqlParameter> parameters,
+        long maxRows) {
+      this.principal = principal;
+      this.catalog = catalog;
+      this.schema = schema;
+      this.sql = DescribeQueryMetadataCache.normalize(sql);
+      this.parameters = describe(parameters);
+      this.maxRows = maxRows;
+    }
+
+    private static String describe(Map<Integer, ImmutableSqlParameter> parameters) {
+      if (parameters == null || parameters.isEmpty()) {
+        return "";
+      }
+      StringBuilder sb = new StringBuilder();
+      for (Map.Entry<Integer, ImmutableSqlParameter> parameter :
+          new TreeMap<>(parameters).entrySet()) {
+        Object value = parameter.getValue().value();
+        sb.append(parameter.getKey())
+            .append(':')
+            .append(parameter.getValue().type())
+            .append('=')
+            .append(
+                value instanceof byte[]
+                    ? Base64.getEncoder().encodeToString((byte[]) value)
+                    : String.valueOf(value))
+            .append('\u0000');
+      }
+      return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key that = (Key) obj;
+      return maxRows == that.maxRows
+          && sql.equals(that.sql)
+          && parameters.equals(that.parameters)
+          && Objects.equals(catalog, that.catalog)
+          && Objects.equals(schema, that.schema)
+          && principal.equals(that.principal);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(principal, catalog, schema, sql, parameters, maxRows);
+    }
+  }
+
+  /** Inline Arrow result of a statement, as returned by the server. */
+  static final class CachedResult {
+    private final StatementType statementType;
+    private final ResultData resultData;
+    private final ResultManifest resultManifest;
+    private final TFetchResultsResp resultsResp;
+    private final long byteSize;
+
+    private CachedResult(
+        StatementType statementType,
+        ResultData resultData,
+        ResultManifest resultManifest,
+        TFetchResultsResp resultsResp,
+        long byteSize) {
+      this.statementType = statementType;
+      this.resultData = resultData;
+      this.resultManifest = resultManifest;
+      this.resultsResp = resultsResp;
+      this.byteSize = byteSize;
+    }
+
+    long getByteSize() {
+      return byteSize;
+    }
+
+    DatabricksResultSet toResultSet(IDatabricksSession session, IDatabricksStatementInternal parent)
+        throws SQLException {
+      StatementStatus status = new StatementStatus().setState(StatementState.SUCCEEDED);
+      StatementId statementId = newStatementId();
+      if (resultsResp != null) {
+        return new DatabricksResultSet(
+            status, statementId, resultsResp, statementType, parent, session);
+      }
+      return new DatabricksResultSet(
+          status, statementId, resultData, resultManifest, statementType, session, parent);
+    }
+
+    /** Returns an id for a replay of the result, of the same kind as the id of the statement. */
+    private StatementId newStatementId() {
+      if (resultsResp == null) {
+        return new StatementId(UUID.randomUUID().toString());
+      }
+      return new StatementId(
+          new THandleIdentifier().setGuid(randomUuidBytes()).setSecret(randomUuidBytes()));
+    }
+
+    private static byte[] randomUuidBytes() {
+      UUID uuid = UUID.randomUUID();
+      return ByteBuffer.allocate(16)
+          .putLong(uuid.getMostSignificantBits())
+          .putLong(uuid.getLeastSignificantBits())
+          .array();
+    }
+
+    void writeTo(DataOutputStream out) throws IOException, TException {
+      out.writeByte(resultsResp != null ? THRIFT_RESULT : SEA_RESULT);
+      out.writeUTF(statementType.name());
+      if (resultsResp != null) {
+        writeBytes(out, new TSerializer().serialize(resultsResp));
+      } else {
+        writeBytes(out, JsonUtil.getMapper().writeValueAsBytes(resultManifest));
+        writeBytes(out, JsonUtil.getMapper().writeValueAsBytes(resultData));
+      }
+    }
+
+    static CachedResult readFrom(DataInputStream in, long byteSize) throws IOException, TException {
+      byte kind = in.readByte();
+      StatementType statementType = StatementType.valueOf(in.readUTF());
+      if (kind == THRIFT_RESULT) {
+        TFetchResultsResp resultsResp = new TFetchResultsResp();
+        new TDeserializer().deserialize(resultsResp, readBytes(in));
+        return new CachedResult(statementType, null, null, resultsResp, byteSize);
+      }
+      ResultManifest resultManifest =
+          JsonUtil.getMapper().readValue(readBytes(in), ResultManifest.class);
+      ResultData resultData = JsonUtil.getMapper().readValue(readBytes(in), ResultData.class);
+      return new CachedResult(statementType, resultData, resultManifest, null, byteSize);
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+      byte[] bytes = new byte[in.readInt()];
+      in.readFully(bytes);
+      return bytes;
+    }
+  }
+
+  private static final class Entry {
+    private final CachedResult result;
+    private final long expiresAtMillis;
+
+    private Entry(CachedResult result, long expiresAtMillis) {
+      this.result = result;
+      this.expiresAtMillis = expiresAtMillis;
+    }
+  }
+
+  private static final class SpilledEntry {
+    private final Path file;
+    private final long byteSize;
+    private final long expiresAtMillis;
+
+    private SpilledEntry(Path file, long byteSize, long expiresAtMillis) {
+      this.file = file;
+      this.byteSize = byteSize;
+      this.expiresAtMillis = expiresAtMillis;
+    }
+  }
+}
@@ -122,25 +122,38 @@ public abstract class AbstractArrowResultChunk {
   }
 
   /**
-   * Releases all resources associated with this chunk.
+   * Releases all resources associated with this chunk. A download that is still in flight is
+   * aborted, and data it has already read is freed as soon as its parsing stops.
    *
    * @return true if chunk was released, false if it was already released
    */
   public boolean releaseChunk() {
-    if (getStatus() == ChunkStatus.CHUNK_RELEASED) {
-      return false;
-    }
+    synchronized (this) {
+      if (getStatus() == ChunkStatus.CHUNK_RELEASED) {
+        return false;
+      }
 
-    if (getStatus() == ChunkStatus.PROCESSING_SUCCEEDED) {
-      logAllocatorStats("BeforeRelease");
-      purgeArrowData(this.recordBatchList);
-      rootAllocator.close();
+      if (getStatus() == ChunkStatus.PROCESSING_SUCCEEDED) {
+        logAllocatorStats("BeforeRelease");
+        purgeArrowData(this.recordBatchList);
+        rootAllocator.close();
+      }
+      setStatus(ChunkStatus.CHUNK_RELEASED);
     }
-    setStatus(ChunkStatus.CHUNK_RELEASED);
+    abortDownload();
 
     return true;
   }
 
+  /**
+   * Returns whether the chunk has been released, in which case any download of it should stop.
+   *
+   * @return true if the chunk was released
+   */
+  public boolean isReleased() {
+    return getStatus() == ChunkStatus.CHUNK_RELEASED;
+  }
+
   /**
    * Sets the external link details for this chunk.
    *
@@ -175,6 +188,14 @@ public abstract class AbstractArrowResultChunk {
       IDatabricksHttpClient httpClient, CompressionCodec compressionCodec, double speedThreshold)
       throws DatabricksParsingException, IOException;
 
+  /**
+   * Aborts the download of this chunk if one is in flight. Called after the chunk has been
+   * released, the default implementation does nothing.
+   */
+  protected void abortDownload() {
+    // Nothing to abort by default
+  }
+
   /** Handles a failure during the download or processing of this chunk. */
   protected abstract void handleFailure(Exception exception, ChunkStatus failedStatus)
       throws DatabricksParsingException;
@@ -197,6 +218,15 @@ public abstract class AbstractArrowResultChunk {
     return recordBatchList;
   }
 
+  /**
+   * Returns the index of the chunk's first row in the result.
+   *
+   * @return row offset
+   */
+  protected long getRowOffset() {
+    return rowOffset;
+  }
+
   /**
    * Returns the total number of rows in the chunk.
    *
@@ -285,10 +315,20 @@ public abstract class AbstractArrowResultChunk {
       throws DatabricksSQLException, IOException {
     LOGGER.debug("Parsing data for chunk index %s and statement %s", chunkIndex, statementId);
     ArrowData arrowData = getRecordBatchList(inputStream, rootAllocator, statementId, chunkIndex);
-    recordBatchList = arrowData.getValueVectors();
-    arrowMetadata = arrowData.getMetadata();
-    LOGGER.debug("Data parsed for chunk index %s and statement %s", chunkIndex, statementId);
-    setStatus(ChunkStatus.PROCESSING_SUCCEEDED);
+    synchronized (this) {
+      if (isReleased()) {
+        // Released while parsing, nobody will read the data
+        LOGGER.debug(
+            "Discarding data of released chunk index %s and statement %s", chunkIndex, statementId);
+        purgeArrowData(arrowData.getValueVectors());
+        rootAllocator.close();
+        return;
+      }
+      recordBatchList = arrowData.getValueVectors();
+      arrowMetadata = arrowData.getMetadata();
+      LOGGER.debug("Data parsed for chunk index %s and statement %s", chunkIndex, statementId);
+      setStatus(ChunkStatus.PROCESSING_SUCCEEDED);
+    }
   }
 
   protected List<String> getArrowMetadata() {
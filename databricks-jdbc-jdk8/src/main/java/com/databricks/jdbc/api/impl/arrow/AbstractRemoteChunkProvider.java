@@ -19,6 +19,9 @@ import com.databricks.jdbc.model.core.ResultManifest;
 import com.databricks.jdbc.model.telemetry.enums.DatabricksDriverErrorCode;
 import com.databricks.jdbc.telemetry.latency.TelemetryCollector;
 import com.databricks.sdk.service.sql.BaseChunkInfo;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
@@ -30,7 +33,14 @@ import java.util.concurrent.TimeoutException;
  *
  * <p>The provider maintains a concurrent map of chunks and implements a sliding window approach or
  * memory management, releasing consumed chunks and downloading new ones as needed. It ensures that
- * the number of chunks in memory never exceeds the configured parallel download limit.
+ * the number of chunks in memory never exceeds the configured parallel download limit. If a fetch
+ * size is set, the window is further limited to the chunks whose rows fit into it, but at least one
+ * chunk is always kept in memory.
+ *
+ * <p>In random access mode nothing is prefetched. {@link #getChunkContainingRow(long)} downloads
+ * the chunk holding the requested row on demand, together with the chunk after it, and keeps the
+ * recently visited chunks in memory up to the connection's {@code ScrollCacheChunks} limit. Evicted
+ * chunks are downloaded again when they are visited later.
  *
  * @param <T> The specific type of AbstractArrowResultChunk this provider manages
  */
@@ -52,12 +62,34 @@ public abstract class AbstractRemoteChunkProvider<T extends AbstractArrowResultC
   protected long allowedChunksInMemory;
   protected boolean isClosed;
 
+  /** Rows of the chunks that are downloaded or being downloaded and not yet released. */
+  protected long rowsInMemory;
+
+  /** Maximum number of rows to keep in memory, 0 if only the chunk limit applies. */
+  protected volatile int fetchSize;
+
+  /** Index of the first chunk served by this provider. */
+  protected final long firstChunkIndex;
+
   /** Maximum number of parallel chunk downloads allowed per query. */
   protected final int maxParallelChunkDownloadsPerQuery;
 
   protected final ChunkLinkDownloadService<T> linkDownloadService;
   protected final int chunkReadyTimeoutSeconds;
 
+  /** Whether chunks are served in any order through {@link #getChunkContainingRow(long)}. */
+  protected final boolean randomAccess;
+
+  /** Chunks kept in memory in random access mode, least recently visited first. */
+  private final Map<Long, T> residentChunks = new LinkedHashMap<>(16, 0.75f, true);
+
+  private final int residentChunkLimit;
+
+  /** Chunk descriptors used to create a chunk again after it has been released. */
+  private final Map<Long, BaseChunkInfo> chunkInfos = new ConcurrentHashMap<>();
+
+  private final Map<Long, TSparkArrowResultLink> resultLinks = new ConcurrentHashMap<>();
+
   protected AbstractRemoteChunkProvider(
       StatementId statementId,
       ResultManifest resultManifest,
@@ -67,6 +99,41 @@ public abstract class AbstractRemoteChunkProvider<T extends AbstractArrowResultC
       int maxParallelChunkDownloadsPerQuery,
       CompressionCodec compressionCodec)
       throws DatabricksSQLException {
+    this(
+        statementId,
+        resultManifest,
+        resultData,
+        session,
+        httpClient,
+        maxParallelChunkDownloadsPerQuery,
+        compressionCodec,
+        0,
+        0,
+        false);
+  }
+
+  /**
+   * Creates a provider that serves chunks starting at {@code firstChunkIndex}. Chunks before it are
+   * expected to have been served by the caller, e.g. from an inline attachment in a hybrid result.
+   * The provider buffers at most {@code fetchSize} rows ahead, or is only limited by the number of
+   * chunks if it is 0. In random access mode the provider does not buffer ahead.
+   */
+  protected AbstractRemoteChunkProvider(
+      StatementId statementId,
+      ResultManifest resultManifest,
+      ResultData resultData,
+      IDatabricksSession session,
+      IDatabricksHttpClient httpClient,
+      int maxParallelChunkDownloadsPerQuery,
+      CompressionCodec compressionCodec,
+      long firstChunkIndex,
+      int fetchSize,
+      boolean randomAccess)
+      throws DatabricksSQLException {
+    this.firstChunkIndex = firstChunkIndex;
+    this.fetchSize = fetchSize;
+    this.randomAccess = randomAccess;
+    this.residentChunkLimit = randomAccess ? getResidentChunkLimit(session) : 0;
     this.chunkReadyTimeoutSeconds = session.getConnectionContext().getChunkReadyTimeoutSeconds();
     this.maxParallelChunkDownloadsPerQuery = maxParallelChunkDownloadsPerQuery;
     this.session = session;
@@ -82,7 +149,10 @@ public abstract class AbstractRemoteChunkProvider<T extends AbstractArrowResultC
             statementId,
             chunkCount,
             chunkIndexToChunksMap,
-            resultData.getExternalLinks() != null ? resultData.getExternalLinks().size() : 1);
+            firstChunkIndex
+                + (resultData.getExternalLinks() != null
+                    ? resultData.getExternalLinks().size()
+                    : firstChunkIndex == 0 ? 1 : 0));
     TelemetryCollector.getInstance().recordTotalChunks(statementId, chunkCount);
     initializeData();
   }
@@ -95,6 +165,10 @@ public abstract class AbstractRemoteChunkProvider<T extends AbstractArrowResultC
       int maxParallelChunkDownloadsPerQuery,
       CompressionCodec compressionCodec)
       throws DatabricksSQLException {
+    this.firstChunkIndex = 0;
+    this.fetchSize = parentStatement.getFetchSize();
+    this.randomAccess = parentStatement.isScrollable();
+    this.residentChunkLimit = randomAccess ? getResidentChunkLimit(session) : 0;
     this.chunkReadyTimeoutSeconds = session.getConnectionContext().getChunkReadyTimeoutSeconds();
     this.maxParallelChunkDownloadsPerQuery = maxParallelChunkDownloadsPerQuery;
     this.session = session;
@@ -149,12 +223,56 @@ public abstract class AbstractRemoteChunkProvider<T extends AbstractArrowResultC
    */
   @Override
   public T getChunk() throws DatabricksSQLException {
-    if (currentChunkIndex < 0) {
+    if (currentChunkIndex < firstChunkIndex) {
       return null;
     }
 
-    T chunk = chunkIndexToChunksMap.get(currentChunkIndex);
+    return waitForChunkReady(chunkIndexToChunksMap.get(currentChunkIndex));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Only supported in random access mode.
+   */
+  @Override
+  public boolean supportsRandomAccess() {
+    return randomAccess;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public T getChunkContainingRow(long row) throws DatabricksSQLException {
+    if (!randomAccess) {
+      throw new DatabricksSQLException(
+          "Random access is only supported for scrollable result sets",
+          DatabricksDriverErrorCode.UNSUPPORTED_OPERATION);
+    }
+    long chunkIndex = findChunkIndex(row);
+    T chunk = makeResident(chunkIndex);
+    if (residentChunkLimit > 1 && chunkIndex + 1 < chunkCount) {
+      // Prefetch the next chunk for cursors that keep scrolling forward
+      makeResident(chunkIndex + 1);
+      residentChunks.get(chunkIndex);
+    }
+    currentChunkIndex = chunkIndex;
+    return waitForChunkReady(chunk);
+  }
+
+  /**
+   * Starts downloading the given chunk. Required for random access, where chunks are downloaded on
+   * demand instead of through {@link #downloadNextChunks()}.
+   *
+   * @param chunk chunk to download
+   * @throws DatabricksSQLException if the download cannot be started
+   */
+  protected void downloadChunk(T chunk) throws DatabricksSQLException {
+    throw new DatabricksSQLException(
+        "On demand chunk download is not supported by " + getClass().getSimpleName(),
+        DatabricksDriverErrorCode.UNSUPPORTED_OPERATION);
+  }
 
+  private T waitForChunkReady(T chunk) throws DatabricksSQLException {
     try {
       chunk.waitForChunkReady();
     } catch (InterruptedException e) {
@@ -177,10 +295,76 @@ public abstract class AbstractRemoteChunkProvider<T extends AbstractArrowResultC
     return chunk;
   }
 
+  /** Returns the index of the chunk containing the given row, using the chunks' row offsets. */
+  private long findChunkIndex(long row) throws DatabricksSQLException {
+    long low = firstChunkIndex;
+    long high = chunkCount - 1;
+    while (low < high) {
+      long mid = (low + high + 1) >>> 1;
+      if (chunkIndexToChunksMap.get(mid).getRowOffset() <= row) {
+        low = mid;
+      } else {
+        high = mid - 1;
+      }
+    }
+    T chunk = low <= high ? chunkIndexToChunksMap.get(low) : null;
+    if (chunk == null
+        || row < chunk.getRowOffset()
+        || row >= chunk.getRowOffset() + chunk.getNumRows()) {
+      throw new DatabricksSQLException(
+          String.format("Row %d is not part of the result of statement %s", row, statementId),
+          DatabricksDriverErrorCode.INVALID_STATE);
+    }
+    return low;
+  }
+
+  /**
+   * Returns the chunk with the given index, starting its download if it is not in memory, and marks
+   * it as the most recently visited one. The least recently visited chunks beyond the limit are
+   * released.
+   */
+  private T makeResident(long chunkIndex) throws DatabricksSQLException {
+    T chunk = residentChunks.get(chunkIndex);
+    if (chunk != null) {
+      return chunk;
+    }
+    chunk = chunkIndexToChunksMap.get(chunkIndex);
+    if (chunk.isReleased()) {
+      chunk = recreateChunk(chunkIndex);
+      chunkIndexToChunksMap.put(chunkIndex, chunk);
+    }
+    if (chunk.isChunkLinkInvalid()) {
+      linkDownloadService.requestLinkForChunk(chunkIndex);
+    }
+    LOGGER.debug("Downloading chunk {} of statement {} on demand", chunkIndex, statementId);
+    downloadChunk(chunk);
+    residentChunks.put(chunkIndex, chunk);
+    Iterator<Map.Entry<Long, T>> eldest = residentChunks.entrySet().iterator();
+    while (residentChunks.size() > residentChunkLimit) {
+      Map.Entry<Long, T> entry = eldest.next();
+      LOGGER.debug("Evicting chunk {} of statement {}", entry.getKey(), statementId);
+      entry.getValue().releaseChunk();
+      eldest.remove();
+    }
+    return chunk;
+  }
+
+  private T recreateChunk(long chunkIndex) throws DatabricksSQLException {
+    BaseChunkInfo chunkInfo = chunkInfos.get(chunkIndex);
+    if (chunkInfo != null) {
+      return createChunk(statementId, chunkIndex, chunkInfo);
+    }
+    return createChunk(statementId, chunkIndex, resultLinks.get(chunkIndex));
+  }
+
+  private static int getResidentChunkLimit(IDatabricksSession session) {
+    return Math.max(1, session.getConnectionContext().getScrollCacheChunks());
+  }
+
   /** {@inheritDoc} */
   @Override
   public boolean next() throws DatabricksSQLException {
-    if (currentChunkIndex >= 0) {
+    if (currentChunkIndex >= firstChunkIndex) {
       // release current chunk
       releaseChunk();
     }
@@ -215,6 +399,46 @@ public abstract class AbstractRemoteChunkProvider<T extends AbstractArrowResultC
     return allowedChunksInMemory;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>A smaller limit takes effect as buffered chunks are consumed, downloads that are already
+   * running are not cancelled. A larger limit starts downloading further chunks right away.
+   */
+  @Override
+  public void setFetchSize(int rows) throws DatabricksSQLException {
+    LOGGER.debug("Setting fetch size of statement [{}] to {} rows", statementId, rows);
+    this.fetchSize = rows;
+    if (!isClosed) {
+      downloadNextChunks();
+    }
+  }
+
+  /**
+   * Returns whether the next chunk can be downloaded without exceeding the chunk limit or the fetch
+   * size. The fetch size never prevents downloading a chunk if no other chunk is in memory. Chunks
+   * are never downloaded ahead in random access mode.
+   */
+  protected boolean canDownloadNextChunk() {
+    if (isClosed
+        || randomAccess
+        || nextChunkToDownload >= chunkCount
+        || totalChunksInMemory >= allowedChunksInMemory) {
+      return false;
+    }
+    int rowLimit = fetchSize;
+    return rowLimit <= 0
+        || totalChunksInMemory == 0
+        || rowsInMemory + chunkIndexToChunksMap.get(nextChunkToDownload).getNumRows() <= rowLimit;
+  }
+
+  /** Accounts for a chunk whose download has been scheduled. */
+  protected void onChunkDownloadScheduled(T chunk) {
+    totalChunksInMemory++;
+    rowsInMemory += chunk.getNumRows();
+    nextChunkToDownload++;
+  }
+
   /** Subclasses should override this method to perform their specific cleanup. */
   protected void doClose() {
     // Default implementation does nothing
@@ -223,13 +447,18 @@ public abstract class AbstractRemoteChunkProvider<T extends AbstractArrowResultC
   private void initializeData() throws DatabricksSQLException {
     DatabricksThreadContextHolder.setStatementId(statementId);
     // No chunks are downloaded, we need to start from first one
-    nextChunkToDownload = 0;
-    // Initialize current chunk to -1, since we don't have anything to read
-    currentChunkIndex = -1L;
+    nextChunkToDownload = firstChunkIndex;
+    // Initialize current chunk to the one before the first, since we don't have anything to read
+    currentChunkIndex = firstChunkIndex - 1;
     // We don't have any chunk in downloaded yet
     totalChunksInMemory = 0L;
     // Number of worker threads are directly linked to allowed chunks in memory
-    allowedChunksInMemory = Math.min(maxParallelChunkDownloadsPerQuery, chunkCount);
+    allowedChunksInMemory =
+        Math.max(0, Math.min(maxParallelChunkDownloadsPerQuery, chunkCount - firstChunkIndex));
+    if (randomAccess) {
+      // Chunks are downloaded when they are visited
+      return;
+    }
     // The first link is available
     downloadNextChunks();
   }
@@ -244,13 +473,23 @@ public abstract class AbstractRemoteChunkProvider<T extends AbstractArrowResultC
 
     for (BaseChunkInfo chunkInfo : resultManifest.getChunks()) {
       LOGGER.debug("Manifest chunk information: " + chunkInfo.toString());
+      if (chunkInfo.getChunkIndex() < firstChunkIndex) {
+        // Already served inline
+        continue;
+      }
       chunkIndexMap.put(
           chunkInfo.getChunkIndex(),
           createChunk(statementId, chunkInfo.getChunkIndex(), chunkInfo));
+      chunkInfos.put(chunkInfo.getChunkIndex(), chunkInfo);
     }
 
-    for (ExternalLink externalLink : resultData.getExternalLinks()) {
-      chunkIndexMap.get(externalLink.getChunkIndex()).setChunkLink(externalLink);
+    if (resultData.getExternalLinks() != null) {
+      for (ExternalLink externalLink : resultData.getExternalLinks()) {
+        T chunk = chunkIndexMap.get(externalLink.getChunkIndex());
+        if (chunk != null) {
+          chunk.setChunkLink(externalLink);
+        }
+      }
     }
 
     return chunkIndexMap;
@@ -286,14 +525,17 @@ public abstract class AbstractRemoteChunkProvider<T extends AbstractArrowResultC
           "Chunk information log - Row Offset: %s, Row Count: %s, Expiry Time: %s",
           resultLink.getStartRowOffset(), resultLink.getRowCount(), resultLink.getExpiryTime());
       chunkIndexMap.put(chunkCount, createChunk(statementId, chunkCount, resultLink));
+      resultLinks.put(chunkCount, resultLink);
       chunkCount++;
     }
   }
 
   /** Release the memory for previous chunk since it is already consumed */
   private void releaseChunk() throws DatabricksSQLException {
-    if (chunkIndexToChunksMap.get(currentChunkIndex).releaseChunk()) {
+    T chunk = chunkIndexToChunksMap.get(currentChunkIndex);
+    if (chunk.releaseChunk()) {
       totalChunksInMemory--;
+      rowsInMemory -= chunk.getNumRows();
       downloadNextChunks();
     }
   }
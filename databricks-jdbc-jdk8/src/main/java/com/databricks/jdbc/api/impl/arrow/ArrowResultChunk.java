@@ -29,6 +29,9 @@ import org.apache.http.client.utils.URIBuilder;
 public class ArrowResultChunk extends AbstractArrowResultChunk {
   private static final JdbcLogger LOGGER = JdbcLoggerFactory.getLogger(ArrowResultChunk.class);
 
+  /** Request of the download in flight, aborted when the chunk is released. */
+  private volatile HttpGet activeRequest;
+
   private ArrowResultChunk(Builder builder) throws DatabricksParsingException {
     super(
         builder.numRows,
@@ -75,6 +78,11 @@ public class ArrowResultChunk extends AbstractArrowResultChunk {
       URIBuilder uriBuilder = new URIBuilder(chunkLink.getExternalLink());
       HttpGet getRequest = new HttpGet(uriBuilder.build());
       addHeaders(getRequest, chunkLink.getHttpHeaders());
+      activeRequest = getRequest;
+      if (isReleased()) {
+        // Released before the request was sent
+        return;
+      }
       // Retry would be done in http client, we should not bother about that here
       response = httpClient.execute(getRequest, true);
       checkHTTPError(response);
@@ -97,14 +105,35 @@ public class ArrowResultChunk extends AbstractArrowResultChunk {
               response.getEntity().getContent(), compressionCodec, decompressionContext);
       initializeData(uncompressedStream);
     } catch (IOException | DatabricksSQLException | URISyntaxException e) {
+      if (isReleased()) {
+        LOGGER.debug(
+            "Download aborted for released chunk index %s and statement %s",
+            chunkIndex, statementId);
+        return;
+      }
       handleFailure(e, ChunkStatus.DOWNLOAD_FAILED);
     } finally {
+      activeRequest = null;
       if (response != null) {
         response.close();
       }
     }
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Aborts the HTTP request, which closes its connection and stops the transfer.
+   */
+  @Override
+  protected void abortDownload() {
+    HttpGet request = activeRequest;
+    if (request != null) {
+      LOGGER.debug("Aborting download of chunk index %s and statement %s", chunkIndex, statementId);
+      request.abort();
+    }
+  }
+
   /**
    * {@inheritDoc}
    *
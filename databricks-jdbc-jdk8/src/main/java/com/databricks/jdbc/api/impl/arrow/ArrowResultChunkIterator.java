@@ -66,6 +66,32 @@ public class ArrowResultChunkIterator {
     return true;
   }
 
+  /**
+   * Positions the iterator on the given row of the chunk, so that the following {@link #nextRow()}
+   * moves to the row after it.
+   *
+   * @param rowInChunk 0-based index of the row within the chunk
+   * @return false if the chunk has no such row
+   */
+  boolean moveToRow(long rowInChunk) {
+    if (rowInChunk < 0 || rowInChunk >= resultChunk.numRows) {
+      return false;
+    }
+    long rowsBeforeBatch = 0;
+    for (int batch = 0; batch < recordBatchesInChunk; batch++) {
+      int rowsInBatch = resultChunk.recordBatchList.get(batch).get(0).getValueCount();
+      if (rowInChunk < rowsBeforeBatch + rowsInBatch) {
+        recordBatchCursorInChunk = batch;
+        rowsInRecordBatch = rowsInBatch;
+        rowCursorInRecordBatch = (int) (rowInChunk - rowsBeforeBatch);
+        rowsReadByIterator = (int) rowInChunk + 1;
+        return true;
+      }
+      rowsBeforeBatch += rowsInBatch;
+    }
+    return false;
+  }
+
   /** Returns whether the next row in the chunk exists. */
   boolean hasNextRow() {
     if (rowsReadByIterator >= resultChunk.numRows) return false;
@@ -18,6 +18,7 @@ import com.databricks.jdbc.model.client.thrift.generated.TFetchResultsResp;
 import com.databricks.jdbc.model.client.thrift.generated.TGetResultSetMetadataResp;
 import com.databricks.jdbc.model.core.ResultData;
 import com.databricks.jdbc.model.core.ResultManifest;
+import com.databricks.sdk.service.sql.BaseChunkInfo;
 import com.databricks.sdk.service.sql.ColumnInfo;
 import com.databricks.sdk.service.sql.ColumnInfoTypeName;
 import com.google.common.annotations.VisibleForTesting;
@@ -34,18 +35,39 @@ public class ArrowStreamResult implements IExecutionResult {
   private List<ColumnInfo> columnInfos;
   private final IDatabricksSession session;
 
+  /** Whether the cursor may move to any row, see {@link #moveToRow(long)}. */
+  private final boolean scrollable;
+
   public ArrowStreamResult(
       ResultManifest resultManifest,
       ResultData resultData,
       StatementId statementId,
       IDatabricksSession session)
       throws DatabricksSQLException {
+    this(resultManifest, resultData, statementId, session, 0, false);
+  }
+
+  /**
+   * Creates a result of the SQL Execution API that buffers at most {@code fetchSize} rows of
+   * external links ahead of the cursor, or is only limited by the number of chunks if it is 0. A
+   * scrollable result downloads chunks on demand instead, as the cursor visits them.
+   */
+  public ArrowStreamResult(
+      ResultManifest resultManifest,
+      ResultData resultData,
+      StatementId statementId,
+      IDatabricksSession session,
+      int fetchSize,
+      boolean scrollable)
+      throws DatabricksSQLException {
     this(
         resultManifest,
         resultData,
         statementId,
         session,
-        DatabricksHttpClientFactory.getInstance().getClient(session.getConnectionContext()));
+        DatabricksHttpClientFactory.getInstance().getClient(session.getConnectionContext()),
+        fetchSize,
+        scrollable);
   }
 
   @VisibleForTesting
@@ -56,10 +78,44 @@ public class ArrowStreamResult implements IExecutionResult {
       IDatabricksSession session,
       IDatabricksHttpClient httpClient)
       throws DatabricksSQLException {
+    this(resultManifest, resultData, statementId, session, httpClient, 0, false);
+  }
+
+  @VisibleForTesting
+  ArrowStreamResult(
+      ResultManifest resultManifest,
+      ResultData resultData,
+      StatementId statementId,
+      IDatabricksSession session,
+      IDatabricksHttpClient httpClient,
+      int fetchSize,
+      boolean scrollable)
+      throws DatabricksSQLException {
     this.session = session;
+    this.scrollable = scrollable;
     // Check if the result data contains the arrow data inline
     boolean isInlineArrow = resultData.getAttachment() != null;
-    if (isInlineArrow) {
+    if (isInlineArrow && resultData.getNextChunkIndex() != null) {
+      LOGGER.debug(
+          "Creating ArrowStreamResult with inline attachment and remote links from chunk {} for statementId: {}",
+          resultData.getNextChunkIndex(),
+          statementId.toSQLExecStatementId());
+      this.chunkProvider =
+          new HybridChunkProvider(
+              new InlineChunkProvider(
+                  resultData, resultManifest, getInlineRowCount(resultData, resultManifest)),
+              new RemoteChunkProvider(
+                  statementId,
+                  resultManifest,
+                  resultData,
+                  session,
+                  httpClient,
+                  session.getConnectionContext().getCloudFetchThreadPoolSize(),
+                  resultData.getNextChunkIndex(),
+                  fetchSize,
+                  scrollable),
+              resultManifest.getTotalRowCount());
+    } else if (isInlineArrow) {
       LOGGER.debug(
           "Creating ArrowStreamResult with inline attachment for statementId: {}",
           statementId.toSQLExecStatementId());
@@ -75,7 +131,10 @@ public class ArrowStreamResult implements IExecutionResult {
               resultData,
               session,
               httpClient,
-              session.getConnectionContext().getCloudFetchThreadPoolSize());
+              session.getConnectionContext().getCloudFetchThreadPoolSize(),
+              0,
+              fetchSize,
+              scrollable);
     }
     this.columnInfos =
         resultManifest.getSchema().getColumnCount() == 0
@@ -106,6 +165,7 @@ public class ArrowStreamResult implements IExecutionResult {
       IDatabricksHttpClient httpClient)
       throws DatabricksSQLException {
     this.session = session;
+    this.scrollable = parentStatement != null && parentStatement.isScrollable();
     setColumnInfo(resultsResp.getResultSetMetadata());
     if (isInlineArrow) {
       this.chunkProvider = new InlineChunkProvider(resultsResp, parentStatement, session);
@@ -178,6 +238,9 @@ public class ArrowStreamResult implements IExecutionResult {
   /** {@inheritDoc} */
   @Override
   public boolean next() throws DatabricksSQLException {
+    if (supportsRandomAccess()) {
+      return !isClosed && moveToRow(currentRowIndex + 1);
+    }
     if (!hasNext()) {
       return false;
     }
@@ -191,12 +254,53 @@ public class ArrowStreamResult implements IExecutionResult {
     return chunkIterator.nextRow();
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public boolean supportsRandomAccess() {
+    return scrollable && chunkProvider.supportsRandomAccess();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Moving to the row after the current one stays within the current chunk where possible.
+   * Otherwise the chunk containing the row is located by its row offset and downloaded if it is not
+   * in memory.
+   */
+  @Override
+  public boolean moveToRow(long row) throws DatabricksSQLException {
+    if (!supportsRandomAccess()) {
+      return IExecutionResult.super.moveToRow(row);
+    }
+    if (row < 0) {
+      currentRowIndex = -1;
+      chunkIterator = null;
+      return false;
+    }
+    if (row >= getRowCount()) {
+      currentRowIndex = getRowCount();
+      chunkIterator = null;
+      return false;
+    }
+    if (row == currentRowIndex + 1 && chunkIterator != null && chunkIterator.hasNextRow()) {
+      currentRowIndex = row;
+      return chunkIterator.nextRow();
+    }
+    AbstractArrowResultChunk chunk = chunkProvider.getChunkContainingRow(row);
+    chunkIterator = chunk.getChunkIterator();
+    currentRowIndex = row;
+    return chunkIterator.moveToRow(row - chunk.getRowOffset());
+  }
+
   /** {@inheritDoc} */
   @Override
   public boolean hasNext() {
     if (isClosed) {
       return false;
     }
+    if (supportsRandomAccess()) {
+      return currentRowIndex + 1 < getRowCount();
+    }
 
     // Check if there are any more rows available in the current chunk
     if (chunkIterator != null && chunkIterator.hasNextRow()) {
@@ -225,6 +329,22 @@ public class ArrowStreamResult implements IExecutionResult {
     return chunkProvider.getChunkCount();
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public void setFetchSize(int rows) throws DatabricksSQLException {
+    chunkProvider.setFetchSize(rows);
+  }
+
+  private static long getInlineRowCount(ResultData resultData, ResultManifest resultManifest) {
+    if (resultData.getRowCount() != null) {
+      return resultData.getRowCount();
+    }
+    return resultManifest.getChunks().stream()
+        .filter(chunk -> chunk.getChunkIndex() < resultData.getNextChunkIndex())
+        .mapToLong(BaseChunkInfo::getRowCount)
+        .sum();
+  }
+
   private void setColumnInfo(TGetResultSetMetadataResp resultManifest) {
     columnInfos = new ArrayList<>();
     if (resultManifest.getSchema() == null) {
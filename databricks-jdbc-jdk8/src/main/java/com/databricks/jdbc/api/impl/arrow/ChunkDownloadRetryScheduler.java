@@ -0,0 +1,87 @@
+package com.databricks.jdbc.api.impl.arrow;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Schedules the retries of failed chunk downloads of one statement.
+ *
+ * <p>A failed download gives up its download thread and is submitted again once its backoff delay
+ * has passed, so that the thread downloads other chunks in the meantime. The delays are kept by a
+ * single driver-wide scheduler thread. The number of retries of a statement is limited, so that a
+ * failing storage endpoint does not keep every chunk of a large result retrying.
+ */
+class ChunkDownloadRetryScheduler {
+
+  /** Maximum number of download retries of all chunks of a statement. */
+  static final int MAX_RETRIES_PER_STATEMENT = 50;
+
+  private static final long INITIAL_RETRY_DELAY_MS = 1500;
+  private static final long MAX_RETRY_DELAY_MS = 10_000;
+
+  private static final ScheduledExecutorService SCHEDULER =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactory() {
+            private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+            @Override
+            public Thread newThread(Runnable r) {
+              Thread thread =
+                  new Thread(
+                      r, "databricks-jdbc-chunk-retry-scheduler-" + threadNumber.getAndIncrement());
+              thread.setDaemon(true);
+              return thread;
+            }
+          });
+
+  private final ScheduledExecutorService scheduler;
+  private final AtomicInteger remainingRetries;
+
+  ChunkDownloadRetryScheduler() {
+    this(SCHEDULER, MAX_RETRIES_PER_STATEMENT);
+  }
+
+  @VisibleForTesting
+  ChunkDownloadRetryScheduler(ScheduledExecutorService scheduler, int retryBudget) {
+    this.scheduler = scheduler;
+    this.remainingRetries = new AtomicInteger(retryBudget);
+  }
+
+  /**
+   * Runs the given task after the delay, if the statement has retries left.
+   *
+   * @param retry task that submits the download again
+   * @param delayMillis delay before the task runs
+   * @return false if the retry budget of the statement is spent and the retry was not scheduled
+   */
+  boolean scheduleRetry(Runnable retry, long delayMillis) {
+    if (remainingRetries.getAndDecrement() <= 0) {
+      return false;
+    }
+    try {
+      scheduler.schedule(retry, delayMillis, TimeUnit.MILLISECONDS);
+      return true;
+    } catch (RejectedExecutionException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Returns the delay before the given retry: exponential backoff from 1.5 seconds up to 10
+   * seconds, of which a random amount of up to half is taken off, so that chunks that failed
+   * together do not retry together.
+   *
+   * @param retry number of the retry, starting at 1
+   * @return the delay in milliseconds
+   */
+  static long calculateRetryDelayMillis(int retry) {
+    long delay = Math.min(MAX_RETRY_DELAY_MS, INITIAL_RETRY_DELAY_MS << Math.min(retry - 1, 16));
+    return delay - ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+  }
+}
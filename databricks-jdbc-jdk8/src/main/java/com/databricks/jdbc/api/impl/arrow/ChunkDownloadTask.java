@@ -11,38 +11,53 @@ import com.databricks.jdbc.model.telemetry.enums.DatabricksDriverErrorCode;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
-/** Task class to manage download for a single chunk. */
+/**
+ * Task class to manage download for a single chunk.
+ *
+ * <p>A failed download is not retried on the download thread. The task schedules itself to be
+ * submitted to the download pool again after a backoff delay and returns, so that the thread can
+ * download other chunks while it waits.
+ */
 class ChunkDownloadTask implements DatabricksCallableTask {
 
   private static final JdbcLogger LOGGER = JdbcLoggerFactory.getLogger(ChunkDownloadTask.class);
   public static final int MAX_RETRIES = 5;
-  private static final long RETRY_DELAY_MS = 1500; // 1.5 seconds
   private final ArrowResultChunk chunk;
   private final IDatabricksHttpClient httpClient;
   private final ChunkDownloadManager chunkDownloader;
   private final IDatabricksConnectionContext connectionContext;
   private final String statementId;
   private final ChunkLinkDownloadService<ArrowResultChunk> linkDownloadService;
+  private final ChunkDownloadRetryScheduler retryScheduler;
+  private final ExecutorService downloadExecutor;
+  // Failed attempts so far, each retry runs this task again
+  private int retries = 0;
   Throwable uncaughtException = null;
 
   ChunkDownloadTask(
       ArrowResultChunk chunk,
       IDatabricksHttpClient httpClient,
       ChunkDownloadManager chunkDownloader,
-      ChunkLinkDownloadService<ArrowResultChunk> linkDownloadService) {
+      ChunkLinkDownloadService<ArrowResultChunk> linkDownloadService,
+      ChunkDownloadRetryScheduler retryScheduler,
+      ExecutorService downloadExecutor) {
     this.chunk = chunk;
     this.httpClient = httpClient;
     this.chunkDownloader = chunkDownloader;
     this.connectionContext = DatabricksThreadContextHolder.getConnectionContext();
     this.statementId = DatabricksThreadContextHolder.getStatementId();
     this.linkDownloadService = linkDownloadService;
+    this.retryScheduler = retryScheduler;
+    this.downloadExecutor = downloadExecutor;
   }
 
   @Override
   public Void call() throws DatabricksSQLException, ExecutionException, InterruptedException {
-    int retries = 0;
     boolean downloadSuccessful = false;
+    boolean retryScheduled = false;
 
     // Sets context in the newly spawned thread
     DatabricksThreadContextHolder.setConnectionContext(this.connectionContext);
@@ -50,54 +65,64 @@ class ChunkDownloadTask implements DatabricksCallableTask {
 
     try {
       DatabricksThreadContextHolder.setRetryCount(retries);
-      while (!downloadSuccessful) {
-        try {
-          if (chunk.isChunkLinkInvalid()) {
-            ExternalLink link =
-                linkDownloadService
-                    .getLinkForChunk(chunk.getChunkIndex())
-                    .get(); // Block until link is available
-            chunk.setChunkLink(link);
-          }
+      if (chunk.isReleased()) {
+        // The result set was closed, nobody is waiting for the data anymore
+        LOGGER.debug("Skipping download of released chunk index %d", chunk.getChunkIndex());
+        return null;
+      }
+      try {
+        if (chunk.isChunkLinkInvalid()) {
+          ExternalLink link =
+              linkDownloadService
+                  .getLinkForChunk(chunk.getChunkIndex())
+                  .get(); // Block until link is available
+          chunk.setChunkLink(link);
+        }
 
-          chunk.downloadData(
-              httpClient,
-              chunkDownloader.getCompressionCodec(),
-              connectionContext != null ? connectionContext.getCloudFetchSpeedThreshold() : 0.1);
-          downloadSuccessful = true;
-        } catch (IOException | DatabricksSQLException e) {
-          retries++;
-          if (retries >= MAX_RETRIES) {
-            LOGGER.error(
-                e,
-                "Failed to download chunk after %d attempts. Chunk index: %d, Error: %s",
-                MAX_RETRIES,
-                chunk.getChunkIndex(),
-                e.getMessage());
-            chunk.setStatus(ChunkStatus.DOWNLOAD_FAILED);
-            throw new DatabricksSQLException(
-                "Failed to download chunk after multiple attempts",
-                e,
-                statementId,
-                chunk.getChunkIndex(),
-                DatabricksDriverErrorCode.CHUNK_DOWNLOAD_ERROR.name());
-          } else {
-            LOGGER.warn(
-                String.format(
-                    "Retry attempt %d for chunk index: %d, Error: %s",
-                    retries, chunk.getChunkIndex(), e.getMessage()));
-            chunk.setStatus(ChunkStatus.DOWNLOAD_RETRY);
-            try {
-              Thread.sleep(RETRY_DELAY_MS);
-            } catch (InterruptedException ie) {
-              Thread.currentThread().interrupt();
-              throw new DatabricksSQLException(
-                  "Chunk download was interrupted",
-                  ie,
-                  DatabricksDriverErrorCode.THREAD_INTERRUPTED_ERROR);
-            }
-          }
+        chunk.downloadData(
+            httpClient,
+            chunkDownloader.getCompressionCodec(),
+            connectionContext != null ? connectionContext.getCloudFetchSpeedThreshold() : 0.1);
+        downloadSuccessful = true;
+      } catch (IOException | DatabricksSQLException e) {
+        retries++;
+        if (retries >= MAX_RETRIES) {
+          LOGGER.error(
+              e,
+              "Failed to download chunk after %d attempts. Chunk index: %d, Error: %s",
+              MAX_RETRIES,
+              chunk.getChunkIndex(),
+              e.getMessage());
+          chunk.setStatus(ChunkStatus.DOWNLOAD_FAILED);
+          throw new DatabricksSQLException(
+              "Failed to download chunk after multiple attempts",
+              e,
+              statementId,
+              chunk.getChunkIndex(),
+              DatabricksDriverErrorCode.CHUNK_DOWNLOAD_ERROR.name());
         }
+        chunk.setStatus(ChunkStatus.DOWNLOAD_RETRY);
+        long delayMillis = ChunkDownloadRetryScheduler.calculateRetryDelayMillis(retries);
+        retryScheduled = retryScheduler.scheduleRetry(this::resubmit, delayMillis);
+        if (!retryScheduled) {
+          LOGGER.error(
+              e,
+              "Failed to download chunk, the retry budget of the statement is spent. "
+                  + "Chunk index: %d, Error: %s",
+              chunk.getChunkIndex(),
+              e.getMessage());
+          chunk.setStatus(ChunkStatus.DOWNLOAD_FAILED);
+          throw new DatabricksSQLException(
+              "Failed to download chunk, the retry budget of the statement is spent",
+              e,
+              statementId,
+              chunk.getChunkIndex(),
+              DatabricksDriverErrorCode.CHUNK_DOWNLOAD_ERROR.name());
+        }
+        LOGGER.warn(
+            String.format(
+                "Retry attempt %d for chunk index: %d in %d ms, Error: %s",
+                retries, chunk.getChunkIndex(), delayMillis, e.getMessage()));
       }
     } catch (Throwable t) {
       uncaughtException = t;
@@ -105,7 +130,9 @@ class ChunkDownloadTask implements DatabricksCallableTask {
     } finally {
       if (downloadSuccessful) {
         chunk.getChunkReadyFuture().complete(null); // complete the void future successfully
-      } else {
+      } else if (chunk.isReleased()) {
+        chunk.getChunkReadyFuture().cancel(false);
+      } else if (!retryScheduled) {
         LOGGER.info(
             "Uncaught exception during chunk download. Chunk index: %d, Error: %s",
             chunk.getChunkIndex(), Arrays.toString(uncaughtException.getStackTrace()));
@@ -125,4 +152,15 @@ class ChunkDownloadTask implements DatabricksCallableTask {
 
     return null;
   }
+
+  /** Submits this task to the download pool again once its retry delay has passed. */
+  private void resubmit() {
+    try {
+      downloadExecutor.submit(this);
+    } catch (RejectedExecutionException e) {
+      // The result set was closed while the download was waiting for its retry
+      LOGGER.debug("Dropping retry of chunk index %d", chunk.getChunkIndex());
+      chunk.getChunkReadyFuture().cancel(false);
+    }
+  }
 }
@@ -166,6 +166,65 @@ public class ChunkLinkDownloadService<T extends AbstractArrowResultChunk> {
     return chunkIndexToLinkFuture.get(chunkIndex);
   }
 
+  /**
+   * Fetches the link for the given chunk directly, instead of waiting for the download chain to
+   * reach it. Used by random access, where chunks are visited out of order.
+   *
+   * <p>Nothing is fetched if the chunk already has a usable link or the download chain is about to
+   * fetch it. The links returned together with the requested one complete their pending futures
+   * too.
+   *
+   * @param chunkIndex index of the chunk whose link is needed
+   */
+  public void requestLinkForChunk(long chunkIndex) {
+    if (isShutdown || chunkIndex < 0 || chunkIndex >= totalChunks) {
+      return;
+    }
+    final CompletableFuture<ExternalLink> target;
+    synchronized (resetLock) {
+      CompletableFuture<ExternalLink> future = chunkIndexToLinkFuture.get(chunkIndex);
+      if (future.isDone()) {
+        if (!future.isCompletedExceptionally() && !isChunkLinkExpired(future.getNow(null))) {
+          return;
+        }
+        future = new CompletableFuture<>();
+        chunkIndexToLinkFuture.put(chunkIndex, future);
+      } else if (isDownloadInProgress.get() && chunkIndex == nextBatchStartIndex.get()) {
+        return;
+      }
+      target = future;
+    }
+
+    LOGGER.debug("Fetching link for chunk {} of statement {} on demand", chunkIndex, statementId);
+    CompletableFuture.runAsync(
+        () -> {
+          try {
+            Collection<ExternalLink> links =
+                session.getDatabricksClient().getResultChunks(statementId, chunkIndex);
+            for (ExternalLink link : links) {
+              CompletableFuture<ExternalLink> future =
+                  chunkIndexToLinkFuture.get(link.getChunkIndex());
+              if (future != null
+                  && !future.complete(link)
+                  && (future.isCompletedExceptionally()
+                      || isChunkLinkExpired(future.getNow(null)))) {
+                // Replace a failed or expired link with the fresh one
+                chunkIndexToLinkFuture.replace(
+                    link.getChunkIndex(), future, CompletableFuture.completedFuture(link));
+              }
+            }
+            if (!target.isDone()) {
+              target.completeExceptionally(
+                  new DatabricksValidationException(
+                      "Link for chunk " + chunkIndex + " was not returned"));
+            }
+          } catch (DatabricksSQLException e) {
+            LOGGER.error(e, "Failed to fetch link for chunk {} : {}", chunkIndex, e.getMessage());
+            target.completeExceptionally(e);
+          }
+        });
+  }
+
   /** Shuts down the service and cancels all pending operations. */
   public void shutdown() {
     LOGGER.info("Shutting down ChunkLinkDownloadService for statement {}", statementId);
@@ -1,6 +1,7 @@
 package com.databricks.jdbc.api.impl.arrow;
 
 import com.databricks.jdbc.exception.DatabricksSQLException;
+import com.databricks.jdbc.model.telemetry.enums.DatabricksDriverErrorCode;
 
 /**
  * Implementations of this interface manage the retrieval and iteration over {@link
@@ -43,4 +44,33 @@ public interface ChunkProvider {
   long getChunkCount();
 
   boolean isClosed();
+
+  /**
+   * Limits the number of rows the provider buffers ahead of the consumer. Providers that already
+   * hold all rows in memory ignore the limit.
+   *
+   * @param rows maximum number of buffered rows, or 0 for no row limit
+   * @throws DatabricksSQLException if downloads allowed by a larger limit cannot be started
+   */
+  default void setFetchSize(int rows) throws DatabricksSQLException {}
+
+  /** Returns whether {@link #getChunkContainingRow(long)} is supported. */
+  default boolean supportsRandomAccess() {
+    return false;
+  }
+
+  /**
+   * Makes the chunk containing the given row the current chunk and returns it once it is ready to
+   * be read.
+   *
+   * @param row 0-based index of the row in the result
+   * @return the chunk containing the row
+   * @throws DatabricksSQLException if the row is not part of the result, the chunk cannot be
+   *     downloaded, or random access is not supported
+   */
+  default AbstractArrowResultChunk getChunkContainingRow(long row) throws DatabricksSQLException {
+    throw new DatabricksSQLException(
+        "Random access is not supported by " + getClass().getSimpleName(),
+        DatabricksDriverErrorCode.UNSUPPORTED_OPERATION);
+  }
 }
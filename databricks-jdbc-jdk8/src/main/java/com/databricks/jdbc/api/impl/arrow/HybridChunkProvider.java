@@ -0,0 +1,111 @@
+package com.databricks.jdbc.api.impl.arrow;
+
+import com.databricks.jdbc.exception.DatabricksSQLException;
+import com.databricks.jdbc.log.JdbcLogger;
+import com.databricks.jdbc.log.JdbcLoggerFactory;
+
+/**
+ * Chunk provider for hybrid SQL Execution results, where the first chunk arrives inline as an Arrow
+ * attachment and the remaining chunks are available as external links.
+ *
+ * <p>The inline chunk is served first, so the first rows are available without any download. The
+ * remote provider is created up front, which starts downloading the remaining chunks in the
+ * background while the inline rows are being consumed.
+ */
+class HybridChunkProvider implements ChunkProvider {
+
+  private static final JdbcLogger LOGGER = JdbcLoggerFactory.getLogger(HybridChunkProvider.class);
+
+  private final InlineChunkProvider inlineChunkProvider;
+  private final ChunkProvider remoteChunkProvider;
+  private final long totalRowCount;
+  private boolean isServingRemoteChunks;
+  private boolean isClosed;
+
+  HybridChunkProvider(
+      InlineChunkProvider inlineChunkProvider,
+      ChunkProvider remoteChunkProvider,
+      long totalRowCount) {
+    this.inlineChunkProvider = inlineChunkProvider;
+    this.remoteChunkProvider = remoteChunkProvider;
+    this.totalRowCount = totalRowCount;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean hasNextChunk() {
+    return inlineChunkProvider.hasNextChunk() || remoteChunkProvider.hasNextChunk();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean next() throws DatabricksSQLException {
+    if (inlineChunkProvider.hasNextChunk()) {
+      return inlineChunkProvider.next();
+    }
+    if (!isServingRemoteChunks) {
+      LOGGER.debug("Inline chunk consumed, switching to remote chunks");
+      inlineChunkProvider.close();
+      isServingRemoteChunks = true;
+    }
+    return remoteChunkProvider.next();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public AbstractArrowResultChunk getChunk() throws DatabricksSQLException {
+    return isServingRemoteChunks ? remoteChunkProvider.getChunk() : inlineChunkProvider.getChunk();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean supportsRandomAccess() {
+    return remoteChunkProvider.supportsRandomAccess();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The inline chunk stays in memory, so that the cursor can return to it.
+   */
+  @Override
+  public AbstractArrowResultChunk getChunkContainingRow(long row) throws DatabricksSQLException {
+    if (row < inlineChunkProvider.getRowCount()) {
+      isServingRemoteChunks = false;
+      return inlineChunkProvider.getChunkContainingRow(row);
+    }
+    isServingRemoteChunks = true;
+    return remoteChunkProvider.getChunkContainingRow(row);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void close() {
+    isClosed = true;
+    if (!inlineChunkProvider.isClosed()) {
+      inlineChunkProvider.close();
+    }
+    remoteChunkProvider.close();
+  }
+
+  @Override
+  public long getRowCount() {
+    return totalRowCount;
+  }
+
+  @Override
+  public long getChunkCount() {
+    return remoteChunkProvider.getChunkCount();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void setFetchSize(int rows) throws DatabricksSQLException {
+    remoteChunkProvider.setFetchSize(rows);
+  }
+
+  @Override
+  public boolean isClosed() {
+    return isClosed;
+  }
+}
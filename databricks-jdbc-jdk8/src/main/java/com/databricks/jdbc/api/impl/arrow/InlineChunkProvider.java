@@ -61,8 +61,22 @@ public class InlineChunkProvider implements ChunkProvider {
    */
   InlineChunkProvider(ResultData resultData, ResultManifest resultManifest)
       throws DatabricksSQLException {
+    this(resultData, resultManifest, resultManifest.getTotalRowCount());
+  }
+
+  /**
+   * Constructor for an inline arrow chunk provider that only holds part of the result, e.g. the
+   * first chunk of a hybrid result.
+   *
+   * @param resultData Data object containing the inline attachment
+   * @param resultManifest Manifest object containing the result metadata
+   * @param rowCount number of rows in the inline attachment
+   * @throws DatabricksSQLException if there is an error in processing the inline arrow data
+   */
+  InlineChunkProvider(ResultData resultData, ResultManifest resultManifest, long rowCount)
+      throws DatabricksSQLException {
     this.currentChunkIndex = -1;
-    this.totalRows = resultManifest.getTotalRowCount();
+    this.totalRows = rowCount;
 
     // Decompress the inline data if applicable and create an ArrowResultChunk
     CompressionCodec compressionType = resultManifest.getResultCompression();
@@ -99,6 +113,19 @@ public class InlineChunkProvider implements ChunkProvider {
     return arrowResultChunk;
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public boolean supportsRandomAccess() {
+    return true;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ArrowResultChunk getChunkContainingRow(long row) {
+    this.currentChunkIndex = 0;
+    return arrowResultChunk;
+  }
+
   /** {@inheritDoc} */
   @Override
   public void close() {
@@ -21,6 +21,7 @@ public class RemoteChunkProvider extends AbstractRemoteChunkProvider<ArrowResult
   private static final String CHUNKS_DOWNLOADER_THREAD_POOL_PREFIX =
       "databricks-jdbc-chunks-downloader-";
   private ExecutorService chunkDownloaderExecutorService;
+  private final ChunkDownloadRetryScheduler retryScheduler = new ChunkDownloadRetryScheduler();
 
   RemoteChunkProvider(
       StatementId statementId,
@@ -40,6 +41,30 @@ public class RemoteChunkProvider extends AbstractRemoteChunkProvider<ArrowResult
         resultManifest.getResultCompression());
   }
 
+  RemoteChunkProvider(
+      StatementId statementId,
+      ResultManifest resultManifest,
+      ResultData resultData,
+      IDatabricksSession session,
+      IDatabricksHttpClient httpClient,
+      int chunksDownloaderThreadPoolSize,
+      long firstChunkIndex,
+      int fetchSize,
+      boolean randomAccess)
+      throws DatabricksSQLException {
+    super(
+        statementId,
+        resultManifest,
+        resultData,
+        session,
+        httpClient,
+        chunksDownloaderThreadPoolSize,
+        resultManifest.getResultCompression(),
+        firstChunkIndex,
+        fetchSize,
+        randomAccess);
+  }
+
   RemoteChunkProvider(
       IDatabricksStatementInternal parentStatement,
       TFetchResultsResp resultsResp,
@@ -94,6 +119,7 @@ public class RemoteChunkProvider extends AbstractRemoteChunkProvider<ArrowResult
    *         <li>The provider is not closed
    *         <li>There are more chunks available to download
    *         <li>The number of chunks in memory is below the allowed limit
+   *         <li>The rows of the chunks in memory fit into the fetch size, if one is set
    *       </ul>
    *   <li>Tracks the total chunks in memory and the next chunk to download
    * </ul>
@@ -104,26 +130,41 @@ public class RemoteChunkProvider extends AbstractRemoteChunkProvider<ArrowResult
    */
   @Override
   public void downloadNextChunks() {
-    if (chunkDownloaderExecutorService == null) {
-      chunkDownloaderExecutorService = createChunksDownloaderExecutorService();
+    while (canDownloadNextChunk()) {
+      ArrowResultChunk chunk = chunkIndexToChunksMap.get(nextChunkToDownload);
+      submitDownloadTask(chunk);
+      onChunkDownloadScheduled(chunk);
     }
+  }
 
-    while (!isClosed
-        && nextChunkToDownload < chunkCount
-        && totalChunksInMemory < allowedChunksInMemory) {
-      ArrowResultChunk chunk = chunkIndexToChunksMap.get(nextChunkToDownload);
-      chunkDownloaderExecutorService.submit(
-          new ChunkDownloadTask(chunk, httpClient, this, linkDownloadService));
-      totalChunksInMemory++;
-      nextChunkToDownload++;
+  /** {@inheritDoc} */
+  @Override
+  protected void downloadChunk(ArrowResultChunk chunk) {
+    submitDownloadTask(chunk);
+  }
+
+  private void submitDownloadTask(ArrowResultChunk chunk) {
+    if (chunkDownloaderExecutorService == null) {
+      chunkDownloaderExecutorService = createChunksDownloaderExecutorService();
     }
+    chunkDownloaderExecutorService.submit(
+        new ChunkDownloadTask(
+            chunk,
+            httpClient,
+            this,
+            linkDownloadService,
+            retryScheduler,
+            chunkDownloaderExecutorService));
   }
 
   /** {@inheritDoc} */
   @Override
   protected void doClose() {
     isClosed = true;
-    chunkDownloaderExecutorService.shutdownNow();
+    if (chunkDownloaderExecutorService != null) {
+      chunkDownloaderExecutorService.shutdownNow();
+    }
+    // Releasing a chunk also aborts its download if it is still in flight
     chunkIndexToChunksMap.values().forEach(ArrowResultChunk::releaseChunk);
     DatabricksThreadContextHolder.clearStatementInfo();
   }
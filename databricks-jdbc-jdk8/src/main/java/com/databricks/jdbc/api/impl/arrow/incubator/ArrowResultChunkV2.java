@@ -102,6 +102,9 @@ public class ArrowResultChunkV2 extends AbstractArrowResultChunk {
   protected volatile long bytesDownloaded;
   protected byte[] downloadedBytes;
 
+  /** Request of the download in flight, cancelled when the chunk is released. */
+  private volatile Future<byte[]> activeDownload;
+
   private ArrowResultChunkV2(Builder builder) {
     super(
         builder.numRows,
@@ -155,6 +158,9 @@ public class ArrowResultChunkV2 extends AbstractArrowResultChunk {
       CompressionCodec compressionCodec,
       RetryConfig retryConfig,
       int currentAttempt) {
+    if (isReleased()) {
+      return;
+    }
     try {
       // Initialize consumer to handle streaming response
       StreamingResponseConsumer consumer = new StreamingResponseConsumer(this);
@@ -167,10 +173,14 @@ public class ArrowResultChunkV2 extends AbstractArrowResultChunk {
       AsyncRequestProducer requestProducer = requestBuilder.build();
 
       // Execute async HTTP request with callback handlers
-      httpClient.executeAsync(
-          requestProducer,
-          consumer,
-          new ChunkDownloadCallback(httpClient, compressionCodec, retryConfig, currentAttempt));
+      activeDownload =
+          httpClient.executeAsync(
+              requestProducer,
+              consumer,
+              new ChunkDownloadCallback(httpClient, compressionCodec, retryConfig, currentAttempt));
+      if (isReleased()) {
+        abortDownload();
+      }
     } catch (Exception e) {
       // Handle exceptions during request setup with retry logic
       handleRetryableError(
@@ -183,6 +193,20 @@ public class ArrowResultChunkV2 extends AbstractArrowResultChunk {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Cancels the asynchronous HTTP request, which stops the transfer.
+   */
+  @Override
+  protected void abortDownload() {
+    Future<byte[]> download = activeDownload;
+    if (download != null) {
+      download.cancel(true);
+    }
+    downloadedBytes = null;
+  }
+
   /**
    * Processes the downloaded Arrow data by decompressing and initializing it. After successful
    * processing, clears the downloaded bytes and updates the chunk status.
@@ -191,7 +215,12 @@ public class ArrowResultChunkV2 extends AbstractArrowResultChunk {
    * @param context descriptive context string for error reporting
    */
   private void processArrowData(CompressionCodec compressionCodec, String context) {
-    try (ByteArrayInputStream compressedStream = new ByteArrayInputStream(downloadedBytes);
+    byte[] bytes = downloadedBytes;
+    if (bytes == null || isReleased()) {
+      // Released after the download completed
+      return;
+    }
+    try (ByteArrayInputStream compressedStream = new ByteArrayInputStream(bytes);
         InputStream uncompressedStream =
             DecompressionUtil.decompress(compressedStream, compressionCodec, context)) {
       initializeData(uncompressedStream);
@@ -221,6 +250,9 @@ public class ArrowResultChunkV2 extends AbstractArrowResultChunk {
       int currentAttempt,
       Exception e,
       DownloadPhase phase) {
+    if (isReleased()) {
+      return;
+    }
     setStatus(ChunkStatus.DOWNLOAD_FAILED);
     LOGGER.info(
         "Retrying, current attempt: "
@@ -329,6 +361,10 @@ public class ArrowResultChunkV2 extends AbstractArrowResultChunk {
 
     @Override
     public void completed(byte[] result) {
+      activeDownload = null;
+      if (isReleased()) {
+        return;
+      }
       // Store downloaded data and update status on successful download
       downloadedBytes = result;
       setStatus(ChunkStatus.DOWNLOAD_SUCCEEDED);
@@ -355,7 +391,9 @@ public class ArrowResultChunkV2 extends AbstractArrowResultChunk {
     @Override
     public void cancelled() {
       // Update status and cancel future on request cancellation
-      setStatus(ChunkStatus.CANCELLED);
+      if (!isReleased()) {
+        setStatus(ChunkStatus.CANCELLED);
+      }
       chunkReadyFuture.cancel(true);
     }
   }
@@ -110,11 +110,9 @@ public class RemoteChunkProviderV2 extends AbstractRemoteChunkProvider<ArrowResu
    */
   @Override
   public void downloadNextChunks() throws DatabricksSQLException {
-    while (!isClosed
-        && nextChunkToDownload < chunkCount
-        && totalChunksInMemory < allowedChunksInMemory) {
+    while (canDownloadNextChunk()) {
       ArrowResultChunkV2 chunk = chunkIndexToChunksMap.get(nextChunkToDownload);
-      totalChunksInMemory++;
+      onChunkDownloadScheduled(chunk);
       if (chunk.isChunkLinkInvalid()) {
         try {
           ExternalLink link =
@@ -134,7 +132,6 @@ public class RemoteChunkProviderV2 extends AbstractRemoteChunkProvider<ArrowResu
         }
       }
       chunk.downloadData(httpClient, getCompressionCodec(), downloadSpeedThresholdForWaring);
-      nextChunkToDownload++;
     }
   }
 
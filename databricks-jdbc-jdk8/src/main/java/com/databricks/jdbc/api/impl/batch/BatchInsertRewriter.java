@@ -0,0 +1,233 @@
+package com.databricks.jdbc.api.impl.batch;
+
+import com.databricks.jdbc.api.impl.ImmutableSqlParameter;
+import com.databricks.jdbc.common.util.SqlTemplate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Rewrites a batch of {@code INSERT INTO ... VALUES (?, ...)} executions into multi-row inserts.
+ *
+ * <p>The rewriter is created from the prepared SQL and is only available when the statement is a
+ * plain single-row insert whose placeholders all appear in the {@code VALUES} tuple. Rows are
+ * grouped so that each rewritten statement stays within a maximum row count, a maximum number of
+ * bound parameters and an approximate maximum size in bytes, and the parameters of every group are
+ * renumbered to match the repeated tuples.
+ */
+public final class BatchInsertRewriter {
+
+  private static final Pattern INSERT_INTO_PATTERN =
+      Pattern.compile("^\\s*INSERT\\s+INTO\\s", Pattern.CASE_INSENSITIVE);
+  private static final String VALUES_KEYWORD = "VALUES";
+  private static final String TUPLE_SEPARATOR = ", ";
+
+  private final String prefix;
+  private final String valuesTuple;
+  private final int parametersPerRow;
+
+  private BatchInsertRewriter(String prefix, String valuesTuple, int parametersPerRow) {
+    this.prefix = prefix;
+    this.valuesTuple = valuesTuple;
+    this.parametersPerRow = parametersPerRow;
+  }
+
+  /**
+   * Creates a rewriter for the given SQL.
+   *
+   * @param sql prepared SQL of the batch
+   * @return the rewriter, or {@code null} if the SQL is not a rewritable single-row insert
+   */
+  public static BatchInsertRewriter forSql(String sql) {
+    if (sql == null || !INSERT_INTO_PATTERN.matcher(sql).find()) {
+      return null;
+    }
+    int valuesIndex = findValuesKeyword(sql);
+    if (valuesIndex < 0) {
+      return null;
+    }
+    int tupleStart = valuesIndex + VALUES_KEYWORD.length();
+    while (tupleStart < sql.length() && Character.isWhitespace(sql.charAt(tupleStart))) {
+      tupleStart++;
+    }
+    if (tupleStart >= sql.length() || sql.charAt(tupleStart) != '(') {
+      return null;
+    }
+    int tupleEnd = findClosingParenthesis(sql, tupleStart);
+    if (tupleEnd < 0 || !isTrailer(sql.substring(tupleEnd + 1))) {
+      return null;
+    }
+    String valuesTuple = sql.substring(tupleStart, tupleEnd + 1);
+    int parametersPerRow = SqlTemplate.parse(valuesTuple).getPlaceholderCount();
+    // Every placeholder must be in the tuple and no question mark may appear in literals or
+    // comments, so that the parameter positions of the repeated tuples line up however the SQL is
+    // tokenized
+    if (parametersPerRow == 0 || parametersPerRow != countAllPlaceholders(sql)) {
+      return null;
+    }
+    return new BatchInsertRewriter(sql.substring(0, tupleStart), valuesTuple, parametersPerRow);
+  }
+
+  /** Returns the number of parameters bound per inserted row. */
+  public int getParametersPerRow() {
+    return parametersPerRow;
+  }
+
+  /**
+   * Splits the rows into consecutive groups that each fit in one rewritten statement.
+   *
+   * @param batch buffered parameter rows of the batch
+   * @param maxRows maximum number of rows per statement
+   * @param maxBytes approximate maximum size of a statement including its parameter values
+   * @param maxParameters maximum number of bound parameters per statement, or 0 if the parameters
+   *     are interpolated into the SQL and not limited
+   * @return sizes of consecutive groups, in batch order
+   */
+  public List<Integer> partition(
+      ColumnarBatchBuffer batch, int maxRows, long maxBytes, int maxParameters) {
+    List<Integer> groupSizes = new ArrayList<>();
+    int rowLimit = Math.max(1, maxRows);
+    if (maxParameters > 0) {
+      rowLimit = Math.min(rowLimit, Math.max(1, maxParameters / parametersPerRow));
+    }
+    int groupSize = 0;
+    long groupBytes = prefix.length();
+    for (int row = 0; row < batch.size(); row++) {
+      long rowBytes = estimateRowBytes(batch, row);
+      if (groupSize > 0 && (groupSize >= rowLimit || groupBytes + rowBytes > maxBytes)) {
+        groupSizes.add(groupSize);
+        groupSize = 0;
+        groupBytes = prefix.length();
+      }
+      groupSize++;
+      groupBytes += rowBytes;
+    }
+    if (groupSize > 0) {
+      groupSizes.add(groupSize);
+    }
+    return groupSizes;
+  }
+
+  /**
+   * Builds the multi-row insert for the given number of rows.
+   *
+   * @param rowCount number of value tuples
+   * @return rewritten SQL with one tuple per row
+   */
+  public String buildSql(int rowCount) {
+    StringBuilder sb =
+        new StringBuilder(prefix.length() + rowCount * (valuesTuple.length() + 2)).append(prefix);
+    for (int i = 0; i < rowCount; i++) {
+      if (i > 0) {
+        sb.append(TUPLE_SEPARATOR);
+      }
+      sb.append(valuesTuple);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Merges the bindings of consecutive rows into the bindings of one rewritten statement.
+   *
+   * @param batch buffered parameter rows of the batch
+   * @param fromRow first row of the statement, inclusive
+   * @param toRow last row of the statement, exclusive
+   * @return bindings keyed by the parameter index in the rewritten statement
+   */
+  public Map<Integer, ImmutableSqlParameter> mergeParameters(
+      ColumnarBatchBuffer batch, int fromRow, int toRow) {
+    Map<Integer, ImmutableSqlParameter> merged = new HashMap<>();
+    for (int row = fromRow; row < toRow; row++) {
+      for (int index = 1; index <= parametersPerRow; index++) {
+        ImmutableSqlParameter parameter = batch.getParameter(row, index);
+        if (parameter == null) {
+          continue;
+        }
+        int mergedIndex = (row - fromRow) * parametersPerRow + index;
+        merged.put(mergedIndex, parameter.withCardinal(mergedIndex));
+      }
+    }
+    return merged;
+  }
+
+  private long estimateRowBytes(ColumnarBatchBuffer batch, int row) {
+    long bytes = valuesTuple.length() + TUPLE_SEPARATOR.length();
+    for (int index : batch.getParameterIndexes()) {
+      if (batch.getType(row, index) == null) {
+        continue;
+      }
+      // Quotes or type information around every value
+      bytes += batch.isNull(row, index) ? 4 : batch.getTextLength(row, index) + 2;
+    }
+    return bytes;
+  }
+
+  /** Returns the index of the top-level VALUES keyword, or -1 if there is none. */
+  private static int findValuesKeyword(String sql) {
+    int depth = 0;
+    int i = 0;
+    while (i < sql.length()) {
+      int next = SqlTemplate.skipLiteralOrComment(sql, i);
+      if (next != i) {
+        i = next;
+        continue;
+      }
+      char c = sql.charAt(i);
+      if (c == '(') {
+        depth++;
+      } else if (c == ')') {
+        depth--;
+      } else if (depth == 0
+          && sql.regionMatches(true, i, VALUES_KEYWORD, 0, VALUES_KEYWORD.length())
+          && isWordBoundary(sql, i - 1)
+          && isWordBoundary(sql, i + VALUES_KEYWORD.length())) {
+        return i;
+      }
+      i++;
+    }
+    return -1;
+  }
+
+  private static int findClosingParenthesis(String sql, int openIndex) {
+    int depth = 0;
+    int i = openIndex;
+    while (i < sql.length()) {
+      int next = SqlTemplate.skipLiteralOrComment(sql, i);
+      if (next != i) {
+        i = next;
+        continue;
+      }
+      char c = sql.charAt(i);
+      if (c == '(') {
+        depth++;
+      } else if (c == ')' && --depth == 0) {
+        return i;
+      }
+      i++;
+    }
+    return -1;
+  }
+
+  private static boolean isWordBoundary(String sql, int index) {
+    return index < 0
+        || index >= sql.length()
+        || !(Character.isLetterOrDigit(sql.charAt(index)) || sql.charAt(index) == '_');
+  }
+
+  private static boolean isTrailer(String remainder) {
+    String trimmed = remainder.trim();
+    return trimmed.isEmpty() || trimmed.equals(";");
+  }
+
+  private static int countAllPlaceholders(String sql) {
+    int count = 0;
+    for (int i = 0; i < sql.length(); i++) {
+      if (sql.charAt(i) == '?') {
+        count++;
+      }
+    }
+    return count;
+  }
+}
@@ -0,0 +1,327 @@
+package com.databricks.jdbc.api.impl.batch;
+
+import com.databricks.jdbc.api.impl.ImmutableSqlParameter;
+import com.databricks.sdk.service.sql.ColumnInfoTypeName;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Column-wise buffer for the parameter rows of a prepared statement batch.
+ *
+ * <p>Instead of keeping one map of boxed parameters per row, the buffer stores every parameter
+ * index as a column of growable primitive arrays. Numeric and boolean values are packed into a
+ * {@code long[]}, strings are encoded as UTF-8 into a per-column byte arena and referenced by
+ * offset and length, and only values without a primitive representation (decimals, timestamps,
+ * binary) are kept as objects. Each row also records a one byte tag per column that marks whether
+ * the parameter is unbound, null or which kind of value it holds, together with the parameter type.
+ *
+ * <p>Consumers that scan the whole batch, such as the multi-row insert rewriter and the bulk
+ * loader, read values column-wise through {@link #getValue} and {@link #getType}, so that no
+ * per-row map is built. Rows executed one at a time are materialized with {@link #getRow}.
+ */
+public final class ColumnarBatchBuffer {
+
+  private static final int INITIAL_CAPACITY = 16;
+  private static final ColumnInfoTypeName[] TYPES = ColumnInfoTypeName.values();
+
+  private final Map<Integer, Column> columns = new TreeMap<>();
+  private int rowCount;
+
+  /**
+   * Appends a row to the buffer. The bindings are copied, so the map may be reused afterwards.
+   *
+   * @param bindings parameter bindings of the row keyed by 1-based parameter index
+   */
+  public void addRow(Map<Integer, ImmutableSqlParameter> bindings) {
+    for (Map.Entry<Integer, ImmutableSqlParameter> binding : bindings.entrySet()) {
+      columns
+          .computeIfAbsent(binding.getKey(), key -> new Column())
+          .set(rowCount, binding.getKey(), binding.getValue());
+    }
+    rowCount++;
+  }
+
+  /** Returns the number of buffered rows. */
+  public int size() {
+    return rowCount;
+  }
+
+  public boolean isEmpty() {
+    return rowCount == 0;
+  }
+
+  /** Removes all rows and releases the column storage. */
+  public void clear() {
+    columns.clear();
+    rowCount = 0;
+  }
+
+  /**
+   * Materializes the parameter bindings of a single row.
+   *
+   * @param row 0-based row index
+   * @return a new map of the bindings of the row keyed by 1-based parameter index
+   */
+  public Map<Integer, ImmutableSqlParameter> getRow(int row) {
+    if (row < 0 || row >= rowCount) {
+      throw new IndexOutOfBoundsException("Row " + row + " of " + rowCount);
+    }
+    Map<Integer, ImmutableSqlParameter> bindings = new HashMap<>();
+    for (Map.Entry<Integer, Column> column : columns.entrySet()) {
+      ImmutableSqlParameter parameter = column.getValue().get(row, column.getKey());
+      if (parameter != null) {
+        bindings.put(column.getKey(), parameter);
+      }
+    }
+    return bindings;
+  }
+
+  /** Returns the 1-based parameter indexes bound in at least one row, in ascending order. */
+  public Set<Integer> getParameterIndexes() {
+    return Collections.unmodifiableSet(columns.keySet());
+  }
+
+  /**
+   * Returns the parameter bound at the given index of a row.
+   *
+   * @param row 0-based row index
+   * @param index 1-based parameter index
+   * @return the parameter, or {@code null} if the row does not bind the index
+   */
+  public ImmutableSqlParameter getParameter(int row, int index) {
+    Column column = getColumn(row, index);
+    return column == null ? null : column.get(row, index);
+  }
+
+  /**
+   * Returns the type of the parameter bound at the given index of a row.
+   *
+   * @return the type, or {@code null} if the row does not bind the index
+   */
+  public ColumnInfoTypeName getType(int row, int index) {
+    Column column = getColumn(row, index);
+    return column == null ? null : column.getType(row);
+  }
+
+  /**
+   * Returns the value bound at the given index of a row, without building a parameter.
+   *
+   * @return the value, or {@code null} if the value is null or the row does not bind the index
+   */
+  public Object getValue(int row, int index) {
+    Column column = getColumn(row, index);
+    return column == null ? null : column.getValue(row);
+  }
+
+  /** Returns whether the value at the given index of a row is null or not bound. */
+  public boolean isNull(int row, int index) {
+    Column column = getColumn(row, index);
+    return column == null || column.isNull(row);
+  }
+
+  /**
+   * Returns the length of the text of the value at the given index of a row, as written into a SQL
+   * statement. Strings report their UTF-8 length, so that no string is decoded.
+   *
+   * @return the length, or 0 if the value is null or not bound
+   */
+  public int getTextLength(int row, int index) {
+    Column column = getColumn(row, index);
+    return column == null ? 0 : column.getTextLength(row);
+  }
+
+  private Column getColumn(int row, int index) {
+    if (row < 0 || row >= rowCount) {
+      throw new IndexOutOfBoundsException("Row " + row + " of " + rowCount);
+    }
+    return columns.get(index);
+  }
+
+  /** Storage of all values bound to one parameter index. */
+  private static final class Column {
+
+    private static final byte UNBOUND = 0;
+    private static final byte NULL = 1;
+    private static final byte BOOLEAN = 2;
+    private static final byte BYTE = 3;
+    private static final byte SHORT = 4;
+    private static final byte INTEGER = 5;
+    private static final byte LONG = 6;
+    private static final byte FLOAT = 7;
+    private static final byte DOUBLE = 8;
+    private static final byte STRING = 9;
+    private static final byte OBJECT = 10;
+    private static final byte PARAMETER = 11;
+
+    private byte[] kinds = new byte[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private long[] values;
+    private Object[] objects;
+    private byte[] arena;
+    private int arenaLength;
+
+    void set(int row, int index, ImmutableSqlParameter parameter) {
+      ensureCapacity(row + 1);
+      Object value = parameter.value();
+      types[row] = (byte) parameter.type().ordinal();
+      if (parameter.cardinal() != index) {
+        setObject(row, PARAMETER, parameter);
+      } else if (value == null) {
+        kinds[row] = NULL;
+      } else if (value instanceof Boolean) {
+        setPrimitive(row, BOOLEAN, (Boolean) value ? 1 : 0);
+      } else if (value instanceof Byte) {
+        setPrimitive(row, BYTE, (Byte) value);
+      } else if (value instanceof Short) {
+        setPrimitive(row, SHORT, (Short) value);
+      } else if (value instanceof Integer) {
+        setPrimitive(row, INTEGER, (Integer) value);
+      } else if (value instanceof Long) {
+        setPrimitive(row, LONG, (Long) value);
+      } else if (value instanceof Float) {
+        setPrimitive(row, FLOAT, Float.floatToRawIntBits((Float) value));
+      } else if (value instanceof Double) {
+        setPrimitive(row, DOUBLE, Double.doubleToRawLongBits((Double) value));
+      } else if (value instanceof String) {
+        setString(row, (String) value);
+      } else {
+        setObject(row, OBJECT, value);
+      }
+    }
+
+    ImmutableSqlParameter get(int row, int index) {
+      if (row >= kinds.length || kinds[row] == UNBOUND) {
+        return null;
+      }
+      if (kinds[row] == PARAMETER) {
+        return (ImmutableSqlParameter) objects[row];
+      }
+      return ImmutableSqlParameter.builder()
+          .type(TYPES[types[row] & 0xFF])
+          .value(getValue(row))
+          .cardinal(index)
+          .build();
+    }
+
+    ColumnInfoTypeName getType(int row) {
+      if (row >= kinds.length || kinds[row] == UNBOUND) {
+        return null;
+      }
+      if (kinds[row] == PARAMETER) {
+        return ((ImmutableSqlParameter) objects[row]).type();
+      }
+      return TYPES[types[row] & 0xFF];
+    }
+
+    boolean isNull(int row) {
+      if (row >= kinds.length) {
+        return true;
+      }
+      switch (kinds[row]) {
+        case UNBOUND:
+        case NULL:
+          return true;
+        case PARAMETER:
+          return ((ImmutableSqlParameter) objects[row]).value() == null;
+        default:
+          return false;
+      }
+    }
+
+    int getTextLength(int row) {
+      if (row >= kinds.length) {
+        return 0;
+      }
+      if (kinds[row] == STRING) {
+        return (int) values[row];
+      }
+      Object value = getValue(row);
+      return value == null ? 0 : value.toString().length();
+    }
+
+    Object getValue(int row) {
+      if (row >= kinds.length) {
+        return null;
+      }
+      switch (kinds[row]) {
+        case BOOLEAN:
+          return values[row] != 0;
+        case BYTE:
+          return (byte) values[row];
+        case SHORT:
+          return (short) values[row];
+        case INTEGER:
+          return (int) values[row];
+        case LONG:
+          return values[row];
+        case FLOAT:
+          return Float.intBitsToFloat((int) values[row]);
+        case DOUBLE:
+          return Double.longBitsToDouble(values[row]);
+        case STRING:
+          return new String(
+              arena, (int) (values[row] >>> 32), (int) values[row], StandardCharsets.UTF_8);
+        case OBJECT:
+          return objects[row];
+        case PARAMETER:
+          return ((ImmutableSqlParameter) objects[row]).value();
+        default:
+          return null;
+      }
+    }
+
+    private void setPrimitive(int row, byte kind, long value) {
+      if (values == null) {
+        values = new long[kinds.length];
+      }
+      kinds[row] = kind;
+      values[row] = value;
+    }
+
+    private void setString(int row, String value) {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      if (bytes.length > Integer.MAX_VALUE - 8 - arenaLength) {
+        // The arena is addressed with int offsets, keep strings that do not fit as objects
+        setObject(row, OBJECT, value);
+        return;
+      }
+      if (arena == null) {
+        arena = new byte[Math.max(bytes.length, INITIAL_CAPACITY * 16)];
+      } else if (arenaLength + bytes.length > arena.length) {
+        long grown = Math.max((long) arena.length * 2, (long) arenaLength + bytes.length);
+        arena = Arrays.copyOf(arena, (int) Math.min(grown, Integer.MAX_VALUE - 8));
+      }
+      System.arraycopy(bytes, 0, arena, arenaLength, bytes.length);
+      setPrimitive(row, STRING, ((long) arenaLength << 32) | bytes.length);
+      arenaLength += bytes.length;
+    }
+
+    private void setObject(int row, byte kind, Object value) {
+      if (objects == null) {
+        objects = new Object[kinds.length];
+      }
+      kinds[row] = kind;
+      objects[row] = value;
+    }
+
+    private void ensureCapacity(int capacity) {
+      if (capacity <= kinds.length) {
+        return;
+      }
+      int newCapacity = Math.max(capacity, kinds.length + (kinds.length >> 1));
+      kinds = Arrays.copyOf(kinds, newCapacity);
+      types = Arrays.copyOf(types, newCapacity);
+      if (values != null) {
+        values = Arrays.copyOf(values, newCapacity);
+      }
+      if (objects != null) {
+        objects = Arrays.copyOf(objects, newCapacity);
+      }
+    }
+  }
+}
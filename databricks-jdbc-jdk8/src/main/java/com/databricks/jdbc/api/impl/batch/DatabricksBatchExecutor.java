@@ -1,6 +1,9 @@
 package com.databricks.jdbc.api.impl.batch;
 
+import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
+import com.databricks.jdbc.common.util.DatabricksThreadContextHolder;
 import com.databricks.jdbc.exception.DatabricksBatchUpdateException;
+import com.databricks.jdbc.exception.DatabricksSQLException;
 import com.databricks.jdbc.exception.DatabricksValidationException;
 import com.databricks.jdbc.log.JdbcLogger;
 import com.databricks.jdbc.log.JdbcLoggerFactory;
@@ -12,6 +15,19 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The {@code DatabricksBatchExecutor} class handles the execution of batch SQL commands. It
@@ -26,15 +42,30 @@ import java.util.List;
  *   <li>Tracking telemetry such as execution time for each command and total batch execution time.
  *   <li>Enforcing a maximum batch size limit.
  * </ul>
+ *
+ * <p>Batches marked as order-independent are executed concurrently when a parallelism greater than
+ * one is configured. Each worker runs its share of the commands through its own statement, so every
+ * command is a separate server operation within the session. Workers of all batches run on a
+ * driver-wide pool of at most {@value #MAX_WORKER_THREADS} threads; idle threads are released after
+ * a minute. Once the batch is cancelled, workers cancel their running commands and do not start
+ * further ones.
  */
 public class DatabricksBatchExecutor {
 
   private static final JdbcLogger LOGGER =
       JdbcLoggerFactory.getLogger(DatabricksBatchExecutor.class);
 
+  static final int MAX_WORKER_THREADS = 32;
+
+  private static final ExecutorService WORKER_POOL = createWorkerPool();
+
   final Statement parentStatement;
   final List<BatchCommand> commands = new ArrayList<>();
   final int maxBatchSize;
+  final int parallelism;
+  private boolean orderIndependent = false;
+  private final Set<Statement> workerStatements = ConcurrentHashMap.newKeySet();
+  private volatile boolean cancelled;
 
   /**
    * Constructs a {@code DatabricksBatchExecutor} with the specified parent {@code Statement} and
@@ -44,8 +75,36 @@ public class DatabricksBatchExecutor {
    * @param maxBatchSize the maximum number of commands allowed in the batch
    */
   public DatabricksBatchExecutor(Statement parentStatement, int maxBatchSize) {
+    this(parentStatement, maxBatchSize, 1);
+  }
+
+  /**
+   * Constructs a {@code DatabricksBatchExecutor} that can execute order-independent batches
+   * concurrently.
+   *
+   * @param parentStatement the parent {@code Statement} that will execute the commands
+   * @param maxBatchSize the maximum number of commands allowed in the batch
+   * @param parallelism the maximum number of commands executed concurrently
+   */
+  public DatabricksBatchExecutor(Statement parentStatement, int maxBatchSize, int parallelism) {
     this.parentStatement = parentStatement;
     this.maxBatchSize = maxBatchSize;
+    this.parallelism = Math.max(1, parallelism);
+  }
+
+  /**
+   * Marks whether the commands of the batch may run in any order. Order-independent batches are
+   * executed concurrently if the parallelism is greater than one.
+   *
+   * @param orderIndependent {@code true} if the commands do not depend on each other
+   */
+  public void setOrderIndependent(boolean orderIndependent) {
+    this.orderIndependent = orderIndependent;
+  }
+
+  /** Returns whether the batch is marked as order-independent. */
+  public boolean isOrderIndependent() {
+    return orderIndependent;
   }
 
   /**
@@ -66,6 +125,22 @@ public class DatabricksBatchExecutor {
     commands.add(ImmutableBatchCommand.builder().sql(sql).build());
   }
 
+  /**
+   * Cancels the order-independent batch that is being executed concurrently: running commands are
+   * cancelled and the remaining commands are not executed. Has no effect on sequential batches,
+   * which run on the parent statement.
+   */
+  public void cancel() {
+    cancelled = true;
+    for (Statement statement : workerStatements) {
+      try {
+        statement.cancel();
+      } catch (SQLException e) {
+        LOGGER.debug("Failed to cancel batch worker statement: {}", e.getMessage());
+      }
+    }
+  }
+
   /** Clears all the commands from the batch. */
   public void clearCommands() {
     commands.clear();
@@ -88,6 +163,9 @@ public class DatabricksBatchExecutor {
       LOGGER.warn("No commands to execute in the batch");
       return new long[0];
     }
+    if (orderIndependent && parallelism > 1 && commands.size() > 1) {
+      return executeBatchConcurrently();
+    }
 
     long[] updateCounts = new long[commands.size()];
     Instant batchStartTime = Instant.now();
@@ -140,6 +218,204 @@ public class DatabricksBatchExecutor {
     }
   }
 
+  /**
+   * Executes all the commands in the batch concurrently on up to {@code parallelism} statements
+   * created from the parent statement's connection. Unlike sequential execution, every command is
+   * executed even if others fail, and commands may complete in any order.
+   *
+   * <p>If any command fails or returns a {@code ResultSet}, a {@code BatchUpdateException} is
+   * thrown whose update counts cover the whole batch, with {@link Statement#EXECUTE_FAILED} for
+   * every failed command. The failures of all commands are chained with {@link
+   * SQLException#setNextException}. If the batch is cancelled or interrupted, the commands that
+   * were not executed are reported as {@link Statement#EXECUTE_FAILED}.
+   *
+   * @return an array of update counts for each command in the batch
+   * @throws DatabricksBatchUpdateException if any command fails or the workers cannot be started
+   */
+  long[] executeBatchConcurrently() throws DatabricksBatchUpdateException {
+    List<BatchCommand> batch = new ArrayList<>(commands);
+    clearCommands();
+    long[] updateCounts = new long[batch.size()];
+    // Overwritten by every command that is executed
+    Arrays.fill(updateCounts, Statement.EXECUTE_FAILED);
+    Map<Integer, SQLException> failures = new TreeMap<>();
+    AtomicInteger nextCommand = new AtomicInteger();
+    int workerCount = Math.min(parallelism, batch.size());
+    IDatabricksConnectionContext connectionContext =
+        DatabricksThreadContextHolder.getConnectionContext();
+    Instant batchStartTime = Instant.now();
+    LOGGER.debug(
+        "Executing order-independent batch of {} commands on {} statements",
+        batch.size(),
+        workerCount);
+
+    List<Future<?>> workers = new ArrayList<>();
+    cancelled = false;
+    try {
+      for (int i = 0; i < workerCount; i++) {
+        workers.add(
+            WORKER_POOL.submit(
+                () -> runWorker(batch, nextCommand, updateCounts, failures, connectionContext)));
+      }
+      for (Future<?> worker : workers) {
+        worker.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      cancelWorkers(workers);
+      throw new DatabricksBatchUpdateException(
+          "Interrupted while executing batch",
+          DatabricksDriverErrorCode.BATCH_EXECUTE_EXCEPTION,
+          updateCounts);
+    } catch (ExecutionException | RejectedExecutionException e) {
+      cancelWorkers(workers);
+      Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+      throw new DatabricksBatchUpdateException(
+          "Batch execution failed: " + cause.getMessage(),
+          DatabricksDriverErrorCode.BATCH_EXECUTE_EXCEPTION,
+          updateCounts);
+    }
+
+    Duration batchDuration = Duration.between(batchStartTime, Instant.now());
+    LOGGER.debug("Total batch execution time: {} ms", batchDuration.toMillis());
+    if (cancelled) {
+      throw new DatabricksBatchUpdateException(
+          "Batch execution was cancelled",
+          DatabricksDriverErrorCode.BATCH_EXECUTE_EXCEPTION,
+          updateCounts);
+    }
+    if (!failures.isEmpty()) {
+      throw buildConcurrentBatchFailure(updateCounts, failures);
+    }
+    return updateCounts;
+  }
+
+  /**
+   * Executes commands taken from the shared index until the batch is exhausted, cancelled or the
+   * worker is interrupted, using one statement for all of them.
+   */
+  private void runWorker(
+      List<BatchCommand> batch,
+      AtomicInteger nextCommand,
+      long[] updateCounts,
+      Map<Integer, SQLException> failures,
+      IDatabricksConnectionContext connectionContext) {
+    DatabricksThreadContextHolder.setConnectionContext(connectionContext);
+    Statement statement = null;
+    try {
+      int i;
+      while (!cancelled
+          && !Thread.currentThread().isInterrupted()
+          && (i = nextCommand.getAndIncrement()) < batch.size()) {
+        Instant commandStartTime = Instant.now();
+        try {
+          if (statement == null) {
+            statement = createWorkerStatement();
+            workerStatements.add(statement);
+          }
+          LOGGER.debug("Executing batch command {}: {}", i, batch.get(i).getSql());
+          boolean hasResultSet = statement.execute(batch.get(i).getSql());
+          long updateCount = statement.getLargeUpdateCount();
+          logCommandExecutionTime(i, commandStartTime, !hasResultSet);
+          if (hasResultSet) {
+            recordFailure(
+                updateCounts,
+                failures,
+                i,
+                new DatabricksSQLException(
+                    String.format("Command %d in the batch attempted to return a ResultSet", i),
+                    DatabricksDriverErrorCode.BATCH_EXECUTE_EXCEPTION));
+          } else {
+            updateCounts[i] = updateCount != -1 ? updateCount : Statement.SUCCESS_NO_INFO;
+          }
+        } catch (SQLException e) {
+          logCommandExecutionTime(i, commandStartTime, false);
+          LOGGER.error(e, "Error executing batch command at index {}: {}", i, e.getMessage());
+          recordFailure(updateCounts, failures, i, e);
+        }
+      }
+    } finally {
+      if (statement != null) {
+        workerStatements.remove(statement);
+        try {
+          statement.close();
+        } catch (SQLException e) {
+          LOGGER.warn("Failed to close batch worker statement: {}", e.getMessage());
+        }
+      }
+      DatabricksThreadContextHolder.clearAllContext();
+    }
+  }
+
+  private Statement createWorkerStatement() throws SQLException {
+    Statement statement = parentStatement.getConnection().createStatement();
+    statement.setQueryTimeout(parentStatement.getQueryTimeout());
+    return statement;
+  }
+
+  private static void recordFailure(
+      long[] updateCounts, Map<Integer, SQLException> failures, int index, SQLException e) {
+    updateCounts[index] = Statement.EXECUTE_FAILED;
+    synchronized (failures) {
+      failures.put(index, e);
+    }
+  }
+
+  private static DatabricksBatchUpdateException buildConcurrentBatchFailure(
+      long[] updateCounts, Map<Integer, SQLException> failures) {
+    SQLException firstFailure = failures.values().iterator().next();
+    String message =
+        String.format(
+            "Batch execution failed for %d of %d commands at indexes %s: %s",
+            failures.size(), updateCounts.length, failures.keySet(), firstFailure.getMessage());
+    DatabricksBatchUpdateException exception =
+        new DatabricksBatchUpdateException(
+            message,
+            firstFailure.getSQLState(),
+            firstFailure.getErrorCode(),
+            updateCounts,
+            firstFailure);
+    for (SQLException failure : failures.values()) {
+      exception.setNextException(failure);
+    }
+    LOGGER.error(exception, "BatchUpdateException occurred: {}", message);
+    return exception;
+  }
+
+  private void cancelWorkers(List<Future<?>> workers) {
+    cancelled = true;
+    for (Future<?> worker : workers) {
+      worker.cancel(true);
+    }
+  }
+
+  /**
+   * Creates the pool shared by the workers of all batches. Work beyond {@link #MAX_WORKER_THREADS}
+   * threads is queued, and threads are not kept once they have been idle for a minute.
+   */
+  private static ExecutorService createWorkerPool() {
+    ThreadPoolExecutor pool =
+        new ThreadPoolExecutor(
+            MAX_WORKER_THREADS,
+            MAX_WORKER_THREADS,
+            60L,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactory() {
+              private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+              @Override
+              public Thread newThread(Runnable r) {
+                Thread thread =
+                    new Thread(r, "Batch-Worker-Thread-" + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+              }
+            });
+    pool.allowCoreThreadTimeOut(true);
+    return pool;
+  }
+
   /**
    * Logs the execution time of a batch command.
    *
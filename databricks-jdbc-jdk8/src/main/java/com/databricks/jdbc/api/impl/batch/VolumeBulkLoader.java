@@ -0,0 +1,411 @@
+package com.databricks.jdbc.api.impl.batch;
+
+import com.databricks.jdbc.api.IDatabricksVolumeClient;
+import com.databricks.jdbc.exception.DatabricksSQLException;
+import com.databricks.jdbc.exception.DatabricksVolumeOperationException;
+import com.databricks.jdbc.log.JdbcLogger;
+import com.databricks.jdbc.log.JdbcLoggerFactory;
+import com.databricks.jdbc.model.telemetry.enums.DatabricksDriverErrorCode;
+import com.databricks.sdk.service.sql.ColumnInfoTypeName;
+import com.google.common.annotations.VisibleForTesting;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Loads a batch of {@code INSERT INTO table (columns) VALUES (?, ...)} rows through a Unity Catalog
+ * volume instead of executing one statement per row.
+ *
+ * <p>The buffered rows are written to a gzip compressed CSV file in the local temporary directory,
+ * uploaded to the configured staging directory and loaded with a single {@code COPY INTO}
+ * statement. Every column is cast to a SQL type derived from the bound parameters of all rows:
+ * numeric types are widened to the type that holds every value, dates and timestamps to {@code
+ * TIMESTAMP}, and batches whose rows bind otherwise incompatible types to a column are not bulk
+ * loaded. The staged file is removed once the load has finished, whether it succeeded or not.
+ */
+public final class VolumeBulkLoader {
+
+  private static final JdbcLogger LOGGER = JdbcLoggerFactory.getLogger(VolumeBulkLoader.class);
+
+  private static final Pattern INSERT_PATTERN =
+      Pattern.compile(
+          "^\\s*INSERT\\s+INTO\\s+([\\w.`]+)\\s*\\(([^()'\"?]+)\\)\\s*VALUES\\s*"
+              + "\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)\\s*;?\\s*$",
+          Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+  private static final Pattern VOLUME_PATH_PATTERN =
+      Pattern.compile("^/Volumes/([^/]+)/([^/]+)/([^/]+)(/.*)?$", Pattern.CASE_INSENSITIVE);
+  private static final String NULL_MARKER = "\\N";
+
+  /** Numeric types, from the narrowest to the widest. */
+  private static final List<String> NUMERIC_TYPES =
+      Arrays.asList("TINYINT", "SMALLINT", "INT", "BIGINT", "DECIMAL", "FLOAT", "DOUBLE");
+
+  /** Executes the generated {@code COPY INTO} statement and returns the number of loaded rows. */
+  @FunctionalInterface
+  public interface CopyIntoExecutor {
+    long execute(String copyIntoSql) throws SQLException;
+  }
+
+  private final String tableName;
+  private final List<String> columnNames;
+  private final String catalog;
+  private final String schema;
+  private final String volume;
+  private final String stagingDirectory;
+
+  private VolumeBulkLoader(
+      String tableName,
+      List<String> columnNames,
+      String catalog,
+      String schema,
+      String volume,
+      String stagingDirectory) {
+    this.tableName = tableName;
+    this.columnNames = columnNames;
+    this.catalog = catalog;
+    this.schema = schema;
+    this.volume = volume;
+    this.stagingDirectory = stagingDirectory;
+  }
+
+  /**
+   * Creates a loader for the given SQL and staging path.
+   *
+   * @param sql prepared SQL of the batch
+   * @param stagingPath volume directory used for staging, in the form {@code
+   *     /Volumes/catalog/schema/volume[/directory]}
+   * @return the loader, or {@code null} if the SQL is not an insert with an explicit column list
+   *     and plain placeholders, or the staging path is not a volume path
+   */
+  public static VolumeBulkLoader forSql(String sql, String stagingPath) {
+    if (sql == null || stagingPath == null) {
+      return null;
+    }
+    Matcher pathMatcher = VOLUME_PATH_PATTERN.matcher(stagingPath.trim());
+    if (!pathMatcher.matches()) {
+      LOGGER.warn("Bulk load staging path {} is not a Unity Catalog volume path", stagingPath);
+      return null;
+    }
+    Matcher sqlMatcher = INSERT_PATTERN.matcher(sql);
+    if (!sqlMatcher.matches()) {
+      return null;
+    }
+    List<String> columnNames =
+        Arrays.stream(sqlMatcher.group(2).split(","))
+            .map(String::trim)
+            .collect(Collectors.toList());
+    int placeholders = sql.length() - sql.replace("?", "").length();
+    if (columnNames.size() != placeholders) {
+      return null;
+    }
+    String directory = pathMatcher.group(4) == null ? "" : pathMatcher.group(4);
+    return new VolumeBulkLoader(
+        sqlMatcher.group(1),
+        columnNames,
+        pathMatcher.group(1),
+        pathMatcher.group(2),
+        pathMatcher.group(3),
+        directory.replaceAll("^/+|/+$", ""));
+  }
+
+  /**
+   * Stages the rows in the volume, loads them with {@code COPY INTO} and removes the staged file.
+   *
+   * @param batch buffered parameter rows of the batch
+   * @param layout layout of the batch, as returned by {@link #analyze}
+   * @param volumeClient client used to upload and delete the staged file
+   * @param copyIntoExecutor executes the generated statement
+   * @return number of rows reported as loaded
+   * @throws SQLException if writing, uploading or loading the file fails
+   */
+  public long load(
+      ColumnarBatchBuffer batch,
+      BatchLayout layout,
+      IDatabricksVolumeClient volumeClient,
+      CopyIntoExecutor copyIntoExecutor)
+      throws SQLException {
+    String objectPath =
+        (stagingDirectory.isEmpty() ? "" : stagingDirectory + "/")
+            + "jdbc-bulk-load-"
+            + UUID.randomUUID()
+            + ".csv.gz";
+    upload(batch, layout, volumeClient, objectPath);
+    try {
+      return copyIntoExecutor.execute(buildCopyIntoSql(getVolumePath(objectPath), layout));
+    } finally {
+      try {
+        volumeClient.deleteObject(catalog, schema, volume, objectPath);
+      } catch (SQLException e) {
+        LOGGER.warn("Failed to remove bulk load file {}: {}", objectPath, e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Writes the rows into a local temporary file and uploads it, so that the compressed content is
+   * never held in memory as a whole.
+   */
+  private void upload(
+      ColumnarBatchBuffer batch,
+      BatchLayout layout,
+      IDatabricksVolumeClient volumeClient,
+      String objectPath)
+      throws SQLException {
+    Path file = null;
+    try {
+      file = Files.createTempFile("jdbc-bulk-load-", ".csv.gz");
+      try (OutputStream out = Files.newOutputStream(file)) {
+        writeCsv(batch, layout, out);
+      }
+      long size = Files.size(file);
+      LOGGER.debug(
+          "Staging {} rows ({} bytes) for bulk load into {} at {}",
+          batch.size(),
+          size,
+          tableName,
+          objectPath);
+      boolean uploaded;
+      try (InputStream in = Files.newInputStream(file)) {
+        uploaded = volumeClient.putObject(catalog, schema, volume, objectPath, in, size, true);
+      }
+      if (!uploaded) {
+        throw new DatabricksVolumeOperationException(
+            "Failed to upload bulk load file " + objectPath,
+            DatabricksDriverErrorCode.VOLUME_OPERATION_PUT_OPERATION_EXCEPTION);
+      }
+    } catch (IOException e) {
+      throw new DatabricksSQLException(
+          "Failed to write bulk load file", e, DatabricksDriverErrorCode.BATCH_EXECUTE_EXCEPTION);
+    } finally {
+      if (file != null) {
+        try {
+          Files.deleteIfExists(file);
+        } catch (IOException e) {
+          LOGGER.warn("Failed to remove local bulk load file {}: {}", file, e.getMessage());
+        }
+      }
+    }
+  }
+
+  @VisibleForTesting
+  String buildCopyIntoSql(String filePath, BatchLayout layout) {
+    StringBuilder select = new StringBuilder();
+    for (int column = 0; column < columnNames.size(); column++) {
+      if (column > 0) {
+        select.append(", ");
+      }
+      String sqlType = layout.columnTypes[column];
+      String source = "_c" + column;
+      select
+          .append(sqlType == null ? source : "CAST(" + source + " AS " + sqlType + ")")
+          .append(" AS ")
+          .append(columnNames.get(column));
+    }
+    return String.format(
+        "COPY INTO %s FROM (SELECT %s FROM '%s') FILEFORMAT = CSV "
+            + "FORMAT_OPTIONS ('header' = 'false', 'nullValue' = '%s', 'escape' = '\"', "
+            + "'multiLine' = 'true') COPY_OPTIONS ('force' = 'true')",
+        tableName, select, filePath.replace("'", "\\'"), layout.nullMarker.replace("\\", "\\\\"));
+  }
+
+  @VisibleForTesting
+  void writeCsv(ColumnarBatchBuffer batch, BatchLayout layout, OutputStream out)
+      throws IOException {
+    try (Writer writer =
+        new BufferedWriter(
+            new OutputStreamWriter(new GZIPOutputStream(out), StandardCharsets.UTF_8))) {
+      for (int row = 0; row < batch.size(); row++) {
+        for (int column = 1; column <= columnNames.size(); column++) {
+          if (column > 1) {
+            writer.write(',');
+          }
+          Object value = batch.getValue(row, column);
+          if (value == null) {
+            writer.write(layout.nullMarker);
+          } else {
+            writer.write('"');
+            writer.write(toCsvText(value).replace("\"", "\"\""));
+            writer.write('"');
+          }
+        }
+        writer.write('\n');
+      }
+    }
+  }
+
+  private String getVolumePath(String objectPath) {
+    return String.format("/Volumes/%s/%s/%s/%s", catalog, schema, volume, objectPath);
+  }
+
+  /**
+   * Derives the SQL type of every column and the null marker in a single pass over the batch.
+   *
+   * @param batch buffered parameter rows of the batch
+   * @return the layout to load the batch with, or {@code null} if a bound value cannot be staged as
+   *     CSV or the rows bind incompatible types to a column
+   */
+  public BatchLayout analyze(ColumnarBatchBuffer batch) {
+    int columnCount = columnNames.size();
+    String[] sqlTypes = new String[columnCount];
+    int[] integerDigits = new int[columnCount];
+    int[] scales = new int[columnCount];
+    Arrays.fill(integerDigits, 1);
+    boolean markerIsBound = false;
+    for (int row = 0; row < batch.size(); row++) {
+      for (int column = 0; column < columnCount; column++) {
+        Object value = batch.getValue(row, column + 1);
+        if (value == null) {
+          continue;
+        }
+        String sqlType = getSqlType(batch.getType(row, column + 1), value);
+        if (sqlType == null) {
+          return null;
+        }
+        String columnType = widen(sqlTypes[column], sqlType);
+        if (columnType == null) {
+          LOGGER.debug(
+              "Column {} is bound as both {} and {}",
+              columnNames.get(column),
+              sqlTypes[column],
+              sqlType);
+          return null;
+        }
+        sqlTypes[column] = columnType;
+        BigDecimal decimal = toDecimal(value);
+        if (decimal != null) {
+          scales[column] = Math.max(scales[column], Math.max(0, decimal.scale()));
+          integerDigits[column] =
+              Math.max(integerDigits[column], decimal.precision() - decimal.scale());
+        } else if (NULL_MARKER.equals(value)) {
+          markerIsBound = true;
+        }
+      }
+    }
+    String[] columnTypes = new String[columnCount];
+    for (int column = 0; column < columnCount; column++) {
+      if ("DECIMAL".equals(sqlTypes[column])) {
+        int precision = Math.min(38, integerDigits[column] + scales[column]);
+        columnTypes[column] =
+            String.format("DECIMAL(%d, %d)", precision, Math.min(scales[column], precision));
+      } else if (!"STRING".equals(sqlTypes[column])) {
+        columnTypes[column] = sqlTypes[column];
+      }
+    }
+    // CSV matches the null value against quoted values as well, so a bound string equal to the
+    // marker would be loaded as NULL. Such batches use a marker no value can be equal to.
+    String nullMarker = markerIsBound ? NULL_MARKER + UUID.randomUUID() : NULL_MARKER;
+    return new BatchLayout(columnTypes, nullMarker);
+  }
+
+  /**
+   * Returns the type that holds the values of both types, or {@code null} if there is none.
+   * Integral types and decimals are widened to the larger of the two, and combined with floating
+   * point types to {@code DOUBLE} unless both are {@code FLOAT}.
+   */
+  @VisibleForTesting
+  static String widen(String columnType, String sqlType) {
+    if (columnType == null || columnType.equals(sqlType)) {
+      return sqlType;
+    }
+    int columnIndex = NUMERIC_TYPES.indexOf(columnType);
+    int index = NUMERIC_TYPES.indexOf(sqlType);
+    if (columnIndex >= 0 && index >= 0) {
+      String widened = NUMERIC_TYPES.get(Math.max(columnIndex, index));
+      return "FLOAT".equals(widened) ? "DOUBLE" : widened;
+    }
+    if ((columnType.equals("DATE") || columnType.equals("TIMESTAMP"))
+        && (sqlType.equals("DATE") || sqlType.equals("TIMESTAMP"))) {
+      return "TIMESTAMP";
+    }
+    return null;
+  }
+
+  /** Returns an exact integral or decimal value as a decimal, for the precision of the column. */
+  private static BigDecimal toDecimal(Object value) {
+    if (value instanceof BigDecimal) {
+      return (BigDecimal) value;
+    }
+    if (value instanceof Long
+        || value instanceof Integer
+        || value instanceof Short
+        || value instanceof Byte) {
+      return BigDecimal.valueOf(((Number) value).longValue());
+    }
+    return null;
+  }
+
+  private static String toCsvText(Object value) {
+    if (value instanceof BigDecimal) {
+      return ((BigDecimal) value).toPlainString();
+    }
+    if (value instanceof Timestamp) {
+      // Timestamp.toString() renders the wall clock time of the JVM default time zone
+      return DateTimeFormatter.ISO_INSTANT.format(((Timestamp) value).toInstant());
+    }
+    return value.toString();
+  }
+
+  private static String getSqlType(ColumnInfoTypeName type, Object value) {
+    switch (type) {
+      case STRING:
+      case CHAR:
+        return "STRING";
+      case BOOLEAN:
+        return "BOOLEAN";
+      case BYTE:
+        return "TINYINT";
+      case SHORT:
+        return "SMALLINT";
+      case INT:
+        return "INT";
+      case LONG:
+        return "BIGINT";
+      case FLOAT:
+        return "FLOAT";
+      case DOUBLE:
+        return "DOUBLE";
+      case DECIMAL:
+        return "DECIMAL";
+      case DATE:
+        return "DATE";
+      case TIMESTAMP:
+        // Dates are bound with the timestamp type
+        return value instanceof Date ? "DATE" : "TIMESTAMP";
+      default:
+        return null;
+    }
+  }
+
+  /** SQL types of the columns of a batch and the marker its null values are written as. */
+  public static final class BatchLayout {
+    private final String[] columnTypes;
+    private final String nullMarker;
+
+    private BatchLayout(String[] columnTypes, String nullMarker) {
+      this.columnTypes = columnTypes;
+      this.nullMarker = nullMarker;
+    }
+
+    String getNullMarker() {
+      return nullMarker;
+    }
+  }
+}
@@ -124,6 +124,33 @@ public interface IDatabricksConnectionContext {
 
   int getAsyncExecPollInterval();
 
+  /** Returns the upper bound in milliseconds that the status poll interval backs off to. */
+  int getAsyncExecMaxPollInterval();
+
+  /** Returns whether prepared INSERT batches are rewritten into multi-row inserts. */
+  boolean isBatchInsertRewriteEnabled();
+
+  /** Returns the maximum number of rows in a rewritten multi-row insert. */
+  int getBatchInsertMaxRows();
+
+  /** Returns the approximate maximum size in bytes of a rewritten multi-row insert. */
+  long getBatchInsertMaxBytes();
+
+  /**
+   * Returns the maximum number of bound parameters in a rewritten multi-row insert whose parameters
+   * are sent to the server rather than interpolated.
+   */
+  int getBatchInsertMaxParameters();
+
+  /** Returns the volume directory used to stage bulk loads, or an empty string if disabled. */
+  String getBulkLoadStagingPath();
+
+  /** Returns the minimum number of batched rows that are loaded through the staging volume. */
+  int getBulkLoadMinRows();
+
+  /** Returns the maximum number of Thrift clients a connection uses for concurrent requests. */
+  int getThriftClientPoolSize();
+
   Boolean shouldEnableArrow();
 
   DatabricksClientType getClientType();
@@ -144,6 +171,18 @@ public interface IDatabricksConnectionContext {
 
   Boolean shouldRetryRateLimitError();
 
+  /**
+   * Returns whether requests to a host are paced by the shared adaptive rate limiter after the host
+   * responds with 429 or 503.
+   */
+  boolean isAdaptiveRateLimitEnabled();
+
+  /**
+   * Returns whether identical metadata requests that are in flight at the same time, on connections
+   * with the same identity and compute resource, are combined into a single server call.
+   */
+  boolean isMetadataRequestCoalescingEnabled();
+
   int getTemporarilyUnavailableRetryTimeout();
 
   int getRateLimitRetryTimeout();
@@ -152,6 +191,30 @@ public interface IDatabricksConnectionContext {
 
   boolean supportManyParameters();
 
+  /** Returns the maximum number of parsed SQL templates cached per connection. */
+  int getSqlTemplateCacheSize();
+
+  /** Returns the maximum number of DESCRIBE QUERY results cached per connection. */
+  int getDescribeQueryCacheSize();
+
+  /**
+   * Returns whether DESCRIBE QUERY results are cached driver-wide and shared by connections with
+   * the same identity and compute resource, instead of per connection.
+   */
+  boolean isSharedDescribeQueryCacheEnabled();
+
+  /** Returns the default time to live in seconds of cached query results, 0 if disabled. */
+  long getResultCacheTtl();
+
+  /** Returns the maximum number of bytes of query results the driver keeps in memory. */
+  long getResultCacheMaxBytes();
+
+  /** Returns the directory cached query results are spilled to, empty if spilling is disabled. */
+  String getResultCacheSpillDirectory();
+
+  /** Returns the number of recently visited chunks a scrollable result set keeps in memory. */
+  int getScrollCacheChunks();
+
   String getConnectionURL();
 
   boolean checkCertificateRevocation();
@@ -239,6 +302,9 @@ public interface IDatabricksConnectionContext {
   /** Returns the maximum number of commands that can be executed in a single batch. */
   int getMaxBatchSize();
 
+  /** Returns the maximum number of commands of an order-independent batch run concurrently. */
+  int getBatchExecutionParallelism();
+
   /** Checks if Telemetry is enabled */
   boolean isTelemetryEnabled();
 
@@ -327,6 +393,12 @@ public interface IDatabricksConnectionContext {
   /** Returns whether token caching is enabled for OAuth authentication */
   boolean isTokenCacheEnabled();
 
+  /**
+   * Returns the fraction of an OAuth token's lifetime after which the token is refreshed in the
+   * background, between 0 (exclusive) and 1 (inclusive).
+   */
+  double getTokenRefreshLifetimeFraction();
+
   /*
    * Returns maximum number of concurrent pre-signed requests sent to Databricks File System (DBFS)
    * Ensures rate-limit when uploading multiple files to DBFS in parallel.
@@ -3,6 +3,7 @@ package com.databricks.jdbc.api.internal;
 import com.databricks.jdbc.api.IDatabricksStatement;
 import com.databricks.jdbc.exception.DatabricksSQLException;
 import java.sql.Connection;
+import java.sql.SQLException;
 
 /** Interface providing Databricks specific Connection APIs. */
 public interface IDatabricksConnectionInternal extends Connection {
@@ -25,4 +26,20 @@ public interface IDatabricksConnectionInternal extends Connection {
 
   /** Returns the connection context associated with the connection. */
   IDatabricksConnectionContext getConnectionContext();
+
+  /**
+   * Records the current catalog, schema and session configuration as the state that {@link
+   * #resetSessionState()} restores.
+   *
+   * @throws SQLException if the current catalog or schema cannot be determined
+   */
+  void markSessionStateBaseline() throws SQLException;
+
+  /**
+   * Closes the open statements, clears the warnings and restores the session state recorded by
+   * {@link #markSessionStateBaseline()}, e.g. before the connection is reused by a pool.
+   *
+   * @throws SQLException if the session state cannot be restored
+   */
+  void resetSessionState() throws SQLException;
 }
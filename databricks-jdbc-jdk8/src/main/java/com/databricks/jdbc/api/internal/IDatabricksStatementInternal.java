@@ -15,6 +15,12 @@ public interface IDatabricksStatementInternal {
 
   int getMaxRows() throws DatabricksSQLException;
 
+  /** Returns the number of rows to fetch per page and buffer ahead, or 0 for the default. */
+  int getFetchSize();
+
+  /** Returns whether the result sets of this statement are {@code TYPE_SCROLL_INSENSITIVE}. */
+  boolean isScrollable();
+
   void setStatementId(StatementId statementId);
 
   StatementId getStatementId();
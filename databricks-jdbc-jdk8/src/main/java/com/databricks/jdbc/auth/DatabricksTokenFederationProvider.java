@@ -114,14 +114,18 @@ public class DatabricksTokenFederationProvider implements CredentialsProvider, T
     }
 
     this.config = databricksConfig;
-    return () -> {
-      Token exchangedToken = getToken();
-      Map<String, String> headers = new HashMap<>(this.externalProviderHeaders);
-      headers.put(
-          HttpHeaders.AUTHORIZATION,
-          exchangedToken.getTokenType() + " " + exchangedToken.getAccessToken());
-      return headers;
-    };
+    SharedTokenManager tokenManager = SharedTokenManager.getInstance(connectionContext, authType());
+    return () -> tokenManager.getHeaders(connectionContext, () -> fetchHeaders(tokenManager));
+  }
+
+  /** Fetches a new token and builds the headers sent with requests from it. */
+  private SharedTokenManager.CachedHeaders fetchHeaders(SharedTokenManager tokenManager) {
+    Token exchangedToken = getToken();
+    Map<String, String> headers = new HashMap<>(this.externalProviderHeaders);
+    headers.put(
+        HttpHeaders.AUTHORIZATION,
+        exchangedToken.getTokenType() + " " + exchangedToken.getAccessToken());
+    return tokenManager.newCachedHeaders(exchangedToken, headers);
   }
 
   public Token getToken() {
@@ -7,14 +7,34 @@ import com.databricks.sdk.core.oauth.Token;
 import com.databricks.sdk.core.oauth.TokenCache;
 import com.databricks.sdk.core.utils.SerDeUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import java.io.File;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.security.SecureRandom;
 import java.security.spec.KeySpec;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
 import javax.crypto.SecretKeyFactory;
@@ -22,7 +42,15 @@ import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.PBEKeySpec;
 import javax.crypto.spec.SecretKeySpec;
 
-/** A TokenCache implementation that stores tokens in encrypted files. */
+/**
+ * A TokenCache implementation that stores tokens in encrypted files.
+ *
+ * <p>The encryption key is derived from the passphrase once per process and kept in memory, and the
+ * last token saved or loaded for a file is kept decrypted in memory until the file changes on disk.
+ * Connections that find the token in memory therefore neither read the file nor derive the key.
+ * Files are written on a background thread, through a temporary file that atomically replaces the
+ * cache file, so that readers never see a partially written token.
+ */
 public class EncryptedFileTokenCache implements TokenCache {
   private static final JdbcLogger LOGGER =
       JdbcLoggerFactory.getLogger(EncryptedFileTokenCache.class);
@@ -35,10 +63,51 @@ public class EncryptedFileTokenCache implements TokenCache {
   private static final int ITERATION_COUNT = 65536;
   private static final int KEY_LENGTH = 256;
   private static final int IV_SIZE = 16; // 128 bits
+  private static final int MAX_CACHED_KEYS = 16;
+
+  /** Keys derived from a passphrase and salt, by a hash of the passphrase and salt. */
+  private static final Cache<String, SecretKey> SECRET_KEYS =
+      CacheBuilder.newBuilder().maximumSize(MAX_CACHED_KEYS).build();
+
+  /** Decrypted tokens by cache file and key, with the state of the file they were read from. */
+  private static final Map<List<Object>, CachedToken> CACHED_TOKENS = new ConcurrentHashMap<>();
+
+  private static final long FLUSH_TIMEOUT_SECONDS = 5;
+
+  // The writer thread is a daemon, so it does not keep the application alive. Writes that are still
+  // pending when the JVM exits are flushed from a shutdown hook. It stops after being idle for a
+  // few seconds.
+  private static final ThreadPoolExecutor WRITE_EXECUTOR =
+      new ThreadPoolExecutor(
+          1,
+          1,
+          5,
+          TimeUnit.SECONDS,
+          new LinkedBlockingQueue<>(),
+          r -> {
+            Thread thread = new Thread(r, "Databricks-Token-Cache-Writer");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  static {
+    WRITE_EXECUTOR.allowCoreThreadTimeOut(true);
+    try {
+      Runtime.getRuntime()
+          .addShutdownHook(
+              new Thread(
+                  EncryptedFileTokenCache::flushPendingWrites, "Databricks-Token-Cache-Flush"));
+    } catch (IllegalStateException e) {
+      // The JVM is already shutting down
+    }
+  }
 
   private final Path cacheFile;
   private final ObjectMapper mapper;
   private final String passphrase;
+  private final String keyId;
+  private final List<Object> cacheKey;
+  private final Executor writeExecutor;
 
   /**
    * Constructs a new EncryptingFileTokenCache instance.
@@ -47,48 +116,130 @@ public class EncryptedFileTokenCache implements TokenCache {
    * @param passphrase The passphrase used for encryption
    */
   public EncryptedFileTokenCache(Path cacheFilePath, String passphrase) {
+    this(cacheFilePath, passphrase, WRITE_EXECUTOR);
+  }
+
+  @VisibleForTesting
+  EncryptedFileTokenCache(Path cacheFilePath, String passphrase, Executor writeExecutor) {
     Objects.requireNonNull(cacheFilePath, "cacheFilePath must be defined");
     Objects.requireNonNull(passphrase, "passphrase must be defined for encrypted token cache");
 
     this.cacheFile = cacheFilePath;
     this.mapper = SerDeUtils.createMapper();
     this.passphrase = passphrase;
+    this.keyId =
+        Hashing.sha256()
+            .newHasher()
+            .putString(passphrase, StandardCharsets.UTF_8)
+            .putBytes(SALT)
+            .hash()
+            .toString();
+    this.cacheKey = Arrays.asList(cacheFilePath.toAbsolutePath().normalize(), keyId);
+    this.writeExecutor = writeExecutor;
   }
 
   @Override
   public void save(Token token) throws DatabricksException {
+    byte[] dataToWrite;
     try {
-      Files.createDirectories(cacheFile.getParent());
-
       // Serialize token to JSON
       String json = mapper.writeValueAsString(token);
-      byte[] dataToWrite = json.getBytes(StandardCharsets.UTF_8);
 
       // Encrypt data
-      dataToWrite = encrypt(dataToWrite);
+      dataToWrite = encrypt(json.getBytes(StandardCharsets.UTF_8));
+    } catch (Exception e) {
+      throw new DatabricksException("Failed to save token cache: " + e.getMessage(), e);
+    }
 
-      Files.write(cacheFile, dataToWrite);
+    // The token is served from memory until it has been written
+    CachedToken pending = new CachedToken(token, null);
+    CACHED_TOKENS.put(cacheKey, pending);
+    try {
+      writeExecutor.execute(() -> write(dataToWrite, pending));
+    } catch (RejectedExecutionException e) {
+      CACHED_TOKENS.remove(cacheKey, pending);
+      throw new DatabricksException("Failed to save token cache: " + e.getMessage(), e);
+    }
+  }
+
+  /** Waits for the writes that are still queued, so that saved tokens survive the JVM exit. */
+  private static void flushPendingWrites() {
+    WRITE_EXECUTOR.shutdown();
+    try {
+      if (!WRITE_EXECUTOR.awaitTermination(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        LOGGER.warn("Token cache writes did not finish before shutdown");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void write(byte[] dataToWrite, CachedToken pending) {
+    Path tempFile = null;
+    try {
+      Files.createDirectories(cacheFile.getParent());
+      tempFile =
+          Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+      Files.write(tempFile, dataToWrite);
       // Set file permissions to be readable only by the owner (equivalent to 0600)
-      File file = cacheFile.toFile();
+      File file = tempFile.toFile();
       file.setReadable(false, false);
       file.setReadable(true, true);
       file.setWritable(false, false);
       file.setWritable(true, true);
 
+      try {
+        Files.move(
+            tempFile,
+            cacheFile,
+            StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+
+      // Later loads only read the file again if it has been changed since
+      CACHED_TOKENS.replace(
+          cacheKey, pending, new CachedToken(pending.token, FileState.of(cacheFile)));
       LOGGER.debug("Successfully saved encrypted token to cache: %s", cacheFile);
     } catch (Exception e) {
-      throw new DatabricksException("Failed to save token cache: " + e.getMessage(), e);
+      CACHED_TOKENS.remove(cacheKey, pending);
+      LOGGER.warn("Failed to save token cache: %s", e.getMessage());
+    } finally {
+      if (tempFile != null) {
+        try {
+          Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+          LOGGER.debug("Failed to delete temporary token cache file: %s", e.getMessage());
+        }
+      }
     }
   }
 
   @Override
   public Token load() {
     try {
+      CachedToken cached = CACHED_TOKENS.get(cacheKey);
+      if (cached != null && cached.fileState == null) {
+        // The token is still being written
+        return cached.token;
+      }
+
       if (!Files.exists(cacheFile)) {
         LOGGER.debug("No token cache file found at: %s", cacheFile);
+        if (cached != null) {
+          CACHED_TOKENS.remove(cacheKey, cached);
+        }
         return null;
       }
 
+      // Read the state before the content, so that a concurrent change is noticed by the next load
+      FileState fileState = FileState.of(cacheFile);
+      if (cached != null && fileState.equals(cached.fileState)) {
+        LOGGER.debug("Using in-memory copy of encrypted token cache: %s", cacheFile);
+        return cached.token;
+      }
+
       byte[] fileContent = Files.readAllBytes(cacheFile);
 
       // Decrypt data
@@ -103,6 +254,11 @@ public class EncryptedFileTokenCache implements TokenCache {
       // Deserialize token from JSON
       String json = new String(decodedContent, StandardCharsets.UTF_8);
       Token token = mapper.readValue(json, Token.class);
+      if (cached == null) {
+        CACHED_TOKENS.putIfAbsent(cacheKey, new CachedToken(token, fileState));
+      } else {
+        CACHED_TOKENS.replace(cacheKey, cached, new CachedToken(token, fileState));
+      }
       LOGGER.debug("Successfully loaded encrypted token from cache: %s", cacheFile);
       return token;
     } catch (Exception e) {
@@ -113,6 +269,22 @@ public class EncryptedFileTokenCache implements TokenCache {
     }
   }
 
+  /**
+   * Returns the secret key for the passphrase, derived using PBKDF2 with HMAC-SHA256 the first time
+   * it is needed in this process.
+   *
+   * @return A SecretKey generated from the passphrase
+   * @throws Exception If an error occurs generating the key
+   */
+  @VisibleForTesting
+  SecretKey getSecretKey() throws Exception {
+    try {
+      return SECRET_KEYS.get(keyId, this::generateSecretKey);
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+    }
+  }
+
   /**
    * Generates a secret key from the passphrase using PBKDF2 with HMAC-SHA256.
    *
@@ -142,7 +314,7 @@ public class EncryptedFileTokenCache implements TokenCache {
     random.nextBytes(iv);
     IvParameterSpec ivSpec = new IvParameterSpec(iv);
 
-    cipher.init(Cipher.ENCRYPT_MODE, generateSecretKey(), ivSpec);
+    cipher.init(Cipher.ENCRYPT_MODE, getSecretKey(), ivSpec);
     byte[] encryptedData = cipher.doFinal(data);
 
     // Combine IV and encrypted data
@@ -172,8 +344,53 @@ public class EncryptedFileTokenCache implements TokenCache {
 
     Cipher cipher = Cipher.getInstance(TRANSFORMATION);
     IvParameterSpec ivSpec = new IvParameterSpec(iv);
-    cipher.init(Cipher.DECRYPT_MODE, generateSecretKey(), ivSpec);
+    cipher.init(Cipher.DECRYPT_MODE, getSecretKey(), ivSpec);
 
     return cipher.doFinal(actualData);
   }
+
+  /** A decrypted token and the state of the file it was read from or written to. */
+  private static final class CachedToken {
+    private final Token token;
+    // Null while the token has not been written yet
+    private final FileState fileState;
+
+    CachedToken(Token token, FileState fileState) {
+      this.token = token;
+      this.fileState = fileState;
+    }
+  }
+
+  /** Modification time and size of a file, used to detect changes made by other processes. */
+  private static final class FileState {
+    private final FileTime lastModifiedTime;
+    private final long size;
+
+    private FileState(FileTime lastModifiedTime, long size) {
+      this.lastModifiedTime = lastModifiedTime;
+      this.size = size;
+    }
+
+    static FileState of(Path file) throws IOException {
+      BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+      return new FileState(attributes.lastModifiedTime(), attributes.size());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof FileState)) {
+        return false;
+      }
+      FileState that = (FileState) o;
+      return size == that.size && lastModifiedTime.equals(that.lastModifiedTime);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(lastModifiedTime, size);
+    }
+  }
 }
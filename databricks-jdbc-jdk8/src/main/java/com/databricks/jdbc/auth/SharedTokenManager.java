@@ -0,0 +1,292 @@
+package com.databricks.jdbc.auth;
+
+import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
+import com.databricks.jdbc.common.util.DatabricksThreadContextHolder;
+import com.databricks.jdbc.log.JdbcLogger;
+import com.databricks.jdbc.log.JdbcLoggerFactory;
+import com.databricks.sdk.core.oauth.Token;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Caches the authentication headers of an OAuth identity and shares them between all connections
+ * that authenticate as that identity.
+ *
+ * <p>Requests read the cached headers without locking. Once a configurable fraction of the token
+ * lifetime has passed, the first request to notice schedules a refresh on a background thread and
+ * keeps using the current token, so that no query thread waits for the token endpoint while the
+ * token is still valid. Only an expired or missing token is refreshed on the calling thread.
+ * Concurrent refreshes of the same identity are collapsed into a single call.
+ */
+public class SharedTokenManager {
+
+  private static final JdbcLogger LOGGER = JdbcLoggerFactory.getLogger(SharedTokenManager.class);
+
+  /** Tokens are treated as expired this long before their actual expiry. */
+  @VisibleForTesting static final Duration EXPIRY_BUFFER = Duration.ofSeconds(40);
+
+  /** Minimum time between two background refresh attempts after a failed one. */
+  @VisibleForTesting static final Duration BACKGROUND_RETRY_INTERVAL = Duration.ofSeconds(10);
+
+  private static final Cache<List<Object>, SharedTokenManager> MANAGERS =
+      CacheBuilder.newBuilder().expireAfterAccess(1, TimeUnit.HOURS).build();
+
+  private static final ExecutorService REFRESH_EXECUTOR =
+      Executors.newCachedThreadPool(
+          new ThreadFactory() {
+            private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+            @Override
+            public Thread newThread(Runnable r) {
+              Thread thread =
+                  new Thread(r, "Databricks-Token-Refresh-" + threadNumber.getAndIncrement());
+              thread.setDaemon(true);
+              return thread;
+            }
+          });
+
+  private final double refreshLifetimeFraction;
+  private final ExecutorService refreshExecutor;
+  private final Clock clock;
+  private final AtomicReference<CompletableFuture<CachedHeaders>> inFlightRefresh =
+      new AtomicReference<>();
+  private final AtomicBoolean backgroundRefreshScheduled = new AtomicBoolean();
+  private volatile CachedHeaders current;
+  private volatile Instant nextBackgroundAttempt = Instant.MIN;
+
+  @VisibleForTesting
+  SharedTokenManager(double refreshLifetimeFraction, ExecutorService refreshExecutor, Clock clock) {
+    this.refreshLifetimeFraction = refreshLifetimeFraction;
+    this.refreshExecutor = refreshExecutor;
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the manager shared by connections that authenticate as the identity of the given
+   * context with the given provider.
+   *
+   * @param connectionContext context of the connection
+   * @param authType authentication type of the credentials provider
+   * @return the shared token manager
+   */
+  public static SharedTokenManager getInstance(
+      IDatabricksConnectionContext connectionContext, String authType) {
+    double refreshLifetimeFraction = connectionContext.getTokenRefreshLifetimeFraction();
+    return MANAGERS
+        .asMap()
+        .computeIfAbsent(
+            getIdentityKey(connectionContext, authType),
+            key ->
+                new SharedTokenManager(
+                    refreshLifetimeFraction, REFRESH_EXECUTOR, Clock.systemUTC()));
+  }
+
+  @VisibleForTesting
+  static void clearInstances() {
+    MANAGERS.invalidateAll();
+  }
+
+  /**
+   * Returns the key identifying whose tokens a connection uses: the host, client id and
+   * authentication flow, and a hash of the secrets the tokens are obtained with. Connections that
+   * use different credentials therefore never share tokens, while the secrets themselves are not
+   * kept in the key.
+   *
+   * <p>Flows without credential material in the connection properties, such as browser based U2M or
+   * Azure managed identity, cannot tell the users they act for apart. Their key contains the
+   * connection's UUID, so each such connection keeps its own tokens.
+   */
+  @VisibleForTesting
+  static List<Object> getIdentityKey(
+      IDatabricksConnectionContext connectionContext, String authType) {
+    Hasher secretsHasher = Hashing.sha256().newHasher();
+    boolean hasCredentials =
+        connectionContext.getJWTKeyFile() != null
+            || connectionContext.getGoogleCredentials() != null;
+    for (String secret :
+        Arrays.asList(
+            connectionContext.getClientSecret(),
+            connectionContext.getOAuthRefreshToken(),
+            connectionContext.getPassThroughAccessToken(),
+            connectionContext.getToken(),
+            connectionContext.getJWTPassphrase())) {
+      secretsHasher.putBoolean(secret != null);
+      if (secret != null) {
+        secretsHasher.putString(secret, StandardCharsets.UTF_8);
+        hasCredentials = true;
+      }
+    }
+    if (!hasCredentials) {
+      secretsHasher.putString(
+          String.valueOf(connectionContext.getConnectionUuid()), StandardCharsets.UTF_8);
+    }
+    return Arrays.asList(
+        connectionContext.getHostForOAuth(),
+        connectionContext.getNullableClientId(),
+        connectionContext.getAuthMech(),
+        connectionContext.getAuthFlow(),
+        authType,
+        connectionContext.getAuthScope(),
+        connectionContext.getTokenEndpoint(),
+        connectionContext.getAzureTenantId(),
+        connectionContext.getAzureWorkspaceResourceId(),
+        connectionContext.getJWTKeyFile(),
+        connectionContext.getKID(),
+        connectionContext.getJWTAlgorithm(),
+        connectionContext.getIdentityFederationClientId(),
+        connectionContext.getGoogleServiceAccount(),
+        connectionContext.getGoogleCredentials(),
+        connectionContext.getTokenRefreshLifetimeFraction(),
+        secretsHasher.hash().toString());
+  }
+
+  /**
+   * Returns the cached headers, refreshing them with the given function when needed.
+   *
+   * @param connectionContext context of the calling connection, made available to background
+   *     refreshes
+   * @param refresher fetches a new token and its headers
+   * @return a copy of the authentication headers to send with the request
+   */
+  public Map<String, String> getHeaders(
+      IDatabricksConnectionContext connectionContext, Supplier<CachedHeaders> refresher) {
+    CachedHeaders cached = current;
+    Instant now = clock.instant();
+    if (cached != null && now.isBefore(cached.usableUntil)) {
+      if (!now.isBefore(cached.refreshAt) && !now.isBefore(nextBackgroundAttempt)) {
+        refreshInBackground(connectionContext, refresher, cached);
+      }
+      return new HashMap<>(cached.headers);
+    }
+    try {
+      return new HashMap<>(refresh(refresher).join().headers);
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private void refreshInBackground(
+      IDatabricksConnectionContext connectionContext,
+      Supplier<CachedHeaders> refresher,
+      CachedHeaders stale) {
+    if (!backgroundRefreshScheduled.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      refreshExecutor.execute(
+          () -> {
+            DatabricksThreadContextHolder.setConnectionContext(connectionContext);
+            try {
+              // Another connection may have refreshed the token while this task was queued
+              if (current == stale) {
+                refresh(refresher).join();
+              }
+            } catch (CompletionException e) {
+              nextBackgroundAttempt = clock.instant().plus(BACKGROUND_RETRY_INTERVAL);
+              LOGGER.warn(
+                  "Background token refresh failed, keeping the current token: {}",
+                  e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            } finally {
+              backgroundRefreshScheduled.set(false);
+              DatabricksThreadContextHolder.clearAllContext();
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      backgroundRefreshScheduled.set(false);
+      LOGGER.debug("Background token refresh was rejected, refreshing on expiry instead");
+    }
+  }
+
+  /**
+   * Starts a refresh on the calling thread, or joins the refresh that is already in flight.
+   *
+   * @return a future completed with the new headers
+   */
+  private CompletableFuture<CachedHeaders> refresh(Supplier<CachedHeaders> refresher) {
+    while (true) {
+      CompletableFuture<CachedHeaders> inFlight = inFlightRefresh.get();
+      if (inFlight != null) {
+        return inFlight;
+      }
+      CompletableFuture<CachedHeaders> refresh = new CompletableFuture<>();
+      if (!inFlightRefresh.compareAndSet(null, refresh)) {
+        continue;
+      }
+      try {
+        CachedHeaders refreshed = refresher.get();
+        current = refreshed;
+        inFlightRefresh.set(null);
+        refresh.complete(refreshed);
+      } catch (RuntimeException | Error e) {
+        inFlightRefresh.set(null);
+        refresh.completeExceptionally(e);
+      }
+      return refresh;
+    }
+  }
+
+  /**
+   * Builds the cached headers for a token fetched now, using the refresh fraction of this manager.
+   */
+  public CachedHeaders newCachedHeaders(Token token, Map<String, String> headers) {
+    return new CachedHeaders(token, headers, refreshLifetimeFraction, clock.instant());
+  }
+
+  /** Authentication headers together with the token they were built from. */
+  public static final class CachedHeaders {
+    private final Map<String, String> headers;
+    private final Instant refreshAt;
+    private final Instant usableUntil;
+
+    /**
+     * @param token the token, whose expiry decides when the headers are refreshed. Headers of a
+     *     token without expiry are not cached.
+     * @param headers authentication headers built from the token
+     * @param refreshLifetimeFraction fraction of the remaining lifetime after which the token is
+     *     refreshed in the background
+     * @param fetchedAt time the token was fetched
+     */
+    CachedHeaders(
+        Token token,
+        Map<String, String> headers,
+        double refreshLifetimeFraction,
+        Instant fetchedAt) {
+      this.headers = Collections.unmodifiableMap(headers);
+      Instant expiry = token.getExpiry();
+      if (expiry == null) {
+        this.refreshAt = fetchedAt;
+        this.usableUntil = fetchedAt;
+      } else {
+        long lifetimeMillis = Math.max(0, Duration.between(fetchedAt, expiry).toMillis());
+        this.refreshAt = fetchedAt.plusMillis((long) (lifetimeMillis * refreshLifetimeFraction));
+        this.usableUntil = expiry.minus(EXPIRY_BUFFER);
+      }
+    }
+  }
+}
@@ -181,7 +181,18 @@ public final class DatabricksJdbcConstants {
   // (?!\s*TRANSACTION\b) -> negative lookahead: not followed by optional spaces + "TRANSACTION"
   public static final Pattern BEGIN_PATTERN_FOR_SQL_SCRIPT =
       Pattern.compile("(?i)^\\s*BEGIN(?!\\s*TRANSACTION\\b)");
+  // Statements that change the current catalog or schema of the session
+  public static final Pattern USE_PATTERN =
+      Pattern.compile(
+          "^(\\s*\\()*\\s*(USE|SET\\s+(CATALOG|SCHEMA|DATABASE))\\b", Pattern.CASE_INSENSITIVE);
+  // Statements that can change the shape of tables and views
+  public static final Pattern DDL_PATTERN =
+      Pattern.compile(
+          "^(\\s*\\()*\\s*(CREATE|ALTER|DROP|REPLACE|RENAME|UNDROP|RESTORE|MSCK)\\b",
+          Pattern.CASE_INSENSITIVE);
   public static final String DEFAULT_USERNAME =
       "token"; // This is for PAT. We do not support Basic Auth.
   public static final int DEFAULT_MAX_HTTP_CONNECTIONS_PER_ROUTE = 1000;
+  public static final int PARSED_CONTEXT_CACHE_SIZE = 100;
+  public static final int PARSED_CONTEXT_CACHE_EXPIRY_MINUTES = 60;
 }
@@ -36,6 +36,34 @@ public enum DatabricksJdbcUrlParams {
   OAUTH_REDIRECT_URL_PORT("OAuth2RedirectUrlPort", "OAuth2 Redirect URL port", "8020"),
   PWD("pwd", "Password (used when AUTH_MECH = 3)", true),
   POLL_INTERVAL("asyncexecpollinterval", "Async execution poll interval", "200"),
+  MAX_POLL_INTERVAL(
+      "AsyncExecMaxPollInterval",
+      "Maximum interval in milliseconds between async execution status polls",
+      "2000"),
+  ENABLE_BATCH_INSERT_REWRITE(
+      "EnableBatchInsertRewrite",
+      "Rewrite batched INSERT INTO ... VALUES statements into multi-row inserts",
+      "0"),
+  BATCH_INSERT_MAX_ROWS(
+      "BatchInsertMaxRows", "Maximum number of rows in a rewritten multi-row INSERT", "1000"),
+  BATCH_INSERT_MAX_BYTES(
+      "BatchInsertMaxBytes",
+      "Approximate maximum size in bytes of a rewritten multi-row INSERT including its values",
+      "4194304"),
+  BATCH_INSERT_MAX_PARAMETERS(
+      "BatchInsertMaxParameters",
+      "Maximum number of bound parameters in a rewritten multi-row INSERT sent with native parameters",
+      "256"),
+  BULK_LOAD_STAGING_PATH(
+      "BulkLoadStagingPath",
+      "Unity Catalog volume directory used to stage large INSERT batches for COPY INTO",
+      ""),
+  BULK_LOAD_MIN_ROWS(
+      "BulkLoadMinRows", "Minimum batch size that is loaded through the staging volume", "100000"),
+  THRIFT_CLIENT_POOL_SIZE(
+      "ThriftClientPoolSize",
+      "Maximum number of Thrift clients a connection keeps for concurrent requests",
+      "16"),
   HTTP_PATH("httppath", "HTTP path", true),
   HTTP_HEADERS("http.header.", "Custom HTTP headers"),
   USE_THRIFT_CLIENT("usethriftclient", "Use Thrift client", "1"),
@@ -64,14 +92,52 @@ public enum DatabricksJdbcUrlParams {
   TEMPORARILY_UNAVAILABLE_RETRY_TIMEOUT(
       "TemporarilyUnavailableRetryTimeout", "Retry timeout for temporarily unavailable", "900"),
   RATE_LIMIT_RETRY("RateLimitRetry", "Retry on rate limit", "1"),
+  ENABLE_METADATA_REQUEST_COALESCING(
+      "EnableMetadataRequestCoalescing",
+      "Combine identical concurrent metadata requests of connections with the same identity",
+      "0"),
+  ENABLE_ADAPTIVE_RATE_LIMIT(
+      "EnableAdaptiveRateLimit",
+      "Slow down requests to a host after it responds with 429 or 503",
+      "1"),
   IDLE_HTTP_CONNECTION_EXPIRY("IdleHttpConnectionExpiry", "Idle HTTP connection expiry", "60"),
   SUPPORT_MANY_PARAMETERS("supportManyParameters", "Support many parameters", "0"),
+  SQL_TEMPLATE_CACHE_SIZE(
+      "SqlTemplateCacheSize",
+      "Maximum number of parsed SQL templates a connection caches for parameter interpolation",
+      "128"),
+  DESCRIBE_QUERY_CACHE_SIZE(
+      "DescribeQueryCacheSize",
+      "Maximum number of DESCRIBE QUERY results a connection caches for prepared statement metadata",
+      "128"),
+  ENABLE_SHARED_DESCRIBE_QUERY_CACHE(
+      "EnableSharedDescribeQueryCache",
+      "Share DESCRIBE QUERY results between connections with the same identity and warehouse",
+      "0"),
+  RESULT_CACHE_TTL(
+      "ResultCacheTtl",
+      "Seconds for which SELECT results are served from the driver result cache, 0 disables it",
+      "0"),
+  RESULT_CACHE_MAX_BYTES(
+      "ResultCacheMaxBytes", "Maximum size in bytes of the results kept in memory", "268435456"),
+  RESULT_CACHE_SPILL_DIRECTORY(
+      "ResultCacheSpillDirectory",
+      "Local directory that results evicted from memory are spilled to",
+      ""),
   CLOUD_FETCH_THREAD_POOL_SIZE("cloudFetchThreadPoolSize", "Cloud fetch thread pool size", "16"),
+  SCROLL_CACHE_CHUNKS(
+      "ScrollCacheChunks",
+      "Number of recently visited chunks a scrollable result set keeps in memory",
+      "4"),
   OAUTH_ENDPOINT("OAuth2ConnAuthAuthorizeEndpoint", "OAuth2 authorization endpoint"),
   AUTH_ENDPOINT(
       "OAuth2AuthorizationEndPoint", "OAuth2 authorization endpoint"), // Same as OAUTH_ENDPOINT
   OAUTH_TOKEN_ENDPOINT("OAuth2ConnAuthTokenEndpoint", "OAuth2 token endpoint"),
   TOKEN_ENDPOINT("OAuth2TokenEndpoint", "OAuth2 token endpoint"), // Same as OAUTH_TOKEN_ENDPOINT
+  TOKEN_REFRESH_LIFETIME_FRACTION(
+      "TokenRefreshLifetimeFraction",
+      "Fraction of an OAuth token's lifetime after which it is refreshed in the background",
+      "0.8"),
   SSL("ssl", "Use SSL"),
   ALLOW_SELF_SIGNED_CERTS("AllowSelfSignedCerts", "Allow self signed certificates", "0"),
   SSL_TRUST_STORE("SSLTrustStore", "SSL trust store"),
@@ -94,6 +160,10 @@ public enum DatabricksJdbcUrlParams {
       "1"), // Note : telemetry enablement also depends on the server flag.
   TELEMETRY_BATCH_SIZE("TelemetryBatchSize", "Batch size for telemetry", "200"),
   MAX_BATCH_SIZE("MaxBatchSize", "Maximum batch size", "500"),
+  BATCH_EXECUTION_PARALLELISM(
+      "BatchExecutionParallelism",
+      "Maximum number of commands of an order-independent batch executed concurrently",
+      "8"),
   ALLOWED_VOLUME_INGESTION_PATHS("VolumeOperationAllowedLocalPaths", ""),
   ALLOWED_STAGING_INGESTION_PATHS("StagingAllowedLocalPaths", ""),
   UC_INGESTION_RETRIABLE_HTTP_CODE(
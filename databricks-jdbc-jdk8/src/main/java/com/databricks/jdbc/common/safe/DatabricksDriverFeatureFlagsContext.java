@@ -132,6 +132,16 @@ public class DatabricksDriverFeatureFlagsContext {
     }
   }
 
+  /**
+   * Fetches the feature flags if none are cached yet, so that the first lookup does not wait for
+   * the server. Meant to be called in the background after a connection is opened.
+   */
+  public void prefetch() {
+    if (featureFlags.size() == 0) {
+      refreshAllFeatureFlags();
+    }
+  }
+
   public boolean isFeatureEnabled(String name) {
     try {
       return Boolean.parseBoolean(featureFlags.get(name));
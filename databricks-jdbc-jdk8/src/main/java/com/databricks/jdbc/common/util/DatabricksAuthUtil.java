@@ -10,6 +10,7 @@ import com.databricks.sdk.core.http.HttpClient;
 import com.nimbusds.jwt.SignedJWT;
 import java.io.IOException;
 import java.text.ParseException;
+import java.util.Date;
 
 public class DatabricksAuthUtil {
   private static final JdbcLogger LOGGER = JdbcLoggerFactory.getLogger(DatabricksAuthUtil.class);
@@ -51,4 +52,17 @@ public class DatabricksAuthUtil {
       return false;
     }
   }
+
+  /**
+   * Returns the expiration time of the given access token in epoch milliseconds, or {@code null} if
+   * the token is not a JWT or carries no expiration claim.
+   */
+  public static Long getTokenExpirationTimeMillis(String accessToken) {
+    try {
+      Date expirationTime = SignedJWT.parse(accessToken).getJWTClaimsSet().getExpirationTime();
+      return expirationTime != null ? expirationTime.getTime() : null;
+    } catch (ParseException | NullPointerException e) {
+      return null;
+    }
+  }
 }
@@ -3,9 +3,7 @@ package com.databricks.jdbc.common.util;
 import static com.databricks.jdbc.common.DatabricksJdbcConstants.IS_FAKE_SERVICE_TEST_PROP;
 
 import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
-import com.databricks.jdbc.api.internal.IDatabricksConnectionInternal;
 import com.databricks.jdbc.exception.DatabricksSQLException;
-import com.databricks.jdbc.exception.DatabricksValidationException;
 import com.databricks.jdbc.log.JdbcLogger;
 import com.databricks.jdbc.log.JdbcLoggerFactory;
 import com.databricks.jdbc.model.telemetry.enums.DatabricksDriverErrorCode;
@@ -55,14 +53,6 @@ public class DriverUtil {
     return Integer.parseInt(JDBC_VERSION_PARTS[1]);
   }
 
-  public static void resolveMetadataClient(IDatabricksConnectionInternal connection)
-      throws DatabricksValidationException {
-    if (connection.getConnectionContext().getUseEmptyMetadata()) {
-      LOGGER.warn("Empty metadata client is being used.");
-      connection.getSession().setEmptyMetadataClient();
-    }
-  }
-
   public static void setUpLogging(IDatabricksConnectionContext connectionContext)
       throws DatabricksSQLException {
     try {
@@ -6,8 +6,6 @@ import com.databricks.jdbc.api.impl.ImmutableSqlParameter;
 import com.databricks.jdbc.exception.DatabricksValidationException;
 import com.databricks.sdk.service.sql.ColumnInfoTypeName;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class SQLInterpolator {
   private static String escapeApostrophes(String input) {
@@ -15,7 +13,7 @@ public class SQLInterpolator {
     return input.replace("'", "''");
   }
 
-  private static String formatObject(ImmutableSqlParameter object) {
+  static String formatParameter(ImmutableSqlParameter object) {
     if (object == null || object.value() == null) {
       return NULL_STRING;
     } else if (object.type() == ColumnInfoTypeName.BINARY) {
@@ -28,22 +26,14 @@ public class SQLInterpolator {
     }
   }
 
-  private static int countPlaceholders(String sql) {
-    int count = 0;
-    for (char c : sql.toCharArray()) {
-      if (c == '?') {
-        count++;
-      }
-    }
-    return count;
-  }
-
   /**
    * Interpolates the given SQL string by replacing placeholders with the provided parameters.
    *
-   * <p>This method splits the SQL string by placeholders (question marks) and replaces each
-   * placeholder with the corresponding parameter from the provided map. The map keys are 1-based
-   * indexes, aligning with the SQL parameter positions.
+   * <p>The SQL is parsed into a {@link SqlTemplate}, so only placeholders outside string literals,
+   * quoted identifiers and comments are replaced. Callers that interpolate the same SQL repeatedly
+   * should keep the template, for example in a {@link SqlTemplateCache}, and call {@link
+   * SqlTemplate#interpolate(Map)} directly. The map keys are 1-based indexes, aligning with the SQL
+   * parameter positions.
    *
    * @param sql the SQL string containing placeholders ('?') to be replaced.
    * @param params a map of parameters where the key is the 1-based index of the placeholder in the
@@ -54,20 +44,7 @@ public class SQLInterpolator {
    */
   public static String interpolateSQL(String sql, Map<Integer, ImmutableSqlParameter> params)
       throws DatabricksValidationException {
-    String[] parts = sql.split("\\?");
-    if (countPlaceholders(sql) != params.size()) {
-      throw new DatabricksValidationException(
-          "Parameter count does not match. Provide equal number of parameters as placeholders. SQL "
-              + sql);
-    }
-    StringBuilder sb = new StringBuilder();
-    for (int i = 0; i < parts.length; i++) {
-      sb.append(parts[i]);
-      if (i < params.size()) {
-        sb.append(formatObject(params.get(i + 1))); // because we have 1 based index in params
-      }
-    }
-    return sb.toString();
+    return SqlTemplate.parse(sql).interpolate(params);
   }
 
   /**
@@ -78,13 +55,6 @@ public class SQLInterpolator {
     if (sql == null || sql.isEmpty()) {
       return sql;
     }
-    // This pattern matches any '?' that is NOT already inside single quotes
-    StringBuffer sb = new StringBuffer();
-    Matcher m = Pattern.compile("(?<!')\\?(?!')").matcher(sql);
-    while (m.find()) {
-      m.appendReplacement(sb, "'?'");
-    }
-    m.appendTail(sb);
-    return sb.toString();
+    return SqlTemplate.parse(sql).quotePlaceholders();
   }
 }
@@ -0,0 +1,161 @@
+package com.databricks.jdbc.common.util;
+
+import com.databricks.jdbc.api.impl.ImmutableSqlParameter;
+import com.databricks.jdbc.exception.DatabricksValidationException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL text parsed once into literal segments separated by parameter placeholders.
+ *
+ * <p>Only a {@code ?} outside string literals, quoted identifiers and comments is a placeholder.
+ * Templates are immutable and can be shared between statements and threads.
+ */
+public final class SqlTemplate {
+
+  private static final String QUOTED_PLACEHOLDER = "'?'";
+
+  private final String sql;
+  private final String[] segments;
+  private final int literalLength;
+
+  private SqlTemplate(String sql, String[] segments) {
+    this.sql = sql;
+    this.segments = segments;
+    int length = 0;
+    for (String segment : segments) {
+      length += segment.length();
+    }
+    this.literalLength = length;
+  }
+
+  /**
+   * Parses the given SQL into a template.
+   *
+   * @param sql SQL text, possibly containing {@code ?} placeholders
+   * @return the parsed template
+   */
+  public static SqlTemplate parse(String sql) {
+    List<String> segments = new ArrayList<>();
+    int segmentStart = 0;
+    int i = 0;
+    int length = sql.length();
+    while (i < length) {
+      int next = skipLiteralOrComment(sql, i);
+      if (next != i) {
+        i = next;
+      } else if (sql.charAt(i) == '?') {
+        segments.add(sql.substring(segmentStart, i));
+        segmentStart = ++i;
+      } else {
+        i++;
+      }
+    }
+    segments.add(sql.substring(segmentStart));
+    return new SqlTemplate(sql, segments.toArray(new String[0]));
+  }
+
+  /** Returns the SQL text the template was parsed from. */
+  public String getSql() {
+    return sql;
+  }
+
+  /** Returns the number of placeholders in the SQL. */
+  public int getPlaceholderCount() {
+    return segments.length - 1;
+  }
+
+  /**
+   * Replaces every placeholder with the literal of the corresponding parameter.
+   *
+   * @param params parameters keyed by the 1-based index of their placeholder
+   * @return the interpolated SQL
+   * @throws DatabricksValidationException if the number of parameters does not match the number of
+   *     placeholders
+   */
+  public String interpolate(Map<Integer, ImmutableSqlParameter> params)
+      throws DatabricksValidationException {
+    int placeholderCount = getPlaceholderCount();
+    if (placeholderCount != params.size()) {
+      throw new DatabricksValidationException(
+          "Parameter count does not match. Provide equal number of parameters as placeholders. SQL "
+              + sql);
+    }
+    if (placeholderCount == 0) {
+      return sql;
+    }
+    String[] literals = new String[placeholderCount];
+    int length = literalLength;
+    for (int i = 0; i < placeholderCount; i++) {
+      literals[i] = SQLInterpolator.formatParameter(params.get(i + 1));
+      length += literals[i].length();
+    }
+    StringBuilder sb = new StringBuilder(length).append(segments[0]);
+    for (int i = 0; i < placeholderCount; i++) {
+      sb.append(literals[i]).append(segments[i + 1]);
+    }
+    return sb.toString();
+  }
+
+  /** Returns the SQL with every placeholder replaced by the string literal {@code '?'}. */
+  public String quotePlaceholders() {
+    int placeholderCount = getPlaceholderCount();
+    if (placeholderCount == 0) {
+      return sql;
+    }
+    StringBuilder sb =
+        new StringBuilder(literalLength + placeholderCount * QUOTED_PLACEHOLDER.length())
+            .append(segments[0]);
+    for (int i = 1; i < segments.length; i++) {
+      sb.append(QUOTED_PLACEHOLDER).append(segments[i]);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Skips a string literal, quoted identifier or comment starting at the given index. Backslash
+   * escapes and doubled quotes inside literals are honoured.
+   *
+   * @param sql SQL text
+   * @param index index of the character to look at
+   * @return the index just past the literal or comment, or {@code index} if none starts there
+   */
+  public static int skipLiteralOrComment(String sql, int index) {
+    int length = sql.length();
+    char c = sql.charAt(index);
+    if (c == '\'' || c == '"' || c == '`') {
+      return skipQuoted(sql, index, c);
+    }
+    if (c == '-' && index + 1 < length && sql.charAt(index + 1) == '-') {
+      int end = sql.indexOf('\n', index);
+      return end < 0 ? length : end + 1;
+    }
+    if (c == '/' && index + 1 < length && sql.charAt(index + 1) == '*') {
+      int end = sql.indexOf("*/", index + 2);
+      return end < 0 ? length : end + 2;
+    }
+    return index;
+  }
+
+  /** Returns the index just past the quoted section starting at {@code start}. */
+  private static int skipQuoted(String sql, int start, char quote) {
+    int i = start + 1;
+    while (i < sql.length()) {
+      char c = sql.charAt(i);
+      if (c == '\\' && quote != '`') {
+        i += 2;
+      } else if (c == quote) {
+        // A doubled quote is an escaped quote inside the literal
+        if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+          i += 2;
+        } else {
+          return i + 1;
+        }
+      } else {
+        i++;
+      }
+    }
+    return sql.length();
+  }
+}
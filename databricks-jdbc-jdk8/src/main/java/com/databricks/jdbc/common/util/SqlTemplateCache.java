@@ -0,0 +1,57 @@
+package com.databricks.jdbc.common.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded least-recently-used cache of parsed {@link SqlTemplate}s, kept per connection so that
+ * repeatedly prepared SQL is only parsed once. A cache with a maximum size of zero parses on every
+ * lookup.
+ */
+public final class SqlTemplateCache {
+
+  private final int maxSize;
+  private final Map<String, SqlTemplate> templates;
+
+  public SqlTemplateCache(int maxSize) {
+    this.maxSize = Math.max(0, maxSize);
+    this.templates =
+        new LinkedHashMap<String, SqlTemplate>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, SqlTemplate> eldest) {
+            return size() > SqlTemplateCache.this.maxSize;
+          }
+        };
+  }
+
+  /**
+   * Returns the template of the given SQL, parsing and caching it if it is not cached yet.
+   *
+   * @param sql SQL text
+   * @return the parsed template
+   */
+  public SqlTemplate get(String sql) {
+    if (maxSize == 0) {
+      return SqlTemplate.parse(sql);
+    }
+    synchronized (templates) {
+      SqlTemplate template = templates.get(sql);
+      if (template != null) {
+        return template;
+      }
+    }
+    // Parse outside the lock, a concurrent parse of the same SQL yields an equal template
+    SqlTemplate template = SqlTemplate.parse(sql);
+    synchronized (templates) {
+      templates.put(sql, template);
+    }
+    return template;
+  }
+
+  /** Returns the number of cached templates. */
+  public int size() {
+    synchronized (templates) {
+      return templates.size();
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.databricks.jdbc.common.util;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Time spent in each phase of opening a connection, in the order the phases completed.
+ *
+ * <p>Phases needed before the connection can run a query are recorded by {@code Driver.connect}.
+ * Deferred phases run in the background after the connection is returned and are recorded once they
+ * finish.
+ */
+public final class StartupTimings {
+
+  public static final String PARSE_CONNECTION_CONTEXT = "parseConnectionContext";
+  public static final String SET_UP_LOGGING = "setUpLogging";
+  public static final String SET_USER_AGENT = "setUserAgent";
+  public static final String CREATE_CLIENT = "createClient";
+  public static final String OPEN_SESSION = "openSession";
+  public static final String LOG_SYSTEM_CONFIGURATION = "logSystemConfiguration";
+  public static final String FETCH_FEATURE_FLAGS = "fetchFeatureFlags";
+
+  private final Map<String, Duration> phaseDurations = new LinkedHashMap<>();
+
+  /**
+   * Records a phase that started at the given time and ended now.
+   *
+   * @param phase name of the phase
+   * @param startNanos value of {@link System#nanoTime()} when the phase started
+   * @return value of {@link System#nanoTime()} when the phase ended, to start the next phase with
+   */
+  public long record(String phase, long startNanos) {
+    long endNanos = System.nanoTime();
+    synchronized (phaseDurations) {
+      phaseDurations.put(phase, Duration.ofNanos(endNanos - startNanos));
+    }
+    return endNanos;
+  }
+
+  /** Returns the duration of each completed phase, in the order the phases completed. */
+  public Map<String, Duration> getPhaseDurations() {
+    synchronized (phaseDurations) {
+      return Collections.unmodifiableMap(new LinkedHashMap<>(phaseDurations));
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "StartupTimings" + getPhaseDurations();
+  }
+}
@@ -9,6 +9,8 @@ import com.databricks.jdbc.common.AuthMech;
 import com.databricks.jdbc.common.DatabricksJdbcConstants;
 import com.databricks.jdbc.common.util.DatabricksAuthUtil;
 import com.databricks.jdbc.common.util.DriverUtil;
+import com.databricks.jdbc.dbclient.impl.http.HttpConnectionManagerRegistry;
+import com.databricks.jdbc.dbclient.impl.http.RateLimitedSdkHttpClient;
 import com.databricks.jdbc.exception.DatabricksParsingException;
 import com.databricks.jdbc.exception.DatabricksSSLException;
 import com.databricks.jdbc.log.JdbcLogger;
@@ -17,6 +19,7 @@ import com.databricks.jdbc.model.telemetry.enums.DatabricksDriverErrorCode;
 import com.databricks.sdk.WorkspaceClient;
 import com.databricks.sdk.core.*;
 import com.databricks.sdk.core.commons.CommonsHttpClient;
+import com.databricks.sdk.core.http.HttpClient;
 import com.databricks.sdk.core.oauth.AzureServicePrincipalCredentialsProvider;
 import com.databricks.sdk.core.oauth.ExternalBrowserCredentialsProvider;
 import com.databricks.sdk.core.oauth.OAuthM2MServicePrincipalCredentialsProvider;
@@ -31,7 +34,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
-import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 
 /**
  * This class is responsible for configuring the Databricks config based on the connection context.
@@ -42,6 +44,7 @@ public class ClientConfigurator {
   private static final JdbcLogger LOGGER = JdbcLoggerFactory.getLogger(ClientConfigurator.class);
   private final IDatabricksConnectionContext connectionContext;
   private DatabricksConfig databricksConfig;
+  private HttpConnectionManagerRegistry.Lease connectionManagerLease;
 
   public ClientConfigurator(IDatabricksConnectionContext connectionContext)
       throws DatabricksSSLException {
@@ -51,7 +54,11 @@ public class ClientConfigurator {
     httpClientBuilder.withTimeoutSeconds(connectionContext.getSocketTimeout());
     setupProxyConfig(httpClientBuilder);
     setupConnectionManager(httpClientBuilder);
-    this.databricksConfig.setHttpClient(httpClientBuilder.build());
+    HttpClient httpClient = httpClientBuilder.build();
+    this.databricksConfig.setHttpClient(
+        connectionContext.isAdaptiveRateLimitEnabled()
+            ? new RateLimitedSdkHttpClient(httpClient)
+            : httpClient);
     setupDiscoveryEndpoint();
     setupAuthConfig();
     this.databricksConfig.resolve();
@@ -111,12 +118,20 @@ public class ClientConfigurator {
    */
   void setupConnectionManager(CommonsHttpClient.Builder httpClientBuilder)
       throws DatabricksSSLException {
-    PoolingHttpClientConnectionManager connManager =
-        ConfiguratorUtils.getBaseConnectionManager(connectionContext);
-    // Default value is 100 which is consistent with the value in the SDK
-    connManager.setMaxTotal(connectionContext.getHttpConnectionPoolSize());
-    connManager.setDefaultMaxPerRoute(connectionContext.getHttpMaxConnectionsPerRoute());
-    httpClientBuilder.withConnectionManager(connManager);
+    // The pool is shared with other connections to the same workspace. Its default size of 100 is
+    // consistent with the value in the SDK
+    connectionManagerLease =
+        HttpConnectionManagerRegistry.acquire(
+            connectionContext, connectionContext.getHttpConnectionPoolSize());
+    httpClientBuilder.withConnectionManager(connectionManagerLease.getConnectionManager());
+  }
+
+  /** Releases the HTTP connection pool used by the SDK client of this configurator. */
+  public void close() {
+    if (connectionManagerLease != null) {
+      connectionManagerLease.close();
+      connectionManagerLease = null;
+    }
   }
 
   /** Setup proxy settings in the databricks config. */
@@ -0,0 +1,394 @@
+package com.databricks.jdbc.dbclient.impl.common;
+
+import com.databricks.jdbc.api.impl.ConnectionPrincipal;
+import com.databricks.jdbc.api.impl.DatabricksResultSet;
+import com.databricks.jdbc.api.impl.DatabricksResultSetMetaData;
+import com.databricks.jdbc.api.impl.InlineJsonResult;
+import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
+import com.databricks.jdbc.api.internal.IDatabricksSession;
+import com.databricks.jdbc.common.IDatabricksComputeResource;
+import com.databricks.jdbc.common.StatementType;
+import com.databricks.jdbc.dbclient.IDatabricksMetadataClient;
+import com.databricks.jdbc.exception.DatabricksSQLException;
+import com.databricks.jdbc.log.JdbcLogger;
+import com.databricks.jdbc.log.JdbcLoggerFactory;
+import com.databricks.jdbc.model.core.StatementStatus;
+import com.databricks.jdbc.model.telemetry.enums.DatabricksDriverErrorCode;
+import com.google.common.annotations.VisibleForTesting;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Combines identical metadata requests that are in flight at the same time into a single server
+ * call.
+ *
+ * <p>Tools that open many connections often request the same catalogs, schemas, tables or columns
+ * from all of them at once. Requests are combined driver-wide and keyed by the {@link
+ * ConnectionPrincipal} of the connection, its compute resource and client type, the session
+ * catalog, schema and configuration and the request arguments. Since metadata is filtered by the
+ * permissions of the user a connection authenticates as, connections only share requests if they
+ * authenticate with the same credentials; connections that cannot tell their users apart only
+ * combine their own requests. The first request runs against the wrapped client, and later
+ * identical requests wait for it. Only if another request joined are the rows read into memory, so
+ * that every caller receives its own result set over the same rows; a request nobody joined returns
+ * the wrapped client's result set as is. Results are not cached: once the call completes, the next
+ * request goes to the server again.
+ *
+ * <p>{@link #listTypeInfo} and {@link #listTableTypes} are answered locally by the wrapped clients
+ * and are not combined.
+ */
+public class CoalescingMetadataClient implements IDatabricksMetadataClient {
+
+  private static final JdbcLogger LOGGER =
+      JdbcLoggerFactory.getLogger(CoalescingMetadataClient.class);
+
+  private static final Map<List<Object>, InFlightRequest> IN_FLIGHT = new ConcurrentHashMap<>();
+
+  private final IDatabricksMetadataClient delegate;
+
+  public CoalescingMetadataClient(IDatabricksMetadataClient delegate) {
+    this.delegate = delegate;
+  }
+
+  /** Returns whether this wrapper combines the requests of the given client. */
+  public boolean wraps(IDatabricksMetadataClient client) {
+    return delegate == client;
+  }
+
+  @VisibleForTesting
+  static int getInFlightCount() {
+    return IN_FLIGHT.size();
+  }
+
+  @Override
+  public DatabricksResultSet listTypeInfo(IDatabricksSession session) throws SQLException {
+    return delegate.listTypeInfo(session);
+  }
+
+  @Override
+  public DatabricksResultSet listCatalogs(IDatabricksSession session) throws SQLException {
+    return coalesce(session, () -> delegate.listCatalogs(session), "listCatalogs");
+  }
+
+  @Override
+  public DatabricksResultSet listSchemas(
+      IDatabricksSession session, String catalog, String schemaNamePattern) throws SQLException {
+    return coalesce(
+        session,
+        () -> delegate.listSchemas(session, catalog, schemaNamePattern),
+        "listSchemas",
+        catalog,
+        schemaNamePattern);
+  }
+
+  @Override
+  public DatabricksResultSet listTables(
+      IDatabricksSession session,
+      String catalog,
+      String schemaNamePattern,
+      String tableNamePattern,
+      String[] tableTypes)
+      throws SQLException {
+    return coalesce(
+        session,
+        () ->
+            delegate.listTables(session, catalog, schemaNamePattern, tableNamePattern, tableTypes),
+        "listTables",
+        catalog,
+        schemaNamePattern,
+        tableNamePattern,
+        tableTypes == null ? null : Arrays.asList(tableTypes));
+  }
+
+  @Override
+  public DatabricksResultSet listTableTypes(IDatabricksSession session) throws SQLException {
+    return delegate.listTableTypes(session);
+  }
+
+  @Override
+  public DatabricksResultSet listColumns(
+      IDatabricksSession session,
+      String catalog,
+      String schemaNamePattern,
+      String tableNamePattern,
+      String columnNamePattern)
+      throws SQLException {
+    return coalesce(
+        session,
+        () ->
+            delegate.listColumns(
+                session, catalog, schemaNamePattern, tableNamePattern, columnNamePattern),
+        "listColumns",
+        catalog,
+        schemaNamePattern,
+        tableNamePattern,
+        columnNamePattern);
+  }
+
+  @Override
+  public DatabricksResultSet listFunctions(
+      IDatabricksSession session,
+      String catalog,
+      String schemaNamePattern,
+      String functionNamePattern)
+      throws SQLException {
+    return coalesce(
+        session,
+        () -> delegate.listFunctions(session, catalog, schemaNamePattern, functionNamePattern),
+        "listFunctions",
+        catalog,
+        schemaNamePattern,
+        functionNamePattern);
+  }
+
+  @Override
+  public DatabricksResultSet listPrimaryKeys(
+      IDatabricksSession session, String catalog, String schema, String table) throws SQLException {
+    return coalesce(
+        session,
+        () -> delegate.listPrimaryKeys(session, catalog, schema, table),
+        "listPrimaryKeys",
+        catalog,
+        schema,
+        table);
+  }
+
+  @Override
+  public DatabricksResultSet listImportedKeys(
+      IDatabricksSession session, String catalog, String schema, String table) throws SQLException {
+    return coalesce(
+        session,
+        () -> delegate.listImportedKeys(session, catalog, schema, table),
+        "listImportedKeys",
+        catalog,
+        schema,
+        table);
+  }
+
+  @Override
+  public DatabricksResultSet listExportedKeys(
+      IDatabricksSession session, String catalog, String schema, String table) throws SQLException {
+    return coalesce(
+        session,
+        () -> delegate.listExportedKeys(session, catalog, schema, table),
+        "listExportedKeys",
+        catalog,
+        schema,
+        table);
+  }
+
+  @Override
+  public DatabricksResultSet listCrossReferences(
+      IDatabricksSession session,
+      String parentCatalog,
+      String parentSchema,
+      String parentTable,
+      String foreignCatalog,
+      String foreignSchema,
+      String foreignTable)
+      throws SQLException {
+    return coalesce(
+        session,
+        () ->
+            delegate.listCrossReferences(
+                session,
+                parentCatalog,
+                parentSchema,
+                parentTable,
+                foreignCatalog,
+                foreignSchema,
+                foreignTable),
+        "listCrossReferences",
+        parentCatalog,
+        parentSchema,
+        parentTable,
+        foreignCatalog,
+        foreignSchema,
+        foreignTable);
+  }
+
+  /**
+   * Runs the request, or waits for the identical request that is already in flight and returns a
+   * new result set over its rows.
+   */
+  private DatabricksResultSet coalesce(
+      IDatabricksSession session, MetadataCall call, String method, Object... arguments)
+      throws SQLException {
+    List<Object> key = getRequestKey(session, method, arguments);
+    while (true) {
+      InFlightRequest request = new InFlightRequest();
+      InFlightRequest running = IN_FLIGHT.putIfAbsent(key, request);
+      if (running == null) {
+        return execute(key, request, call);
+      }
+      if (running.join()) {
+        LOGGER.debug("Joining the {} request that is already in flight", method);
+        return await(running.result).toResultSet();
+      }
+      // The call returned before the request could be joined. It has been removed by then, so
+      // the next attempt starts a new request.
+    }
+  }
+
+  private DatabricksResultSet execute(List<Object> key, InFlightRequest request, MetadataCall call)
+      throws SQLException {
+    DatabricksResultSet resultSet;
+    try {
+      resultSet = call.execute();
+    } catch (SQLException | RuntimeException | Error e) {
+      IN_FLIGHT.remove(key, request);
+      request.close();
+      request.result.completeExceptionally(e);
+      throw e;
+    }
+    IN_FLIGHT.remove(key, request);
+    if (!request.close()) {
+      return resultSet;
+    }
+    try {
+      MaterializedResult result = materialize(resultSet);
+      request.result.complete(result);
+      return result.toResultSet();
+    } catch (SQLException | RuntimeException | Error e) {
+      request.result.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  private static MaterializedResult await(CompletableFuture<MaterializedResult> inFlight)
+      throws SQLException {
+    try {
+      return inFlight.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new DatabricksSQLException(
+          "Interrupted while waiting for a metadata request",
+          e,
+          DatabricksDriverErrorCode.THREAD_INTERRUPTED_ERROR);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof SQLException) {
+        throw (SQLException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new DatabricksSQLException(
+          "Metadata request failed", cause, DatabricksDriverErrorCode.CONNECTION_ERROR);
+    }
+  }
+
+  /**
+   * Returns the key of a request: the principal and compute resource of the connection, the session
+   * state metadata requests depend on, and the request with its arguments.
+   */
+  @VisibleForTesting
+  static List<Object> getRequestKey(IDatabricksSession session, String method, Object... arguments)
+      throws SQLException {
+    IDatabricksConnectionContext connectionContext = session.getConnectionContext();
+    IDatabricksComputeResource computeResource = session.getComputeResource();
+    List<Object> key = new ArrayList<>();
+    key.add(
+        ConnectionPrincipal.getFingerprint(connectionContext, session.getClientInfoProperties()));
+    key.add(computeResource == null ? null : computeResource.getClass());
+    key.add(computeResource == null ? null : computeResource.getUniqueIdentifier());
+    key.add(connectionContext.getClientType());
+    key.add(session.getCatalog());
+    key.add(session.getSchema());
+    key.add(
+        session.getSessionConfigs() == null ? null : new HashMap<>(session.getSessionConfigs()));
+    key.add(method);
+    key.addAll(Arrays.asList(arguments));
+    return key;
+  }
+
+  private static MaterializedResult materialize(DatabricksResultSet resultSet) throws SQLException {
+    try {
+      int columnCount = resultSet.getMetaData().getColumnCount();
+      List<List<Object>> rows = new ArrayList<>();
+      while (resultSet.next()) {
+        List<Object> row = new ArrayList<>(columnCount);
+        for (int column = 1; column <= columnCount; column++) {
+          row.add(resultSet.getObject(column));
+        }
+        rows.add(Collections.unmodifiableList(row));
+      }
+      String statementId = resultSet.getStatementId();
+      return new MaterializedResult(
+          resultSet.getStatementStatus(),
+          statementId == null ? null : StatementId.deserialize(statementId),
+          (DatabricksResultSetMetaData) resultSet.getMetaData(),
+          Collections.unmodifiableList(rows));
+    } finally {
+      resultSet.close();
+    }
+  }
+
+  @FunctionalInterface
+  private interface MetadataCall {
+    DatabricksResultSet execute() throws SQLException;
+  }
+
+  /** A request in flight, which identical requests can join until its call has returned. */
+  private static final class InFlightRequest {
+    private final CompletableFuture<MaterializedResult> result = new CompletableFuture<>();
+    private int joined;
+    private boolean closed;
+
+    /** Joins the request, returns false if its call has already returned. */
+    synchronized boolean join() {
+      if (closed) {
+        return false;
+      }
+      joined++;
+      return true;
+    }
+
+    /** Stops others from joining, returns whether anyone joined. */
+    synchronized boolean close() {
+      closed = true;
+      return joined > 0;
+    }
+  }
+
+  /** Rows and metadata of a completed request, shared by everyone who waited for it. */
+  private static final class MaterializedResult {
+    private final StatementStatus statementStatus;
+    private final StatementId statementId;
+    private final DatabricksResultSetMetaData metaData;
+    private final List<List<Object>> rows;
+
+    private MaterializedResult(
+        StatementStatus statementStatus,
+        StatementId statementId,
+        DatabricksResultSetMetaData metaData,
+        List<List<Object>> rows) {
+      this.statementStatus = statementStatus;
+      this.statementId = statementId;
+      this.metaData = metaData;
+      this.rows = rows;
+    }
+
+    DatabricksResultSet toResultSet() {
+      return new DatabricksResultSet(
+          statementStatus,
+          statementId,
+          StatementType.METADATA,
+          null,
+          new InlineJsonResult(rows),
+          metaData,
+          false);
+    }
+  }
+}
@@ -9,14 +9,19 @@ import com.databricks.jdbc.exception.DatabricksSSLException;
 import com.databricks.jdbc.log.JdbcLogger;
 import com.databricks.jdbc.log.JdbcLoggerFactory;
 import com.databricks.jdbc.model.telemetry.enums.DatabricksDriverErrorCode;
+import com.google.common.annotations.VisibleForTesting;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.security.*;
 import java.security.cert.*;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import javax.net.ssl.*;
 import org.apache.http.config.Registry;
@@ -67,6 +72,13 @@ public class ConfiguratorUtils {
       "javax.net.ssl.trustStorePassword";
   private static final String JAVA_TRUST_STORE_TYPE_PROPERTY = "javax.net.ssl.trustStoreType";
 
+  // Socket factory registries by SSL parameters. Sharing them across connections shares their
+  // SSLContext, so that TLS sessions can be resumed by other connections to the same host.
+  private static final Map<List<Object>, CachedSocketFactoryRegistry>
+      SOCKET_FACTORY_REGISTRY_CACHE = new ConcurrentHashMap<>();
+  private static final List<Object> DEFAULT_REGISTRY_KEY = Collections.singletonList("default");
+  private static final List<Object> TRUST_ALL_REGISTRY_KEY = Collections.singletonList("trust-all");
+
   private static boolean isJDBCTestEnv() {
     return Boolean.parseBoolean(System.getenv(IS_JDBC_TEST_ENV));
   }
@@ -86,14 +98,27 @@ public class ConfiguratorUtils {
         && !connectionContext.acceptUndeterminedCertificateRevocation()
         && !connectionContext.useSystemTrustStore()
         && !connectionContext.allowSelfSignedCerts()) {
-      return new PoolingHttpClientConnectionManager();
+      return new PoolingHttpClientConnectionManager(
+          getCachedRegistry(
+              DEFAULT_REGISTRY_KEY,
+              Collections.emptyList(),
+              () ->
+                  RegistryBuilder.<ConnectionSocketFactory>create()
+                      .register(
+                          DatabricksJdbcConstants.HTTPS,
+                          SSLConnectionSocketFactory.getSocketFactory())
+                      .register(DatabricksJdbcConstants.HTTP, new PlainConnectionSocketFactory())
+                      .build()));
     }
 
     // For test environments, use a trust-all socket factory
     if (isJDBCTestEnv()) {
       LOGGER.info("Using trust-all socket factory for JDBC test environment");
       return new PoolingHttpClientConnectionManager(
-          SocketFactoryUtil.getTrustAllSocketFactoryRegistry());
+          getCachedRegistry(
+              TRUST_ALL_REGISTRY_KEY,
+              Collections.emptyList(),
+              SocketFactoryUtil::getTrustAllSocketFactoryRegistry));
     }
 
     // If self-signed certificates are allowed, use a trust-all socket factory
@@ -101,7 +126,10 @@ public class ConfiguratorUtils {
       LOGGER.warn(
           "Self-signed certificates are allowed. Please only use this parameter (AllowSelfSignedCerts) when you're sure of what you're doing. This is not recommended for production use.");
       return new PoolingHttpClientConnectionManager(
-          SocketFactoryUtil.getTrustAllSocketFactoryRegistry());
+          getCachedRegistry(
+              TRUST_ALL_REGISTRY_KEY,
+              Collections.emptyList(),
+              SocketFactoryUtil::getTrustAllSocketFactoryRegistry));
     }
 
     // For standard SSL configuration, create a custom socket factory registry
@@ -119,6 +147,38 @@ public class ConfiguratorUtils {
    */
   public static Registry<ConnectionSocketFactory> createConnectionSocketFactoryRegistry(
       IDatabricksConnectionContext connectionContext) throws DatabricksSSLException {
+    String sysTrustStore =
+        connectionContext.useSystemTrustStore()
+            ? System.getProperty(JAVA_TRUST_STORE_PATH_PROPERTY)
+            : null;
+    List<Object> key =
+        Arrays.asList(
+            connectionContext.getSSLTrustStore(),
+            connectionContext.getSSLTrustStorePassword(),
+            connectionContext.getSSLTrustStoreType(),
+            connectionContext.getSSLTrustStoreProvider(),
+            connectionContext.getSSLKeyStore(),
+            connectionContext.getSSLKeyStorePassword(),
+            connectionContext.getSSLKeyStoreType(),
+            connectionContext.getSSLKeyStoreProvider(),
+            connectionContext.checkCertificateRevocation(),
+            connectionContext.acceptUndeterminedCertificateRevocation(),
+            connectionContext.useSystemTrustStore(),
+            sysTrustStore,
+            sysTrustStore != null ? System.getProperty(JAVA_TRUST_STORE_TYPE_PROPERTY) : null,
+            sysTrustStore != null ? System.getProperty(JAVA_TRUST_STORE_PASSWORD_PROPERTY) : null);
+    // Stores replaced on disk are loaded again
+    List<Long> fileStamps =
+        getFileStamps(
+            connectionContext.getSSLTrustStore(),
+            connectionContext.getSSLKeyStore(),
+            sysTrustStore);
+    return getCachedRegistry(
+        key, fileStamps, () -> buildConnectionSocketFactoryRegistry(connectionContext));
+  }
+
+  private static Registry<ConnectionSocketFactory> buildConnectionSocketFactoryRegistry(
+      IDatabricksConnectionContext connectionContext) throws DatabricksSSLException {
 
     // First check if a custom trust store is specified
     if (connectionContext.getSSLTrustStore() != null) {
@@ -655,6 +715,55 @@ public class ConfiguratorUtils {
     return null;
   }
 
+  /**
+   * Returns the cached registry for the key if it was built from files with the given stamps,
+   * otherwise builds and caches a new one. Failures are not cached.
+   */
+  private static Registry<ConnectionSocketFactory> getCachedRegistry(
+      List<Object> key, List<Long> fileStamps, RegistrySupplier supplier)
+      throws DatabricksSSLException {
+    CachedSocketFactoryRegistry cached = SOCKET_FACTORY_REGISTRY_CACHE.get(key);
+    if (cached != null && cached.fileStamps.equals(fileStamps)) {
+      return cached.registry;
+    }
+    Registry<ConnectionSocketFactory> registry = supplier.get();
+    if (registry != null) {
+      SOCKET_FACTORY_REGISTRY_CACHE.put(key, new CachedSocketFactoryRegistry(fileStamps, registry));
+    }
+    return registry;
+  }
+
+  /** Returns the size and modification time of each file, or -1 for files that are not set. */
+  private static List<Long> getFileStamps(String... paths) {
+    List<Long> stamps = new ArrayList<>(paths.length * 2);
+    for (String path : paths) {
+      File file = path == null ? null : new File(path);
+      stamps.add(file == null ? -1 : file.length());
+      stamps.add(file == null ? -1 : file.lastModified());
+    }
+    return stamps;
+  }
+
+  @VisibleForTesting
+  static void clearSocketFactoryRegistryCache() {
+    SOCKET_FACTORY_REGISTRY_CACHE.clear();
+  }
+
+  @FunctionalInterface
+  private interface RegistrySupplier {
+    Registry<ConnectionSocketFactory> get() throws DatabricksSSLException;
+  }
+
+  private static final class CachedSocketFactoryRegistry {
+    private final List<Long> fileStamps;
+    private final Registry<ConnectionSocketFactory> registry;
+
+    CachedSocketFactoryRegistry(List<Long> fileStamps, Registry<ConnectionSocketFactory> registry) {
+      this.fileStamps = fileStamps;
+      this.registry = registry;
+    }
+  }
+
   /**
    * Centralized error handling method for logging and throwing exceptions.
    *
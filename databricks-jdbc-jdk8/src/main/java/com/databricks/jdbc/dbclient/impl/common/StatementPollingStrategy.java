@@ -0,0 +1,92 @@
+package com.databricks.jdbc.dbclient.impl.common;
+
+import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
+import com.google.common.annotations.VisibleForTesting;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computes the delay between successive status polls of a running statement.
+ *
+ * <p>The first few polls use the configured poll interval so that short queries are picked up
+ * quickly. After that the interval grows exponentially up to the configured maximum, so that long
+ * running queries do not hammer the server. Backed-off delays are jittered to avoid many statements
+ * polling in lock-step.
+ *
+ * <p>Instances are stateful and meant to be used by a single polling loop.
+ */
+public class StatementPollingStrategy {
+
+  /** Number of polls that use the initial interval before backing off. */
+  @VisibleForTesting static final int FAST_POLL_COUNT = 3;
+
+  @VisibleForTesting static final double BACKOFF_MULTIPLIER = 1.5;
+
+  /** Maximum relative deviation applied to each delay. */
+  @VisibleForTesting static final double JITTER_FACTOR = 0.2;
+
+  private final long initialIntervalMillis;
+  private final long maxIntervalMillis;
+  private int pollCount;
+
+  public StatementPollingStrategy(long initialIntervalMillis, long maxIntervalMillis) {
+    this.initialIntervalMillis = Math.max(0, initialIntervalMillis);
+    this.maxIntervalMillis = Math.max(this.initialIntervalMillis, maxIntervalMillis);
+    this.pollCount = 0;
+  }
+
+  /**
+   * Creates a polling strategy using the poll interval bounds configured on the connection.
+   *
+   * @param connectionContext the connection context
+   * @return a new polling strategy
+   */
+  public static StatementPollingStrategy forConnection(
+      IDatabricksConnectionContext connectionContext) {
+    return new StatementPollingStrategy(
+        connectionContext.getAsyncExecPollInterval(),
+        connectionContext.getAsyncExecMaxPollInterval());
+  }
+
+  /**
+   * Returns the delay to wait before the next poll and advances the poll counter.
+   *
+   * @return delay in milliseconds
+   */
+  public long nextDelayMillis() {
+    int pollIndex = pollCount++;
+    long baseDelay = getBaseDelayMillis(pollIndex);
+    if (baseDelay == 0 || pollIndex < FAST_POLL_COUNT) {
+      return baseDelay;
+    }
+    double jitter = ThreadLocalRandom.current().nextDouble(-JITTER_FACTOR, JITTER_FACTOR);
+    return Math.min(maxIntervalMillis, Math.max(1, Math.round(baseDelay * (1 + jitter))));
+  }
+
+  /**
+   * Sleeps for the next delay returned by {@link #nextDelayMillis()}.
+   *
+   * @throws InterruptedException if the thread is interrupted while sleeping
+   */
+  public void sleepBeforeNextPoll() throws InterruptedException {
+    long delayMillis = nextDelayMillis();
+    if (delayMillis > 0) {
+      TimeUnit.MILLISECONDS.sleep(delayMillis);
+    }
+  }
+
+  /** Returns the number of delays handed out so far, i.e. the number of polls after the first. */
+  public int getPollCount() {
+    return pollCount;
+  }
+
+  @VisibleForTesting
+  long getBaseDelayMillis(int pollIndex) {
+    if (pollIndex < FAST_POLL_COUNT) {
+      return initialIntervalMillis;
+    }
+    double delay =
+        initialIntervalMillis * Math.pow(BACKOFF_MULTIPLIER, pollIndex - FAST_POLL_COUNT + 1);
+    return (long) Math.min(maxIntervalMillis, delay);
+  }
+}
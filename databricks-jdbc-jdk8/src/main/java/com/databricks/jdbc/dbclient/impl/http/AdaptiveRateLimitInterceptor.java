@@ -0,0 +1,68 @@
+package com.databricks.jdbc.dbclient.impl.http;
+
+import static com.databricks.jdbc.dbclient.impl.http.DatabricksHttpRetryHandler.RETRY_AFTER_HEADER;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import org.apache.http.Header;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * Gates every request attempt of an HTTP client, including retries, on the {@link
+ * AdaptiveRateLimiter} of its target host, and reports throttling responses to that limiter.
+ *
+ * <p>The response side must run before {@link DatabricksHttpRetryHandler}, which turns throttling
+ * responses into exceptions.
+ */
+class AdaptiveRateLimitInterceptor implements HttpRequestInterceptor, HttpResponseInterceptor {
+
+  @Override
+  public void process(HttpRequest request, HttpContext context) throws IOException {
+    HttpHost targetHost = HttpClientContext.adapt(context).getTargetHost();
+    if (targetHost == null) {
+      return;
+    }
+    try {
+      AdaptiveRateLimiter.forHost(targetHost.getHostName()).acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for the request rate limit");
+    }
+  }
+
+  @Override
+  public void process(HttpResponse response, HttpContext context) {
+    int statusCode = response.getStatusLine().getStatusCode();
+    HttpHost targetHost = HttpClientContext.adapt(context).getTargetHost();
+    if (targetHost == null || !isThrottlingStatusCode(statusCode)) {
+      return;
+    }
+    Header retryAfter = response.getFirstHeader(RETRY_AFTER_HEADER);
+    AdaptiveRateLimiter.forHost(targetHost.getHostName())
+        .onThrottled(getRetryAfterSeconds(retryAfter != null ? retryAfter.getValue() : null));
+  }
+
+  static boolean isThrottlingStatusCode(int statusCode) {
+    return statusCode == HttpStatus.SC_TOO_MANY_REQUESTS
+        || statusCode == HttpStatus.SC_SERVICE_UNAVAILABLE;
+  }
+
+  /** Parses a {@code Retry-After} header in seconds, returning -1 if it is missing or a date. */
+  static int getRetryAfterSeconds(String retryAfter) {
+    if (retryAfter == null) {
+      return -1;
+    }
+    try {
+      return Integer.parseInt(retryAfter.trim());
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+}
@@ -0,0 +1,201 @@
+package com.databricks.jdbc.dbclient.impl.http;
+
+import com.databricks.jdbc.log.JdbcLogger;
+import com.databricks.jdbc.log.JdbcLoggerFactory;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Paces the requests all connections of the driver send to a host once the host starts throttling.
+ *
+ * <p>The limiter is shared by every connection to a host and admits requests without delay until
+ * the host responds with 429 or 503. It then limits the request rate to half of the rate observed
+ * in the last second (multiplicative decrease), halving it again on later throttling responses, and
+ * raises it by a fixed amount per second without throttling (additive increase). Once the rate is
+ * back at the rate observed before throttling started, the limit is lifted. A {@code Retry-After}
+ * delay holds back all requests to the host, not only the request that was throttled.
+ *
+ * <p>Admitted requests are spaced evenly at the current rate, so that a throttled host sees a
+ * steady trickle of requests rather than bursts.
+ */
+public class AdaptiveRateLimiter {
+
+  private static final JdbcLogger LOGGER = JdbcLoggerFactory.getLogger(AdaptiveRateLimiter.class);
+
+  /** Lowest rate, in requests per second, the limiter slows down to. */
+  @VisibleForTesting static final double MIN_RATE = 1.0;
+
+  /** Factor the rate is multiplied with on a throttling response. */
+  @VisibleForTesting static final double DECREASE_FACTOR = 0.5;
+
+  /** Requests per second the rate is raised by for every second without throttling. */
+  @VisibleForTesting static final double INCREASE_PER_SECOND = 2.0;
+
+  /**
+   * Throttling responses within this interval after a decrease are caused by the same burst of
+   * requests and do not decrease the rate again.
+   */
+  @VisibleForTesting static final long DECREASE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  /** Longest delay a {@code Retry-After} header holds back other requests for. */
+  @VisibleForTesting static final long MAX_PAUSE_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+  private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private static final Cache<String, AdaptiveRateLimiter> LIMITERS =
+      CacheBuilder.newBuilder().expireAfterAccess(1, TimeUnit.HOURS).build();
+
+  private final String host;
+  private final LongSupplier nanoClock;
+
+  // Request rate observed in the current and in the previous one second window
+  private long windowStartNanos;
+  private long windowRequests;
+  private long previousWindowRequests;
+
+  private boolean limiting;
+  private double decreasedRate;
+  private long decreasedAtNanos;
+  private double ceilingRate;
+  private long nextFreeNanos;
+
+  private long admittedRequests;
+  private long delayedRequests;
+  private long totalDelayNanos;
+  private long throttledResponses;
+
+  @VisibleForTesting
+  AdaptiveRateLimiter(String host, LongSupplier nanoClock) {
+    this.host = host;
+    this.nanoClock = nanoClock;
+    this.windowStartNanos = nanoClock.getAsLong();
+  }
+
+  /**
+   * Returns the limiter shared by all connections for requests to the given host.
+   *
+   * @param host host name the requests are sent to
+   * @return the shared rate limiter
+   */
+  public static AdaptiveRateLimiter forHost(String host) {
+    String key = host.toLowerCase(Locale.ROOT);
+    return LIMITERS.asMap().computeIfAbsent(key, k -> new AdaptiveRateLimiter(k, System::nanoTime));
+  }
+
+  /**
+   * Waits until a request to the host may be sent.
+   *
+   * @throws InterruptedException if the thread is interrupted while waiting
+   */
+  public void acquire() throws InterruptedException {
+    long waitNanos = reserve();
+    if (waitNanos > 0) {
+      TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+  }
+
+  /**
+   * Reserves the next free slot for a request.
+   *
+   * @return nanoseconds the request has to wait before it is sent
+   */
+  @VisibleForTesting
+  synchronized long reserve() {
+    long now = nanoClock.getAsLong();
+    countRequest(now);
+    if (limiting && currentRate(now) >= ceilingRate && now >= nextFreeNanos) {
+      limiting = false;
+      LOGGER.debug("Requests to {} are no longer throttled, lifting the rate limit", host);
+    }
+    if (!limiting) {
+      admittedRequests++;
+      return 0;
+    }
+    long start = Math.max(nextFreeNanos, now);
+    nextFreeNanos = start + (long) (TimeUnit.SECONDS.toNanos(1) / currentRate(now));
+    long waitNanos = start - now;
+    if (waitNanos > 0) {
+      delayedRequests++;
+      totalDelayNanos += waitNanos;
+    } else {
+      admittedRequests++;
+    }
+    return waitNanos;
+  }
+
+  /**
+   * Records a throttling response (429 or 503) from the host.
+   *
+   * @param retryAfterSeconds value of the {@code Retry-After} header, or a negative value if the
+   *     response has none
+   */
+  public synchronized void onThrottled(int retryAfterSeconds) {
+    long now = nanoClock.getAsLong();
+    throttledResponses++;
+    if (!limiting) {
+      double observedRate = Math.max(previousWindowRequests, windowRequests);
+      ceilingRate = Math.max(observedRate, 2 * MIN_RATE);
+      decreasedRate = Math.max(MIN_RATE, observedRate * DECREASE_FACTOR);
+      decreasedAtNanos = now;
+      nextFreeNanos = now;
+      limiting = true;
+      LOGGER.debug(
+          "Requests to {} are throttled, limiting them to {} per second", host, decreasedRate);
+    } else if (now - decreasedAtNanos >= DECREASE_INTERVAL_NANOS) {
+      decreasedRate = Math.max(MIN_RATE, currentRate(now) * DECREASE_FACTOR);
+      decreasedAtNanos = now;
+      LOGGER.debug(
+          "Requests to {} are still throttled, limiting them to {} per second",
+          host,
+          decreasedRate);
+    }
+    if (retryAfterSeconds > 0) {
+      long pauseNanos = Math.min(TimeUnit.SECONDS.toNanos(retryAfterSeconds), MAX_PAUSE_NANOS);
+      nextFreeNanos = Math.max(nextFreeNanos, now + pauseNanos);
+    }
+  }
+
+  /** Returns the current limit in requests per second, or infinity if requests are not limited. */
+  public synchronized double getCurrentRate() {
+    return limiting ? currentRate(nanoClock.getAsLong()) : Double.POSITIVE_INFINITY;
+  }
+
+  /** Returns the number of requests that were sent without waiting. */
+  public synchronized long getAdmittedRequestCount() {
+    return admittedRequests;
+  }
+
+  /** Returns the number of requests that waited for the rate limit. */
+  public synchronized long getDelayedRequestCount() {
+    return delayedRequests;
+  }
+
+  /** Returns the total time requests waited for the rate limit, in milliseconds. */
+  public synchronized long getTotalDelayMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(totalDelayNanos);
+  }
+
+  /** Returns the number of throttling responses received from the host. */
+  public synchronized long getThrottledResponseCount() {
+    return throttledResponses;
+  }
+
+  private double currentRate(long now) {
+    double secondsSinceDecrease = (now - decreasedAtNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+    return Math.min(ceilingRate, decreasedRate + INCREASE_PER_SECOND * secondsSinceDecrease);
+  }
+
+  private void countRequest(long now) {
+    long elapsedNanos = now - windowStartNanos;
+    if (elapsedNanos >= WINDOW_NANOS) {
+      previousWindowRequests = elapsedNanos < 2 * WINDOW_NANOS ? windowRequests : 0;
+      windowRequests = 0;
+      windowStartNanos = now - elapsedNanos % WINDOW_NANOS;
+    }
+    windowRequests++;
+  }
+}
@@ -10,7 +10,6 @@ import com.databricks.jdbc.common.HttpClientType;
 import com.databricks.jdbc.common.util.DriverUtil;
 import com.databricks.jdbc.common.util.UserAgentManager;
 import com.databricks.jdbc.dbclient.IDatabricksHttpClient;
-import com.databricks.jdbc.dbclient.impl.common.ConfiguratorUtils;
 import com.databricks.jdbc.exception.DatabricksDriverException;
 import com.databricks.jdbc.exception.DatabricksHttpException;
 import com.databricks.jdbc.exception.DatabricksRetryHandlerException;
@@ -24,12 +23,13 @@ import com.google.common.annotations.VisibleForTesting;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
 import org.apache.hc.core5.concurrent.FutureCallback;
 import org.apache.hc.core5.http.nio.AsyncRequestProducer;
 import org.apache.hc.core5.http.nio.AsyncResponseConsumer;
 import org.apache.http.HttpHost;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponseInterceptor;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpUriRequest;
@@ -37,7 +37,6 @@ import org.apache.http.conn.UnsupportedSchemeException;
 import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
-import org.apache.http.impl.client.IdleConnectionEvictor;
 import org.apache.http.impl.conn.DefaultSchemePortResolver;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 
@@ -48,16 +47,13 @@ public class DatabricksHttpClient implements IDatabricksHttpClient, Closeable {
   private static final int DEFAULT_MAX_HTTP_CONNECTIONS = 1000;
   private final PoolingHttpClientConnectionManager connectionManager;
   private final CloseableHttpClient httpClient;
-  private IdleConnectionEvictor idleConnectionEvictor;
+  private HttpConnectionManagerRegistry.Lease connectionManagerLease;
   private CloseableHttpAsyncClient asyncClient;
 
   DatabricksHttpClient(IDatabricksConnectionContext connectionContext, HttpClientType type) {
-    connectionManager = initializeConnectionManager(connectionContext);
+    connectionManagerLease = leaseConnectionManager(connectionContext);
+    connectionManager = connectionManagerLease.getConnectionManager();
     httpClient = makeClosableHttpClient(connectionContext, type);
-    idleConnectionEvictor =
-        new IdleConnectionEvictor(
-            connectionManager, connectionContext.getIdleHttpConnectionExpiry(), TimeUnit.SECONDS);
-    idleConnectionEvictor.start();
     asyncClient = GlobalAsyncHttpClient.getClient();
   }
 
@@ -112,13 +108,14 @@ public class DatabricksHttpClient implements IDatabricksHttpClient, Closeable {
 
   @Override
   public void close() throws IOException {
-    if (idleConnectionEvictor != null) {
-      idleConnectionEvictor.shutdown();
-    }
     if (httpClient != null) {
       httpClient.close();
     }
-    if (connectionManager != null) {
+    if (connectionManagerLease != null) {
+      // The pool is shared with other connections to the same workspace
+      connectionManagerLease.close();
+      connectionManagerLease = null;
+    } else if (connectionManager != null) {
       connectionManager.shutdown();
     }
     if (asyncClient != null) {
@@ -127,14 +124,10 @@ public class DatabricksHttpClient implements IDatabricksHttpClient, Closeable {
     }
   }
 
-  private PoolingHttpClientConnectionManager initializeConnectionManager(
+  private HttpConnectionManagerRegistry.Lease leaseConnectionManager(
       IDatabricksConnectionContext connectionContext) {
     try {
-      PoolingHttpClientConnectionManager connectionManager =
-          ConfiguratorUtils.getBaseConnectionManager(connectionContext);
-      connectionManager.setMaxTotal(DEFAULT_MAX_HTTP_CONNECTIONS);
-      connectionManager.setDefaultMaxPerRoute(connectionContext.getHttpMaxConnectionsPerRoute());
-      return connectionManager;
+      return HttpConnectionManagerRegistry.acquire(connectionContext, DEFAULT_MAX_HTTP_CONNECTIONS);
     } catch (DatabricksSSLException e) {
       LOGGER.error("Failed to initialize HTTP connection manager", e);
       // Currently only SSL Handshake failure causes this exception.
@@ -166,10 +159,19 @@ public class DatabricksHttpClient implements IDatabricksHttpClient, Closeable {
     HttpClientBuilder builder =
         HttpClientBuilder.create()
             .setConnectionManager(connectionManager)
+            .setConnectionManagerShared(true)
             .setUserAgent(UserAgentManager.getUserAgentString())
             .setDefaultRequestConfig(makeRequestConfig(connectionContext))
-            .setRetryHandler(retryHandler)
-            .addInterceptorFirst(retryHandler);
+            .setRetryHandler(retryHandler);
+    if (connectionContext.isAdaptiveRateLimitEnabled()) {
+      // Appended before the retry handler, so that throttling responses are seen before they are
+      // turned into retry exceptions
+      AdaptiveRateLimitInterceptor rateLimitInterceptor = new AdaptiveRateLimitInterceptor();
+      builder
+          .addInterceptorLast((HttpRequestInterceptor) rateLimitInterceptor)
+          .addInterceptorLast((HttpResponseInterceptor) rateLimitInterceptor);
+    }
+    builder.addInterceptorLast(retryHandler);
     setupProxy(connectionContext, builder);
     if (DriverUtil.isRunningAgainstFake()) {
       setFakeServiceRouteInHttpClient(builder);
@@ -0,0 +1,184 @@
+package com.databricks.jdbc.dbclient.impl.http;
+
+import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
+import com.databricks.jdbc.dbclient.impl.common.ConfiguratorUtils;
+import com.databricks.jdbc.exception.DatabricksParsingException;
+import com.databricks.jdbc.exception.DatabricksSSLException;
+import com.databricks.jdbc.log.JdbcLogger;
+import com.databricks.jdbc.log.JdbcLoggerFactory;
+import com.google.common.annotations.VisibleForTesting;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.impl.client.IdleConnectionEvictor;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+/**
+ * Shares HTTP connection pools between JDBC connections to the same workspace.
+ *
+ * <p>Connections whose host, TLS, proxy and pool settings are equal lease the same {@link
+ * PoolingHttpClientConnectionManager}, so that sockets and TLS sessions opened by one connection
+ * are reused by the others. Each pool is reference counted and shut down together with its idle
+ * connection evictor when the last lease is closed. Authentication headers, retry handling and
+ * timeouts stay with the HTTP clients built on top of the pool.
+ */
+public class HttpConnectionManagerRegistry {
+
+  private static final JdbcLogger LOGGER =
+      JdbcLoggerFactory.getLogger(HttpConnectionManagerRegistry.class);
+  private static final Map<List<Object>, SharedConnectionManager> MANAGERS = new HashMap<>();
+  private static final Object LOCK = new Object();
+
+  private HttpConnectionManagerRegistry() {
+    // Private constructor to prevent instantiation
+  }
+
+  /**
+   * Leases the connection pool shared by connections with the same transport settings as the given
+   * context, creating it if necessary. The lease must be closed when the caller no longer uses the
+   * pool.
+   *
+   * @param connectionContext context of the connection
+   * @param maxTotalConnections maximum number of connections of the pool
+   * @return a lease on the shared pool
+   * @throws DatabricksSSLException if the TLS configuration of a new pool cannot be loaded
+   */
+  public static Lease acquire(
+      IDatabricksConnectionContext connectionContext, int maxTotalConnections)
+      throws DatabricksSSLException {
+    List<Object> key = getTransportKey(connectionContext);
+    key.add(maxTotalConnections);
+    synchronized (LOCK) {
+      SharedConnectionManager manager = MANAGERS.get(key);
+      if (manager == null) {
+        manager = new SharedConnectionManager(key, connectionContext, maxTotalConnections);
+        MANAGERS.put(key, manager);
+      }
+      manager.referenceCount++;
+      return new Lease(manager);
+    }
+  }
+
+  @VisibleForTesting
+  static int getSharedManagerCount() {
+    synchronized (LOCK) {
+      return MANAGERS.size();
+    }
+  }
+
+  /**
+   * Returns the settings that decide whether two connections can share a pool: the workspace host,
+   * the TLS trust and key material, the proxy configuration and the pool limits.
+   */
+  @VisibleForTesting
+  static List<Object> getTransportKey(IDatabricksConnectionContext connectionContext) {
+    String host;
+    try {
+      host = connectionContext.getHostUrl();
+    } catch (DatabricksParsingException e) {
+      // Without a host the pool cannot be matched safely, keep it private to the connection
+      host = connectionContext.getConnectionUuid();
+    }
+    List<Object> key =
+        new ArrayList<>(
+            Arrays.asList(
+                host,
+                connectionContext.getSSLTrustStore(),
+                connectionContext.getSSLTrustStorePassword(),
+                connectionContext.getSSLTrustStoreType(),
+                connectionContext.getSSLTrustStoreProvider(),
+                connectionContext.getSSLKeyStore(),
+                connectionContext.getSSLKeyStorePassword(),
+                connectionContext.getSSLKeyStoreType(),
+                connectionContext.getSSLKeyStoreProvider(),
+                connectionContext.checkCertificateRevocation(),
+                connectionContext.acceptUndeterminedCertificateRevocation(),
+                connectionContext.useSystemTrustStore(),
+                connectionContext.allowSelfSignedCerts(),
+                connectionContext.getUseSystemProxy(),
+                connectionContext.getNonProxyHosts(),
+                connectionContext.getHttpMaxConnectionsPerRoute(),
+                connectionContext.getIdleHttpConnectionExpiry()));
+    // Proxy details are only read when the proxy is enabled, as the port cannot be parsed otherwise
+    key.add(connectionContext.getUseProxy());
+    if (connectionContext.getUseProxy()) {
+      key.addAll(
+          Arrays.asList(
+              connectionContext.getProxyHost(),
+              connectionContext.getProxyPort(),
+              connectionContext.getProxyUser(),
+              connectionContext.getProxyPassword(),
+              connectionContext.getProxyAuthType()));
+    }
+    key.add(connectionContext.getUseCloudFetchProxy());
+    if (connectionContext.getUseCloudFetchProxy()) {
+      key.addAll(
+          Arrays.asList(
+              connectionContext.getCloudFetchProxyHost(),
+              connectionContext.getCloudFetchProxyPort(),
+              connectionContext.getCloudFetchProxyUser(),
+              connectionContext.getCloudFetchProxyPassword(),
+              connectionContext.getCloudFetchProxyAuthType()));
+    }
+    return key;
+  }
+
+  /** A lease on a shared connection pool. Closing the lease releases the reference it holds. */
+  public static final class Lease implements Closeable {
+    private final SharedConnectionManager manager;
+    private boolean released;
+
+    private Lease(SharedConnectionManager manager) {
+      this.manager = manager;
+    }
+
+    public PoolingHttpClientConnectionManager getConnectionManager() {
+      return manager.connectionManager;
+    }
+
+    @Override
+    public void close() {
+      synchronized (LOCK) {
+        if (released) {
+          return;
+        }
+        released = true;
+        if (--manager.referenceCount == 0) {
+          MANAGERS.remove(manager.key);
+          manager.shutdown();
+        }
+      }
+    }
+  }
+
+  private static final class SharedConnectionManager {
+    private final List<Object> key;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final IdleConnectionEvictor idleConnectionEvictor;
+    private int referenceCount;
+
+    SharedConnectionManager(
+        List<Object> key, IDatabricksConnectionContext connectionContext, int maxTotalConnections)
+        throws DatabricksSSLException {
+      LOGGER.debug("Creating shared HTTP connection pool");
+      this.key = key;
+      connectionManager = ConfiguratorUtils.getBaseConnectionManager(connectionContext);
+      connectionManager.setMaxTotal(maxTotalConnections);
+      connectionManager.setDefaultMaxPerRoute(connectionContext.getHttpMaxConnectionsPerRoute());
+      idleConnectionEvictor =
+          new IdleConnectionEvictor(
+              connectionManager, connectionContext.getIdleHttpConnectionExpiry(), TimeUnit.SECONDS);
+      idleConnectionEvictor.start();
+    }
+
+    void shutdown() {
+      LOGGER.debug("Closing shared HTTP connection pool");
+      idleConnectionEvictor.shutdown();
+      connectionManager.shutdown();
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package com.databricks.jdbc.dbclient.impl.http;
+
+import static com.databricks.jdbc.dbclient.impl.http.DatabricksHttpRetryHandler.RETRY_AFTER_HEADER;
+
+import com.databricks.sdk.core.http.HttpClient;
+import com.databricks.sdk.core.http.Request;
+import com.databricks.sdk.core.http.Response;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+/**
+ * Gates the requests of the SDK HTTP client used by SQL Execution connections on the {@link
+ * AdaptiveRateLimiter} of their host, and reports throttling responses to that limiter.
+ */
+public class RateLimitedSdkHttpClient implements HttpClient {
+
+  private final HttpClient delegate;
+
+  public RateLimitedSdkHttpClient(HttpClient delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public Response execute(Request request) throws IOException {
+    String host = request.getUri().getHost();
+    if (host == null) {
+      return delegate.execute(request);
+    }
+    AdaptiveRateLimiter rateLimiter = AdaptiveRateLimiter.forHost(host);
+    try {
+      rateLimiter.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for the request rate limit");
+    }
+    Response response = delegate.execute(request);
+    if (AdaptiveRateLimitInterceptor.isThrottlingStatusCode(response.getStatusCode())) {
+      rateLimiter.onThrottled(
+          AdaptiveRateLimitInterceptor.getRetryAfterSeconds(
+              response.getFirstHeader(RETRY_AFTER_HEADER)));
+    }
+    return response;
+  }
+}
@@ -19,6 +19,7 @@ import com.databricks.jdbc.common.util.DatabricksThreadContextHolder;
 import com.databricks.jdbc.dbclient.IDatabricksClient;
 import com.databricks.jdbc.dbclient.impl.common.ClientConfigurator;
 import com.databricks.jdbc.dbclient.impl.common.StatementId;
+import com.databricks.jdbc.dbclient.impl.common.StatementPollingStrategy;
 import com.databricks.jdbc.dbclient.impl.common.TimeoutHandler;
 import com.databricks.jdbc.dbclient.impl.common.TracingUtil;
 import com.databricks.jdbc.exception.*;
@@ -33,6 +34,7 @@ import com.databricks.jdbc.model.core.Disposition;
 import com.databricks.jdbc.model.core.ExternalLink;
 import com.databricks.jdbc.model.core.ResultData;
 import com.databricks.jdbc.model.telemetry.enums.DatabricksDriverErrorCode;
+import com.databricks.jdbc.telemetry.latency.TelemetryCollector;
 import com.databricks.sdk.WorkspaceClient;
 import com.databricks.sdk.core.ApiClient;
 import com.databricks.sdk.core.DatabricksConfig;
@@ -53,7 +55,8 @@ import javax.net.ssl.SSLHandshakeException;
 public class DatabricksSdkClient implements IDatabricksClient {
 
   private static final JdbcLogger LOGGER = JdbcLoggerFactory.getLogger(DatabricksSdkClient.class);
-  private static final String SYNC_TIMEOUT_VALUE = "10s";
+  private static final int SYNC_TIMEOUT_SECONDS = 10;
+  private static final int MIN_SYNC_TIMEOUT_SECONDS = 5; // lower bound accepted by the server
   private static final String ASYNC_TIMEOUT_VALUE = "0s";
   private final IDatabricksConnectionContext connectionContext;
   private final ClientConfigurator clientConfigurator;
@@ -226,6 +229,10 @@ public class DatabricksSdkClient implements IDatabricksClient {
     TimeoutHandler timeoutHandler =
         TimeoutHandler.forStatement(timeoutInSeconds, typedStatementId, this);
 
+    // The execute request already long-polled for up to its wait timeout, so short queries are
+    // finished at this point. Longer ones are polled with an increasing interval.
+    StatementPollingStrategy pollingStrategy =
+        StatementPollingStrategy.forConnection(connectionContext);
     StatementState responseState = response.getStatus().getState();
     while (responseState == StatementState.PENDING || responseState == StatementState.RUNNING) {
       // Check for timeout
@@ -233,7 +240,7 @@ public class DatabricksSdkClient implements IDatabricksClient {
 
       if (pollCount > 0) { // First poll happens without a delay
         try {
-          Thread.sleep(connectionContext.getAsyncExecPollInterval());
+          pollingStrategy.sleepBeforeNextPoll();
         } catch (InterruptedException e) {
           String timeoutErrorMessage =
               String.format(
@@ -244,9 +251,13 @@ public class DatabricksSdkClient implements IDatabricksClient {
       }
       String getStatusPath = String.format(STATEMENT_PATH_WITH_ID, statementId);
       try {
+        long statusStartTime = System.nanoTime();
         Request req = new Request(Request.GET, getStatusPath, apiClient.serialize(request));
         req.withHeaders(getHeaders("getStatement"));
         response = wrapGetStatementResponse(apiClient.execute(req, GetStatementResponse.class));
+        TelemetryCollector.getInstance()
+            .recordGetOperationStatus(
+                statementId, (System.nanoTime() - statusStartTime) / 1_000_000);
       } catch (IOException e) {
         String errorMessage = "Error while processing the get statement response";
         LOGGER.error(errorMessage, e);
@@ -501,7 +512,7 @@ public class DatabricksSdkClient implements IDatabricksClient {
       request.setWaitTimeout(ASYNC_TIMEOUT_VALUE);
     } else {
       request
-          .setWaitTimeout(SYNC_TIMEOUT_VALUE)
+          .setWaitTimeout(getSyncWaitTimeoutSeconds(parentStatement) + "s")
           .setOnWaitTimeout(ExecuteStatementRequestOnWaitTimeout.CONTINUE);
     }
     if (maxRows > 0) {
@@ -510,6 +521,23 @@ public class DatabricksSdkClient implements IDatabricksClient {
     return request;
   }
 
+  /**
+   * Returns how long the server should hold a synchronous execute request before answering. Short
+   * queries complete within this window in a single round-trip; the wait is shortened when the
+   * statement has a smaller query timeout so that the timeout can still be enforced on time.
+   */
+  private int getSyncWaitTimeoutSeconds(IDatabricksStatementInternal parentStatement)
+      throws SQLException {
+    if (parentStatement == null || parentStatement.getStatement() == null) {
+      return SYNC_TIMEOUT_SECONDS;
+    }
+    int queryTimeoutSeconds = parentStatement.getStatement().getQueryTimeout();
+    if (queryTimeoutSeconds > 0 && queryTimeoutSeconds < SYNC_TIMEOUT_SECONDS) {
+      return Math.max(MIN_SYNC_TIMEOUT_SECONDS, queryTimeoutSeconds);
+    }
+    return SYNC_TIMEOUT_SECONDS;
+  }
+
   @VisibleForTesting
   StatementParameterListItem mapToParameterListItem(ImmutableSqlParameter parameter) {
     Object value = parameter.value();
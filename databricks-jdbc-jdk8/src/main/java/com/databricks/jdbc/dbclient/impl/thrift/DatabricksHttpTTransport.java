@@ -3,6 +3,7 @@ package com.databricks.jdbc.dbclient.impl.thrift;
 import static com.databricks.jdbc.common.util.DatabricksAuthUtil.initializeConfigWithToken;
 
 import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
+import com.databricks.jdbc.common.util.DatabricksAuthUtil;
 import com.databricks.jdbc.common.util.ValidationUtil;
 import com.databricks.jdbc.dbclient.IDatabricksHttpClient;
 import com.databricks.jdbc.dbclient.impl.common.TracingUtil;
@@ -17,7 +18,14 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.entity.ByteArrayEntity;
@@ -39,9 +47,34 @@ public class DatabricksHttpTTransport extends TTransport {
     DEFAULT_HEADERS = java.util.Collections.unmodifiableMap(m);
   }
 
+  /** How long headers for a token without a known expiry (e.g. PAT) are served from the cache. */
+  @VisibleForTesting
+  static final long OPAQUE_TOKEN_HEADER_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+  /** Lead time before a token's expiry at which a background refresh is started. */
+  @VisibleForTesting static final long REFRESH_LEAD_TIME_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+  /** Safety margin subtracted from a token's expiry to absorb clock skew and request latency. */
+  private static final long EXPIRY_SKEW_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+  private static final String BEARER_PREFIX = "Bearer ";
+
+  /**
+   * Shared executor for background header refreshes. Refreshes are rare (once per token lifetime
+   * per transport) and de-duplicated per transport, so a single daemon thread is sufficient.
+   */
+  private static final ExecutorService HEADER_REFRESH_EXECUTOR =
+      Executors.newSingleThreadExecutor(
+          r -> {
+            Thread thread = new Thread(r, "Thrift-Auth-Header-Refresh");
+            thread.setDaemon(true);
+            return thread;
+          });
+
   private final IDatabricksHttpClient httpClient;
   private final String url;
-  private Map<String, String> customHeaders = Collections.emptyMap();
+  private volatile CachedAuthHeaders cachedAuthHeaders;
+  private final AtomicBoolean asyncRefreshInProgress = new AtomicBoolean(false);
   private final ByteArrayOutputStream requestBuffer;
   private ByteArrayInputStream responseBuffer;
   private final IDatabricksConnectionContext connectionContext;
@@ -97,20 +130,41 @@ public class DatabricksHttpTTransport extends TTransport {
 
   @Override
   public void flush() throws TTransportException {
-    long refreshHeadersStartTime = System.currentTimeMillis();
-    refreshHeadersIfRequired();
-    long refreshHeadersEndTime = System.currentTimeMillis();
-    long refreshHeadersLatency = refreshHeadersEndTime - refreshHeadersStartTime;
-    LOGGER.trace(
-        "Connection ["
-            + connectionContext.getConnectionUuid()
-            + "] Header refresh latency: "
-            + refreshHeadersLatency
-            + "ms");
+    byte[] requestBytes = requestBuffer.toByteArray();
+    try {
+      CloseableHttpResponse response = executeRequest(requestBytes, getAuthHeaders());
+      if (response.getStatusLine().getStatusCode() == HttpStatus.SC_UNAUTHORIZED) {
+        // The cached token was rejected, so re-authenticate synchronously and retry once
+        LOGGER.debug(
+            "Connection ["
+                + connectionContext.getConnectionUuid()
+                + "] Received 401, refreshing authentication headers");
+        closeQuietly(response);
+        response = executeRequest(requestBytes, refreshAuthHeaders());
+      }
+      handleResponse(response);
+    } finally {
+      // Reset the request buffer
+      requestBuffer.reset();
+    }
+  }
 
+  @Override
+  public TConfiguration getConfiguration() {
+    return null;
+  }
+
+  @Override
+  public void updateKnownMessageSize(long size) throws TTransportException {}
+
+  @Override
+  public void checkReadBytesAvailable(long numBytes) throws TTransportException {}
+
+  private CloseableHttpResponse executeRequest(byte[] requestBytes, Map<String, String> authHeaders)
+      throws TTransportException {
     HttpPost request = new HttpPost(this.url);
     DEFAULT_HEADERS.forEach(request::addHeader);
-    customHeaders.forEach(request::addHeader);
+    authHeaders.forEach(request::addHeader);
 
     // Overriding with URL defined headers
     this.connectionContext.getCustomHeaders().forEach(request::setHeader);
@@ -122,64 +176,170 @@ public class DatabricksHttpTTransport extends TTransport {
     }
 
     // Set the request entity
-    request.setEntity(new ByteArrayEntity(requestBuffer.toByteArray()));
+    request.setEntity(new ByteArrayEntity(requestBytes));
 
-    // Execute the request and handle the response
     long httpRequestStartTime = System.currentTimeMillis();
-    try (CloseableHttpResponse response = httpClient.execute(request)) {
+    try {
+      return httpClient.execute(request);
+    } catch (DatabricksHttpException e) {
+      throw toTransportException(e, httpRequestStartTime);
+    }
+  }
+
+  /**
+   * Releases a response that is not read, so that its pooled connection is returned before the
+   * request is sent again.
+   */
+  private void closeQuietly(CloseableHttpResponse response) {
+    EntityUtils.consumeQuietly(response.getEntity());
+    try {
+      response.close();
+    } catch (IOException e) {
+      LOGGER.debug("Failed to close rejected response: {}", e.getMessage());
+    }
+  }
 
-      ValidationUtil.checkHTTPError(response);
+  private void handleResponse(CloseableHttpResponse response) throws TTransportException {
+    long httpRequestStartTime = System.currentTimeMillis();
+    try (CloseableHttpResponse closeableResponse = response) {
+      ValidationUtil.checkHTTPError(closeableResponse);
 
       // Read the response
-      HttpEntity entity = response.getEntity();
+      HttpEntity entity = closeableResponse.getEntity();
       if (entity != null) {
         byte[] responseBytes = EntityUtils.toByteArray(entity);
         responseBuffer = new ByteArrayInputStream(responseBytes);
       }
     } catch (DatabricksHttpException | IOException e) {
-      long httpRequestEndTime = System.currentTimeMillis();
-      long httpRequestLatency = httpRequestEndTime - httpRequestStartTime;
-      LOGGER.debug(
-          "Connection ["
-              + connectionContext.getConnectionUuid()
-              + "] HTTP request latency (with error): "
-              + httpRequestLatency
-              + "ms");
-
-      String errorMessage = "Failed to flush data to server: " + e.getMessage();
-      LOGGER.error(e, errorMessage);
-      throw new TTransportException(TTransportException.UNKNOWN, errorMessage, e);
+      throw toTransportException(e, httpRequestStartTime);
     }
-
-    // Reset the request buffer
-    requestBuffer.reset();
   }
 
-  @Override
-  public TConfiguration getConfiguration() {
-    return null;
-  }
+  private TTransportException toTransportException(Exception e, long httpRequestStartTime) {
+    long httpRequestLatency = System.currentTimeMillis() - httpRequestStartTime;
+    LOGGER.debug(
+        "Connection ["
+            + connectionContext.getConnectionUuid()
+            + "] HTTP request latency (with error): "
+            + httpRequestLatency
+            + "ms");
 
-  @Override
-  public void updateKnownMessageSize(long size) throws TTransportException {}
+    String errorMessage = "Failed to flush data to server: " + e.getMessage();
+    LOGGER.error(e, errorMessage);
+    return new TTransportException(TTransportException.UNKNOWN, errorMessage, e);
+  }
 
-  @Override
-  public void checkReadBytesAvailable(long numBytes) throws TTransportException {}
+  /**
+   * Returns the authentication headers for the next request. The common path is a single volatile
+   * read of the cached headers. Once the cached token enters its refresh window, a background
+   * refresh is started while the still-valid headers continue to be served. Headers are only
+   * recomputed synchronously when nothing is cached or the cached token has already expired.
+   */
+  @VisibleForTesting
+  Map<String, String> getAuthHeaders() {
+    CachedAuthHeaders cached = cachedAuthHeaders;
+    long now = System.currentTimeMillis();
+    if (cached == null || now >= cached.expiresAtMillis) {
+      return refreshAuthHeaders();
+    }
+    if (now >= cached.refreshAtMillis) {
+      scheduleAsyncRefresh();
+    }
+    return cached.headers;
+  }
 
-  /** Refreshes the custom headers by re-authenticating if necessary. */
-  private void refreshHeadersIfRequired() {
+  /** Re-authenticates with the SDK config and replaces the cached headers. */
+  private Map<String, String> refreshAuthHeaders() {
+    long refreshHeadersStartTime = System.currentTimeMillis();
     Map<String, String> refreshedHeaders = databricksConfig.authenticate();
-    customHeaders =
-        refreshedHeaders != null ? new HashMap<>(refreshedHeaders) : Collections.emptyMap();
+    Map<String, String> headers =
+        refreshedHeaders != null
+            ? Collections.unmodifiableMap(new HashMap<>(refreshedHeaders))
+            : Collections.emptyMap();
+    cachedAuthHeaders = CachedAuthHeaders.create(headers, System.currentTimeMillis());
+    LOGGER.trace(
+        "Connection ["
+            + connectionContext.getConnectionUuid()
+            + "] Header refresh latency: "
+            + (System.currentTimeMillis() - refreshHeadersStartTime)
+            + "ms");
+    return headers;
+  }
+
+  private void scheduleAsyncRefresh() {
+    if (!asyncRefreshInProgress.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      HEADER_REFRESH_EXECUTOR.execute(
+          () -> {
+            try {
+              refreshAuthHeaders();
+            } catch (Exception e) {
+              // The cached headers remain valid until expiry, after which a synchronous
+              // refresh surfaces the error to the caller
+              LOGGER.warn(
+                  "Connection [{}] Background refresh of authentication headers failed: {}",
+                  connectionContext.getConnectionUuid(),
+                  e.getMessage());
+            } finally {
+              asyncRefreshInProgress.set(false);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      asyncRefreshInProgress.set(false);
+    }
   }
 
   void resetAccessToken(String newAccessToken) {
     this.databricksConfig = initializeConfigWithToken(newAccessToken, databricksConfig);
     this.databricksConfig.resolve();
+    this.cachedAuthHeaders = null;
   }
 
   @VisibleForTesting
   void setResponseBuffer(ByteArrayInputStream responseBuffer) {
     this.responseBuffer = responseBuffer;
   }
+
+  /** Immutable snapshot of authentication headers together with their refresh deadlines. */
+  private static final class CachedAuthHeaders {
+    private final Map<String, String> headers;
+    private final long refreshAtMillis;
+    private final long expiresAtMillis;
+
+    private CachedAuthHeaders(
+        Map<String, String> headers, long refreshAtMillis, long expiresAtMillis) {
+      this.headers = headers;
+      this.refreshAtMillis = refreshAtMillis;
+      this.expiresAtMillis = expiresAtMillis;
+    }
+
+    /**
+     * Derives the refresh deadlines from the bearer token's expiry when the token is a JWT.
+     * Otherwise the headers are cached for a fixed TTL and refreshed in the background at half of
+     * it, which also picks up tokens the SDK has refreshed internally.
+     */
+    static CachedAuthHeaders create(Map<String, String> headers, long now) {
+      Long tokenExpiry = getTokenExpiryMillis(headers.get(HttpHeaders.AUTHORIZATION));
+      if (tokenExpiry == null) {
+        return new CachedAuthHeaders(
+            headers,
+            now + OPAQUE_TOKEN_HEADER_TTL_MILLIS / 2,
+            now + OPAQUE_TOKEN_HEADER_TTL_MILLIS);
+      }
+      long expiresAt = tokenExpiry - EXPIRY_SKEW_MILLIS;
+      long lifetime = Math.max(0, expiresAt - now);
+      long refreshAt = expiresAt - Math.min(REFRESH_LEAD_TIME_MILLIS, lifetime / 2);
+      return new CachedAuthHeaders(headers, refreshAt, expiresAt);
+    }
+
+    private static Long getTokenExpiryMillis(String authorizationHeader) {
+      if (authorizationHeader == null || !authorizationHeader.startsWith(BEARER_PREFIX)) {
+        return null;
+      }
+      return DatabricksAuthUtil.getTokenExpirationTimeMillis(
+          authorizationHeader.substring(BEARER_PREFIX.length()));
+    }
+  }
 }
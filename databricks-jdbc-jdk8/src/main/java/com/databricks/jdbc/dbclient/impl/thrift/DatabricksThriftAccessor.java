@@ -13,6 +13,7 @@ import com.databricks.jdbc.common.util.DatabricksThreadContextHolder;
 import com.databricks.jdbc.common.util.DriverUtil;
 import com.databricks.jdbc.common.util.ProtocolFeatureUtil;
 import com.databricks.jdbc.dbclient.impl.common.StatementId;
+import com.databricks.jdbc.dbclient.impl.common.StatementPollingStrategy;
 import com.databricks.jdbc.dbclient.impl.common.TimeoutHandler;
 import com.databricks.jdbc.dbclient.impl.http.DatabricksHttpClientFactory;
 import com.databricks.jdbc.exception.DatabricksHttpException;
@@ -30,7 +31,6 @@ import com.databricks.sdk.service.sql.StatementState;
 import com.google.common.annotations.VisibleForTesting;
 import java.sql.SQLException;
 import java.util.Arrays;
-import java.util.concurrent.TimeUnit;
 import org.apache.http.HttpException;
 import org.apache.thrift.TBase;
 import org.apache.thrift.TException;
@@ -51,12 +51,17 @@ final class DatabricksThriftAccessor {
       TExecuteStatementResp._Fields.OPERATION_HANDLE.getThriftFieldId();
   private static final short statusFieldId =
       TExecuteStatementResp._Fields.STATUS.getThriftFieldId();
-  private final ThreadLocal<TCLIService.Client> thriftClient;
+  private final ThriftClientPool clientPool;
   private final DatabricksConfig databricksConfig;
   private final boolean enableDirectResults;
   private final int asyncPollIntervalMillis;
+  private final int asyncMaxPollIntervalMillis;
   private final int maxRowsPerBlock;
   private final String connectionUuid;
+
+  /** Access token set through {@link #resetAccessToken}, applied to clients created later. */
+  private volatile String accessToken;
+
   private TProtocolVersion serverProtocolVersion = JDBC_THRIFT_VERSION;
 
   DatabricksThriftAccessor(IDatabricksConnectionContext connectionContext)
@@ -68,29 +73,27 @@ final class DatabricksThriftAccessor {
             .getDatabricksConfig();
     String endPointUrl = connectionContext.getEndpointURL();
     this.asyncPollIntervalMillis = connectionContext.getAsyncExecPollInterval();
+    this.asyncMaxPollIntervalMillis = connectionContext.getAsyncExecMaxPollInterval();
     this.maxRowsPerBlock = connectionContext.getRowsFetchedPerBlock();
     this.connectionUuid = connectionContext.getConnectionUuid();
 
-    if (!DriverUtil.isRunningAgainstFake()) {
-      // Create a new thrift client for each thread as client state is not thread safe. Note that
-      // the underlying protocol uses the same http client which is thread safe
-      this.thriftClient =
-          ThreadLocal.withInitial(
-              () -> createThriftClient(endPointUrl, databricksConfig, connectionContext));
-    } else {
-      TCLIService.Client client =
-          createThriftClient(endPointUrl, databricksConfig, connectionContext);
-      this.thriftClient = ThreadLocal.withInitial(() -> client);
-    }
+    // Client state is not thread safe, so each RPC borrows a client from a bounded pool. Note that
+    // all clients share the same http client which is thread safe
+    int poolSize =
+        DriverUtil.isRunningAgainstFake() ? 1 : connectionContext.getThriftClientPoolSize();
+    this.clientPool =
+        new ThriftClientPool(
+            () -> createThriftClient(endPointUrl, databricksConfig, connectionContext), poolSize);
   }
 
   @VisibleForTesting
   DatabricksThriftAccessor(
       TCLIService.Client client, IDatabricksConnectionContext connectionContext) {
     this.databricksConfig = null;
-    this.thriftClient = ThreadLocal.withInitial(() -> client);
+    this.clientPool = new ThriftClientPool(() -> client, 1);
     this.enableDirectResults = connectionContext.getDirectResultMode();
     this.asyncPollIntervalMillis = connectionContext.getAsyncExecPollInterval();
+    this.asyncMaxPollIntervalMillis = connectionContext.getAsyncExecMaxPollInterval();
     this.maxRowsPerBlock = connectionContext.getRowsFetchedPerBlock();
     this.connectionUuid = connectionContext.getConnectionUuid();
   }
@@ -100,9 +103,12 @@ final class DatabricksThriftAccessor {
     LOGGER.debug("Fetching thrift response for request {}", request.toString());
     try {
       if (request instanceof TOpenSessionReq) {
-        return getThriftClient().OpenSession((TOpenSessionReq) request);
+        return clientPool.execute(client -> client.OpenSession((TOpenSessionReq) request));
       } else if (request instanceof TCloseSessionReq) {
-        return getThriftClient().CloseSession((TCloseSessionReq) request);
+        TCloseSessionResp response =
+            clientPool.execute(client -> client.CloseSession((TCloseSessionReq) request));
+        LOGGER.debug("Thrift client pool occupancy at session close: {}", clientPool);
+        return response;
       } else if (request instanceof TGetFunctionsReq) {
         return listFunctions((TGetFunctionsReq) request);
       } else if (request instanceof TGetPrimaryKeysReq) {
@@ -160,7 +166,7 @@ final class DatabricksThriftAccessor {
 
   TCancelOperationResp cancelOperation(TCancelOperationReq req) throws DatabricksHttpException {
     try {
-      return getThriftClient().CancelOperation(req);
+      return clientPool.execute(client -> client.CancelOperation(req));
     } catch (TException e) {
       String errorMessage =
           String.format(
@@ -173,7 +179,7 @@ final class DatabricksThriftAccessor {
 
   TCloseOperationResp closeOperation(TCloseOperationReq req) throws DatabricksHttpException {
     try {
-      return getThriftClient().CloseOperation(req);
+      return clientPool.execute(client -> client.CloseOperation(req));
     } catch (TException e) {
       String errorMessage =
           String.format(
@@ -194,10 +200,21 @@ final class DatabricksThriftAccessor {
         new TStatus().setStatusCode(TStatusCode.SUCCESS_STATUS),
         getOperationHandle(parentStatement.getStatementId()),
         context,
-        maxRowsPerBlock,
+        getRowsPerPage(parentStatement),
         true);
   }
 
+  /**
+   * Returns the number of rows to request per page, which is the fetch size of the statement if it
+   * has one and the configured rows per block otherwise.
+   */
+  private int getRowsPerPage(IDatabricksStatementInternal parentStatement) {
+    if (parentStatement != null && parentStatement.getFetchSize() > 0) {
+      return parentStatement.getFetchSize();
+    }
+    return maxRowsPerBlock;
+  }
+
   DatabricksResultSet execute(
       TExecuteStatementReq request,
       IDatabricksStatementInternal parentStatement,
@@ -214,12 +231,12 @@ final class DatabricksThriftAccessor {
         TSparkGetDirectResults directResults =
             new TSparkGetDirectResults()
                 .setMaxBytes(DEFAULT_BYTE_LIMIT)
-                .setMaxRows(maxRowsPerBlock);
+                .setMaxRows(getRowsPerPage(parentStatement));
         request.setGetDirectResults(directResults);
       }
       TExecuteStatementResp response;
       TFetchResultsResp resultSet;
-      response = getThriftClient().ExecuteStatement(request);
+      response = clientPool.execute(client -> client.ExecuteStatement(request));
       checkResponseForErrors(response);
 
       StatementId statementId = new StatementId(response.getOperationHandle().operationId);
@@ -254,7 +271,7 @@ final class DatabricksThriftAccessor {
                 response.getStatus(),
                 response.getOperationHandle(),
                 response.toString(),
-                maxRowsPerBlock,
+                getRowsPerPage(parentStatement),
                 true);
         long fetchEndTime = System.nanoTime();
         long fetchLatencyNanos = fetchEndTime - fetchStartTime;
@@ -304,6 +321,8 @@ final class DatabricksThriftAccessor {
 
     // Polling until query operation state is finished
     long pollingStartTime = System.nanoTime();
+    StatementPollingStrategy pollingStrategy =
+        new StatementPollingStrategy(asyncPollIntervalMillis, asyncMaxPollIntervalMillis);
     TGetOperationStatusReq statusReq =
         new TGetOperationStatusReq()
             .setOperationHandle(response.getOperationHandle())
@@ -320,7 +339,7 @@ final class DatabricksThriftAccessor {
         break;
       }
       try {
-        TimeUnit.MILLISECONDS.sleep(asyncPollIntervalMillis);
+        pollingStrategy.sleepBeforeNextPoll();
       } catch (InterruptedException e) {
         Thread.currentThread().interrupt(); // Restore interrupt flag
         cancelOperation(
@@ -334,8 +353,12 @@ final class DatabricksThriftAccessor {
     long pollingLatencyMillis = pollingLatencyNanos / 1_000_000;
     LOGGER.debug(
         String.format(
-            "Connection [%s] Statement [%s] Session [%s] Thrift polling latency: %dms",
-            connectionUuid, statementId, sessionDebugInfo, pollingLatencyMillis));
+            "Connection [%s] Statement [%s] Session [%s] Thrift polling latency: %dms, poll count: %d",
+            connectionUuid,
+            statementId,
+            sessionDebugInfo,
+            pollingLatencyMillis,
+            pollingStrategy.getPollCount()));
     return statusResp;
   }
 
@@ -348,7 +371,7 @@ final class DatabricksThriftAccessor {
 
     TExecuteStatementResp response;
     try {
-      response = getThriftClient().ExecuteStatement(request);
+      response = clientPool.execute(client -> client.ExecuteStatement(request));
       if (Arrays.asList(TStatusCode.ERROR_STATUS, TStatusCode.INVALID_HANDLE_STATUS)
           .contains(response.status.statusCode)) {
         LOGGER.error(
@@ -489,8 +512,18 @@ final class DatabricksThriftAccessor {
         executionStatus, statementId, resultSet, StatementType.SQL, parentStatement, session);
   }
 
-  TCLIService.Client getThriftClient() {
-    return thriftClient.get();
+  ThriftClientPool getClientPool() {
+    return clientPool;
+  }
+
+  void resetAccessToken(String newAccessToken) {
+    // Set the token before updating the pooled clients, so that a client created concurrently
+    // either reads the new token or is already owned by the pool and updated below
+    this.accessToken = newAccessToken;
+    clientPool.forEachClient(
+        client ->
+            ((DatabricksHttpTTransport) client.getInputProtocol().getTransport())
+                .resetAccessToken(newAccessToken));
   }
 
   DatabricksConfig getDatabricksConfig() {
@@ -519,7 +552,7 @@ final class DatabricksThriftAccessor {
     }
     TFetchResultsResp response;
     try {
-      response = getThriftClient().FetchResults(request);
+      response = clientPool.execute(client -> client.FetchResults(request));
     } catch (TException e) {
       String errorMessage =
           String.format(
@@ -540,68 +573,71 @@ final class DatabricksThriftAccessor {
   private TFetchResultsResp listFunctions(TGetFunctionsReq request)
       throws TException, DatabricksSQLException {
     if (enableDirectResults) request.setGetDirectResults(DEFAULT_DIRECT_RESULTS);
-    TGetFunctionsResp response = getThriftClient().GetFunctions(request);
+    TGetFunctionsResp response = clientPool.execute(client -> client.GetFunctions(request));
     return fetchMetadataResults(response, response.toString());
   }
 
   private TFetchResultsResp listPrimaryKeys(TGetPrimaryKeysReq request)
       throws TException, DatabricksSQLException {
     if (enableDirectResults) request.setGetDirectResults(DEFAULT_DIRECT_RESULTS);
-    TGetPrimaryKeysResp response = getThriftClient().GetPrimaryKeys(request);
+    TGetPrimaryKeysResp response = clientPool.execute(client -> client.GetPrimaryKeys(request));
     return fetchMetadataResults(response, response.toString());
   }
 
   private TFetchResultsResp listCrossReferences(TGetCrossReferenceReq request)
       throws TException, DatabricksSQLException {
     if (enableDirectResults) request.setGetDirectResults(DEFAULT_DIRECT_RESULTS);
-    TGetCrossReferenceResp response = getThriftClient().GetCrossReference(request);
+    TGetCrossReferenceResp response =
+        clientPool.execute(client -> client.GetCrossReference(request));
     return fetchMetadataResults(response, response.toString());
   }
 
   private TFetchResultsResp getTables(TGetTablesReq request)
       throws TException, DatabricksSQLException {
     if (enableDirectResults) request.setGetDirectResults(DEFAULT_DIRECT_RESULTS);
-    TGetTablesResp response = getThriftClient().GetTables(request);
+    TGetTablesResp response = clientPool.execute(client -> client.GetTables(request));
     return fetchMetadataResults(response, response.toString());
   }
 
   private TFetchResultsResp getTableTypes(TGetTableTypesReq request)
       throws TException, DatabricksSQLException {
     if (enableDirectResults) request.setGetDirectResults(DEFAULT_DIRECT_RESULTS);
-    TGetTableTypesResp response = getThriftClient().GetTableTypes(request);
+    TGetTableTypesResp response = clientPool.execute(client -> client.GetTableTypes(request));
     return fetchMetadataResults(response, response.toString());
   }
 
   private TFetchResultsResp getCatalogs(TGetCatalogsReq request)
       throws TException, DatabricksSQLException {
     if (enableDirectResults) request.setGetDirectResults(DEFAULT_DIRECT_RESULTS);
-    TGetCatalogsResp response = getThriftClient().GetCatalogs(request);
+    TGetCatalogsResp response = clientPool.execute(client -> client.GetCatalogs(request));
     return fetchMetadataResults(response, response.toString());
   }
 
   private TFetchResultsResp listSchemas(TGetSchemasReq request)
       throws TException, DatabricksSQLException {
     if (enableDirectResults) request.setGetDirectResults(DEFAULT_DIRECT_RESULTS);
-    TGetSchemasResp response = getThriftClient().GetSchemas(request);
+    TGetSchemasResp response = clientPool.execute(client -> client.GetSchemas(request));
     return fetchMetadataResults(response, response.toString());
   }
 
   private TFetchResultsResp getTypeInfo(TGetTypeInfoReq request)
       throws TException, DatabricksSQLException {
     if (enableDirectResults) request.setGetDirectResults(DEFAULT_DIRECT_RESULTS);
-    TGetTypeInfoResp response = getThriftClient().GetTypeInfo(request);
+    TGetTypeInfoResp response = clientPool.execute(client -> client.GetTypeInfo(request));
     return fetchMetadataResults(response, response.toString());
   }
 
   private TFetchResultsResp listColumns(TGetColumnsReq request)
       throws TException, DatabricksSQLException {
     if (enableDirectResults) request.setGetDirectResults(DEFAULT_DIRECT_RESULTS);
-    TGetColumnsResp response = getThriftClient().GetColumns(request);
+    TGetColumnsResp response = clientPool.execute(client -> client.GetColumns(request));
     return fetchMetadataResults(response, response.toString());
   }
 
   /**
-   * Creates a new thrift client for the given endpoint URL and authentication headers.
+   * Creates a new thrift client for the given endpoint URL and authentication headers. If the
+   * access token was reset, the client uses the current token rather than the one of the original
+   * config.
    *
    * @param endPointUrl endpoint URL
    * @param databricksConfig SDK config object required for authentication headers
@@ -616,6 +652,10 @@ final class DatabricksThriftAccessor {
             endPointUrl,
             databricksConfig,
             connectionContext);
+    String currentAccessToken = accessToken;
+    if (currentAccessToken != null) {
+      transport.resetAccessToken(currentAccessToken);
+    }
     TBinaryProtocol protocol = new TBinaryProtocol(transport);
 
     return new TCLIService.Client(protocol);
@@ -668,7 +708,7 @@ final class DatabricksThriftAccessor {
             .setOperationHandle(operationHandle)
             .setGetProgressUpdate(false);
     while (shouldContinuePolling(statusResp)) {
-      statusResp = getThriftClient().GetOperationStatus(statusReq);
+      statusResp = clientPool.execute(client -> client.GetOperationStatus(statusReq));
       checkOperationStatusForErrors(statusResp, statementId);
     }
 
@@ -780,7 +820,8 @@ final class DatabricksThriftAccessor {
   private TGetOperationStatusResp getOperationStatus(
       TGetOperationStatusReq statusReq, StatementId statementId) throws TException {
     long operationStatusStartTime = System.nanoTime();
-    TGetOperationStatusResp operationStatus = getThriftClient().GetOperationStatus(statusReq);
+    TGetOperationStatusResp operationStatus =
+        clientPool.execute(client -> client.GetOperationStatus(statusReq));
     long operationStatusEndTime = System.nanoTime();
     long operationStatusLatencyMillis =
         (operationStatusEndTime - operationStatusStartTime) / 1_000_000;
@@ -0,0 +1,149 @@
+package com.databricks.jdbc.dbclient.impl.thrift;
+
+import com.databricks.jdbc.log.JdbcLogger;
+import com.databricks.jdbc.log.JdbcLoggerFactory;
+import com.databricks.jdbc.model.client.thrift.generated.TCLIService;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.apache.thrift.TException;
+
+/**
+ * Bounded pool of Thrift clients shared by all threads using a connection.
+ *
+ * <p>{@link TCLIService.Client} keeps per-call protocol state and is therefore not thread safe. A
+ * client is borrowed for the duration of a single RPC and returned afterwards, so the number of
+ * clients (and their transport buffers) is bounded by the number of concurrent RPCs rather than by
+ * the number of application threads that ever touched the connection. Callers block when all
+ * clients are in use. Clients whose call failed are discarded, since their protocol state is
+ * unknown.
+ */
+final class ThriftClientPool {
+
+  private static final JdbcLogger LOGGER = JdbcLoggerFactory.getLogger(ThriftClientPool.class);
+
+  /** A single RPC executed against a borrowed client. */
+  @FunctionalInterface
+  interface ThriftCall<T> {
+    T call(TCLIService.Client client) throws TException;
+  }
+
+  private final Supplier<TCLIService.Client> clientFactory;
+  private final int maxSize;
+  private final Semaphore permits;
+  private final ConcurrentLinkedDeque<TCLIService.Client> idleClients =
+      new ConcurrentLinkedDeque<>();
+  private final Set<TCLIService.Client> allClients = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger inUse = new AtomicInteger();
+  private final AtomicInteger peakInUse = new AtomicInteger();
+  private final AtomicLong createdCount = new AtomicLong();
+  private final AtomicLong waitCount = new AtomicLong();
+
+  ThriftClientPool(Supplier<TCLIService.Client> clientFactory, int maxSize) {
+    this.clientFactory = clientFactory;
+    this.maxSize = Math.max(1, maxSize);
+    this.permits = new Semaphore(this.maxSize, true);
+  }
+
+  /**
+   * Borrows a client, runs the call and returns the client to the pool.
+   *
+   * @param call RPC to execute
+   * @return result of the call
+   * @throws TException if the call fails or the thread is interrupted while waiting for a client
+   */
+  <T> T execute(ThriftCall<T> call) throws TException {
+    TCLIService.Client client = borrow();
+    boolean healthy = false;
+    try {
+      T result = call.call(client);
+      healthy = true;
+      return result;
+    } finally {
+      release(client, healthy);
+    }
+  }
+
+  /** Applies the given action to every client currently owned by the pool, idle or in use. */
+  void forEachClient(Consumer<TCLIService.Client> action) {
+    allClients.forEach(action);
+  }
+
+  int getMaxSize() {
+    return maxSize;
+  }
+
+  int getInUseCount() {
+    return inUse.get();
+  }
+
+  int getIdleCount() {
+    return idleClients.size();
+  }
+
+  int getPeakInUseCount() {
+    return peakInUse.get();
+  }
+
+  long getCreatedCount() {
+    return createdCount.get();
+  }
+
+  long getWaitCount() {
+    return waitCount.get();
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "ThriftClientPool{maxSize=%d, inUse=%d, idle=%d, peakInUse=%d, created=%d, waits=%d}",
+        maxSize,
+        getInUseCount(),
+        getIdleCount(),
+        getPeakInUseCount(),
+        getCreatedCount(),
+        getWaitCount());
+  }
+
+  private TCLIService.Client borrow() throws TException {
+    if (!permits.tryAcquire()) {
+      waitCount.incrementAndGet();
+      LOGGER.debug("All Thrift clients are in use, waiting for one to be returned: {}", this);
+      try {
+        permits.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new TException("Interrupted while waiting for a Thrift client", e);
+      }
+    }
+    TCLIService.Client client = idleClients.pollFirst();
+    if (client == null) {
+      try {
+        client = clientFactory.get();
+      } catch (RuntimeException e) {
+        permits.release();
+        throw e;
+      }
+      allClients.add(client);
+      createdCount.incrementAndGet();
+      LOGGER.debug("Created new Thrift client: {}", this);
+    }
+    peakInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+    return client;
+  }
+
+  private void release(TCLIService.Client client, boolean healthy) {
+    inUse.decrementAndGet();
+    if (healthy) {
+      idleClients.offerFirst(client);
+    } else {
+      allClients.remove(client);
+    }
+    permits.release();
+  }
+}
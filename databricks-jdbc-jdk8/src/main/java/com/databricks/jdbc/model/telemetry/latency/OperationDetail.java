@@ -31,6 +31,10 @@ public class OperationDetail {
     this.nOperationStatusCalls++;
   }
 
+  public long getOperationStatusCallCount() {
+    return nOperationStatusCalls;
+  }
+
   public OperationDetail setOperationType(OperationType operationType) {
     this.operationType = operationType;
     return this;
@@ -0,0 +1,371 @@
+package com.databricks.jdbc.pooling;
+
+import com.databricks.jdbc.api.internal.IDatabricksConnectionInternal;
+import com.databricks.jdbc.exception.DatabricksSQLException;
+import com.databricks.jdbc.log.JdbcLogger;
+import com.databricks.jdbc.log.JdbcLoggerFactory;
+import com.databricks.jdbc.model.telemetry.enums.DatabricksDriverErrorCode;
+import com.google.common.annotations.VisibleForTesting;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+
+/**
+ * Pool of Databricks connections, each backed by its own session.
+ *
+ * <p>Borrowing takes a permit from a semaphore sized to the maximum pool size and the most recently
+ * returned idle connection from a lock-free deque, so uncontended borrows never block. A connection
+ * returned within {@link #VALIDATION_BYPASS_NANOS} is handed out without validation, otherwise it
+ * is checked with {@link Connection#isValid(int)}, which does not run a query unless SQL validation
+ * is enabled on the connection.
+ *
+ * <p>When a connection is returned, its open statements are closed and the catalog, schema and
+ * session configuration it was opened with are restored. A background task closes connections that
+ * exceeded their maximum lifetime or stayed idle for too long, and keeps at least the minimum
+ * number of idle connections open.
+ */
+public class DatabricksConnectionPool implements AutoCloseable {
+
+  private static final JdbcLogger LOGGER =
+      JdbcLoggerFactory.getLogger(DatabricksConnectionPool.class);
+
+  static final long VALIDATION_BYPASS_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+  static final long HOUSEKEEPING_PERIOD_MILLIS = 30_000;
+  private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+  private static final AtomicInteger POOL_COUNT = new AtomicInteger(1);
+
+  /** Opens the physical connections of the pool. */
+  @FunctionalInterface
+  interface ConnectionFactory {
+    IDatabricksConnectionInternal create() throws SQLException;
+  }
+
+  private final ConnectionFactory connectionFactory;
+  private final int maxPoolSize;
+  private final int minIdle;
+  private final long connectionTimeoutMillis;
+  private final long idleTimeoutNanos;
+  private final long maxLifetimeNanos;
+
+  private final Semaphore permits;
+  private final ConcurrentLinkedDeque<PoolEntry> idleEntries = new ConcurrentLinkedDeque<>();
+  private final Set<PoolEntry> allEntries = ConcurrentHashMap.newKeySet();
+  private final ScheduledExecutorService housekeeper;
+  private volatile boolean isClosed;
+
+  private final AtomicInteger activeConnections = new AtomicInteger();
+  private final LongAdder borrowCount = new LongAdder();
+  private final LongAdder totalWaitNanos = new LongAdder();
+  private final AtomicLong maxWaitNanos = new AtomicLong();
+
+  /**
+   * Creates a pool and starts opening its minimum number of idle connections in the background.
+   *
+   * @param connectionFactory opens physical connections
+   * @param maxPoolSize maximum number of open connections
+   * @param minIdle minimum number of idle connections kept open
+   * @param connectionTimeoutMillis maximum time to wait for a connection when all are in use
+   * @param idleTimeoutMillis time after which idle connections above the minimum are closed, or 0
+   *     to keep them
+   * @param maxLifetimeMillis time after which connections are closed once they are idle, or 0 to
+   *     keep them
+   */
+  DatabricksConnectionPool(
+      ConnectionFactory connectionFactory,
+      int maxPoolSize,
+      int minIdle,
+      long connectionTimeoutMillis,
+      long idleTimeoutMillis,
+      long maxLifetimeMillis) {
+    this(
+        connectionFactory,
+        maxPoolSize,
+        minIdle,
+        connectionTimeoutMillis,
+        idleTimeoutMillis,
+        maxLifetimeMillis,
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              Thread thread =
+                  new Thread(r, "databricks-jdbc-pool-housekeeper-" + POOL_COUNT.getAndIncrement());
+              thread.setDaemon(true);
+              return thread;
+            }));
+  }
+
+  @VisibleForTesting
+  DatabricksConnectionPool(
+      ConnectionFactory connectionFactory,
+      int maxPoolSize,
+      int minIdle,
+      long connectionTimeoutMillis,
+      long idleTimeoutMillis,
+      long maxLifetimeMillis,
+      ScheduledExecutorService housekeeper) {
+    this.connectionFactory = connectionFactory;
+    this.maxPoolSize = maxPoolSize;
+    this.minIdle = Math.min(minIdle, maxPoolSize);
+    this.connectionTimeoutMillis = connectionTimeoutMillis;
+    this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+    this.maxLifetimeNanos = TimeUnit.MILLISECONDS.toNanos(maxLifetimeMillis);
+    this.permits = new Semaphore(maxPoolSize);
+    this.housekeeper = housekeeper;
+    if (housekeeper != null) {
+      housekeeper.scheduleWithFixedDelay(
+          this::evictAndFill, 0, HOUSEKEEPING_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Borrows a connection, waiting up to the connection timeout if all connections are in use.
+   * Closing the returned connection returns it to the pool.
+   *
+   * @return a connection handle
+   * @throws SQLException if the pool is closed, no connection became available in time, or a new
+   *     connection cannot be opened
+   */
+  public Connection getConnection() throws SQLException {
+    if (isClosed) {
+      throw new DatabricksSQLException(
+          "Connection pool is closed", DatabricksDriverErrorCode.CONNECTION_CLOSED);
+    }
+    long startNanos = System.nanoTime();
+    try {
+      if (!permits.tryAcquire()
+          && !permits.tryAcquire(connectionTimeoutMillis, TimeUnit.MILLISECONDS)) {
+        throw new DatabricksSQLException(
+            String.format(
+                "Timed out after %d ms waiting for a connection, %d of %d connections are in use",
+                connectionTimeoutMillis, activeConnections.get(), maxPoolSize),
+            DatabricksDriverErrorCode.CONNECTION_ERROR);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new DatabricksSQLException(
+          "Interrupted while waiting for a connection",
+          e,
+          DatabricksDriverErrorCode.THREAD_INTERRUPTED_ERROR);
+    }
+
+    try {
+      PoolEntry entry;
+      while ((entry = idleEntries.pollFirst()) != null && !isUsable(entry)) {
+        closeEntry(entry);
+      }
+      if (entry == null) {
+        entry = createEntry();
+      }
+      Connection connection = entry.pooledConnection.getConnection();
+      activeConnections.incrementAndGet();
+      recordWait(System.nanoTime() - startNanos);
+      return connection;
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  /** Returns the number of connections currently borrowed. */
+  public int getActiveConnections() {
+    return activeConnections.get();
+  }
+
+  /** Returns the number of open connections waiting to be borrowed. */
+  public int getIdleConnections() {
+    return idleEntries.size();
+  }
+
+  /** Returns the number of open connections, borrowed or idle. */
+  public int getTotalConnections() {
+    return allEntries.size();
+  }
+
+  /** Returns the approximate number of threads waiting for a connection. */
+  public int getThreadsAwaitingConnection() {
+    return permits.getQueueLength();
+  }
+
+  /** Returns the number of connections borrowed since the pool was created. */
+  public long getBorrowCount() {
+    return borrowCount.sum();
+  }
+
+  /** Returns the average time a borrow took, including opening new connections. */
+  public double getAverageWaitMillis() {
+    long borrows = borrowCount.sum();
+    return borrows == 0 ? 0 : totalWaitNanos.sum() / (borrows * 1_000_000.0);
+  }
+
+  /** Returns the longest time a borrow took, including opening new connections. */
+  public long getMaxWaitMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+  }
+
+  public boolean isClosed() {
+    return isClosed;
+  }
+
+  /**
+   * Closes the idle connections and stops the background task. Borrowed connections are closed when
+   * they are returned.
+   */
+  @Override
+  public void close() {
+    LOGGER.debug("public void close()");
+    isClosed = true;
+    if (housekeeper != null) {
+      housekeeper.shutdownNow();
+    }
+    PoolEntry entry;
+    while ((entry = idleEntries.pollFirst()) != null) {
+      closeEntry(entry);
+    }
+  }
+
+  /**
+   * Closes idle connections that exceeded their lifetime or idle timeout, then opens connections
+   * until the minimum number of idle connections or the maximum pool size is reached.
+   */
+  @VisibleForTesting
+  void evictAndFill() {
+    long now = System.nanoTime();
+    // The least recently used connections are at the end of the deque
+    Iterator<PoolEntry> iterator = idleEntries.descendingIterator();
+    while (iterator.hasNext()) {
+      PoolEntry entry = iterator.next();
+      boolean idleTooLong =
+          idleTimeoutNanos > 0
+              && now - entry.lastUsedNanos > idleTimeoutNanos
+              && allEntries.size() > minIdle;
+      if ((idleTooLong || isExpired(entry, now)) && idleEntries.remove(entry)) {
+        LOGGER.debug("Evicting {} pooled connection", idleTooLong ? "idle" : "expired");
+        closeEntry(entry);
+      }
+    }
+
+    while (!isClosed && idleEntries.size() < minIdle && permits.tryAcquire()) {
+      try {
+        // Every permit held by a borrower stands for an open connection, so idle connections are
+        // only opened for permits nobody holds, keeping the pool within its maximum size
+        if (idleEntries.size() > permits.availablePermits()) {
+          break;
+        }
+        idleEntries.offerLast(createEntry());
+      } catch (SQLException | RuntimeException e) {
+        LOGGER.warn("Failed to open pooled connection: {}", e.getMessage());
+        return;
+      } finally {
+        permits.release();
+      }
+    }
+    LOGGER.debug(
+        "Connection pool: {} active, {} idle, {} waiting",
+        activeConnections.get(),
+        idleEntries.size(),
+        permits.getQueueLength());
+  }
+
+  private PoolEntry createEntry() throws SQLException {
+    IDatabricksConnectionInternal connection = connectionFactory.create();
+    try {
+      connection.markSessionStateBaseline();
+    } catch (SQLException | RuntimeException e) {
+      connection.close();
+      throw e;
+    }
+    PoolEntry entry = new PoolEntry(connection);
+    allEntries.add(entry);
+    return entry;
+  }
+
+  private boolean isUsable(PoolEntry entry) {
+    long now = System.nanoTime();
+    if (isExpired(entry, now)) {
+      return false;
+    }
+    if (now - entry.lastUsedNanos < VALIDATION_BYPASS_NANOS) {
+      return true;
+    }
+    try {
+      return entry.connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+    } catch (SQLException e) {
+      LOGGER.debug("Pooled connection failed validation: {}", e.getMessage());
+      return false;
+    }
+  }
+
+  private boolean isExpired(PoolEntry entry, long now) {
+    return maxLifetimeNanos > 0 && now - entry.createdNanos > maxLifetimeNanos;
+  }
+
+  private void returnEntry(PoolEntry entry) {
+    activeConnections.decrementAndGet();
+    try {
+      if (isClosed || entry.connection.isClosed() || isExpired(entry, System.nanoTime())) {
+        closeEntry(entry);
+        return;
+      }
+      entry.connection.resetSessionState();
+      entry.lastUsedNanos = System.nanoTime();
+      idleEntries.offerFirst(entry);
+    } catch (SQLException | RuntimeException e) {
+      LOGGER.warn("Closing pooled connection that could not be reset: {}", e.getMessage());
+      closeEntry(entry);
+    } finally {
+      permits.release();
+    }
+  }
+
+  private void closeEntry(PoolEntry entry) {
+    allEntries.remove(entry);
+    try {
+      entry.pooledConnection.close();
+    } catch (SQLException | RuntimeException e) {
+      LOGGER.debug("Failed to close pooled connection: {}", e.getMessage());
+    }
+  }
+
+  private void recordWait(long waitNanos) {
+    borrowCount.increment();
+    totalWaitNanos.add(waitNanos);
+    maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+  }
+
+  /** A physical connection of the pool together with its timestamps. */
+  private final class PoolEntry implements ConnectionEventListener {
+    private final IDatabricksConnectionInternal connection;
+    private final DatabricksPooledConnection pooledConnection;
+    private final long createdNanos;
+    private volatile long lastUsedNanos;
+
+    PoolEntry(IDatabricksConnectionInternal connection) {
+      this.connection = connection;
+      this.pooledConnection = new DatabricksPooledConnection(connection);
+      this.createdNanos = System.nanoTime();
+      this.lastUsedNanos = createdNanos;
+      pooledConnection.addConnectionEventListener(this);
+    }
+
+    @Override
+    public void connectionClosed(ConnectionEvent event) {
+      returnEntry(this);
+    }
+
+    @Override
+    public void connectionErrorOccurred(ConnectionEvent event) {
+      // Statement errors are reported here too, the connection is checked when it is returned
+    }
+  }
+}
@@ -0,0 +1,174 @@
+package com.databricks.jdbc.pooling;
+
+import com.databricks.client.jdbc.DataSource;
+import com.databricks.client.jdbc.Driver;
+import com.databricks.jdbc.api.internal.IDatabricksConnectionInternal;
+import com.databricks.jdbc.common.util.ValidationUtil;
+import com.databricks.jdbc.exception.DatabricksSQLException;
+import com.databricks.jdbc.log.JdbcLogger;
+import com.databricks.jdbc.log.JdbcLoggerFactory;
+import com.databricks.jdbc.model.telemetry.enums.DatabricksDriverErrorCode;
+import com.google.common.annotations.VisibleForTesting;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Objects;
+
+/**
+ * {@link DataSource} that hands out connections from a {@link DatabricksConnectionPool}, so that
+ * applications can reuse sessions without an external connection pool.
+ *
+ * <p>The pool is created on the first call to {@link #getConnection()} from the connection settings
+ * and pool settings configured at that point.
+ */
+public class DatabricksPoolingDataSource extends DataSource implements AutoCloseable {
+
+  private static final JdbcLogger LOGGER =
+      JdbcLoggerFactory.getLogger(DatabricksPoolingDataSource.class);
+
+  private int maxPoolSize = 10;
+  private int minIdle = 0;
+  private long connectionTimeout = 30_000;
+  private long idleTimeout = 600_000;
+  private long maxLifetime = 1_800_000;
+  private volatile DatabricksConnectionPool pool;
+
+  public DatabricksPoolingDataSource() {
+    super();
+  }
+
+  @VisibleForTesting
+  public DatabricksPoolingDataSource(Driver driver) {
+    super(driver);
+  }
+
+  /** Borrows a connection from the pool. Closing the connection returns it to the pool. */
+  @Override
+  public Connection getConnection() throws DatabricksSQLException {
+    LOGGER.debug("public Connection getConnection()");
+    try {
+      return getPool().getConnection();
+    } catch (DatabricksSQLException e) {
+      throw e;
+    } catch (SQLException e) {
+      throw new DatabricksSQLException(
+          "Failed to get a pooled connection: " + e.getMessage(),
+          e,
+          DatabricksDriverErrorCode.CONNECTION_ERROR);
+    }
+  }
+
+  /**
+   * Borrows a connection from the pool. All connections of the pool use the configured credentials,
+   * so the given credentials must be null or match them.
+   */
+  @Override
+  public Connection getConnection(String username, String password) throws DatabricksSQLException {
+    LOGGER.debug("public Connection getConnection(String, String)");
+    if ((username != null && !username.equals(getUsername()))
+        || (password != null && !Objects.equals(password, getPassword()))) {
+      throw new DatabricksSQLException(
+          "Pooled connections cannot use credentials other than the configured ones",
+          DatabricksDriverErrorCode.UNSUPPORTED_OPERATION);
+    }
+    return getConnection();
+  }
+
+  /**
+   * Returns the pool backing this data source, creating it if needed. The pool exposes usage
+   * metrics such as the number of active and idle connections and the time spent waiting for them.
+   */
+  public DatabricksConnectionPool getPool() throws DatabricksSQLException {
+    DatabricksConnectionPool current = pool;
+    if (current == null || current.isClosed()) {
+      synchronized (this) {
+        current = pool;
+        if (current == null || current.isClosed()) {
+          ValidationUtil.checkIfNonNegative(minIdle, "minIdle");
+          ValidationUtil.checkIfNonNegative(connectionTimeout, "connectionTimeout");
+          ValidationUtil.checkIfNonNegative(idleTimeout, "idleTimeout");
+          ValidationUtil.checkIfNonNegative(maxLifetime, "maxLifetime");
+          if (maxPoolSize <= 0) {
+            throw new DatabricksSQLException(
+                "maxPoolSize must be positive", DatabricksDriverErrorCode.INPUT_VALIDATION_ERROR);
+          }
+          current =
+              new DatabricksConnectionPool(
+                  this::openConnection,
+                  maxPoolSize,
+                  minIdle,
+                  connectionTimeout,
+                  idleTimeout,
+                  maxLifetime);
+          pool = current;
+        }
+      }
+    }
+    return current;
+  }
+
+  /** Closes the pool. Connections that are still borrowed are closed when they are returned. */
+  @Override
+  public synchronized void close() {
+    LOGGER.debug("public void close()");
+    if (pool != null) {
+      pool.close();
+      pool = null;
+    }
+  }
+
+  public int getMaxPoolSize() {
+    return maxPoolSize;
+  }
+
+  /** Sets the maximum number of open connections, 10 by default. */
+  public void setMaxPoolSize(int maxPoolSize) {
+    this.maxPoolSize = maxPoolSize;
+  }
+
+  public int getMinIdle() {
+    return minIdle;
+  }
+
+  /** Sets the number of idle connections kept open for future borrows, 0 by default. */
+  public void setMinIdle(int minIdle) {
+    this.minIdle = minIdle;
+  }
+
+  public long getConnectionTimeout() {
+    return connectionTimeout;
+  }
+
+  /** Sets the milliseconds to wait for a connection when all are in use, 30 seconds by default. */
+  public void setConnectionTimeout(long connectionTimeout) {
+    this.connectionTimeout = connectionTimeout;
+  }
+
+  public long getIdleTimeout() {
+    return idleTimeout;
+  }
+
+  /**
+   * Sets the milliseconds after which idle connections above the minimum are closed, 10 minutes by
+   * default. 0 keeps idle connections open.
+   */
+  public void setIdleTimeout(long idleTimeout) {
+    this.idleTimeout = idleTimeout;
+  }
+
+  public long getMaxLifetime() {
+    return maxLifetime;
+  }
+
+  /**
+   * Sets the milliseconds after which connections are closed once they are returned, 30 minutes by
+   * default. 0 keeps connections open indefinitely.
+   */
+  public void setMaxLifetime(long maxLifetime) {
+    this.maxLifetime = maxLifetime;
+  }
+
+  private IDatabricksConnectionInternal openConnection() throws SQLException {
+    Connection connection = super.getConnection(getUsername(), getPassword());
+    return connection.unwrap(IDatabricksConnectionInternal.class);
+  }
+}
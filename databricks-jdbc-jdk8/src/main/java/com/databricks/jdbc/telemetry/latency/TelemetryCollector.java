@@ -130,6 +130,20 @@ public class TelemetryCollector {
         .recordGetOperationStatusLatency(latencyMillis);
   }
 
+  /**
+   * Returns the number of status polls recorded so far for a statement that is still tracked.
+   *
+   * @param statementId the statement ID
+   * @return number of status polls, or 0 if the statement is not tracked
+   */
+  public long getStatusPollCount(String statementId) {
+    if (statementId == null) {
+      return 0;
+    }
+    StatementTelemetryDetails details = statementTrackers.get(statementId);
+    return details == null ? 0 : details.getOperationDetail().getOperationStatusCallCount();
+  }
+
   /**
    * Records when a chunk is iterated/consumed by the result set.
    *
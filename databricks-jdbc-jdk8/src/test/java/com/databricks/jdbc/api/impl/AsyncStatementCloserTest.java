@@ -0,0 +1,80 @@
+package com.databricks.jdbc.api.impl;
+
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
+import com.databricks.jdbc.dbclient.IDatabricksClient;
+import com.databricks.jdbc.dbclient.impl.common.StatementId;
+import com.databricks.jdbc.exception.DatabricksSQLException;
+import com.databricks.jdbc.model.telemetry.enums.DatabricksDriverErrorCode;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class AsyncStatementCloserTest {
+
+  private static final StatementId STATEMENT_ID = new StatementId("statement_id");
+
+  @Mock private IDatabricksClient client;
+  @Mock private IDatabricksConnectionContext connectionContext;
+
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+  @AfterEach
+  public void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void testClosesStatementInBackground() throws Exception {
+    doNothing().when(client).closeStatement(STATEMENT_ID);
+
+    new AsyncStatementCloser(scheduler).closeStatement(client, STATEMENT_ID, connectionContext);
+
+    verify(client, timeout(5000)).closeStatement(STATEMENT_ID);
+  }
+
+  @Test
+  public void testRetriesFailedClose() throws Exception {
+    DatabricksSQLException failure =
+        new DatabricksSQLException("close failed", DatabricksDriverErrorCode.INVALID_STATE);
+    doThrow(failure).doThrow(failure).doNothing().when(client).closeStatement(STATEMENT_ID);
+
+    new AsyncStatementCloser(scheduler).closeStatement(client, STATEMENT_ID, connectionContext);
+
+    verify(client, timeout(5000).times(3)).closeStatement(STATEMENT_ID);
+  }
+
+  @Test
+  public void testGivesUpAfterMaxAttempts() throws Exception {
+    doThrow(new DatabricksSQLException("close failed", DatabricksDriverErrorCode.INVALID_STATE))
+        .when(client)
+        .closeStatement(STATEMENT_ID);
+
+    new AsyncStatementCloser(scheduler).closeStatement(client, STATEMENT_ID, connectionContext);
+
+    verify(client, timeout(5000).times(AsyncStatementCloser.MAX_ATTEMPTS))
+        .closeStatement(STATEMENT_ID);
+    Thread.sleep(1000);
+    verify(client, times(AsyncStatementCloser.MAX_ATTEMPTS)).closeStatement(STATEMENT_ID);
+  }
+
+  @Test
+  public void testClosesOnCallingThreadWhenPoolIsShutDown() throws Exception {
+    scheduler.shutdown();
+    doNothing().when(client).closeStatement(STATEMENT_ID);
+
+    new AsyncStatementCloser(scheduler).closeStatement(client, STATEMENT_ID, connectionContext);
+
+    verify(client).closeStatement(STATEMENT_ID);
+  }
+}
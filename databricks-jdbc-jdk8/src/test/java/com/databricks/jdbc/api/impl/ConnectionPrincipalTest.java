@@ -0,0 +1,72 @@
+package com.databricks.jdbc.api.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
+import java.util.Collections;
+import java.util.Properties;
+import org.junit.jupiter.api.Test;
+
+public class ConnectionPrincipalTest {
+
+  private static final String URL_WITHOUT_CREDENTIALS =
+      "jdbc:databricks://sample-host.cloud.databricks.com:9999/default;transportMode=http;ssl=1;AuthMech=3;httpPath=/sql/1.0/warehouses/9999999999999999";
+  private static final String JDBC_URL = URL_WITHOUT_CREDENTIALS + ";PWD=token";
+
+  @Test
+  public void testConnectionsWithSameCredentialsShareFingerprint() throws Exception {
+    String fingerprint = fingerprint(JDBC_URL);
+    assertEquals(fingerprint, fingerprint(JDBC_URL));
+    assertFalse(fingerprint.contains("token"));
+
+    Properties properties = new Properties();
+    properties.setProperty("PWD", "token");
+    assertEquals(
+        fingerprint,
+        ConnectionPrincipal.getFingerprint(
+            DatabricksConnectionContext.parse(URL_WITHOUT_CREDENTIALS, properties),
+            Collections.emptyMap()));
+  }
+
+  @Test
+  public void testDifferentCredentialsOrWarehousesDoNotShareFingerprint() throws Exception {
+    String fingerprint = fingerprint(JDBC_URL);
+    assertNotEquals(fingerprint, fingerprint(URL_WITHOUT_CREDENTIALS + ";PWD=other-token"));
+    assertNotEquals(
+        fingerprint,
+        fingerprint(
+            JDBC_URL.replace("/sql/1.0/warehouses/9999999999999999", "/sql/1.0/warehouses/1")));
+  }
+
+  @Test
+  public void testFingerprintIsPerConnectionWithoutCredentials() throws Exception {
+    // Connections that cannot tell their users apart only share a fingerprint with themselves
+    IDatabricksConnectionContext withoutCredentials =
+        DatabricksConnectionContext.parse(URL_WITHOUT_CREDENTIALS, new Properties());
+    assertEquals(
+        ConnectionPrincipal.getFingerprint(withoutCredentials, Collections.emptyMap()),
+        ConnectionPrincipal.getFingerprint(withoutCredentials, Collections.emptyMap()));
+    assertNotEquals(
+        ConnectionPrincipal.getFingerprint(withoutCredentials, Collections.emptyMap()),
+        fingerprint(URL_WITHOUT_CREDENTIALS));
+  }
+
+  @Test
+  public void testFingerprintIsPerConnectionWithOutOfBandToken() throws Exception {
+    // An access token set through client info can be replaced at any time
+    IDatabricksConnectionContext context =
+        DatabricksConnectionContext.parse(JDBC_URL, new Properties());
+    assertNotEquals(
+        fingerprint(JDBC_URL),
+        ConnectionPrincipal.getFingerprint(
+            context, Collections.singletonMap("auth_accesstoken", "****")));
+    assertNotEquals(
+        fingerprint(URL_WITHOUT_CREDENTIALS + ";Auth_AccessToken=token"),
+        fingerprint(URL_WITHOUT_CREDENTIALS + ";Auth_AccessToken=token"));
+  }
+
+  private static String fingerprint(String url) throws Exception {
+    return ConnectionPrincipal.getFingerprint(
+        DatabricksConnectionContext.parse(url, new Properties()), Collections.emptyMap());
+  }
+}
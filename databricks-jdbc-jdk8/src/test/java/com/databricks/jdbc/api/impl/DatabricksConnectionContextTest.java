@@ -13,6 +13,7 @@ import com.databricks.jdbc.common.*;
 import com.databricks.jdbc.exception.DatabricksDriverException;
 import com.databricks.jdbc.exception.DatabricksParsingException;
 import com.databricks.jdbc.exception.DatabricksSQLException;
+import com.databricks.jdbc.exception.DatabricksValidationException;
 import com.databricks.jdbc.exception.DatabricksVendorCode;
 import com.databricks.sdk.core.ProxyConfig;
 import com.google.common.collect.ImmutableMap;
@@ -218,6 +219,50 @@ class DatabricksConnectionContextTest {
     assertEquals(255, connectionContext.getDefaultStringColumnLength());
   }
 
+  @Test
+  public void testParsedContextIsReusedForSameUrlAndProperties() throws DatabricksSQLException {
+    Properties properties = new Properties();
+    properties.put("AsyncExecPollInterval", "300");
+    DatabricksConnectionContext first =
+        (DatabricksConnectionContext)
+            DatabricksConnectionContext.parse(TestConstants.VALID_URL_1, properties);
+    DatabricksConnectionContext second =
+        (DatabricksConnectionContext)
+            DatabricksConnectionContext.parse(TestConstants.VALID_URL_1, properties);
+    assertSame(first.settings, second.settings);
+    assertEquals(first, second);
+    assertNotEquals(first.getConnectionUuid(), second.getConnectionUuid());
+    assertEquals(300, second.getAsyncExecPollInterval());
+
+    // Later changes to the caller's properties are not hidden by the cache
+    properties.put("AsyncExecPollInterval", "400");
+    DatabricksConnectionContext third =
+        (DatabricksConnectionContext)
+            DatabricksConnectionContext.parse(TestConstants.VALID_URL_1, properties);
+    assertNotSame(first.settings, third.settings);
+    assertEquals(400, third.getAsyncExecPollInterval());
+    assertEquals(300, first.getAsyncExecPollInterval());
+  }
+
+  @Test
+  public void testInvalidNumericSettingIsRejectedAtParse() {
+    Properties properties = new Properties();
+    properties.put("ChunkReadyTimeoutSeconds", "soon");
+    DatabricksValidationException exception =
+        assertThrows(
+            DatabricksValidationException.class,
+            () -> DatabricksConnectionContext.parse(TestConstants.VALID_URL_1, properties));
+    assertTrue(exception.getMessage().contains("ChunkReadyTimeoutSeconds"));
+
+    // Contexts built without validation fall back to the default value
+    DatabricksConnectionContext context =
+        (DatabricksConnectionContext)
+            DatabricksConnectionContext.parseWithoutError(TestConstants.VALID_URL_1, properties);
+    assertEquals(
+        Integer.parseInt(DatabricksJdbcUrlParams.CHUNK_READY_TIMEOUT_SECONDS.getDefaultValue()),
+        context.getChunkReadyTimeoutSeconds());
+  }
+
   @Test
   public void testPortStringAndAuthEndpointsThroughConnectionParameters()
       throws DatabricksSQLException {
@@ -382,6 +427,17 @@ class DatabricksConnectionContextTest {
         (DatabricksConnectionContext)
             DatabricksConnectionContext.parse(TestConstants.VALID_URL_5, properties);
     assertEquals(200, connectionContext.getAsyncExecPollInterval());
+    assertEquals(2000, connectionContext.getAsyncExecMaxPollInterval());
+    assertEquals(16, connectionContext.getThriftClientPoolSize());
+    assertEquals("", connectionContext.getBulkLoadStagingPath());
+    assertEquals(100000, connectionContext.getBulkLoadMinRows());
+    assertEquals(8, connectionContext.getBatchExecutionParallelism());
+    assertEquals(128, connectionContext.getSqlTemplateCacheSize());
+    assertEquals(128, connectionContext.getDescribeQueryCacheSize());
+    assertEquals(0, connectionContext.getResultCacheTtl());
+    assertEquals(268435456L, connectionContext.getResultCacheMaxBytes());
+    assertEquals("", connectionContext.getResultCacheSpillDirectory());
+    assertEquals(4, connectionContext.getScrollCacheChunks());
 
     DatabricksConnectionContext connectionContextWithPoll =
         (DatabricksConnectionContext)
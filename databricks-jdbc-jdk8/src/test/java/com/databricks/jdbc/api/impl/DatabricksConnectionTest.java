@@ -245,7 +245,7 @@ public class DatabricksConnectionTest {
   }
 
   @Test
-  public void testStatement() throws DatabricksSQLException {
+  public void testStatement() throws SQLException {
     when(databricksClient.createSession(
             new Warehouse(WAREHOUSE_ID), CATALOG, SCHEMA, new HashMap<>()))
         .thenReturn(IMMUTABLE_SESSION_INFO);
@@ -275,6 +275,22 @@ public class DatabricksConnectionTest {
           connection.prepareStatement(
               "sql", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
         });
+
+    assertEquals(
+        ResultSet.TYPE_SCROLL_INSENSITIVE,
+        connection
+            .createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY)
+            .getResultSetType());
+    assertEquals(
+        ResultSet.TYPE_SCROLL_INSENSITIVE,
+        connection
+            .prepareStatement("sql", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY)
+            .getResultSetType());
+    assertThrows(
+        DatabricksSQLFeatureNotSupportedException.class,
+        () ->
+            connection.createStatement(
+                ResultSet.TYPE_SCROLL_SENSITIVE, ResultSet.CONCUR_READ_ONLY));
   }
 
   @Test
@@ -370,12 +386,20 @@ public class DatabricksConnectionTest {
               ResultSet.CLOSE_CURSORS_AT_COMMIT);
         });
 
+    assertDoesNotThrow(
+        () -> {
+          connection.createStatement(
+              ResultSet.TYPE_SCROLL_INSENSITIVE,
+              ResultSet.CONCUR_READ_ONLY,
+              ResultSet.CLOSE_CURSORS_AT_COMMIT);
+        });
+
     // Test createStatement with non-default values throws exception
     assertThrows(
         DatabricksSQLFeatureNotImplementedException.class,
         () -> {
           connection.createStatement(
-              ResultSet.TYPE_SCROLL_INSENSITIVE,
+              ResultSet.TYPE_SCROLL_SENSITIVE,
               ResultSet.CONCUR_READ_ONLY,
               ResultSet.CLOSE_CURSORS_AT_COMMIT);
         });
@@ -514,4 +538,34 @@ public class DatabricksConnectionTest {
 
     connection.close();
   }
+
+  @Test
+  public void testResetSessionState() throws SQLException {
+    when(databricksClient.createSession(
+            new Warehouse(WAREHOUSE_ID), CATALOG, SCHEMA, new HashMap<>()))
+        .thenReturn(IMMUTABLE_SESSION_INFO);
+    connection = new DatabricksConnection(connectionContext, databricksClient);
+    connection.open();
+    DatabricksConnection spyConnection = spy(connection);
+    DatabricksStatement mockStatement = mock(DatabricksStatement.class);
+    doReturn(mockStatement).when(spyConnection).createStatement();
+
+    spyConnection.markSessionStateBaseline();
+    spyConnection.onStatementExecuted("SELECT 1");
+    spyConnection.resetSessionState();
+    verify(spyConnection, never()).createStatement();
+
+    spyConnection.onStatementExecuted("USE SCHEMA other");
+    spyConnection.getSession().setSchema("other");
+    spyConnection.resetSessionState();
+    verify(mockStatement).execute("RESET");
+    verify(mockStatement).execute("SET CATALOG `" + CATALOG + "`");
+    verify(mockStatement).execute("USE SCHEMA `" + SCHEMA + "`");
+    verify(mockStatement).close();
+    assertEquals(SCHEMA, spyConnection.getSession().getSchema());
+
+    spyConnection.resetSessionState();
+    verify(spyConnection, times(1)).createStatement();
+    connection.close();
+  }
 }
@@ -501,6 +501,8 @@ public class DatabricksDatabaseMetaDataTest {
   public void supportsResultSetType_returnsTrueForForwardOnly() throws Exception {
     boolean supportsResultSetType = metaData.supportsResultSetType(ResultSet.TYPE_FORWARD_ONLY);
     assertTrue(supportsResultSetType);
+    assertTrue(metaData.supportsResultSetType(ResultSet.TYPE_SCROLL_INSENSITIVE));
+    assertFalse(metaData.supportsResultSetType(ResultSet.TYPE_SCROLL_SENSITIVE));
   }
 
   @Test
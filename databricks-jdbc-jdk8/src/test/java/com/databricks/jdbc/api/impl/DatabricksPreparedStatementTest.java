@@ -4,8 +4,11 @@ import static com.databricks.jdbc.TestConstants.*;
 import static java.sql.JDBCType.DECIMAL;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
@@ -264,6 +267,37 @@ public class DatabricksPreparedStatementTest {
     assertNull(statement.getMetaData());
   }
 
+  @Test
+  public void testGetMetaData_NoResultSet_SelectQuery_UsesCachedDescribeQuery() throws Exception {
+    IDatabricksConnectionContext connectionContext =
+        DatabricksConnectionContext.parse(JDBC_URL, new Properties());
+    DatabricksConnection connection = new DatabricksConnection(connectionContext, client);
+    String describeQuery = "DESCRIBE QUERY SELECT * FROM orders WHERE user_id = '?'";
+    DatabricksResultSet describeResult = mock(DatabricksResultSet.class);
+    when(describeResult.next()).thenReturn(true, false);
+    when(describeResult.getString(1)).thenReturn("user_id");
+    when(describeResult.getString(2)).thenReturn("int");
+    when(client.executeStatement(
+            eq(describeQuery),
+            any(),
+            any(),
+            eq(StatementType.QUERY),
+            any(IDatabricksSession.class),
+            any()))
+        .thenReturn(describeResult);
+
+    ResultSetMetaData first =
+        new DatabricksPreparedStatement(connection, "SELECT * FROM orders WHERE user_id = ?")
+            .getMetaData();
+    ResultSetMetaData second =
+        new DatabricksPreparedStatement(connection, "SELECT *  FROM orders WHERE user_id = ?")
+            .getMetaData();
+
+    assertEquals("user_id", first.getColumnName(1));
+    assertSame(first, second);
+    verify(client, times(1)).executeStatement(eq(describeQuery), any(), any(), any(), any(), any());
+  }
+
   @Test
   public void testExecuteBatchStatementThrowsError() throws Exception {
     IDatabricksConnectionContext connectionContext =
@@ -377,6 +411,81 @@ public class DatabricksPreparedStatementTest {
     }
   }
 
+  @Test
+  public void testExecuteBatchWithInsertRewrite() throws Exception {
+    IDatabricksConnectionContext connectionContext =
+        DatabricksConnectionContext.parse(
+            JDBC_URL + "EnableBatchInsertRewrite=1;BatchInsertMaxRows=2;", new Properties());
+    DatabricksConnection connection = new DatabricksConnection(connectionContext, client);
+    DatabricksPreparedStatement statement =
+        new DatabricksPreparedStatement(connection, BATCH_STATEMENT);
+    for (int i = 1; i <= 3; i++) {
+      statement.setLong(1, i);
+      statement.setShort(2, (short) 10);
+      statement.setByte(3, (byte) 15);
+      statement.setString(4, "value");
+      statement.addBatch();
+    }
+    String twoRowInsert =
+        "INSERT INTO orders (user_id, shard, region_code, namespace) VALUES (?, ?, ?, ?), (?, ?, ?, ?)";
+    String oneRowInsert =
+        "INSERT INTO orders (user_id, shard, region_code, namespace) VALUES (?, ?, ?, ?)";
+    DatabricksResultSet secondResultSet = mock(DatabricksResultSet.class);
+    when(client.executeStatement(
+            eq(twoRowInsert),
+            eq(new Warehouse(WAREHOUSE_ID)),
+            argThat(params -> params.size() == 8 && params.get(5).value().equals(2L)),
+            eq(StatementType.UPDATE),
+            any(IDatabricksSession.class),
+            eq(statement)))
+        .thenReturn(resultSet);
+    when(client.executeStatement(
+            eq(oneRowInsert),
+            eq(new Warehouse(WAREHOUSE_ID)),
+            argThat(params -> params.size() == 4 && params.get(1).value().equals(3L)),
+            eq(StatementType.UPDATE),
+            any(IDatabricksSession.class),
+            eq(statement)))
+        .thenReturn(secondResultSet);
+    when(resultSet.getUpdateCount()).thenReturn(2L);
+    when(secondResultSet.getUpdateCount()).thenReturn(1L);
+
+    assertArrayEquals(new int[] {1, 1, 1}, statement.executeBatch());
+  }
+
+  @Test
+  public void testExecuteBatchWithInsertRewritePartialFailure() throws Exception {
+    IDatabricksConnectionContext connectionContext =
+        DatabricksConnectionContext.parse(
+            JDBC_URL + "EnableBatchInsertRewrite=1;BatchInsertMaxRows=2;", new Properties());
+    DatabricksConnection connection = new DatabricksConnection(connectionContext, client);
+    DatabricksPreparedStatement statement =
+        new DatabricksPreparedStatement(connection, BATCH_STATEMENT);
+    for (int i = 1; i <= 4; i++) {
+      statement.setLong(1, i);
+      statement.setShort(2, (short) 10);
+      statement.setByte(3, (byte) 15);
+      statement.setString(4, "value");
+      statement.addBatch();
+    }
+    when(client.executeStatement(
+            any(String.class),
+            eq(new Warehouse(WAREHOUSE_ID)),
+            any(HashMap.class),
+            eq(StatementType.UPDATE),
+            any(IDatabricksSession.class),
+            eq(statement)))
+        .thenReturn(resultSet)
+        .thenThrow(new SQLException());
+    when(resultSet.getUpdateCount()).thenReturn(2L);
+
+    DatabricksBatchUpdateException exception =
+        assertThrows(DatabricksBatchUpdateException.class, statement::executeLargeBatch);
+    assertArrayEquals(
+        new long[] {1, 1, Statement.EXECUTE_FAILED, Statement.EXECUTE_FAILED},
+        exception.getLargeUpdateCounts());
+  }
+
   public static ImmutableSqlParameter getSqlParam(
       int parameterIndex, Object x, String databricksType) {
     return ImmutableSqlParameter.builder()
@@ -4,8 +4,11 @@ import static com.databricks.jdbc.api.impl.DatabricksResultSet.AFFECTED_ROWS_COU
 import static com.databricks.jdbc.common.util.DatabricksTypeUtil.VARIANT;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.databricks.jdbc.api.ExecutionState;
@@ -19,6 +22,7 @@ import com.databricks.jdbc.common.util.DatabricksThreadContextHolder;
 import com.databricks.jdbc.dbclient.impl.common.StatementId;
 import com.databricks.jdbc.exception.DatabricksSQLException;
 import com.databricks.jdbc.exception.DatabricksSQLFeatureNotSupportedException;
+import com.databricks.jdbc.exception.DatabricksValidationException;
 import com.databricks.jdbc.model.client.thrift.generated.*;
 import com.databricks.jdbc.model.core.StatementStatus;
 import com.databricks.jdbc.model.telemetry.enums.DatabricksDriverErrorCode;
@@ -121,6 +125,54 @@ public class DatabricksResultSetTest {
     assertFalse(resultSet.absolute(4));
   }
 
+  @Test
+  void testScrollInsensitive() throws SQLException {
+    when(mockedDatabricksStatement.isScrollable()).thenReturn(true);
+    when(mockedExecutionResult.supportsRandomAccess()).thenReturn(true);
+    when(mockedExecutionResult.getRowCount()).thenReturn(10L);
+    when(mockedExecutionResult.getCurrentRow()).thenReturn(5L);
+    when(mockedExecutionResult.moveToRow(anyLong())).thenReturn(true);
+    DatabricksResultSet resultSet =
+        getResultSet(StatementState.SUCCEEDED, mockedDatabricksStatement);
+    assertEquals(ResultSet.TYPE_SCROLL_INSENSITIVE, resultSet.getType());
+
+    assertTrue(resultSet.absolute(3));
+    verify(mockedExecutionResult).moveToRow(2);
+    assertTrue(resultSet.absolute(-1));
+    verify(mockedExecutionResult).moveToRow(9);
+    assertTrue(resultSet.relative(-2));
+    verify(mockedExecutionResult).moveToRow(3);
+    assertTrue(resultSet.previous());
+    verify(mockedExecutionResult).moveToRow(4);
+    assertTrue(resultSet.first());
+    verify(mockedExecutionResult).moveToRow(0);
+    assertTrue(resultSet.last());
+    verify(mockedExecutionResult, times(2)).moveToRow(9);
+    resultSet.afterLast();
+    verify(mockedExecutionResult).moveToRow(10);
+    resultSet.beforeFirst();
+    resultSet.absolute(0);
+    resultSet.absolute(-20);
+    verify(mockedExecutionResult, times(3)).moveToRow(-1);
+
+    resultSet.setFetchDirection(ResultSet.FETCH_REVERSE);
+    assertEquals(ResultSet.FETCH_REVERSE, resultSet.getFetchDirection());
+  }
+
+  @Test
+  void testGetRowIsZeroWithoutCurrentRow() throws SQLException {
+    when(mockedExecutionResult.supportsRandomAccess()).thenReturn(true);
+    when(mockedExecutionResult.getRowCount()).thenReturn(10L);
+    when(mockedExecutionResult.getCurrentRow()).thenReturn(-1L, 0L, 9L, 10L);
+    DatabricksResultSet resultSet =
+        getResultSet(StatementState.SUCCEEDED, mockedDatabricksStatement);
+
+    assertEquals(0, resultSet.getRow());
+    assertEquals(1, resultSet.getRow());
+    assertEquals(10, resultSet.getRow());
+    assertEquals(0, resultSet.getRow());
+  }
+
   @Test
   void testThriftResultSet() throws SQLException {
     when(session.getConnectionContext()).thenReturn(databricksConnectionContext);
@@ -156,6 +208,19 @@ public class DatabricksResultSetTest {
     assertEquals(mockedStatement, resultSet.getStatement());
   }
 
+  @Test
+  void testFetchSize() throws SQLException {
+    when(mockedDatabricksStatement.getFetchSize()).thenReturn(100);
+    DatabricksResultSet resultSet =
+        getResultSet(StatementState.SUCCEEDED, mockedDatabricksStatement);
+    assertEquals(100, resultSet.getFetchSize());
+
+    resultSet.setFetchSize(10);
+    assertEquals(10, resultSet.getFetchSize());
+    verify(mockedExecutionResult).setFetchSize(10);
+    assertThrows(DatabricksValidationException.class, () -> resultSet.setFetchSize(-1));
+  }
+
   @Test
   void testGetStringAndWasNull() throws SQLException {
     when(mockedExecutionResult.getObject(0)).thenReturn(null);
@@ -13,6 +13,9 @@ import static org.mockito.Mockito.when;
 import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
 import com.databricks.jdbc.common.DatabricksClientType;
 import com.databricks.jdbc.common.DatabricksJdbcUrlParams;
+import com.databricks.jdbc.dbclient.IDatabricksMetadataClient;
+import com.databricks.jdbc.dbclient.impl.common.CoalescingMetadataClient;
+import com.databricks.jdbc.dbclient.impl.sqlexec.DatabricksEmptyMetadataClient;
 import com.databricks.jdbc.dbclient.impl.sqlexec.DatabricksMetadataSdkClient;
 import com.databricks.jdbc.dbclient.impl.sqlexec.DatabricksSdkClient;
 import com.databricks.jdbc.dbclient.impl.thrift.DatabricksThriftServiceClient;
@@ -184,6 +187,17 @@ public class DatabricksSessionTest {
     verify(thriftClient).deleteSession(any());
   }
 
+  @Test
+  public void testEmptyMetadataClientIsResolvedOnFirstUse() throws DatabricksSQLException {
+    IDatabricksConnectionContext context =
+        DatabricksConnectionContext.parse(
+            WAREHOUSE_JDBC_URL_WITH_SEA + "useEmptyMetadata=1;", new Properties());
+    DatabricksSession session = new DatabricksSession(context, sdkClient);
+    IDatabricksMetadataClient metadataClient = session.getDatabricksMetadataClient();
+    assertInstanceOf(DatabricksEmptyMetadataClient.class, metadataClient);
+    assertSame(metadataClient, session.getDatabricksMetadataClient());
+  }
+
   @Test
   public void testSessionConstructorForWarehouse() throws DatabricksSQLException {
     DatabricksSession session =
@@ -259,4 +273,14 @@ public class DatabricksSessionTest {
         DatabricksJdbcUrlParams.AUTH_ACCESS_TOKEN.getParamName(), "token");
     verify(thriftClient).resetAccessToken("token");
   }
+
+  @Test
+  public void testMetadataClientCoalescesRequestsWhenEnabled() throws DatabricksSQLException {
+    connectionContext =
+        DatabricksConnectionContext.parse(
+            WAREHOUSE_JDBC_URL + ";EnableMetadataRequestCoalescing=1", new Properties());
+    DatabricksSession session = new DatabricksSession(connectionContext, thriftClient);
+    assertInstanceOf(CoalescingMetadataClient.class, session.getDatabricksMetadataClient());
+    assertSame(session.getDatabricksMetadataClient(), session.getDatabricksMetadataClient());
+  }
 }
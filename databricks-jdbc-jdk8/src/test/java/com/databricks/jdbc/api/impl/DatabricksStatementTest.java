@@ -6,7 +6,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import com.databricks.jdbc.api.ExecutionState;
 import com.databricks.jdbc.api.IDatabricksResultSet;
+import com.databricks.jdbc.api.IExecutionStatus;
 import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
 import com.databricks.jdbc.api.internal.IDatabricksSession;
 import com.databricks.jdbc.common.IDatabricksComputeResource;
@@ -16,6 +18,7 @@ import com.databricks.jdbc.dbclient.impl.common.StatementId;
 import com.databricks.jdbc.dbclient.impl.sqlexec.DatabricksSdkClient;
 import com.databricks.jdbc.exception.DatabricksSQLException;
 import com.databricks.jdbc.exception.DatabricksSQLFeatureNotSupportedException;
+import com.databricks.jdbc.exception.DatabricksValidationException;
 import com.databricks.jdbc.model.core.StatementStatus;
 import com.databricks.sdk.service.sql.StatementState;
 import java.io.InputStream;
@@ -23,6 +26,7 @@ import java.sql.*;
 import java.util.HashMap;
 import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import org.apache.http.entity.InputStreamEntity;
 import org.junit.jupiter.api.Test;
@@ -140,23 +144,17 @@ public class DatabricksStatementTest {
   }
 
   @Test
-  public void testFetchSizeAndWarnings() throws SQLException {
+  public void testFetchSize() throws SQLException {
     IDatabricksConnectionContext connectionContext =
         DatabricksConnectionContext.parse(JDBC_URL, new Properties());
     DatabricksConnection connection = new DatabricksConnection(connectionContext, client);
     DatabricksStatement statement = new DatabricksStatement(connection);
-    assertNull(statement.getWarnings());
-    statement.setFetchSize(10);
     assertEquals(0, statement.getFetchSize());
-    SQLWarning warnings = statement.getWarnings();
-    assertEquals(
-        warnings.getMessage(), "As FetchSize is not supported in the Databricks JDBC, ignoring it");
-    assertEquals(
-        warnings.getNextWarning().getMessage(),
-        "As FetchSize is not supported in the Databricks JDBC, we don't set it in the first place");
-
-    statement.clearWarnings();
+    statement.setFetchSize(10);
+    assertEquals(10, statement.getFetchSize());
     assertNull(statement.getWarnings());
+    assertThrows(DatabricksValidationException.class, () -> statement.setFetchSize(-1));
+    assertEquals(10, statement.getFetchSize());
   }
 
   @Test
@@ -190,6 +188,8 @@ public class DatabricksStatementTest {
     assertEquals(statement.getStatementId(), STATEMENT_ID);
     doNothing().when(client).closeStatement(STATEMENT_ID);
     statement.close(true);
+    // The statement is closed on the server in the background
+    verify(client, timeout(5000)).closeStatement(STATEMENT_ID);
     assertTrue(statement.isWrapperFor(Statement.class));
   }
 
@@ -353,6 +353,44 @@ public class DatabricksStatementTest {
         ((IDatabricksResultSet) newResultSet).getStatementStatus().getState());
   }
 
+  @Test
+  public void testAsyncDdlInvalidatesDescribeQueryMetadataCache() throws Exception {
+    String ddl = "ALTER TABLE t ADD COLUMN x INT";
+    IDatabricksConnectionContext connectionContext =
+        DatabricksConnectionContext.parse(JDBC_URL, new Properties());
+    DatabricksConnection connection = new DatabricksConnection(connectionContext, client);
+    DescribeQueryMetadataCache cache = connection.getDescribeQueryMetadataCache();
+    DatabricksStatement statement = new DatabricksStatement(connection);
+    when(client.executeStatementAsync(
+            eq(ddl),
+            eq(new Warehouse(WAREHOUSE_ID)),
+            eq(new HashMap<>()),
+            any(IDatabricksSession.class),
+            eq(statement)))
+        .thenAnswer(
+            invocation -> {
+              statement.setStatementId(STATEMENT_ID);
+              return resultSet;
+            });
+    when(client.getStatementResult(eq(STATEMENT_ID), any(IDatabricksSession.class), eq(statement)))
+        .thenReturn(resultSet);
+    when(resultSet.getExecutionStatus())
+        .thenReturn(
+            new ExecutionStatus(new StatementStatus().setState(StatementState.RUNNING)),
+            new ExecutionStatus(new StatementStatus().setState(StatementState.SUCCEEDED)));
+
+    cache.put("main", "default", "SELECT * FROM t", mock(ResultSetMetaData.class));
+    statement.executeAsync(ddl);
+    assertEquals(0, cache.size());
+
+    // Metadata described while the statement was running is dropped once it has finished
+    cache.put("main", "default", "SELECT * FROM t", mock(ResultSetMetaData.class));
+    statement.getExecutionResult();
+    assertEquals(1, cache.size());
+    statement.getExecutionResult();
+    assertEquals(0, cache.size());
+  }
+
   @Test
   public void testGetExecutionResult() throws Exception {
     IDatabricksConnectionContext connectionContext =
@@ -371,6 +409,74 @@ public class DatabricksStatementTest {
         ((IDatabricksResultSet) newResultSet).getStatementStatus().getState());
   }
 
+  @Test
+  public void testExecuteQueryAsync() throws Exception {
+    IDatabricksConnectionContext connectionContext =
+        DatabricksConnectionContext.parse(JDBC_URL, new Properties());
+    DatabricksConnection connection = new DatabricksConnection(connectionContext, client);
+    DatabricksStatement statement = new DatabricksStatement(connection, STATEMENT_ID);
+    DatabricksResultSet finishedResultSet = mock(DatabricksResultSet.class);
+    IExecutionStatus runningStatus = mock(IExecutionStatus.class);
+    IExecutionStatus succeededStatus = mock(IExecutionStatus.class);
+    when(runningStatus.getExecutionState()).thenReturn(ExecutionState.RUNNING);
+    when(succeededStatus.getExecutionState()).thenReturn(ExecutionState.SUCCEEDED);
+    when(client.executeStatementAsync(
+            eq(STATEMENT),
+            eq(new Warehouse(WAREHOUSE_ID)),
+            eq(new HashMap<>()),
+            any(IDatabricksSession.class),
+            eq(statement)))
+        .thenReturn(resultSet);
+    when(resultSet.getExecutionStatus()).thenReturn(runningStatus);
+    when(client.getStatementResult(eq(STATEMENT_ID), any(IDatabricksSession.class), eq(statement)))
+        .thenReturn(resultSet, finishedResultSet);
+    when(finishedResultSet.getExecutionStatus()).thenReturn(succeededStatus);
+
+    CompletableFuture<ResultSet> future = statement.executeQueryAsync(STATEMENT);
+
+    assertEquals(finishedResultSet, future.get(10, TimeUnit.SECONDS));
+    assertEquals(finishedResultSet, statement.getResultSet());
+    verify(client, times(2))
+        .getStatementResult(eq(STATEMENT_ID), any(IDatabricksSession.class), eq(statement));
+  }
+
+  @Test
+  public void testExecuteQueryAsync_failedExecution() throws Exception {
+    IDatabricksConnectionContext connectionContext =
+        DatabricksConnectionContext.parse(JDBC_URL, new Properties());
+    DatabricksConnection connection = new DatabricksConnection(connectionContext, client);
+    DatabricksStatement statement = new DatabricksStatement(connection, STATEMENT_ID);
+    IExecutionStatus failedStatus = mock(IExecutionStatus.class);
+    when(failedStatus.getExecutionState()).thenReturn(ExecutionState.FAILED);
+    when(failedStatus.getErrorMessage()).thenReturn("Table not found");
+    when(failedStatus.getSqlState()).thenReturn("42P01");
+    when(client.executeStatementAsync(
+            eq(STATEMENT),
+            eq(new Warehouse(WAREHOUSE_ID)),
+            eq(new HashMap<>()),
+            any(IDatabricksSession.class),
+            eq(statement)))
+        .thenReturn(resultSet);
+    when(resultSet.getExecutionStatus()).thenReturn(failedStatus);
+
+    CompletableFuture<ResultSet> future = statement.executeQueryAsync(STATEMENT);
+
+    ExecutionException exception =
+        assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+    assertInstanceOf(DatabricksSQLException.class, exception.getCause());
+    assertEquals("42P01", ((SQLException) exception.getCause()).getSQLState());
+  }
+
+  @Test
+  public void testExecuteQueryAsync_closedStatement() throws Exception {
+    IDatabricksConnectionContext connectionContext =
+        DatabricksConnectionContext.parse(JDBC_URL, new Properties());
+    DatabricksConnection connection = new DatabricksConnection(connectionContext, client);
+    DatabricksStatement statement = new DatabricksStatement(connection);
+    statement.close();
+    assertThrows(DatabricksSQLException.class, () -> statement.executeQueryAsync(STATEMENT));
+  }
+
   @Test
   public void testGetExecutionResult_statementIdNull() throws Exception {
     IDatabricksConnectionContext connectionContext =
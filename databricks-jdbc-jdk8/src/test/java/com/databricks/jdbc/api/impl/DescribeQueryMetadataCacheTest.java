@@ -0,0 +1,124 @@
+package com.databricks.jdbc.api.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.sql.ResultSetMetaData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class DescribeQueryMetadataCacheTest {
+
+  private static final String SQL = "SELECT * FROM t WHERE id = ?";
+
+  @AfterEach
+  public void tearDown() {
+    DescribeQueryMetadataCache.resetSharedEntries();
+  }
+
+  @Test
+  public void testLookupIgnoresInsignificantWhitespace() {
+    DescribeQueryMetadataCache cache = new DescribeQueryMetadataCache(10);
+    ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+    cache.put("main", "default", SQL, metaData);
+
+    assertSame(metaData, cache.get("main", "default", "  SELECT *\n  FROM t\tWHERE id = ?  "));
+    assertNull(cache.get("main", "other", SQL));
+    assertNull(cache.get("other", "default", SQL));
+  }
+
+  @Test
+  public void testNormalizeKeepsQuotedWhitespace() {
+    assertEquals(
+        "SELECT 'a  b', `c  d` FROM t",
+        DescribeQueryMetadataCache.normalize(" SELECT  'a  b',\n`c  d`  FROM t "));
+    assertEquals("SELECT 'it\\'s  x'", DescribeQueryMetadataCache.normalize("SELECT 'it\\'s  x'"));
+  }
+
+  @Test
+  public void testLeastRecentlyUsedEntryIsEvicted() {
+    DescribeQueryMetadataCache cache = new DescribeQueryMetadataCache(2);
+    cache.put("c", "s", "SELECT 1", mock(ResultSetMetaData.class));
+    cache.put("c", "s", "SELECT 2", mock(ResultSetMetaData.class));
+    cache.get("c", "s", "SELECT 1");
+    cache.put("c", "s", "SELECT 3", mock(ResultSetMetaData.class));
+
+    assertEquals(2, cache.size());
+    assertNotNull(cache.get("c", "s", "SELECT 1"));
+    assertNull(cache.get("c", "s", "SELECT 2"));
+  }
+
+  @Test
+  public void testUseAndDdlInvalidateCache() {
+    DescribeQueryMetadataCache cache = new DescribeQueryMetadataCache(10);
+    String[] invalidating = {
+      "USE SCHEMA other",
+      "SET CATALOG other",
+      "/* c */ ALTER TABLE t ADD COLUMN x INT",
+      "CREATE OR REPLACE VIEW v AS SELECT 1",
+      "drop table t"
+    };
+    for (String sql : invalidating) {
+      cache.put("c", "s", SQL, mock(ResultSetMetaData.class));
+      cache.onStatementExecuted(sql);
+      assertEquals(0, cache.size(), sql);
+    }
+  }
+
+  @Test
+  public void testQueriesAndDmlKeepCache() {
+    DescribeQueryMetadataCache cache = new DescribeQueryMetadataCache(10);
+    cache.put("c", "s", SQL, mock(ResultSetMetaData.class));
+
+    cache.onStatementExecuted("SELECT * FROM t");
+    cache.onStatementExecuted("INSERT INTO t VALUES (1)");
+    cache.onStatementExecuted("SET spark.sql.ansi.enabled = true");
+
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void testZeroSizeDisablesCache() {
+    DescribeQueryMetadataCache cache = new DescribeQueryMetadataCache(0);
+    cache.put("c", "s", SQL, mock(ResultSetMetaData.class));
+    assertNull(cache.get("c", "s", SQL));
+  }
+
+  @Test
+  public void testSharedCacheIsScopedByIdentity() {
+    DescribeQueryMetadataCache first = new DescribeQueryMetadataCache(10, () -> "principal-1");
+    DescribeQueryMetadataCache second = new DescribeQueryMetadataCache(10, () -> "principal-1");
+    DescribeQueryMetadataCache other = new DescribeQueryMetadataCache(10, () -> "principal-2");
+    ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+    first.put("c", "s", SQL, metaData);
+
+    assertSame(metaData, second.get("c", "s", SQL));
+    assertNull(other.get("c", "s", SQL));
+    assertNull(new DescribeQueryMetadataCache(10).get("c", "s", SQL));
+  }
+
+  @Test
+  public void testUseDetachesConnectionFromSharedCache() {
+    DescribeQueryMetadataCache first = new DescribeQueryMetadataCache(10, () -> "principal");
+    DescribeQueryMetadataCache second = new DescribeQueryMetadataCache(10, () -> "principal");
+    first.put("c", "s", SQL, mock(ResultSetMetaData.class));
+
+    first.onStatementExecuted("USE SCHEMA other");
+    first.put("c", "s", "SELECT 1", mock(ResultSetMetaData.class));
+
+    assertNull(first.get("c", "s", SQL));
+    assertNotNull(second.get("c", "s", SQL));
+    assertNull(second.get("c", "s", "SELECT 1"));
+  }
+
+  @Test
+  public void testDdlClearsSharedCache() {
+    DescribeQueryMetadataCache first = new DescribeQueryMetadataCache(10, () -> "principal");
+    DescribeQueryMetadataCache second = new DescribeQueryMetadataCache(10, () -> "other");
+    second.put("c", "s", SQL, mock(ResultSetMetaData.class));
+
+    first.onStatementExecuted("ALTER TABLE t ADD COLUMN x INT");
+
+    assertNull(second.get("c", "s", SQL));
+  }
+}
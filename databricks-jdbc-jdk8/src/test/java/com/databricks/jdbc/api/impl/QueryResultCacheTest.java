@@ -0,0 +1,385 @@
+package com.databricks.jdbc.api.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.databricks.jdbc.api.internal.IDatabricksSession;
+import com.databricks.jdbc.common.CompressionCodec;
+import com.databricks.jdbc.common.StatementType;
+import com.databricks.jdbc.dbclient.impl.common.StatementId;
+import com.databricks.jdbc.dbclient.impl.sqlexec.DatabricksSdkClient;
+import com.databricks.jdbc.model.client.thrift.generated.TFetchResultsResp;
+import com.databricks.jdbc.model.client.thrift.generated.TGetResultSetMetadataResp;
+import com.databricks.jdbc.model.client.thrift.generated.TRowSet;
+import com.databricks.jdbc.model.client.thrift.generated.TSparkArrowBatch;
+import com.databricks.jdbc.model.client.thrift.generated.TSparkRowSetType;
+import com.databricks.jdbc.model.client.thrift.generated.TStatus;
+import com.databricks.jdbc.model.client.thrift.generated.TStatusCode;
+import com.databricks.jdbc.model.core.ExternalLink;
+import com.databricks.jdbc.model.core.ResultData;
+import com.databricks.jdbc.model.core.ResultManifest;
+import com.databricks.jdbc.model.core.StatementStatus;
+import com.databricks.sdk.service.sql.ColumnInfo;
+import com.databricks.sdk.service.sql.ColumnInfoTypeName;
+import com.databricks.sdk.service.sql.Format;
+import com.databricks.sdk.service.sql.ResultSchema;
+import com.databricks.sdk.service.sql.StatementState;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class QueryResultCacheTest {
+
+  private static final String URL_WITHOUT_CREDENTIALS =
+      "jdbc:databricks://sample-host.cloud.databricks.com:9999/default;transportMode=http;ssl=1;AuthMech=3;httpPath=/sql/1.0/warehouses/9999999999999999;ResultCacheTtl=60";
+  private static final String JDBC_URL = URL_WITHOUT_CREDENTIALS + ";PWD=token";
+  private static final StatementId STATEMENT_ID = new StatementId("statement_id");
+
+  private final AtomicLong now = new AtomicLong(1_000_000L);
+
+  @Test
+  void testTtlHint() {
+    assertEquals(0, QueryResultCache.getTtlSeconds("SELECT 1", 0));
+    assertEquals(30, QueryResultCache.getTtlSeconds("SELECT 1", 30));
+    assertEquals(
+        120, QueryResultCache.getTtlSeconds("/*+ result_cache(ttl = 120) */ SELECT 1", 30));
+    assertEquals(0, QueryResultCache.getTtlSeconds("/*+ RESULT_CACHE(TTL=0) */ SELECT 1", 30));
+    assertEquals(30, QueryResultCache.getTtlSeconds("SELECT /*+ BROADCAST(t) */ * FROM t", 30));
+  }
+
+  @Test
+  void testKeyIdentity() throws Exception {
+    String principal = principal(JDBC_URL);
+    Map<Integer, ImmutableSqlParameter> params = new HashMap<>();
+    params.put(1, parameter(ColumnInfoTypeName.INT, 1));
+    Map<Integer, ImmutableSqlParameter> sameParams = new HashMap<>();
+    sameParams.put(1, parameter(ColumnInfoTypeName.INT, 1));
+    Map<Integer, ImmutableSqlParameter> otherParams = new HashMap<>();
+    otherParams.put(1, parameter(ColumnInfoTypeName.INT, 2));
+
+    QueryResultCache.Key key =
+        new QueryResultCache.Key(
+            principal, "main", "default", "SELECT  *\nFROM t WHERE a = ?", params, 0);
+
+    assertEquals(
+        key,
+        new QueryResultCache.Key(
+            principal, "main", "default", "SELECT * FROM t WHERE a = ?", sameParams, 0));
+    assertNotEquals(
+        key,
+        new QueryResultCache.Key(
+            principal, "main", "default", "SELECT * FROM t WHERE a = ?", otherParams, 0));
+    assertNotEquals(
+        key,
+        new QueryResultCache.Key(
+            principal, "main", "other", "SELECT * FROM t WHERE a = ?", sameParams, 0));
+    assertNotEquals(
+        key,
+        new QueryResultCache.Key(
+            principal, "main", "default", "SELECT * FROM t WHERE a = ?", sameParams, 10));
+    assertNotEquals(
+        key,
+        new QueryResultCache.Key(
+            principal(URL_WITHOUT_CREDENTIALS + ";PWD=other-token"),
+            "main",
+            "default",
+            "SELECT * FROM t WHERE a = ?",
+            sameParams,
+            0));
+  }
+
+  @Test
+  void testHitIsReplayedThroughArrowCursor() throws Exception {
+    QueryResultCache cache = new QueryResultCache(1 << 20, null, now::get);
+    QueryResultCache.Key key = key("SELECT id FROM t");
+    cache.put(key, seaResult(arrowBatch(3), 3), 60_000);
+
+    IDatabricksSession session = mock(IDatabricksSession.class);
+    when(session.getConnectionContext())
+        .thenReturn(DatabricksConnectionContext.parse(JDBC_URL, new Properties()));
+    DatabricksResultSet resultSet = cache.get(key, session, null);
+
+    assertNotNull(resultSet);
+    for (int i = 0; i < 3; i++) {
+      assertTrue(resultSet.next());
+      assertEquals(i, resultSet.getInt(1));
+    }
+    assertFalse(resultSet.next());
+    assertEquals(1, cache.getHitCount());
+
+    // Every hit has a statement id of its own
+    DatabricksResultSet otherResultSet = cache.get(key, session, null);
+    assertNotEquals(STATEMENT_ID.toString(), resultSet.getStatementId());
+    assertNotEquals(resultSet.getStatementId(), otherResultSet.getStatementId());
+    assertEquals(2, cache.getHitCount());
+    assertNull(cache.get(key("SELECT other FROM t"), session, null));
+    assertEquals(1, cache.getMissCount());
+  }
+
+  @Test
+  void testStatementServesRepeatedQueryFromCache() throws Exception {
+    DatabricksSdkClient client = mock(DatabricksSdkClient.class);
+    DatabricksConnection connection =
+        new DatabricksConnection(
+            DatabricksConnectionContext.parse(JDBC_URL, new Properties()), client);
+    String sql = "SELECT id FROM result_cache_statement_test";
+    byte[] attachment = arrowBatch(2);
+    when(client.executeStatement(
+            eq(sql), any(), any(), eq(StatementType.QUERY), any(), any(DatabricksStatement.class)))
+        .thenAnswer(
+            invocation ->
+                new DatabricksResultSet(
+                    new StatementStatus().setState(StatementState.SUCCEEDED),
+                    STATEMENT_ID,
+                    inlineData(attachment).setRowCount(2L),
+                    manifest(2),
+                    StatementType.QUERY,
+                    invocation.getArgument(4),
+                    invocation.getArgument(5)));
+
+    for (int i = 0; i < 3; i++) {
+      try (ResultSet resultSet = new DatabricksStatement(connection).executeQuery(sql)) {
+        assertTrue(resultSet.next());
+        assertTrue(resultSet.next());
+        assertEquals(1, resultSet.getInt(1));
+        assertFalse(resultSet.next());
+      }
+    }
+
+    verify(client, times(1))
+        .executeStatement(eq(sql), any(), any(), eq(StatementType.QUERY), any(), any());
+  }
+
+  @Test
+  void testEntriesExpireAfterTtl() throws Exception {
+    QueryResultCache cache = new QueryResultCache(1 << 20, null, now::get);
+    QueryResultCache.Key key = key("SELECT id FROM t");
+    cache.put(key, seaResult(new byte[100], 1), 1_000);
+
+    now.addAndGet(999);
+    assertNotNull(cache.lookup(key));
+    now.addAndGet(1);
+    assertNull(cache.lookup(key));
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getMemoryBytes());
+  }
+
+  @Test
+  void testLeastRecentlyUsedResultsAreEvictedBeyondByteCap() throws Exception {
+    QueryResultCache.CachedResult first = seaResult(new byte[1000], 1);
+    QueryResultCache cache = new QueryResultCache(first.getByteSize() * 2, null, now::get);
+    cache.put(key("SELECT 1"), first, 60_000);
+    cache.put(key("SELECT 2"), seaResult(new byte[1000], 1), 60_000);
+    assertNotNull(cache.lookup(key("SELECT 1")));
+
+    cache.put(key("SELECT 3"), seaResult(new byte[1000], 1), 60_000);
+
+    assertNotNull(cache.lookup(key("SELECT 1")));
+    assertNull(cache.lookup(key("SELECT 2")));
+    assertNotNull(cache.lookup(key("SELECT 3")));
+    assertEquals(1, cache.getEvictionCount());
+    assertEquals(first.getByteSize() * 2, cache.getMemoryBytes());
+
+    cache.put(key("SELECT 4"), seaResult(new byte[10_000], 1), 60_000);
+    assertNull(cache.lookup(key("SELECT 4")));
+  }
+
+  @Test
+  void testEvictedResultsAreSpilledAndReadBack(@TempDir Path spillDirectory) throws Exception {
+    QueryResultCache.CachedResult seaResult = seaResult(arrowBatch(5), 5);
+    QueryResultCache.CachedResult thriftResult = thriftResult(arrowBatch(4));
+    QueryResultCache cache =
+        new QueryResultCache(
+            Math.max(seaResult.getByteSize(), thriftResult.getByteSize()),
+            spillDirectory,
+            now::get);
+    cache.put(key("SELECT sea"), seaResult, 60_000);
+    cache.put(key("SELECT thrift"), thriftResult, 60_000);
+
+    assertEquals(1, cache.getSpillCount());
+    assertEquals(1, Files.list(spillDirectory).count());
+
+    IDatabricksSession session = mock(IDatabricksSession.class);
+    when(session.getConnectionContext())
+        .thenReturn(DatabricksConnectionContext.parse(JDBC_URL, new Properties()));
+    DatabricksResultSet resultSet = cache.get(key("SELECT sea"), session, null);
+
+    assertNotNull(resultSet);
+    int rows = 0;
+    while (resultSet.next()) {
+      assertEquals(rows++, resultSet.getInt(1));
+    }
+    assertEquals(5, rows);
+    assertEquals(2, cache.getSpillCount());
+
+    QueryResultCache.CachedResult restored = cache.lookup(key("SELECT thrift"));
+    assertNotNull(restored);
+    assertEquals(thriftResult.getByteSize(), restored.getByteSize());
+    assertEquals(2, cache.getHitCount());
+
+    cache.clear();
+    assertEquals(0, cache.size());
+    assertEquals(0, Files.list(spillDirectory).count());
+  }
+
+  @Test
+  void testExpiredSpilledResultsAreDeleted(@TempDir Path spillDirectory) throws Exception {
+    QueryResultCache.CachedResult first = seaResult(new byte[1000], 1);
+    QueryResultCache cache =
+        new QueryResultCache(first.getByteSize() * 2, spillDirectory, now::get);
+    cache.put(key("SELECT 1"), first, 1_000);
+    cache.put(key("SELECT 2"), seaResult(new byte[1000], 1), 60_000);
+    cache.put(key("SELECT 3"), seaResult(new byte[1000], 1), 60_000);
+    assertEquals(1, Files.list(spillDirectory).count());
+
+    now.addAndGet(1_000);
+    cache.put(key("SELECT 4"), seaResult(new byte[1000], 1), 60_000);
+
+    assertEquals(2, cache.getSpillCount());
+    assertEquals(1, Files.list(spillDirectory).count());
+    assertNull(cache.lookup(key("SELECT 1")));
+    assertNotNull(cache.lookup(key("SELECT 2")));
+  }
+
+  @Test
+  void testOnlyCompleteInlineArrowResultsAreCaptured() throws Exception {
+    DatabricksStatement statement = mock(DatabricksStatement.class);
+    when(statement.isCapturingResultForCache()).thenReturn(true);
+    ResultManifest manifest = manifest(3);
+
+    assertNotNull(
+        QueryResultCache.capture(
+            statement, StatementType.QUERY, inlineData(new byte[10]), manifest));
+    assertNull(
+        QueryResultCache.capture(
+            statement,
+            StatementType.QUERY,
+            inlineData(new byte[10]).setNextChunkIndex(1L),
+            manifest));
+    assertNull(
+        QueryResultCache.capture(
+            statement,
+            StatementType.QUERY,
+            new ResultData().setExternalLinks(Collections.singletonList(new ExternalLink())),
+            manifest));
+
+    TFetchResultsResp resultsResp = thriftResponse(new byte[10]);
+    assertNotNull(QueryResultCache.capture(statement, StatementType.QUERY, resultsResp));
+    resultsResp.setHasMoreRows(true);
+    assertNull(QueryResultCache.capture(statement, StatementType.QUERY, resultsResp));
+
+    when(statement.isCapturingResultForCache()).thenReturn(false);
+    assertNull(
+        QueryResultCache.capture(
+            statement, StatementType.QUERY, inlineData(new byte[10]), manifest));
+  }
+
+  private QueryResultCache.Key key(String sql) throws Exception {
+    return new QueryResultCache.Key(
+        principal(JDBC_URL), "main", "default", sql, new HashMap<>(), 0);
+  }
+
+  private static String principal(String url) throws Exception {
+    return ConnectionPrincipal.getFingerprint(
+        DatabricksConnectionContext.parse(url, new Properties()), Collections.emptyMap());
+  }
+
+  private static QueryResultCache.CachedResult seaResult(byte[] attachment, long rowCount) {
+    DatabricksStatement statement = mock(DatabricksStatement.class);
+    when(statement.isCapturingResultForCache()).thenReturn(true);
+    return QueryResultCache.capture(
+        statement,
+        StatementType.QUERY,
+        inlineData(attachment).setRowCount(rowCount),
+        manifest(rowCount));
+  }
+
+  private static ResultData inlineData(byte[] attachment) {
+    ResultData resultData = new ResultData();
+    resultData.setAttachment(attachment);
+    return resultData;
+  }
+
+  private static QueryResultCache.CachedResult thriftResult(byte[] batch) {
+    DatabricksStatement statement = mock(DatabricksStatement.class);
+    when(statement.isCapturingResultForCache()).thenReturn(true);
+    return QueryResultCache.capture(statement, StatementType.QUERY, thriftResponse(batch));
+  }
+
+  private static TFetchResultsResp thriftResponse(byte[] batch) {
+    TStatus status = new TStatus().setStatusCode(TStatusCode.SUCCESS_STATUS);
+    return new TFetchResultsResp()
+        .setStatus(status)
+        .setHasMoreRows(false)
+        .setResultSetMetadata(
+            new TGetResultSetMetadataResp()
+                .setStatus(status)
+                .setResultFormat(TSparkRowSetType.ARROW_BASED_SET))
+        .setResults(
+            new TRowSet()
+                .setRows(Collections.emptyList())
+                .setArrowBatches(
+                    Collections.singletonList(
+                        new TSparkArrowBatch().setBatch(ByteBuffer.wrap(batch)).setRowCount(4))));
+  }
+
+  private static ResultManifest manifest(long rowCount) {
+    return new ResultManifest()
+        .setFormat(Format.ARROW_STREAM)
+        .setTotalRowCount(rowCount)
+        .setResultCompression(CompressionCodec.NONE)
+        .setSchema(
+            new ResultSchema()
+                .setColumnCount(1L)
+                .setColumns(
+                    Collections.singletonList(
+                        new ColumnInfo()
+                            .setName("id")
+                            .setPosition(0L)
+                            .setTypeName(ColumnInfoTypeName.INT)
+                            .setTypeText("INT"))));
+  }
+
+  private static byte[] arrowBatch(int rowCount) throws Exception {
+    try (BufferAllocator allocator = new RootAllocator();
+        IntVector vector = new IntVector("id", allocator)) {
+      vector.allocateNew(rowCount);
+      for (int i = 0; i < rowCount; i++) {
+        vector.set(i, i);
+      }
+      vector.setValueCount(rowCount);
+      try (VectorSchemaRoot root = VectorSchemaRoot.of(vector)) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ArrowStreamWriter writer = new ArrowStreamWriter(root, null, out)) {
+          writer.start();
+          writer.writeBatch();
+          writer.end();
+        }
+        return out.toByteArray();
+      }
+    }
+  }
+
+  private static ImmutableSqlParameter parameter(ColumnInfoTypeName type, Object value) {
+    return ImmutableSqlParameter.builder().type(type).value(value).cardinal(1).build();
+  }
+}
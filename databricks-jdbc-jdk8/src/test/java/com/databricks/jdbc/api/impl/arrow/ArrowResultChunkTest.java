@@ -3,10 +3,19 @@ package com.databricks.jdbc.api.impl.arrow;
 import static com.databricks.jdbc.TestConstants.*;
 import static java.lang.Math.min;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import com.databricks.jdbc.common.CompressionCodec;
+import com.databricks.jdbc.dbclient.IDatabricksHttpClient;
+import com.databricks.jdbc.exception.DatabricksHttpException;
 import com.databricks.jdbc.exception.DatabricksParsingException;
 import com.databricks.jdbc.exception.DatabricksSQLException;
 import com.databricks.jdbc.model.client.thrift.generated.TSparkArrowResultLink;
+import com.databricks.jdbc.model.core.ExternalLink;
+import com.databricks.jdbc.model.telemetry.enums.DatabricksDriverErrorCode;
 import com.databricks.sdk.service.sql.BaseChunkInfo;
 import com.databricks.sdk.service.sql.ColumnInfo;
 import com.databricks.sdk.service.sql.ColumnInfoTypeName;
@@ -14,10 +23,15 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.apache.arrow.memory.RootAllocator;
 import org.apache.arrow.vector.*;
 import org.apache.arrow.vector.dictionary.DictionaryProvider;
@@ -27,6 +41,7 @@ import org.apache.arrow.vector.types.Types;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.FieldType;
 import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.http.client.methods.HttpGet;
 import org.junit.jupiter.api.Test;
 
 public class ArrowResultChunkTest {
@@ -54,6 +69,77 @@ public class ArrowResultChunkTest {
     arrowResultChunk.releaseChunk();
   }
 
+  @Test
+  public void testReleaseAbortsDownloadInFlight() throws Exception {
+    BaseChunkInfo chunkInfo =
+        new BaseChunkInfo().setChunkIndex(0L).setRowOffset(0L).setRowCount(totalRows);
+    ArrowResultChunk arrowResultChunk =
+        ArrowResultChunk.builder()
+            .withStatementId(TEST_STATEMENT_ID)
+            .withChunkInfo(chunkInfo)
+            .build();
+    arrowResultChunk.setChunkLink(
+        new ExternalLink()
+            .setChunkIndex(0L)
+            .setExternalLink("https://example.com/chunk0")
+            .setExpiration(Instant.now().plusSeconds(3600).toString()));
+    CountDownLatch requestSent = new CountDownLatch(1);
+    IDatabricksHttpClient httpClient = mock(IDatabricksHttpClient.class);
+    when(httpClient.execute(any(HttpGet.class), eq(true)))
+        .thenAnswer(
+            invocation -> {
+              HttpGet request = invocation.getArgument(0);
+              requestSent.countDown();
+              long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+              while (!request.isAborted() && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+              }
+              throw new DatabricksHttpException(
+                  "Request aborted", DatabricksDriverErrorCode.CHUNK_DOWNLOAD_ERROR);
+            });
+
+    CompletableFuture<Void> download =
+        CompletableFuture.runAsync(
+            () -> {
+              try {
+                arrowResultChunk.downloadData(httpClient, CompressionCodec.NONE, 0.1);
+              } catch (Exception e) {
+                throw new CompletionException(e);
+              }
+            });
+    assertTrue(requestSent.await(10, TimeUnit.SECONDS));
+
+    assertTrue(arrowResultChunk.releaseChunk());
+    // The aborted download ends quietly instead of reporting a failure
+    download.get(10, TimeUnit.SECONDS);
+    assertEquals(ChunkStatus.CHUNK_RELEASED, arrowResultChunk.getStatus());
+  }
+
+  @Test
+  public void testDataParsedAfterReleaseIsDiscarded() throws Exception {
+    BaseChunkInfo chunkInfo =
+        new BaseChunkInfo().setChunkIndex(0L).setRowOffset(0L).setRowCount(totalRows);
+    ArrowResultChunk arrowResultChunk =
+        ArrowResultChunk.builder()
+            .withStatementId(TEST_STATEMENT_ID)
+            .withChunkInfo(chunkInfo)
+            .build();
+    Schema schema = createTestSchema();
+    File arrowFile =
+        createTestArrowFile(
+            "TestFile",
+            schema,
+            createTestData(schema, (int) totalRows),
+            new RootAllocator(Integer.MAX_VALUE));
+    arrowResultChunk.releaseChunk();
+
+    arrowResultChunk.initializeData(new FileInputStream(arrowFile));
+
+    assertEquals(0, arrowResultChunk.getRecordBatchCountInChunk());
+    assertEquals(0, arrowResultChunk.rootAllocator.getAllocatedMemory());
+    assertTrue(arrowResultChunk.isReleased());
+  }
+
   @Test
   public void testGetArrowDataFromInputStream() throws Exception {
     // Arrange
@@ -267,4 +353,48 @@ public class ArrowResultChunkTest {
         10, iterator.getColumnObjectAtCurrentRow(0, ColumnInfoTypeName.INT, "INT", intColumnInfo));
     assertFalse(iterator.hasNextRow());
   }
+
+  @Test
+  public void testIteratorMoveToRow() throws DatabricksSQLException {
+    BaseChunkInfo chunkInfo =
+        new BaseChunkInfo().setChunkIndex(18L).setByteCount(200L).setRowOffset(0L).setRowCount(4L);
+    ArrowResultChunk arrowResultChunk =
+        ArrowResultChunk.builder()
+            .withStatementId(TEST_STATEMENT_ID)
+            .withChunkInfo(chunkInfo)
+            .withChunkStatus(ChunkStatus.PROCESSING_SUCCEEDED)
+            .build();
+    int size = 2;
+    IntVector dummyVector = new IntVector("dummy_vector", new RootAllocator());
+    dummyVector.allocateNew(size);
+    dummyVector.setValueCount(size);
+    for (int i = 0; i < size; i++) {
+      dummyVector.set(i, i * 10);
+    }
+    IntVector emptyVector = new IntVector("empty_vector", new RootAllocator());
+    emptyVector.allocateNew(0);
+    emptyVector.setValueCount(0);
+    arrowResultChunk.recordBatchList =
+        java.util.Arrays.asList(
+            java.util.Arrays.asList(dummyVector),
+            java.util.Arrays.asList(emptyVector),
+            java.util.Arrays.asList(dummyVector));
+    ColumnInfo intColumnInfo = new ColumnInfo();
+    ArrowResultChunkIterator iterator = arrowResultChunk.getChunkIterator();
+
+    assertTrue(iterator.moveToRow(2));
+    assertEquals(
+        0, iterator.getColumnObjectAtCurrentRow(0, ColumnInfoTypeName.INT, "INT", intColumnInfo));
+    assertTrue(iterator.hasNextRow());
+    iterator.nextRow();
+    assertEquals(
+        10, iterator.getColumnObjectAtCurrentRow(0, ColumnInfoTypeName.INT, "INT", intColumnInfo));
+    assertFalse(iterator.hasNextRow());
+
+    assertTrue(iterator.moveToRow(1));
+    assertEquals(
+        10, iterator.getColumnObjectAtCurrentRow(0, ColumnInfoTypeName.INT, "INT", intColumnInfo));
+    assertTrue(iterator.hasNextRow());
+    assertFalse(iterator.moveToRow(4));
+  }
 }
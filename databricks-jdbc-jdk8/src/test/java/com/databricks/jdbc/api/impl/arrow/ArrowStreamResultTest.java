@@ -5,6 +5,9 @@ import static java.lang.Math.min;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.databricks.jdbc.api.impl.DatabricksConnectionContextFactory;
@@ -30,6 +33,7 @@ import com.databricks.sdk.service.sql.ColumnInfoTypeName;
 import com.databricks.sdk.service.sql.ResultSchema;
 import com.google.common.collect.ImmutableList;
 import java.io.*;
+import java.nio.file.Files;
 import java.time.Instant;
 import java.util.*;
 import org.apache.arrow.memory.RootAllocator;
@@ -133,6 +137,46 @@ public class ArrowStreamResultTest {
     assertFalse(result.next());
   }
 
+  @Test
+  public void testHybridInlineAndRemoteIteration() throws Exception {
+    ResultManifest resultManifest =
+        new ResultManifest()
+            .setTotalChunkCount((long) this.numberOfChunks)
+            .setTotalRowCount(this.numberOfChunks * 110L)
+            .setTotalByteCount(1000L)
+            .setResultCompression(CompressionCodec.NONE)
+            .setChunks(this.chunkInfos)
+            .setSchema(new ResultSchema().setColumns(new ArrayList<>()).setColumnCount(0L));
+
+    IDatabricksConnectionContext connectionContext =
+        DatabricksConnectionContextFactory.create(JDBC_URL, new Properties());
+    DatabricksSession session = new DatabricksSession(connectionContext, mockedSdkClient);
+    setupMockResponse();
+    setupResultChunkMocks();
+    when(mockHttpClient.execute(isA(HttpUriRequest.class), eq(true))).thenReturn(httpResponse);
+
+    // First chunk is inline, the rest are served through external links
+    ResultData resultData =
+        new ResultData().setChunkIndex(0L).setNextChunkIndex(1L).setRowCount(this.rowsInChunk);
+    resultData.setAttachment(Files.readAllBytes(new File("TestFile").toPath()));
+
+    ArrowStreamResult result =
+        new ArrowStreamResult(resultManifest, resultData, STATEMENT_ID, session, mockHttpClient);
+
+    assertEquals(this.numberOfChunks * 110L, result.getRowCount());
+    for (int i = 0; i < this.numberOfChunks * this.rowsInChunk; ++i) {
+      assertTrue(result.hasNext());
+      assertTrue(result.next());
+    }
+    assertFalse(result.hasNext());
+    assertFalse(result.next());
+    // Only the remote chunks are downloaded
+    verify(mockHttpClient, times(this.numberOfChunks - 1))
+        .execute(isA(HttpUriRequest.class), eq(true));
+    verify(mockedSdkClient, never()).getResultChunks(STATEMENT_ID, 0L);
+    assertDoesNotThrow(result::close);
+  }
+
   @Test
   public void testInlineArrow() throws DatabricksSQLException {
     IDatabricksConnectionContext connectionContext =
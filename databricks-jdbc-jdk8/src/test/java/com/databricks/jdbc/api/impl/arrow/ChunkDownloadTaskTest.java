@@ -11,6 +11,7 @@ import com.databricks.jdbc.exception.DatabricksSQLException;
 import com.databricks.jdbc.model.core.ExternalLink;
 import com.databricks.jdbc.model.telemetry.enums.DatabricksDriverErrorCode;
 import com.databricks.sdk.service.sql.BaseChunkInfo;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.net.SocketException;
@@ -19,6 +20,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.http.HttpEntity;
 import org.apache.http.StatusLine;
@@ -37,15 +41,46 @@ public class ChunkDownloadTaskTest {
   @Mock IDatabricksHttpClient httpClient;
   @Mock RemoteChunkProvider remoteChunkProvider;
   @Mock ChunkLinkDownloadService<ArrowResultChunk> chunkLinkDownloadService;
+  @Mock ScheduledExecutorService scheduler;
   private ChunkDownloadTask chunkDownloadTask;
   private CompletableFuture<Void> downloadFuture;
+  private ChunkDownloadRetryScheduler retryScheduler;
+  private final List<Runnable> scheduledRetries = new ArrayList<>();
+  private final List<Long> retryDelays = new ArrayList<>();
 
   @BeforeEach
   void setUp() {
     MockitoAnnotations.openMocks(this);
     downloadFuture = new CompletableFuture<>();
-    chunkDownloadTask =
-        new ChunkDownloadTask(chunk, httpClient, remoteChunkProvider, chunkLinkDownloadService);
+    lenient()
+        .when(scheduler.schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS)))
+        .thenAnswer(
+            invocation -> {
+              scheduledRetries.add(invocation.getArgument(0));
+              retryDelays.add(invocation.getArgument(1));
+              return null;
+            });
+    retryScheduler =
+        new ChunkDownloadRetryScheduler(
+            scheduler, ChunkDownloadRetryScheduler.MAX_RETRIES_PER_STATEMENT);
+    chunkDownloadTask = createTask(chunk);
+  }
+
+  private ChunkDownloadTask createTask(ArrowResultChunk chunk) {
+    return new ChunkDownloadTask(
+        chunk,
+        httpClient,
+        remoteChunkProvider,
+        chunkLinkDownloadService,
+        retryScheduler,
+        MoreExecutors.newDirectExecutorService());
+  }
+
+  /** Runs the scheduled retries, which submit the task to the direct download executor. */
+  private void runScheduledRetries() {
+    while (!scheduledRetries.isEmpty()) {
+      scheduledRetries.remove(0).run();
+    }
   }
 
   @Test
@@ -68,8 +103,13 @@ public class ChunkDownloadTaskTest {
         .downloadData(httpClient, CompressionCodec.NONE, 0.1);
 
     chunkDownloadTask.call();
+    // The failed attempt returns without waiting for the retry
+    assertFalse(downloadFuture.isDone());
+    assertEquals(1, scheduledRetries.size());
+    runScheduledRetries();
 
     verify(chunk, times(3)).downloadData(httpClient, CompressionCodec.NONE, 0.1);
+    assertEquals(2, retryDelays.size());
     assertTrue(downloadFuture.isDone());
     assertDoesNotThrow(() -> downloadFuture.get());
   }
@@ -90,7 +130,8 @@ public class ChunkDownloadTaskTest {
         .when(chunk)
         .downloadData(httpClient, CompressionCodec.NONE, 0.1);
 
-    assertThrows(DatabricksSQLException.class, () -> chunkDownloadTask.call());
+    chunkDownloadTask.call();
+    runScheduledRetries();
     verify(chunk, times(ChunkDownloadTask.MAX_RETRIES))
         .downloadData(httpClient, CompressionCodec.NONE, 0.1);
     assertTrue(downloadFuture.isDone());
@@ -173,12 +214,11 @@ public class ChunkDownloadTaskTest {
     when(remoteChunkProvider.getCompressionCodec()).thenReturn(CompressionCodec.NONE);
 
     // Create task with the spied chunk
-    ChunkDownloadTask task =
-        new ChunkDownloadTask(
-            spiedChunk, httpClient, remoteChunkProvider, chunkLinkDownloadService);
+    ChunkDownloadTask task = createTask(spiedChunk);
 
     // Execute the task
     assertDoesNotThrow(task::call);
+    runScheduledRetries();
 
     // Verify HTTP client was called 3 times (2 failures + 1 success)
     verify(httpClient, times(3)).execute(any(HttpGet.class), eq(true));
@@ -204,6 +244,73 @@ public class ChunkDownloadTaskTest {
     verify(spiedChunk, times(1)).initializeData(any(InputStream.class));
   }
 
+  @Test
+  void testRetryBudgetOfStatementIsShared() throws Exception {
+    when(chunk.isChunkLinkInvalid()).thenReturn(false);
+    when(chunk.getChunkIndex()).thenReturn(7L);
+    when(remoteChunkProvider.getCompressionCodec()).thenReturn(CompressionCodec.NONE);
+    doThrow(
+            new DatabricksParsingException(
+                "Connection reset",
+                new SocketException("Connection reset"),
+                DatabricksDriverErrorCode.INVALID_STATE))
+        .when(chunk)
+        .downloadData(httpClient, CompressionCodec.NONE, 0.1);
+    retryScheduler = new ChunkDownloadRetryScheduler(scheduler, 1);
+
+    createTask(chunk).call();
+    assertEquals(1, scheduledRetries.size());
+    // Another chunk of the statement finds the budget spent and fails right away
+    ArrowResultChunk otherChunk = mock(ArrowResultChunk.class);
+    CompletableFuture<Void> otherFuture = new CompletableFuture<>();
+    when(otherChunk.getChunkReadyFuture()).thenReturn(otherFuture);
+    when(otherChunk.getChunkIndex()).thenReturn(8L);
+    doThrow(new SocketException("Connection reset"))
+        .when(otherChunk)
+        .downloadData(httpClient, CompressionCodec.NONE, 0.1);
+
+    assertThrows(DatabricksSQLException.class, () -> createTask(otherChunk).call());
+    assertEquals(1, scheduledRetries.size());
+    assertTrue(otherFuture.isCompletedExceptionally());
+    verify(otherChunk, atLeastOnce()).setStatus(ChunkStatus.DOWNLOAD_FAILED);
+  }
+
+  @Test
+  void testRetryDelayIsJitteredExponentialBackoff() {
+    for (int retry = 1; retry <= 10; retry++) {
+      long maxDelay = Math.min(10_000, 1500L << (retry - 1));
+      long delay = ChunkDownloadRetryScheduler.calculateRetryDelayMillis(retry);
+      assertTrue(delay >= maxDelay / 2 && delay <= maxDelay, "Unexpected delay " + delay);
+    }
+  }
+
+  @Test
+  void testPendingRetryIsDroppedWhenDownloadsAreShutDown() throws Exception {
+    when(chunk.getChunkReadyFuture()).thenReturn(downloadFuture);
+    when(chunk.isChunkLinkInvalid()).thenReturn(false);
+    when(chunk.getChunkIndex()).thenReturn(7L);
+    when(remoteChunkProvider.getCompressionCodec()).thenReturn(CompressionCodec.NONE);
+    doThrow(new SocketException("Connection reset"))
+        .when(chunk)
+        .downloadData(httpClient, CompressionCodec.NONE, 0.1);
+    ExecutorService downloadExecutor = MoreExecutors.newDirectExecutorService();
+    ChunkDownloadTask task =
+        new ChunkDownloadTask(
+            chunk,
+            httpClient,
+            remoteChunkProvider,
+            chunkLinkDownloadService,
+            retryScheduler,
+            downloadExecutor);
+
+    task.call();
+    downloadExecutor.shutdownNow();
+    runScheduledRetries();
+
+    verify(chunk, times(1)).downloadData(httpClient, CompressionCodec.NONE, 0.1);
+    assertTrue(downloadFuture.isCancelled());
+  }
+
   private BaseChunkInfo createMockBaseChunkInfo(long chunkIndex, long rowCount, long rowOffset) {
     BaseChunkInfo mockChunkInfo = mock(BaseChunkInfo.class);
     when(mockChunkInfo.getChunkIndex()).thenReturn(chunkIndex);
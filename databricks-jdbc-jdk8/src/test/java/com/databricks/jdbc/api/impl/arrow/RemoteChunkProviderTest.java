@@ -2,16 +2,26 @@ package com.databricks.jdbc.api.impl.arrow;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
 import com.databricks.jdbc.api.internal.IDatabricksSession;
 import com.databricks.jdbc.common.DatabricksClientType;
+import com.databricks.jdbc.dbclient.IDatabricksClient;
+import com.databricks.jdbc.dbclient.IDatabricksHttpClient;
 import com.databricks.jdbc.dbclient.impl.common.StatementId;
+import com.databricks.jdbc.exception.DatabricksSQLException;
+import com.databricks.jdbc.model.core.ExternalLink;
 import com.databricks.jdbc.model.core.ResultData;
 import com.databricks.jdbc.model.core.ResultManifest;
+import com.databricks.sdk.service.sql.BaseChunkInfo;
 import com.databricks.sdk.service.sql.ResultSchema;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -38,4 +48,124 @@ public class RemoteChunkProviderTest {
             new RemoteChunkProvider(
                 STATEMENT_ID, resultManifest, resultData, mockSession, null, 4));
   }
+
+  @Test
+  public void testFetchSizeLimitsChunksInMemory() throws Exception {
+    List<BaseChunkInfo> chunks = new ArrayList<>();
+    List<ExternalLink> links = new ArrayList<>();
+    for (long i = 0; i < 4; i++) {
+      chunks.add(new BaseChunkInfo().setChunkIndex(i).setRowCount(10L).setRowOffset(i * 10));
+      links.add(
+          new ExternalLink()
+              .setChunkIndex(i)
+              .setExternalLink("https://example.com/chunk" + i)
+              .setExpiration(Instant.now().plusSeconds(3600).toString()));
+    }
+    ResultManifest resultManifest =
+        new ResultManifest()
+            .setTotalChunkCount(4L)
+            .setTotalRowCount(40L)
+            .setChunks(chunks)
+            .setSchema(new ResultSchema().setColumns(new ArrayList<>()));
+    ResultData resultData = new ResultData().setExternalLinks(links);
+    when(mockSession.getConnectionContext()).thenReturn(mock(IDatabricksConnectionContext.class));
+
+    RemoteChunkProvider provider =
+        new RemoteChunkProvider(
+            STATEMENT_ID,
+            resultManifest,
+            resultData,
+            mockSession,
+            mock(IDatabricksHttpClient.class),
+            4,
+            0,
+            25,
+            false);
+    try {
+      assertEquals(2, provider.totalChunksInMemory);
+      assertEquals(20, provider.rowsInMemory);
+
+      provider.setFetchSize(5);
+      assertEquals(2, provider.totalChunksInMemory);
+
+      provider.setFetchSize(0);
+      assertEquals(4, provider.totalChunksInMemory);
+      assertEquals(40, provider.rowsInMemory);
+    } finally {
+      provider.close();
+    }
+  }
+
+  @Test
+  public void testRandomAccessDownloadsVisitedChunksOnly() throws Exception {
+    List<BaseChunkInfo> chunks = new ArrayList<>();
+    List<ExternalLink> links = new ArrayList<>();
+    for (long i = 0; i < 6; i++) {
+      chunks.add(new BaseChunkInfo().setChunkIndex(i).setRowCount(10L).setRowOffset(i * 10));
+      links.add(
+          new ExternalLink()
+              .setChunkIndex(i)
+              .setExternalLink("https://example.com/chunk" + i)
+              .setExpiration(Instant.now().plusSeconds(3600).toString()));
+    }
+    ResultManifest resultManifest =
+        new ResultManifest()
+            .setTotalChunkCount(6L)
+            .setTotalRowCount(60L)
+            .setChunks(chunks)
+            .setSchema(new ResultSchema().setColumns(new ArrayList<>()));
+    ResultData resultData = new ResultData().setExternalLinks(links);
+    IDatabricksConnectionContext connectionContext = mock(IDatabricksConnectionContext.class);
+    when(connectionContext.getScrollCacheChunks()).thenReturn(2);
+    when(mockSession.getConnectionContext()).thenReturn(connectionContext);
+    IDatabricksClient client = mock(IDatabricksClient.class);
+    when(mockSession.getDatabricksClient()).thenReturn(client);
+
+    List<Long> downloadedChunks = new ArrayList<>();
+    RemoteChunkProvider provider =
+        new RemoteChunkProvider(
+            STATEMENT_ID,
+            resultManifest,
+            resultData,
+            mockSession,
+            mock(IDatabricksHttpClient.class),
+            4,
+            0,
+            0,
+            true) {
+          @Override
+          protected void downloadChunk(ArrowResultChunk chunk) {
+            downloadedChunks.add(chunk.getChunkIndex());
+            chunk.getChunkReadyFuture().complete(null);
+          }
+        };
+    try {
+      assertTrue(provider.supportsRandomAccess());
+      assertTrue(downloadedChunks.isEmpty());
+
+      // Jumping ahead downloads the target chunk and the one after it
+      AbstractArrowResultChunk lastChunks = provider.getChunkContainingRow(45);
+      assertEquals(4, lastChunks.getChunkIndex());
+      assertEquals(Arrays.asList(4L, 5L), downloadedChunks);
+
+      // Jumping back evicts the least recently visited chunks
+      assertEquals(0, provider.getChunkContainingRow(5).getChunkIndex());
+      assertEquals(Arrays.asList(4L, 5L, 0L, 1L), downloadedChunks);
+      assertTrue(lastChunks.isReleased());
+
+      // Resident chunks are not downloaded again
+      assertEquals(1, provider.getChunkContainingRow(19).getChunkIndex());
+      assertEquals(Arrays.asList(4L, 5L, 0L, 1L, 2L), downloadedChunks);
+
+      // Evicted chunks are downloaded again with a fresh link
+      AbstractArrowResultChunk revisited = provider.getChunkContainingRow(40);
+      assertNotSame(lastChunks, revisited);
+      assertEquals(Arrays.asList(4L, 5L, 0L, 1L, 2L, 4L, 5L), downloadedChunks);
+      verify(client, timeout(5000)).getResultChunks(STATEMENT_ID, 4L);
+
+      assertThrows(DatabricksSQLException.class, () -> provider.getChunkContainingRow(60));
+    } finally {
+      provider.close();
+    }
+  }
 }
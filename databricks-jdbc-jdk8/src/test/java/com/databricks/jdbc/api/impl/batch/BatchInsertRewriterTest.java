@@ -0,0 +1,121 @@
+package com.databricks.jdbc.api.impl.batch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.databricks.jdbc.api.impl.ImmutableSqlParameter;
+import com.databricks.sdk.service.sql.ColumnInfoTypeName;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class BatchInsertRewriterTest {
+
+  private static final String INSERT_SQL = "INSERT INTO t (a, b) VALUES (?, ?)";
+
+  @Test
+  void testRewritableInserts() {
+    assertNotNull(BatchInsertRewriter.forSql(INSERT_SQL));
+    assertNotNull(BatchInsertRewriter.forSql("  insert into t values (?, 'x', ?);  "));
+    assertNotNull(BatchInsertRewriter.forSql("INSERT INTO `values` (a) VALUES (cast(? AS INT))"));
+    assertEquals(2, BatchInsertRewriter.forSql(INSERT_SQL).getParametersPerRow());
+  }
+
+  @Test
+  void testNonRewritableStatements() {
+    assertNull(BatchInsertRewriter.forSql(null));
+    assertNull(BatchInsertRewriter.forSql("UPDATE t SET a = ? WHERE b = ?"));
+    assertNull(BatchInsertRewriter.forSql("INSERT INTO t SELECT * FROM s WHERE a = ?"));
+    assertNull(BatchInsertRewriter.forSql("INSERT INTO t VALUES (1, 2)"));
+    assertNull(BatchInsertRewriter.forSql("INSERT INTO t VALUES (?, '?')"));
+    assertNull(BatchInsertRewriter.forSql("INSERT INTO t VALUES (?, ?), (?, ?)"));
+    assertNull(BatchInsertRewriter.forSql("INSERT OVERWRITE t VALUES (?, ?)"));
+  }
+
+  @Test
+  void testBuildSql() {
+    BatchInsertRewriter rewriter = BatchInsertRewriter.forSql(INSERT_SQL + ";");
+    assertEquals("INSERT INTO t (a, b) VALUES (?, ?)", rewriter.buildSql(1));
+    assertEquals("INSERT INTO t (a, b) VALUES (?, ?), (?, ?), (?, ?)", rewriter.buildSql(3));
+  }
+
+  @Test
+  void testMergeParametersRenumbersRows() {
+    BatchInsertRewriter rewriter = BatchInsertRewriter.forSql(INSERT_SQL);
+    Map<Integer, ImmutableSqlParameter> merged =
+        rewriter.mergeParameters(batch(row(0, "w"), row(1, "x"), row(2, "y")), 1, 3);
+
+    assertEquals(4, merged.size());
+    assertEquals(1, merged.get(1).value());
+    assertEquals("x", merged.get(2).value());
+    assertEquals(2, merged.get(3).value());
+    assertEquals("y", merged.get(4).value());
+    assertEquals(4, merged.get(4).cardinal());
+  }
+
+  @Test
+  void testPartitionByRowsAndBytes() {
+    BatchInsertRewriter rewriter = BatchInsertRewriter.forSql(INSERT_SQL);
+    ColumnarBatchBuffer rows = new ColumnarBatchBuffer();
+    for (int i = 0; i < 5; i++) {
+      rows.addRow(row(i, "value"));
+    }
+
+    assertEquals(Arrays.asList(2, 2, 1), rewriter.partition(rows, 2, Long.MAX_VALUE, 0));
+    assertEquals(Arrays.asList(1, 1, 1, 1, 1), rewriter.partition(rows, 100, 1, 0));
+    assertEquals(Arrays.asList(5), rewriter.partition(rows, 100, Long.MAX_VALUE, 0));
+  }
+
+  @Test
+  void testPartitionByBoundParameters() {
+    BatchInsertRewriter rewriter = BatchInsertRewriter.forSql(INSERT_SQL);
+    ColumnarBatchBuffer rows = new ColumnarBatchBuffer();
+    for (int i = 0; i < 5; i++) {
+      rows.addRow(row(i, "value"));
+    }
+
+    // Two parameters per row, so at most two rows fit in five parameters
+    assertEquals(Arrays.asList(2, 2, 1), rewriter.partition(rows, 100, Long.MAX_VALUE, 5));
+    // A row is never split, even if it has more parameters than the limit
+    assertEquals(Arrays.asList(1, 1, 1, 1, 1), rewriter.partition(rows, 100, Long.MAX_VALUE, 1));
+  }
+
+  @Test
+  void testLiteralsAndCommentsAreTokenized() {
+    BatchInsertRewriter rewriter =
+        BatchInsertRewriter.forSql("INSERT INTO t /* (x) */ VALUES (?, 'it\\'s )', ?)");
+    assertNotNull(rewriter);
+    assertEquals(2, rewriter.getParametersPerRow());
+    assertEquals(
+        "INSERT INTO t /* (x) */ VALUES (?, 'it\\'s )', ?), (?, 'it\\'s )', ?)",
+        rewriter.buildSql(2));
+
+    // Question marks in comments are not rewritten
+    assertNull(BatchInsertRewriter.forSql("INSERT INTO t VALUES (?, ?) -- why?"));
+    assertNull(BatchInsertRewriter.forSql("INSERT INTO t VALUES (?, /* ? */ ?)"));
+  }
+
+  @SafeVarargs
+  private static ColumnarBatchBuffer batch(Map<Integer, ImmutableSqlParameter>... rows) {
+    ColumnarBatchBuffer batch = new ColumnarBatchBuffer();
+    for (Map<Integer, ImmutableSqlParameter> row : rows) {
+      batch.addRow(row);
+    }
+    return batch;
+  }
+
+  private static Map<Integer, ImmutableSqlParameter> row(int a, String b) {
+    Map<Integer, ImmutableSqlParameter> row = new HashMap<>();
+    row.put(
+        1,
+        ImmutableSqlParameter.builder().type(ColumnInfoTypeName.INT).value(a).cardinal(1).build());
+    row.put(
+        2,
+        ImmutableSqlParameter.builder()
+            .type(ColumnInfoTypeName.STRING)
+            .value(b)
+            .cardinal(2)
+            .build());
+    return row;
+  }
+}
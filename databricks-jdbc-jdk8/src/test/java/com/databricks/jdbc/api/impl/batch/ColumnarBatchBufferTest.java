@@ -0,0 +1,124 @@
+package com.databricks.jdbc.api.impl.batch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.databricks.jdbc.api.impl.ImmutableSqlParameter;
+import com.databricks.sdk.service.sql.ColumnInfoTypeName;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+public class ColumnarBatchBufferTest {
+
+  @Test
+  void testRoundTripsAllValueKinds() {
+    Object[] values = {
+      true,
+      (byte) 7,
+      (short) -3,
+      42,
+      Long.MAX_VALUE,
+      1.5f,
+      -2.25d,
+      "héllo, wörld",
+      "",
+      new BigDecimal("123.456"),
+      Timestamp.valueOf("2024-01-02 03:04:05.123"),
+      new byte[] {1, 2},
+      null
+    };
+    Map<Integer, ImmutableSqlParameter> row = new HashMap<>();
+    for (int i = 0; i < values.length; i++) {
+      row.put(i + 1, parameter(ColumnInfoTypeName.STRING, values[i], i + 1));
+    }
+    ColumnarBatchBuffer buffer = new ColumnarBatchBuffer();
+    buffer.addRow(row);
+
+    Map<Integer, ImmutableSqlParameter> restored = buffer.getRow(0);
+
+    assertEquals(row.size(), restored.size());
+    for (Map.Entry<Integer, ImmutableSqlParameter> entry : row.entrySet()) {
+      ImmutableSqlParameter actual = restored.get(entry.getKey());
+      assertEquals(entry.getValue().type(), actual.type());
+      assertEquals(entry.getValue().cardinal(), actual.cardinal());
+      Object expected = entry.getValue().value();
+      if (expected instanceof byte[]) {
+        assertArrayEquals((byte[]) expected, (byte[]) actual.value());
+      } else {
+        assertEquals(expected, actual.value());
+        assertEquals(
+            expected == null ? null : expected.getClass(),
+            actual.value() == null ? null : actual.value().getClass());
+      }
+    }
+  }
+
+  @Test
+  void testRowsKeepTypesAndUnboundParameters() {
+    ColumnarBatchBuffer buffer = new ColumnarBatchBuffer();
+    for (int i = 0; i < 100; i++) {
+      Map<Integer, ImmutableSqlParameter> row = new HashMap<>();
+      row.put(1, parameter(ColumnInfoTypeName.LONG, (long) i, 1));
+      if (i % 2 == 0) {
+        row.put(2, parameter(ColumnInfoTypeName.STRING, "value-" + i, 2));
+      } else {
+        row.put(2, parameter(ColumnInfoTypeName.INT, null, 2));
+      }
+      if (i == 99) {
+        row.put(3, parameter(ColumnInfoTypeName.DOUBLE, 0.5d, 3));
+      }
+      buffer.addRow(row);
+    }
+
+    assertEquals(100, buffer.size());
+    assertEquals(new TreeSet<>(Arrays.asList(1, 2, 3)), buffer.getParameterIndexes());
+    assertEquals(10L, buffer.getValue(10, 1));
+    assertEquals("value-10", buffer.getValue(10, 2));
+    assertEquals(ColumnInfoTypeName.STRING, buffer.getType(10, 2));
+    assertEquals(8, buffer.getTextLength(10, 2));
+    assertFalse(buffer.isNull(10, 2));
+    assertNull(buffer.getValue(11, 2));
+    assertTrue(buffer.isNull(11, 2));
+    assertEquals(ColumnInfoTypeName.INT, buffer.getType(11, 2));
+    assertNull(buffer.getType(98, 3));
+    assertNull(buffer.getParameter(98, 3));
+    assertFalse(buffer.getRow(98).containsKey(3));
+    assertEquals(0.5d, buffer.getValue(99, 3));
+    assertEquals(3, buffer.getParameter(99, 3).cardinal());
+    assertThrows(IndexOutOfBoundsException.class, () -> buffer.getValue(100, 1));
+  }
+
+  @Test
+  void testParameterWithDifferentCardinalIsKeptAsIs() {
+    ImmutableSqlParameter parameter = parameter(ColumnInfoTypeName.INT, 5, 9);
+    Map<Integer, ImmutableSqlParameter> row = new HashMap<>();
+    row.put(1, parameter);
+    ColumnarBatchBuffer buffer = new ColumnarBatchBuffer();
+    buffer.addRow(row);
+
+    assertSame(parameter, buffer.getRow(0).get(1));
+  }
+
+  @Test
+  void testClear() {
+    ColumnarBatchBuffer buffer = new ColumnarBatchBuffer();
+    Map<Integer, ImmutableSqlParameter> row = new HashMap<>();
+    row.put(1, parameter(ColumnInfoTypeName.INT, 1, 1));
+    buffer.addRow(row);
+    assertFalse(buffer.isEmpty());
+
+    buffer.clear();
+
+    assertTrue(buffer.isEmpty());
+    assertEquals(0, buffer.size());
+    assertThrows(IndexOutOfBoundsException.class, () -> buffer.getRow(0));
+  }
+
+  private static ImmutableSqlParameter parameter(ColumnInfoTypeName type, Object value, int index) {
+    return ImmutableSqlParameter.builder().type(type).value(value).cardinal(index).build();
+  }
+}
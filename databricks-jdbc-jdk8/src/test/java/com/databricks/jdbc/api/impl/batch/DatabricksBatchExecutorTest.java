@@ -6,8 +6,21 @@ import static org.mockito.Mockito.*;
 import com.databricks.jdbc.api.IDatabricksStatement;
 import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
 import java.sql.BatchUpdateException;
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -177,4 +190,166 @@ public class DatabricksBatchExecutorTest {
     verify(spyDatabricksBatchExecutor, times(1))
         .logCommandExecutionTime(anyInt(), any(Instant.class), eq(true));
   }
+
+  /** Test executing an order-independent batch concurrently on separate statements. */
+  @Test
+  public void testExecuteBatch_OrderIndependentRunsConcurrently() throws SQLException {
+    List<Statement> workerStatements = new CopyOnWriteArrayList<>();
+    Connection connection = mockConnection(workerStatements);
+    when(mockStatement.getConnection()).thenReturn(connection);
+    DatabricksBatchExecutor executor = new DatabricksBatchExecutor(mockStatement, 10, 3);
+    executor.setOrderIndependent(true);
+    for (int i = 0; i < 6; i++) {
+      executor.addCommand("OPTIMIZE table" + i);
+    }
+
+    long[] updateCounts = executor.executeBatch();
+
+    assertArrayEquals(new long[] {1, 1, 1, 1, 1, 1}, updateCounts);
+    assertTrue(workerStatements.size() <= 3);
+    for (Statement statement : workerStatements) {
+      verify(statement).close();
+    }
+    verify(mockStatement, never()).execute(anyString());
+    assertEquals(0, executor.commands.size());
+  }
+
+  /** Test that the workers of all batches share one bounded pool of threads. */
+  @Test
+  public void testExecuteBatch_OrderIndependentBatchesShareWorkerThreads() throws SQLException {
+    Set<Thread> workerThreads = ConcurrentHashMap.newKeySet();
+    Connection connection = mock(Connection.class);
+    when(connection.createStatement())
+        .thenAnswer(
+            invocation -> {
+              Statement statement = mock(Statement.class);
+              when(statement.execute(anyString()))
+                  .thenAnswer(
+                      call -> {
+                        workerThreads.add(Thread.currentThread());
+                        return false;
+                      });
+              when(statement.getLargeUpdateCount()).thenReturn(1L);
+              return statement;
+            });
+    when(mockStatement.getConnection()).thenReturn(connection);
+    DatabricksBatchExecutor executor = new DatabricksBatchExecutor(mockStatement, 10, 4);
+    executor.setOrderIndependent(true);
+
+    for (int batch = 0; batch < DatabricksBatchExecutor.MAX_WORKER_THREADS; batch++) {
+      for (int i = 0; i < 4; i++) {
+        executor.addCommand("OPTIMIZE table" + i);
+      }
+      assertArrayEquals(new long[] {1, 1, 1, 1}, executor.executeBatch());
+    }
+
+    assertTrue(workerThreads.size() <= DatabricksBatchExecutor.MAX_WORKER_THREADS);
+    for (Thread thread : workerThreads) {
+      assertTrue(thread.getName().startsWith("Batch-Worker-Thread-"));
+    }
+  }
+
+  /** Test that an order-independent batch executes every command and reports all failures. */
+  @Test
+  public void testExecuteBatch_OrderIndependentReportsAllFailures() throws SQLException {
+    Connection connection = mockConnection(new CopyOnWriteArrayList<>());
+    when(mockStatement.getConnection()).thenReturn(connection);
+    DatabricksBatchExecutor executor = new DatabricksBatchExecutor(mockStatement, 10, 2);
+    executor.setOrderIndependent(true);
+    executor.addCommand("INSERT INTO table1 VALUES (1)");
+    executor.addCommand("BAD SQL COMMAND");
+    executor.addCommand("SELECT * FROM table1");
+    executor.addCommand("INSERT INTO table1 VALUES (4)");
+
+    BatchUpdateException exception =
+        assertThrows(BatchUpdateException.class, executor::executeBatch);
+
+    assertArrayEquals(
+        new long[] {1, Statement.EXECUTE_FAILED, Statement.EXECUTE_FAILED, 1},
+        exception.getLargeUpdateCounts());
+    assertTrue(exception.getMessage().contains("2 of 4 commands at indexes [1, 2]"));
+    assertEquals("Syntax error", exception.getNextException().getMessage());
+    assertEquals(
+        "Command 2 in the batch attempted to return a ResultSet",
+        exception.getNextException().getNextException().getMessage());
+  }
+
+  /** Test that cancelling an order-independent batch stops its workers. */
+  @Test
+  public void testExecuteBatch_OrderIndependentStopsWhenCancelled() throws Exception {
+    AtomicInteger executedCommands = new AtomicInteger();
+    CountDownLatch workersStarted = new CountDownLatch(2);
+    Connection connection = mock(Connection.class);
+    when(connection.createStatement())
+        .thenAnswer(
+            invocation -> {
+              Statement statement = mock(Statement.class);
+              CountDownLatch cancelled = new CountDownLatch(1);
+              doAnswer(
+                      call -> {
+                        cancelled.countDown();
+                        return null;
+                      })
+                  .when(statement)
+                  .cancel();
+              when(statement.execute(anyString()))
+                  .thenAnswer(
+                      call -> {
+                        executedCommands.incrementAndGet();
+                        workersStarted.countDown();
+                        assertTrue(cancelled.await(10, TimeUnit.SECONDS));
+                        throw new SQLException("Operation cancelled");
+                      });
+              return statement;
+            });
+    when(mockStatement.getConnection()).thenReturn(connection);
+    DatabricksBatchExecutor executor = new DatabricksBatchExecutor(mockStatement, 10, 2);
+    executor.setOrderIndependent(true);
+    for (int i = 0; i < 6; i++) {
+      executor.addCommand("OPTIMIZE table" + i);
+    }
+
+    ExecutorService caller = Executors.newSingleThreadExecutor();
+    try {
+      Future<long[]> result = caller.submit(executor::executeBatch);
+      assertTrue(workersStarted.await(10, TimeUnit.SECONDS));
+      executor.cancel();
+
+      ExecutionException exception =
+          assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+      BatchUpdateException batchException =
+          assertInstanceOf(BatchUpdateException.class, exception.getCause());
+      assertEquals("Batch execution was cancelled", batchException.getMessage());
+      long[] updateCounts = batchException.getLargeUpdateCounts();
+      assertEquals(6, updateCounts.length);
+      for (long updateCount : updateCounts) {
+        assertEquals(Statement.EXECUTE_FAILED, updateCount);
+      }
+      assertEquals(2, executedCommands.get());
+    } finally {
+      caller.shutdownNow();
+    }
+  }
+
+  private static Connection mockConnection(List<Statement> workerStatements) throws SQLException {
+    Connection connection = mock(Connection.class);
+    when(connection.createStatement())
+        .thenAnswer(
+            invocation -> {
+              Statement statement = mock(Statement.class);
+              when(statement.execute(anyString()))
+                  .thenAnswer(
+                      call -> {
+                        String sql = call.getArgument(0);
+                        if (sql.startsWith("BAD")) {
+                          throw new SQLException("Syntax error");
+                        }
+                        return sql.startsWith("SELECT");
+                      });
+              lenient().when(statement.getLargeUpdateCount()).thenReturn(1L);
+              workerStatements.add(statement);
+              return statement;
+            });
+    return connection;
+  }
 }
@@ -0,0 +1,275 @@
+package com.databricks.jdbc.api.impl.batch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+import com.databricks.jdbc.api.IDatabricksVolumeClient;
+import com.databricks.jdbc.api.impl.ImmutableSqlParameter;
+import com.databricks.jdbc.exception.DatabricksSQLException;
+import com.databricks.jdbc.exception.DatabricksVolumeOperationException;
+import com.databricks.jdbc.model.telemetry.enums.DatabricksDriverErrorCode;
+import com.databricks.sdk.service.sql.ColumnInfoTypeName;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class VolumeBulkLoaderTest {
+
+  private static final String INSERT_SQL =
+      "INSERT INTO main.sales.t (id, name, price) VALUES (?, ?, ?)";
+  private static final String STAGING_PATH = "/Volumes/main/sales/staging/tmp/";
+
+  @Test
+  void testEligibleStatements() {
+    assertNotNull(VolumeBulkLoader.forSql(INSERT_SQL, STAGING_PATH));
+    assertNotNull(VolumeBulkLoader.forSql("insert into t (a) values (?);", "/Volumes/c/s/v"));
+  }
+
+  @Test
+  void testIneligibleStatements() {
+    assertNull(VolumeBulkLoader.forSql(null, STAGING_PATH));
+    assertNull(VolumeBulkLoader.forSql(INSERT_SQL, null));
+    assertNull(VolumeBulkLoader.forSql(INSERT_SQL, "/tmp/staging"));
+    assertNull(VolumeBulkLoader.forSql("INSERT INTO t VALUES (?, ?)", STAGING_PATH));
+    assertNull(VolumeBulkLoader.forSql("INSERT INTO t (a, b) VALUES (?, 'x')", STAGING_PATH));
+    assertNull(VolumeBulkLoader.forSql("INSERT INTO t (a) VALUES (cast(? AS INT))", STAGING_PATH));
+    assertNull(VolumeBulkLoader.forSql("UPDATE t SET a = ? WHERE b = ?", STAGING_PATH));
+  }
+
+  @Test
+  void testSupportsOnlyCastableTypes() {
+    VolumeBulkLoader loader = VolumeBulkLoader.forSql(INSERT_SQL, STAGING_PATH);
+    assertNotNull(loader.analyze(batch(row(1L, "a", new BigDecimal("1.5")))));
+
+    Map<Integer, ImmutableSqlParameter> binary = row(1L, "a", null);
+    binary.put(3, parameter(ColumnInfoTypeName.BINARY, new byte[] {1}, 3));
+    assertNull(loader.analyze(batch(binary)));
+  }
+
+  @Test
+  void testColumnTypesAreReconciledAcrossRows() {
+    VolumeBulkLoader loader =
+        VolumeBulkLoader.forSql("INSERT INTO t (a, b, c) VALUES (?, ?, ?)", STAGING_PATH);
+    Map<Integer, ImmutableSqlParameter> first = new HashMap<>();
+    first.put(1, parameter(ColumnInfoTypeName.INT, 7, 1));
+    first.put(2, parameter(ColumnInfoTypeName.FLOAT, 1.5f, 2));
+    first.put(3, parameter(ColumnInfoTypeName.DATE, java.sql.Date.valueOf("2024-01-01"), 3));
+    Map<Integer, ImmutableSqlParameter> second = new HashMap<>();
+    second.put(1, parameter(ColumnInfoTypeName.DECIMAL, new BigDecimal("12345.678"), 1));
+    second.put(2, parameter(ColumnInfoTypeName.LONG, 3L, 2));
+    second.put(3, parameter(ColumnInfoTypeName.TIMESTAMP, new Timestamp(0L), 3));
+
+    String sql =
+        loader.buildCopyIntoSql("/Volumes/c/s/v/f.csv.gz", loader.analyze(batch(first, second)));
+
+    assertTrue(
+        sql.contains(
+            "CAST(_c0 AS DECIMAL(8, 3)) AS a, CAST(_c1 AS DOUBLE) AS b, "
+                + "CAST(_c2 AS TIMESTAMP) AS c"),
+        sql);
+  }
+
+  @Test
+  void testConflictingColumnTypesAreNotBulkLoaded() {
+    VolumeBulkLoader loader = VolumeBulkLoader.forSql("INSERT INTO t (a) VALUES (?)", STAGING_PATH);
+    Map<Integer, ImmutableSqlParameter> first = new HashMap<>();
+    first.put(1, parameter(ColumnInfoTypeName.INT, 7, 1));
+    Map<Integer, ImmutableSqlParameter> second = new HashMap<>();
+    second.put(1, parameter(ColumnInfoTypeName.STRING, "seven", 1));
+
+    assertNull(loader.analyze(batch(first, second)));
+    assertEquals("BIGINT", VolumeBulkLoader.widen("SMALLINT", "BIGINT"));
+    assertEquals("DOUBLE", VolumeBulkLoader.widen("FLOAT", "DECIMAL"));
+    assertEquals("FLOAT", VolumeBulkLoader.widen("FLOAT", "FLOAT"));
+    assertNull(VolumeBulkLoader.widen("BOOLEAN", "INT"));
+  }
+
+  @Test
+  void testWriteCsvQuotesValuesAndMarksNulls() throws Exception {
+    VolumeBulkLoader loader = VolumeBulkLoader.forSql(INSERT_SQL, STAGING_PATH);
+    String content =
+        writeCsv(
+            loader, batch(row(1L, "say \"hi\", bye", new BigDecimal("1E+2")), row(2L, null, null)));
+
+    assertEquals("\"1\",\"say \"\"hi\"\", bye\",\"100\"\n\"2\",\\N,\\N\n", content);
+  }
+
+  @Test
+  void testWriteCsvFormatsTimestampsInUtc() throws Exception {
+    VolumeBulkLoader loader =
+        VolumeBulkLoader.forSql("INSERT INTO t (ts) VALUES (?)", STAGING_PATH);
+    Map<Integer, ImmutableSqlParameter> row = new HashMap<>();
+    row.put(1, parameter(ColumnInfoTypeName.TIMESTAMP, new Timestamp(1500L), 1));
+
+    assertEquals("\"1970-01-01T00:00:01.500Z\"\n", writeCsv(loader, batch(row)));
+  }
+
+  @Test
+  void testBoundNullMarkerIsNotLoadedAsNull() throws Exception {
+    VolumeBulkLoader loader = VolumeBulkLoader.forSql(INSERT_SQL, STAGING_PATH);
+    assertEquals("\\N", loader.analyze(batch(row(1L, "a", null))).getNullMarker());
+
+    ColumnarBatchBuffer batch = batch(row(1L, "\\N", null));
+    VolumeBulkLoader.BatchLayout layout = loader.analyze(batch);
+    String nullMarker = layout.getNullMarker();
+
+    assertNotEquals("\\N", nullMarker);
+    assertEquals("\"1\",\"\\N\"," + nullMarker + "\n", writeCsv(loader, batch, layout));
+    assertTrue(
+        loader
+            .buildCopyIntoSql("/Volumes/main/sales/staging/tmp/f.csv.gz", layout)
+            .contains("'nullValue' = '" + nullMarker.replace("\\", "\\\\") + "'"));
+  }
+
+  @Test
+  void testBuildCopyIntoSqlCastsColumns() {
+    VolumeBulkLoader loader = VolumeBulkLoader.forSql(INSERT_SQL, STAGING_PATH);
+    String sql =
+        loader.buildCopyIntoSql(
+            "/Volumes/main/sales/staging/tmp/f.csv.gz",
+            loader.analyze(
+                batch(
+                    row(1L, "a", new BigDecimal("12.5")),
+                    row(2L, "b", new BigDecimal("1234.25")))));
+
+    assertTrue(
+        sql.startsWith(
+            "COPY INTO main.sales.t FROM (SELECT CAST(_c0 AS BIGINT) AS id, _c1 AS name, "
+                + "CAST(_c2 AS DECIMAL(6, 2)) AS price "
+                + "FROM '/Volumes/main/sales/staging/tmp/f.csv.gz') FILEFORMAT = CSV"),
+        sql);
+  }
+
+  @Test
+  void testLoadUploadsExecutesAndRemovesFile() throws Exception {
+    VolumeBulkLoader loader = VolumeBulkLoader.forSql(INSERT_SQL, STAGING_PATH);
+    IDatabricksVolumeClient volumeClient = mock(IDatabricksVolumeClient.class);
+    when(volumeClient.putObject(
+            eq("main"),
+            eq("sales"),
+            eq("staging"),
+            startsWith("tmp/jdbc-bulk-load-"),
+            any(InputStream.class),
+            anyLong(),
+            eq(true)))
+        .thenReturn(true);
+    ArgumentCaptor<String> copyIntoSql = ArgumentCaptor.forClass(String.class);
+    VolumeBulkLoader.CopyIntoExecutor executor = mock(VolumeBulkLoader.CopyIntoExecutor.class);
+    when(executor.execute(copyIntoSql.capture())).thenReturn(2L);
+
+    long loaded =
+        load(
+            loader,
+            batch(row(1L, "a", BigDecimal.ONE), row(2L, "b", BigDecimal.TEN)),
+            volumeClient,
+            executor);
+
+    assertEquals(2, loaded);
+    assertTrue(
+        copyIntoSql.getValue().contains("FROM '/Volumes/main/sales/staging/tmp/jdbc-bulk-load-"));
+    verify(volumeClient)
+        .deleteObject(eq("main"), eq("sales"), eq("staging"), startsWith("tmp/jdbc-bulk-load-"));
+  }
+
+  @Test
+  void testLoadRemovesFileWhenCopyFails() throws Exception {
+    VolumeBulkLoader loader = VolumeBulkLoader.forSql(INSERT_SQL, STAGING_PATH);
+    IDatabricksVolumeClient volumeClient = mock(IDatabricksVolumeClient.class);
+    when(volumeClient.putObject(
+            any(), any(), any(), any(), any(InputStream.class), anyLong(), anyBoolean()))
+        .thenReturn(true);
+
+    assertThrows(
+        DatabricksSQLException.class,
+        () ->
+            load(
+                loader,
+                batch(row(1L, "a", BigDecimal.ONE)),
+                volumeClient,
+                sql -> {
+                  throw new DatabricksSQLException(
+                      "copy failed", DatabricksDriverErrorCode.EXECUTE_STATEMENT_FAILED);
+                }));
+    verify(volumeClient).deleteObject(eq("main"), eq("sales"), eq("staging"), any());
+  }
+
+  @Test
+  void testLoadFailsWhenUploadFails() throws Exception {
+    VolumeBulkLoader loader = VolumeBulkLoader.forSql(INSERT_SQL, STAGING_PATH);
+    IDatabricksVolumeClient volumeClient = mock(IDatabricksVolumeClient.class);
+    VolumeBulkLoader.CopyIntoExecutor executor = mock(VolumeBulkLoader.CopyIntoExecutor.class);
+
+    assertThrows(
+        DatabricksVolumeOperationException.class,
+        () -> load(loader, batch(row(1L, "a", BigDecimal.ONE)), volumeClient, executor));
+    verifyNoInteractions(executor);
+    verify(volumeClient, never()).deleteObject(any(), any(), any(), any());
+  }
+
+  private static long load(
+      VolumeBulkLoader loader,
+      ColumnarBatchBuffer batch,
+      IDatabricksVolumeClient volumeClient,
+      VolumeBulkLoader.CopyIntoExecutor executor)
+      throws Exception {
+    return loader.load(batch, loader.analyze(batch), volumeClient, executor);
+  }
+
+  private static String writeCsv(VolumeBulkLoader loader, ColumnarBatchBuffer batch)
+      throws Exception {
+    return writeCsv(loader, batch, loader.analyze(batch));
+  }
+
+  private static String writeCsv(
+      VolumeBulkLoader loader, ColumnarBatchBuffer batch, VolumeBulkLoader.BatchLayout layout)
+      throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    loader.writeCsv(batch, layout, out);
+    return gunzip(out.toByteArray());
+  }
+
+  private static String gunzip(byte[] content) throws Exception {
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buffer = new byte[1024];
+      int read;
+      while ((read = in.read(buffer)) > 0) {
+        out.write(buffer, 0, read);
+      }
+      return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+  }
+
+  private static Map<Integer, ImmutableSqlParameter> row(Long id, String name, BigDecimal price) {
+    Map<Integer, ImmutableSqlParameter> row = new HashMap<>();
+    row.put(1, parameter(ColumnInfoTypeName.LONG, id, 1));
+    row.put(2, parameter(ColumnInfoTypeName.STRING, name, 2));
+    row.put(3, parameter(ColumnInfoTypeName.DECIMAL, price, 3));
+    return row;
+  }
+
+  @SafeVarargs
+  private static ColumnarBatchBuffer batch(Map<Integer, ImmutableSqlParameter>... rows) {
+    ColumnarBatchBuffer batch = new ColumnarBatchBuffer();
+    for (Map<Integer, ImmutableSqlParameter> row : rows) {
+      batch.addRow(row);
+    }
+    return batch;
+  }
+
+  private static ImmutableSqlParameter parameter(ColumnInfoTypeName type, Object value, int index) {
+    return ImmutableSqlParameter.builder().type(type).value(value).cardinal(index).build();
+  }
+}
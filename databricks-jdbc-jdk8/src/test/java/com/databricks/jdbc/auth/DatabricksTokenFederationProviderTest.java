@@ -10,6 +10,7 @@ import com.databricks.jdbc.exception.DatabricksHttpException;
 import com.databricks.jdbc.model.telemetry.enums.DatabricksDriverErrorCode;
 import com.databricks.sdk.core.CredentialsProvider;
 import com.databricks.sdk.core.DatabricksConfig;
+import com.databricks.sdk.core.HeaderFactory;
 import com.databricks.sdk.core.oauth.Token;
 import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSHeader;
@@ -42,6 +43,7 @@ public class DatabricksTokenFederationProviderTest {
 
   @BeforeEach
   public void setUp() {
+    SharedTokenManager.clearInstances();
     databricksTokenFederationProvider =
         spy(
             new DatabricksTokenFederationProvider(
@@ -64,8 +66,23 @@ public class DatabricksTokenFederationProviderTest {
   }
 
   @Test
-  public void testRefreshTokenOnTokenExpiry() throws Exception {
+  public void testTokenIsReusedUntilRefreshIsDue() throws Exception {
+    when(mockContext.getTokenRefreshLifetimeFraction()).thenReturn(0.8);
     doReturn(testToken()).when(databricksTokenFederationProvider).getToken();
+    HeaderFactory headerFactory = databricksTokenFederationProvider.configure(mockConfig);
+    for (int i = 0; i < 10; i++) {
+      assertEquals("tokenType accessToken", headerFactory.headers().get("Authorization"));
+    }
+    // The token is valid for 10 minutes, so it is fetched once
+    verify(databricksTokenFederationProvider, times(1)).getToken();
+  }
+
+  @Test
+  public void testRefreshTokenOnTokenExpiry() throws Exception {
+    when(mockContext.getTokenRefreshLifetimeFraction()).thenReturn(0.8);
+    doReturn(new Token("accessToken", "tokenType", "refreshToken", Instant.now()))
+        .when(databricksTokenFederationProvider)
+        .getToken();
     int getTokenCount = 10;
     for (int i = 0; i < getTokenCount; i++) {
       Map<String, String> headers =
@@ -4,10 +4,16 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import com.databricks.sdk.core.DatabricksException;
 import com.databricks.sdk.core.oauth.Token;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -31,7 +37,8 @@ public class EncryptedFileTokenCacheTest {
   void testSaveAndLoadToken() throws DatabricksException {
     // Create a token cache
     EncryptedFileTokenCache tokenCache =
-        new EncryptedFileTokenCache(tokenCachePath, TEST_PASSPHRASE);
+        new EncryptedFileTokenCache(
+            tokenCachePath, TEST_PASSPHRASE, MoreExecutors.directExecutor());
 
     // Create a token to save
     Token token =
@@ -58,7 +65,8 @@ public class EncryptedFileTokenCacheTest {
   void testLoadNonExistentFile() {
     // Create token cache pointing to a non-existent file
     EncryptedFileTokenCache tokenCache =
-        new EncryptedFileTokenCache(tokenCachePath, TEST_PASSPHRASE);
+        new EncryptedFileTokenCache(
+            tokenCachePath, TEST_PASSPHRASE, MoreExecutors.directExecutor());
 
     // Attempt to load token from non-existent file
     Token token = tokenCache.load();
@@ -71,7 +79,8 @@ public class EncryptedFileTokenCacheTest {
   void testDifferentPassphrase() throws DatabricksException {
     // Create a token cache with one passphrase
     EncryptedFileTokenCache tokenCache1 =
-        new EncryptedFileTokenCache(tokenCachePath, TEST_PASSPHRASE);
+        new EncryptedFileTokenCache(
+            tokenCachePath, TEST_PASSPHRASE, MoreExecutors.directExecutor());
 
     // Create and save a token
     Token token =
@@ -80,7 +89,8 @@ public class EncryptedFileTokenCacheTest {
 
     // Create a second token cache with a different passphrase
     EncryptedFileTokenCache tokenCache2 =
-        new EncryptedFileTokenCache(tokenCachePath, "different-passphrase");
+        new EncryptedFileTokenCache(
+            tokenCachePath, "different-passphrase", MoreExecutors.directExecutor());
 
     // Attempt to load the token
     Token loadedToken = tokenCache2.load();
@@ -108,7 +118,8 @@ public class EncryptedFileTokenCacheTest {
   void testFilePermissions() throws DatabricksException {
     // Create a token cache
     EncryptedFileTokenCache tokenCache =
-        new EncryptedFileTokenCache(tokenCachePath, TEST_PASSPHRASE);
+        new EncryptedFileTokenCache(
+            tokenCachePath, TEST_PASSPHRASE, MoreExecutors.directExecutor());
 
     // Create a token to save
     Token token =
@@ -124,4 +135,82 @@ public class EncryptedFileTokenCacheTest {
     assertTrue(tokenCachePath.toFile().canRead(), "File should be readable by owner");
     assertTrue(tokenCachePath.toFile().canWrite(), "File should be writable by owner");
   }
+
+  @Test
+  void testSecretKeyIsDerivedOncePerPassphrase() throws Exception {
+    EncryptedFileTokenCache tokenCache =
+        new EncryptedFileTokenCache(tokenCachePath, TEST_PASSPHRASE);
+    EncryptedFileTokenCache otherFileCache =
+        new EncryptedFileTokenCache(tempDir.resolve("other-cache"), TEST_PASSPHRASE);
+    EncryptedFileTokenCache otherPassphraseCache =
+        new EncryptedFileTokenCache(tokenCachePath, "different-passphrase");
+
+    assertSame(tokenCache.getSecretKey(), otherFileCache.getSecretKey());
+    assertNotSame(tokenCache.getSecretKey(), otherPassphraseCache.getSecretKey());
+  }
+
+  @Test
+  void testTokenIsServedFromMemoryUntilFileChanges() throws Exception {
+    Token token =
+        new Token(ACCESS_TOKEN, TOKEN_TYPE, REFRESH_TOKEN, Instant.now().plus(1, ChronoUnit.HOURS));
+    new EncryptedFileTokenCache(tokenCachePath, TEST_PASSPHRASE, MoreExecutors.directExecutor())
+        .save(token);
+    FileTime savedTime = Files.getLastModifiedTime(tokenCachePath);
+
+    // Corrupt the file without changing its size or modification time
+    byte[] corrupted = new byte[(int) Files.size(tokenCachePath)];
+    Arrays.fill(corrupted, (byte) 'x');
+    Files.write(tokenCachePath, corrupted);
+    Files.setLastModifiedTime(tokenCachePath, savedTime);
+
+    EncryptedFileTokenCache tokenCache =
+        new EncryptedFileTokenCache(tokenCachePath, TEST_PASSPHRASE);
+    Token loadedToken = tokenCache.load();
+    assertNotNull(loadedToken, "Token should be served from memory");
+    assertEquals(ACCESS_TOKEN, loadedToken.getAccessToken());
+
+    // Once the file changes, it is read again
+    Files.setLastModifiedTime(tokenCachePath, FileTime.fromMillis(savedTime.toMillis() + 60_000));
+    assertNull(tokenCache.load(), "Changed file should be read again");
+  }
+
+  @Test
+  void testSaveWritesFileInBackground() throws Exception {
+    List<Runnable> writes = new ArrayList<>();
+    EncryptedFileTokenCache tokenCache =
+        new EncryptedFileTokenCache(tokenCachePath, TEST_PASSPHRASE, writes::add);
+    Token token =
+        new Token(ACCESS_TOKEN, TOKEN_TYPE, REFRESH_TOKEN, Instant.now().plus(1, ChronoUnit.HOURS));
+
+    tokenCache.save(token);
+    assertFalse(Files.exists(tokenCachePath), "File should not be written by the caller");
+    assertEquals(ACCESS_TOKEN, tokenCache.load().getAccessToken());
+
+    assertEquals(1, writes.size());
+    writes.get(0).run();
+    assertTrue(Files.exists(tokenCachePath), "Token cache file should exist");
+    try (Stream<Path> files = Files.list(tempDir)) {
+      assertEquals(1, files.count(), "Temporary file should be renamed to the cache file");
+    }
+    EncryptedFileTokenCache otherCache =
+        new EncryptedFileTokenCache(tokenCachePath, "different-passphrase");
+    assertNull(otherCache.load(), "Token should not be shared across passphrases");
+  }
+
+  @Test
+  void testFailedWriteIsNotServedFromMemory() throws Exception {
+    // The cache directory cannot be created, since a file has its name
+    Path blockingFile = Files.createFile(tempDir.resolve("not-a-directory"));
+    Path unwritablePath = blockingFile.resolve("token-cache");
+    EncryptedFileTokenCache tokenCache =
+        new EncryptedFileTokenCache(
+            unwritablePath, TEST_PASSPHRASE, MoreExecutors.directExecutor());
+    Token token =
+        new Token(ACCESS_TOKEN, TOKEN_TYPE, REFRESH_TOKEN, Instant.now().plus(1, ChronoUnit.HOURS));
+
+    // The write runs after save returns, so its failure is logged instead of thrown
+    assertDoesNotThrow(() -> tokenCache.save(token));
+    assertFalse(Files.exists(unwritablePath));
+    assertNull(tokenCache.load(), "Token that failed to be written should not be cached");
+  }
 }
@@ -0,0 +1,190 @@
+package com.databricks.jdbc.auth;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.databricks.jdbc.api.impl.DatabricksConnectionContext;
+import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
+import com.databricks.jdbc.exception.DatabricksDriverException;
+import com.databricks.jdbc.model.telemetry.enums.DatabricksDriverErrorCode;
+import com.databricks.sdk.core.oauth.Token;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class SharedTokenManagerTest {
+
+  private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+  private static final String URL =
+      "jdbc:databricks://sample-host.cloud.databricks.com:443/default;transportMode=http;ssl=1;AuthMech=11;Auth_Flow=1;httpPath=/sql/1.0/warehouses/9999999999999999;OAuth2ClientId=client-id;";
+
+  @Mock private Clock clock;
+  @Mock private IDatabricksConnectionContext connectionContext;
+  private final AtomicInteger fetchCount = new AtomicInteger();
+  private SharedTokenManager tokenManager;
+
+  @BeforeEach
+  public void setUp() {
+    lenient().when(clock.instant()).thenReturn(START);
+    tokenManager = new SharedTokenManager(0.5, MoreExecutors.newDirectExecutorService(), clock);
+  }
+
+  private Supplier<SharedTokenManager.CachedHeaders> refresher(Duration lifetime) {
+    return () -> {
+      int fetch = fetchCount.incrementAndGet();
+      Token token = new Token("token-" + fetch, "Bearer", clock.instant().plus(lifetime));
+      return tokenManager.newCachedHeaders(
+          token, Collections.singletonMap("Authorization", "Bearer token-" + fetch));
+    };
+  }
+
+  @Test
+  public void testTokenIsRefreshedInBackgroundOnceRefreshIsDue() {
+    Supplier<SharedTokenManager.CachedHeaders> refresher = refresher(Duration.ofHours(1));
+    assertEquals(
+        "Bearer token-1",
+        tokenManager.getHeaders(connectionContext, refresher).get("Authorization"));
+    assertEquals(
+        "Bearer token-1",
+        tokenManager.getHeaders(connectionContext, refresher).get("Authorization"));
+    assertEquals(1, fetchCount.get());
+
+    // Half of the lifetime has passed: the current token is returned and a new one is fetched
+    when(clock.instant()).thenReturn(START.plus(Duration.ofMinutes(31)));
+    assertEquals(
+        "Bearer token-1",
+        tokenManager.getHeaders(connectionContext, refresher).get("Authorization"));
+    assertEquals(2, fetchCount.get());
+    assertEquals(
+        "Bearer token-2",
+        tokenManager.getHeaders(connectionContext, refresher).get("Authorization"));
+    assertEquals(2, fetchCount.get());
+  }
+
+  @Test
+  public void testFailedBackgroundRefreshKeepsCurrentToken() {
+    tokenManager.getHeaders(connectionContext, refresher(Duration.ofHours(1)));
+    Supplier<SharedTokenManager.CachedHeaders> failingRefresher =
+        () -> {
+          fetchCount.incrementAndGet();
+          throw new DatabricksDriverException("unavailable", DatabricksDriverErrorCode.AUTH_ERROR);
+        };
+
+    when(clock.instant()).thenReturn(START.plus(Duration.ofMinutes(31)));
+    assertEquals(
+        "Bearer token-1",
+        tokenManager.getHeaders(connectionContext, failingRefresher).get("Authorization"));
+    assertEquals(
+        "Bearer token-1",
+        tokenManager.getHeaders(connectionContext, failingRefresher).get("Authorization"));
+    // The second call is within the retry interval and does not try again
+    assertEquals(2, fetchCount.get());
+  }
+
+  @Test
+  public void testExpiredTokenIsRefreshedOnCallingThread() {
+    tokenManager.getHeaders(connectionContext, refresher(Duration.ofMinutes(1)));
+    // Tokens are not used within the expiry buffer
+    when(clock.instant()).thenReturn(START.plus(Duration.ofSeconds(30)));
+    Supplier<SharedTokenManager.CachedHeaders> failingRefresher =
+        () -> {
+          throw new DatabricksDriverException("unavailable", DatabricksDriverErrorCode.AUTH_ERROR);
+        };
+    DatabricksDriverException exception =
+        assertThrows(
+            DatabricksDriverException.class,
+            () -> tokenManager.getHeaders(connectionContext, failingRefresher));
+    assertEquals("unavailable", exception.getMessage());
+
+    assertEquals(
+        "Bearer token-2",
+        tokenManager
+            .getHeaders(connectionContext, refresher(Duration.ofMinutes(1)))
+            .get("Authorization"));
+  }
+
+  @Test
+  public void testConcurrentRefreshesAreCollapsed() throws Exception {
+    CountDownLatch refreshStarted = new CountDownLatch(1);
+    CountDownLatch releaseRefresh = new CountDownLatch(1);
+    Supplier<SharedTokenManager.CachedHeaders> slowRefresher =
+        () -> {
+          refreshStarted.countDown();
+          try {
+            releaseRefresh.await(10, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return refresher(Duration.ofHours(1)).get();
+        };
+    ExecutorService callers = Executors.newFixedThreadPool(2);
+    try {
+      Future<Map<String, String>> first =
+          callers.submit(() -> tokenManager.getHeaders(connectionContext, slowRefresher));
+      assertTrue(refreshStarted.await(10, TimeUnit.SECONDS));
+      Future<Map<String, String>> second =
+          callers.submit(() -> tokenManager.getHeaders(connectionContext, slowRefresher));
+      releaseRefresh.countDown();
+
+      assertEquals(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+      assertEquals(1, fetchCount.get());
+    } finally {
+      callers.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testIdentityKeyDependsOnCredentialsWithoutContainingThem() throws Exception {
+    Properties properties = new Properties();
+    properties.put("OAuth2Secret", "first-secret");
+    List<Object> key =
+        SharedTokenManager.getIdentityKey(
+            DatabricksConnectionContext.parse(URL, properties), "oauth-m2m");
+    assertEquals(
+        key,
+        SharedTokenManager.getIdentityKey(
+            DatabricksConnectionContext.parse(URL, properties), "oauth-m2m"));
+    assertFalse(key.toString().contains("first-secret"));
+
+    properties.put("OAuth2Secret", "second-secret");
+    assertNotEquals(
+        key,
+        SharedTokenManager.getIdentityKey(
+            DatabricksConnectionContext.parse(URL, properties), "oauth-m2m"));
+  }
+
+  @Test
+  public void testIdentityKeyIsPerConnectionWithoutCredentials() throws Exception {
+    for (String authFlow : new String[] {"2", "3"}) {
+      String url = URL.replace("Auth_Flow=1", "Auth_Flow=" + authFlow);
+      IDatabricksConnectionContext context =
+          DatabricksConnectionContext.parse(url, new Properties());
+      assertEquals(
+          SharedTokenManager.getIdentityKey(context, "oauth-u2m"),
+          SharedTokenManager.getIdentityKey(context, "oauth-u2m"));
+      assertNotEquals(
+          SharedTokenManager.getIdentityKey(context, "oauth-u2m"),
+          SharedTokenManager.getIdentityKey(
+              DatabricksConnectionContext.parse(url, new Properties()), "oauth-u2m"),
+          url);
+    }
+  }
+}
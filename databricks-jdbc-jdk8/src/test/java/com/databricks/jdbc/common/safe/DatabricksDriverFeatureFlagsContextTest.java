@@ -6,6 +6,7 @@ import static org.mockito.Mockito.*;
 import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
 import com.databricks.jdbc.common.util.JsonUtil;
 import com.databricks.jdbc.dbclient.IDatabricksHttpClient;
+import com.databricks.jdbc.dbclient.impl.http.DatabricksHttpClientFactory;
 import com.databricks.jdbc.exception.DatabricksHttpException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.ByteArrayInputStream;
@@ -90,6 +91,20 @@ class DatabricksDriverFeatureFlagsContextTest {
     return mapper.readValue(mapper.writeValueAsString(response), FeatureFlagsResponse.class);
   }
 
+  @Test
+  void testPrefetchSkipsServerWhenFlagsAreCached() {
+    Map<String, String> initialFlags = new HashMap<>();
+    initialFlags.put(FEATURE_FLAG_NAME, "true");
+    DatabricksDriverFeatureFlagsContext cachedContext =
+        new DatabricksDriverFeatureFlagsContext(connectionContextMock, initialFlags);
+    try (MockedStatic<DatabricksHttpClientFactory> factoryMocked =
+        mockStatic(DatabricksHttpClientFactory.class)) {
+      cachedContext.prefetch();
+      factoryMocked.verifyNoInteractions();
+    }
+    assertTrue(cachedContext.isFeatureEnabled(FEATURE_FLAG_NAME));
+  }
+
   @Test
   void testFetchAndSetFlagsFromServer_Success() throws Exception {
     try (MockedStatic<JsonUtil> jsonUtilMocked = mockStatic(JsonUtil.class)) {
@@ -0,0 +1,77 @@
+package com.databricks.jdbc.common.util;
+
+import static com.databricks.jdbc.api.impl.DatabricksPreparedStatementTest.getSqlParam;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.databricks.jdbc.api.impl.ImmutableSqlParameter;
+import com.databricks.jdbc.exception.DatabricksValidationException;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class SqlTemplateTest {
+
+  @Test
+  public void testPlaceholdersInLiteralsAndCommentsAreIgnored() {
+    SqlTemplate template =
+        SqlTemplate.parse(
+            "SELECT '?', \"a?\", `b?`, 'it''s ?', 'c\\'?' -- ?\n"
+                + "FROM t /* ? */ WHERE a = ? AND b = ?");
+
+    assertEquals(2, template.getPlaceholderCount());
+  }
+
+  @Test
+  public void testInterpolate() throws DatabricksValidationException {
+    SqlTemplate template = SqlTemplate.parse("SELECT '?' AS q FROM t WHERE a = ? AND b = ?");
+    Map<Integer, ImmutableSqlParameter> params = new HashMap<>();
+    params.put(1, getSqlParam(1, 7, DatabricksTypeUtil.INT));
+    params.put(2, getSqlParam(2, "O'Reilly", DatabricksTypeUtil.STRING));
+
+    assertEquals(
+        "SELECT '?' AS q FROM t WHERE a = 7 AND b = 'O''Reilly'", template.interpolate(params));
+  }
+
+  @Test
+  public void testInterpolateWithoutPlaceholdersReturnsSql() throws DatabricksValidationException {
+    String sql = "SELECT 1";
+    assertSame(sql, SqlTemplate.parse(sql).interpolate(new HashMap<>()));
+  }
+
+  @Test
+  public void testInterpolateParameterCountMismatch() {
+    SqlTemplate template = SqlTemplate.parse("SELECT * FROM t WHERE a = ? AND b = '?'");
+    Map<Integer, ImmutableSqlParameter> params = new HashMap<>();
+    params.put(1, getSqlParam(1, 1, DatabricksTypeUtil.INT));
+    params.put(2, getSqlParam(2, 2, DatabricksTypeUtil.INT));
+
+    assertThrows(DatabricksValidationException.class, () -> template.interpolate(params));
+  }
+
+  @Test
+  public void testQuotePlaceholders() {
+    assertEquals(
+        "SELECT * FROM t WHERE a = '?' AND b = '?' -- ?",
+        SqlTemplate.parse("SELECT * FROM t WHERE a = ? AND b = '?' -- ?").quotePlaceholders());
+  }
+
+  @Test
+  public void testCacheReturnsSameTemplate() {
+    SqlTemplateCache cache = new SqlTemplateCache(2);
+    SqlTemplate first = cache.get("SELECT ?");
+
+    assertSame(first, cache.get("SELECT ?"));
+    cache.get("SELECT ?, ?");
+    cache.get("SELECT 1");
+
+    assertEquals(2, cache.size());
+    assertNotSame(first, cache.get("SELECT ?"));
+  }
+
+  @Test
+  public void testCacheWithZeroSizeDoesNotCache() {
+    SqlTemplateCache cache = new SqlTemplateCache(0);
+    assertNotSame(cache.get("SELECT ?"), cache.get("SELECT ?"));
+    assertEquals(0, cache.size());
+  }
+}
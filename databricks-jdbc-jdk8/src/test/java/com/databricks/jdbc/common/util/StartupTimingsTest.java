@@ -0,0 +1,46 @@
+package com.databricks.jdbc.common.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class StartupTimingsTest {
+
+  @Test
+  public void testPhasesAreRecordedInCompletionOrder() {
+    StartupTimings timings = new StartupTimings();
+    assertTrue(timings.getPhaseDurations().isEmpty());
+
+    long start = System.nanoTime();
+    long next = timings.record(StartupTimings.PARSE_CONNECTION_CONTEXT, start);
+    assertTrue(next >= start);
+    next = timings.record(StartupTimings.CREATE_CLIENT, next);
+    timings.record(StartupTimings.OPEN_SESSION, next);
+
+    Map<String, Duration> durations = timings.getPhaseDurations();
+    assertEquals(
+        Arrays.asList(
+            StartupTimings.PARSE_CONNECTION_CONTEXT,
+            StartupTimings.CREATE_CLIENT,
+            StartupTimings.OPEN_SESSION),
+        new ArrayList<>(durations.keySet()));
+    durations.values().forEach(duration -> assertFalse(duration.isNegative()));
+    assertThrows(UnsupportedOperationException.class, durations::clear);
+  }
+
+  @Test
+  public void testSnapshotIsNotAffectedByLaterPhases() {
+    StartupTimings timings = new StartupTimings();
+    timings.record(StartupTimings.OPEN_SESSION, System.nanoTime());
+    Map<String, Duration> snapshot = timings.getPhaseDurations();
+
+    timings.record(StartupTimings.FETCH_FEATURE_FLAGS, System.nanoTime());
+    assertEquals(1, snapshot.size());
+    assertEquals(2, timings.getPhaseDurations().size());
+    assertTrue(timings.toString().contains(StartupTimings.FETCH_FEATURE_FLAGS));
+  }
+}
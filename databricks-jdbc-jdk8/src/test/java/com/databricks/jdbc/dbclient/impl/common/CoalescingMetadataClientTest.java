@@ -0,0 +1,274 @@
+package com.databricks.jdbc.dbclient.impl.common;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.databricks.jdbc.api.impl.DatabricksConnectionContext;
+import com.databricks.jdbc.api.impl.DatabricksResultSet;
+import com.databricks.jdbc.api.internal.IDatabricksSession;
+import com.databricks.jdbc.common.StatementType;
+import com.databricks.jdbc.dbclient.IDatabricksMetadataClient;
+import com.databricks.jdbc.exception.DatabricksSQLException;
+import com.databricks.jdbc.model.core.StatementStatus;
+import com.databricks.jdbc.model.telemetry.enums.DatabricksDriverErrorCode;
+import com.databricks.sdk.service.sql.StatementState;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class CoalescingMetadataClientTest {
+
+  private static final String JDBC_URL =
+      "jdbc:databricks://sample-host.cloud.databricks.com:9999/default;transportMode=http;ssl=1;AuthMech=3;httpPath=/sql/1.0/warehouses/9999999999999999";
+
+  @Mock private IDatabricksMetadataClient delegate;
+  @Mock private IDatabricksSession session;
+  private CoalescingMetadataClient client;
+
+  @BeforeEach
+  public void setUp() throws SQLException {
+    stubSession(session, "token");
+    client = new CoalescingMetadataClient(delegate);
+  }
+
+  /** Stubs a session of a new connection that authenticates with the given token. */
+  private static void stubSession(IDatabricksSession session, String token) throws SQLException {
+    lenient()
+        .when(session.getConnectionContext())
+        .thenReturn(
+            DatabricksConnectionContext.parse(JDBC_URL + ";PWD=" + token, new Properties()));
+    lenient().when(session.getCatalog()).thenReturn("main");
+    lenient().when(session.getSchema()).thenReturn("default");
+  }
+
+  private static DatabricksResultSet schemasResult(String... schemas) {
+    Object[][] rows = new Object[schemas.length][];
+    for (int i = 0; i < schemas.length; i++) {
+      rows[i] = new Object[] {schemas[i], "main"};
+    }
+    return new DatabricksResultSet(
+        new StatementStatus().setState(StatementState.SUCCEEDED),
+        new StatementId("metadata-statement"),
+        Arrays.asList("TABLE_SCHEM", "TABLE_CATALOG"),
+        Arrays.asList("STRING", "STRING"),
+        new int[] {Types.VARCHAR, Types.VARCHAR},
+        new int[] {128, 128},
+        new int[] {0, 1},
+        rows,
+        StatementType.METADATA);
+  }
+
+  @Test
+  public void testConcurrentIdenticalRequestsShareOneCall() throws Exception {
+    CountDownLatch callStarted = new CountDownLatch(1);
+    CountDownLatch releaseCall = new CountDownLatch(1);
+    when(delegate.listSchemas(session, "main", "%"))
+        .thenAnswer(
+            invocation -> {
+              callStarted.countDown();
+              assertTrue(releaseCall.await(10, TimeUnit.SECONDS));
+              return schemasResult("default", "sales");
+            });
+    ExecutorService callers = Executors.newFixedThreadPool(2);
+    try {
+      Future<DatabricksResultSet> first =
+          callers.submit(() -> client.listSchemas(session, "main", "%"));
+      assertTrue(callStarted.await(10, TimeUnit.SECONDS));
+      Future<DatabricksResultSet> second =
+          callers.submit(() -> client.listSchemas(session, "main", "%"));
+      // Give the second request time to join the first one before it completes
+      Thread.sleep(200);
+      releaseCall.countDown();
+
+      DatabricksResultSet firstResult = first.get(10, TimeUnit.SECONDS);
+      DatabricksResultSet secondResult = second.get(10, TimeUnit.SECONDS);
+      assertNotSame(firstResult, secondResult);
+      verify(delegate, times(1)).listSchemas(session, "main", "%");
+
+      // Each caller has its own cursor over the same rows
+      assertTrue(firstResult.next());
+      assertTrue(firstResult.next());
+      assertEquals("sales", firstResult.getString("TABLE_SCHEM"));
+      assertFalse(firstResult.next());
+      assertTrue(secondResult.next());
+      assertEquals("default", secondResult.getString(1));
+      assertEquals("main", secondResult.getString("TABLE_CATALOG"));
+      assertEquals("metadata-statement", secondResult.getStatementId());
+      assertEquals(0, CoalescingMetadataClient.getInFlightCount());
+    } finally {
+      callers.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testFailureIsPropagatedToWaitingRequests() throws Exception {
+    CountDownLatch callStarted = new CountDownLatch(1);
+    CountDownLatch releaseCall = new CountDownLatch(1);
+    when(delegate.listCatalogs(session))
+        .thenAnswer(
+            invocation -> {
+              callStarted.countDown();
+              assertTrue(releaseCall.await(10, TimeUnit.SECONDS));
+              throw new DatabricksSQLException(
+                  "catalogs unavailable", DatabricksDriverErrorCode.CONNECTION_ERROR);
+            });
+    ExecutorService callers = Executors.newFixedThreadPool(2);
+    try {
+      Future<DatabricksResultSet> first = callers.submit(() -> client.listCatalogs(session));
+      assertTrue(callStarted.await(10, TimeUnit.SECONDS));
+      Future<DatabricksResultSet> second = callers.submit(() -> client.listCatalogs(session));
+      Thread.sleep(200);
+      releaseCall.countDown();
+
+      for (Future<DatabricksResultSet> result : Arrays.asList(first, second)) {
+        ExecutionException exception =
+            assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(DatabricksSQLException.class, exception.getCause());
+        assertEquals("catalogs unavailable", exception.getCause().getMessage());
+      }
+      assertEquals(0, CoalescingMetadataClient.getInFlightCount());
+    } finally {
+      callers.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testCompletedRequestsAreNotCached() throws SQLException {
+    when(delegate.listSchemas(session, "main", "%"))
+        .thenReturn(schemasResult("default"), schemasResult("default", "sales"));
+
+    DatabricksResultSet first = client.listSchemas(session, "main", "%");
+    DatabricksResultSet second = client.listSchemas(session, "main", "%");
+
+    verify(delegate, times(2)).listSchemas(session, "main", "%");
+    assertTrue(first.next());
+    assertFalse(first.next());
+    assertTrue(second.next());
+    assertTrue(second.next());
+  }
+
+  @Test
+  public void testSingleRequestReturnsResultOfWrappedClient() throws SQLException {
+    DatabricksResultSet schemas = schemasResult("default");
+    when(delegate.listSchemas(session, "main", "%")).thenReturn(schemas);
+
+    assertSame(schemas, client.listSchemas(session, "main", "%"));
+    assertEquals(0, CoalescingMetadataClient.getInFlightCount());
+  }
+
+  @Test
+  public void testRequestKeyDependsOnSessionAndArguments() throws SQLException {
+    List<String> tableTypes = Collections.singletonList("TABLE");
+    assertEquals(
+        CoalescingMetadataClient.getRequestKey(session, "listTables", "main", "%", "%", tableTypes),
+        CoalescingMetadataClient.getRequestKey(
+            session, "listTables", "main", "%", "%", Collections.singletonList("TABLE")));
+    assertNotEquals(
+        CoalescingMetadataClient.getRequestKey(session, "listTables", "main", "%", "%", tableTypes),
+        CoalescingMetadataClient.getRequestKey(session, "listTables", "main", "%", "%", null));
+
+    IDatabricksSession otherSession = mock(IDatabricksSession.class);
+    stubSession(otherSession, "token");
+    when(otherSession.getSchema()).thenReturn("sales");
+    assertNotEquals(
+        CoalescingMetadataClient.getRequestKey(session, "listSchemas", "main", "%"),
+        CoalescingMetadataClient.getRequestKey(otherSession, "listSchemas", "main", "%"));
+  }
+
+  @Test
+  public void testRequestKeyDependsOnIdentity() throws SQLException {
+    IDatabricksSession sameIdentity = mock(IDatabricksSession.class);
+    stubSession(sameIdentity, "token");
+    IDatabricksSession otherIdentity = mock(IDatabricksSession.class);
+    stubSession(otherIdentity, "other-token");
+
+    assertEquals(
+        CoalescingMetadataClient.getRequestKey(session, "listCatalogs"),
+        CoalescingMetadataClient.getRequestKey(sameIdentity, "listCatalogs"));
+    assertNotEquals(
+        CoalescingMetadataClient.getRequestKey(session, "listCatalogs"),
+        CoalescingMetadataClient.getRequestKey(otherIdentity, "listCatalogs"));
+  }
+
+  @Test
+  public void testConnectionsOfSameIdentityShareOneCall() throws Exception {
+    IDatabricksMetadataClient otherDelegate = mock(IDatabricksMetadataClient.class);
+    IDatabricksSession otherSession = mock(IDatabricksSession.class);
+    stubSession(otherSession, "token");
+    CoalescingMetadataClient otherClient = new CoalescingMetadataClient(otherDelegate);
+
+    assertEquals(1, countCalls(otherDelegate, otherSession, otherClient));
+  }
+
+  @Test
+  public void testConnectionsOfDifferentIdentitiesDoNotShareCalls() throws Exception {
+    IDatabricksMetadataClient otherDelegate = mock(IDatabricksMetadataClient.class);
+    IDatabricksSession otherSession = mock(IDatabricksSession.class);
+    stubSession(otherSession, "other-token");
+    when(otherDelegate.listSchemas(otherSession, "main", "%"))
+        .thenAnswer(invocation -> schemasResult("default"));
+    CoalescingMetadataClient otherClient = new CoalescingMetadataClient(otherDelegate);
+
+    assertEquals(2, countCalls(otherDelegate, otherSession, otherClient));
+  }
+
+  /**
+   * Requests the schemas on this test's connection and, while that call is in flight, on another
+   * connection, and returns the number of server calls made.
+   */
+  private int countCalls(
+      IDatabricksMetadataClient otherDelegate,
+      IDatabricksSession otherSession,
+      CoalescingMetadataClient otherClient)
+      throws Exception {
+    CountDownLatch callStarted = new CountDownLatch(1);
+    CountDownLatch releaseCall = new CountDownLatch(1);
+    when(delegate.listSchemas(session, "main", "%"))
+        .thenAnswer(
+            invocation -> {
+              callStarted.countDown();
+              assertTrue(releaseCall.await(10, TimeUnit.SECONDS));
+              return schemasResult("default");
+            });
+    ExecutorService callers = Executors.newFixedThreadPool(2);
+    try {
+      Future<DatabricksResultSet> first =
+          callers.submit(() -> client.listSchemas(session, "main", "%"));
+      assertTrue(callStarted.await(10, TimeUnit.SECONDS));
+      Future<DatabricksResultSet> second =
+          callers.submit(() -> otherClient.listSchemas(otherSession, "main", "%"));
+      Thread.sleep(200);
+      releaseCall.countDown();
+
+      assertTrue(first.get(10, TimeUnit.SECONDS).next());
+      assertTrue(second.get(10, TimeUnit.SECONDS).next());
+      assertEquals(0, CoalescingMetadataClient.getInFlightCount());
+      return mockingDetails(delegate).getInvocations().size()
+          + mockingDetails(otherDelegate).getInvocations().size();
+    } finally {
+      callers.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testLocalRequestsAreNotCoalesced() throws SQLException {
+    DatabricksResultSet tableTypes = schemasResult();
+    when(delegate.listTableTypes(session)).thenReturn(tableTypes);
+    assertSame(tableTypes, client.listTableTypes(session));
+  }
+}
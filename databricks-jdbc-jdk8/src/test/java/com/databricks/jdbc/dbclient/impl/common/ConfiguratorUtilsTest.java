@@ -8,6 +8,7 @@ import com.databricks.jdbc.common.DatabricksJdbcConstants;
 import com.databricks.jdbc.exception.DatabricksSSLException;
 import com.databricks.jdbc.log.JdbcLogger;
 import com.databricks.jdbc.log.JdbcLoggerFactory;
+import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
@@ -190,6 +191,28 @@ public class ConfiguratorUtilsTest {
         PlainConnectionSocketFactory.class, registry.lookup(DatabricksJdbcConstants.HTTP));
   }
 
+  @Test
+  void testSocketFactoryRegistryIsCachedUntilTrustStoreChanges() throws Exception {
+    ConfiguratorUtils.clearSocketFactoryRegistryCache();
+    when(mockContext.getSSLTrustStorePassword()).thenReturn(TRUST_STORE_PASSWORD);
+    when(mockContext.getSSLTrustStoreType()).thenReturn(TRUST_STORE_TYPE);
+    when(mockContext.getSSLTrustStore()).thenReturn(DUMMY_TRUST_STORE_PATH);
+
+    Registry<ConnectionSocketFactory> registry =
+        ConfiguratorUtils.createConnectionSocketFactoryRegistry(mockContext);
+    assertSame(registry, ConfiguratorUtils.createConnectionSocketFactoryRegistry(mockContext));
+
+    // A different revocation setting needs its own trust managers
+    when(mockContext.checkCertificateRevocation()).thenReturn(true);
+    assertNotSame(registry, ConfiguratorUtils.createConnectionSocketFactoryRegistry(mockContext));
+    when(mockContext.checkCertificateRevocation()).thenReturn(false);
+    assertSame(registry, ConfiguratorUtils.createConnectionSocketFactoryRegistry(mockContext));
+
+    File trustStoreFile = new File(DUMMY_TRUST_STORE_PATH);
+    assertTrue(trustStoreFile.setLastModified(trustStoreFile.lastModified() + 2000));
+    assertNotSame(registry, ConfiguratorUtils.createConnectionSocketFactoryRegistry(mockContext));
+  }
+
   @Test
   void testGetTrustAnchorsFromTrustStore() throws DatabricksSSLException {
     when(mockContext.getSSLTrustStorePassword()).thenReturn(TRUST_STORE_PASSWORD);
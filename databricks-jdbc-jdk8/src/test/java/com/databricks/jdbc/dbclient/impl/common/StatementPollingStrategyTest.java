@@ -0,0 +1,77 @@
+package com.databricks.jdbc.dbclient.impl.common;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
+import org.junit.jupiter.api.Test;
+
+class StatementPollingStrategyTest {
+
+  @Test
+  void testFastPollsUseInitialInterval() {
+    StatementPollingStrategy strategy = new StatementPollingStrategy(100, 2000);
+    for (int i = 0; i < StatementPollingStrategy.FAST_POLL_COUNT; i++) {
+      assertEquals(100, strategy.getBaseDelayMillis(i));
+    }
+  }
+
+  @Test
+  void testBackoffGrowsUpToMaxInterval() {
+    StatementPollingStrategy strategy = new StatementPollingStrategy(100, 1000);
+    long previous = strategy.getBaseDelayMillis(StatementPollingStrategy.FAST_POLL_COUNT - 1);
+    for (int i = StatementPollingStrategy.FAST_POLL_COUNT; i < 20; i++) {
+      long current = strategy.getBaseDelayMillis(i);
+      assertTrue(current >= previous);
+      assertTrue(current <= 1000);
+      previous = current;
+    }
+    assertEquals(1000, previous);
+  }
+
+  @Test
+  void testJitteredDelayStaysWithinBounds() {
+    StatementPollingStrategy strategy = new StatementPollingStrategy(100, 1000);
+    for (int i = 0; i < 50; i++) {
+      long base = strategy.getBaseDelayMillis(i);
+      long delay = strategy.nextDelayMillis();
+      assertTrue(delay >= Math.round(base * (1 - StatementPollingStrategy.JITTER_FACTOR)));
+      assertTrue(delay <= 1000);
+    }
+    assertEquals(50, strategy.getPollCount());
+  }
+
+  @Test
+  void testFastPollsAreNotJittered() {
+    StatementPollingStrategy strategy = new StatementPollingStrategy(1000, 5000);
+    for (int i = 0; i < StatementPollingStrategy.FAST_POLL_COUNT; i++) {
+      assertEquals(1000, strategy.nextDelayMillis());
+    }
+  }
+
+  @Test
+  void testZeroIntervalNeverSleeps() throws InterruptedException {
+    StatementPollingStrategy strategy = new StatementPollingStrategy(0, 0);
+    for (int i = 0; i < 10; i++) {
+      assertEquals(0, strategy.nextDelayMillis());
+    }
+    strategy.sleepBeforeNextPoll();
+    assertEquals(11, strategy.getPollCount());
+  }
+
+  @Test
+  void testMaxIntervalBelowInitialIsClamped() {
+    StatementPollingStrategy strategy = new StatementPollingStrategy(500, 100);
+    assertEquals(500, strategy.getBaseDelayMillis(10));
+  }
+
+  @Test
+  void testForConnectionUsesConfiguredBounds() {
+    IDatabricksConnectionContext connectionContext = mock(IDatabricksConnectionContext.class);
+    when(connectionContext.getAsyncExecPollInterval()).thenReturn(50);
+    when(connectionContext.getAsyncExecMaxPollInterval()).thenReturn(400);
+    StatementPollingStrategy strategy = StatementPollingStrategy.forConnection(connectionContext);
+    assertEquals(50, strategy.getBaseDelayMillis(0));
+    assertEquals(400, strategy.getBaseDelayMillis(30));
+  }
+}
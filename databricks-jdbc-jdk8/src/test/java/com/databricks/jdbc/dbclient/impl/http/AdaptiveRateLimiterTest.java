@@ -0,0 +1,137 @@
+package com.databricks.jdbc.dbclient.impl.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.databricks.jdbc.api.impl.DatabricksConnectionContext;
+import com.databricks.jdbc.common.HttpClientType;
+import com.databricks.jdbc.exception.DatabricksHttpException;
+import com.sun.net.httpserver.HttpServer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.http.client.methods.HttpGet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveRateLimiterTest {
+
+  private final AtomicLong nanoTime = new AtomicLong();
+  private AdaptiveRateLimiter rateLimiter;
+
+  @BeforeEach
+  public void setUp() {
+    rateLimiter = new AdaptiveRateLimiter("test-host", nanoTime::get);
+  }
+
+  private void advanceMillis(long millis) {
+    nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+  }
+
+  @Test
+  public void testRequestsAreNotDelayedUntilThrottled() {
+    for (int i = 0; i < 100; i++) {
+      assertEquals(0, rateLimiter.reserve());
+    }
+    assertEquals(Double.POSITIVE_INFINITY, rateLimiter.getCurrentRate());
+    assertEquals(100, rateLimiter.getAdmittedRequestCount());
+    assertEquals(0, rateLimiter.getDelayedRequestCount());
+  }
+
+  @Test
+  public void testThrottlingHalvesObservedRateAndSpacesRequests() {
+    for (int i = 0; i < 10; i++) {
+      rateLimiter.reserve();
+    }
+    rateLimiter.onThrottled(-1);
+    assertEquals(5.0, rateLimiter.getCurrentRate());
+
+    assertEquals(0, rateLimiter.reserve());
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(200), rateLimiter.reserve());
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(400), rateLimiter.reserve());
+    assertEquals(11, rateLimiter.getAdmittedRequestCount());
+    assertEquals(2, rateLimiter.getDelayedRequestCount());
+    assertEquals(600, rateLimiter.getTotalDelayMillis());
+    assertEquals(1, rateLimiter.getThrottledResponseCount());
+  }
+
+  @Test
+  public void testThrottlingResponsesOfSameBurstDecreaseRateOnce() {
+    for (int i = 0; i < 40; i++) {
+      rateLimiter.reserve();
+    }
+    rateLimiter.onThrottled(-1);
+    rateLimiter.onThrottled(-1);
+    assertEquals(20.0, rateLimiter.getCurrentRate());
+
+    advanceMillis(1000);
+    rateLimiter.onThrottled(-1);
+    // The rate had grown by the additive increase before it was halved again
+    assertEquals(
+        (20.0 + AdaptiveRateLimiter.INCREASE_PER_SECOND) * AdaptiveRateLimiter.DECREASE_FACTOR,
+        rateLimiter.getCurrentRate());
+    assertEquals(3, rateLimiter.getThrottledResponseCount());
+  }
+
+  @Test
+  public void testRetryAfterHoldsBackAllRequests() {
+    rateLimiter.onThrottled(3);
+    assertEquals(TimeUnit.SECONDS.toNanos(3), rateLimiter.reserve());
+
+    advanceMillis(5000);
+    rateLimiter.onThrottled(600);
+    assertEquals(AdaptiveRateLimiter.MAX_PAUSE_NANOS, rateLimiter.reserve());
+  }
+
+  @Test
+  public void testLimitIsLiftedOnceRateRecovers() {
+    for (int i = 0; i < 10; i++) {
+      rateLimiter.reserve();
+    }
+    rateLimiter.onThrottled(-1);
+    advanceMillis(1000);
+    assertEquals(5.0 + AdaptiveRateLimiter.INCREASE_PER_SECOND, rateLimiter.getCurrentRate());
+
+    advanceMillis(2000);
+    assertEquals(0, rateLimiter.reserve());
+    assertEquals(0, rateLimiter.reserve());
+    assertEquals(Double.POSITIVE_INFINITY, rateLimiter.getCurrentRate());
+  }
+
+  @Test
+  public void testThrottlingResponseIsReportedBeforeRetryHandler() throws Exception {
+    HttpServer server =
+        HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext(
+        "/",
+        exchange -> {
+          exchange.getResponseHeaders().add("Retry-After", "1");
+          exchange.sendResponseHeaders(429, -1);
+          exchange.close();
+        });
+    server.start();
+    String host = server.getAddress().getHostString();
+    AdaptiveRateLimiter hostLimiter = AdaptiveRateLimiter.forHost(host);
+    long throttledBefore = hostLimiter.getThrottledResponseCount();
+    String url =
+        "jdbc:databricks://"
+            + host
+            + ":443/default;transportMode=http;ssl=1;AuthMech=3;httpPath=/sql/1.0/warehouses/9999999999999999;RateLimitRetryTimeout=0";
+    try (DatabricksHttpClient httpClient =
+        new DatabricksHttpClient(
+            DatabricksConnectionContext.parse(url, new Properties()), HttpClientType.COMMON)) {
+      DatabricksHttpException exception =
+          assertThrows(
+              DatabricksHttpException.class,
+              () ->
+                  httpClient.execute(
+                      new HttpGet("http://" + host + ":" + server.getAddress().getPort() + "/")));
+      // The retry handler still turns the response into a retry failure, after the limiter saw it
+      assertTrue(exception.getMessage().contains("429"));
+      assertEquals(throttledBefore + 1, hostLimiter.getThrottledResponseCount());
+    } finally {
+      server.stop(0);
+    }
+  }
+}
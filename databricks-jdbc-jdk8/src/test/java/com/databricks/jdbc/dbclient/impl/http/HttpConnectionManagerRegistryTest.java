@@ -0,0 +1,73 @@
+package com.databricks.jdbc.dbclient.impl.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.databricks.jdbc.api.impl.DatabricksConnectionContext;
+import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
+import com.databricks.jdbc.exception.DatabricksSQLException;
+import java.util.Properties;
+import org.junit.jupiter.api.Test;
+
+public class HttpConnectionManagerRegistryTest {
+
+  private static final String URL_TEMPLATE =
+      "jdbc:databricks://%s:443/default;transportMode=http;ssl=1;AuthMech=3;httpPath=/sql/1.0/warehouses/9999999999999999;%s";
+
+  private static IDatabricksConnectionContext createContext(String host, String extraParams)
+      throws DatabricksSQLException {
+    return DatabricksConnectionContext.parse(
+        String.format(URL_TEMPLATE, host, extraParams), new Properties());
+  }
+
+  @Test
+  public void testConnectionsToSameWorkspaceShareConnectionManager() throws Exception {
+    IDatabricksConnectionContext first = createContext("registry-share.databricks.com", "");
+    IDatabricksConnectionContext second = createContext("registry-share.databricks.com", "");
+    assertNotEquals(first.getConnectionUuid(), second.getConnectionUuid());
+
+    HttpConnectionManagerRegistry.Lease firstLease =
+        HttpConnectionManagerRegistry.acquire(first, 100);
+    HttpConnectionManagerRegistry.Lease secondLease =
+        HttpConnectionManagerRegistry.acquire(second, 100);
+    assertSame(firstLease.getConnectionManager(), secondLease.getConnectionManager());
+    assertEquals(100, firstLease.getConnectionManager().getMaxTotal());
+
+    // Releasing one lease keeps the pool open for the other connection
+    firstLease.close();
+    firstLease.close();
+    HttpConnectionManagerRegistry.Lease thirdLease =
+        HttpConnectionManagerRegistry.acquire(first, 100);
+    assertSame(secondLease.getConnectionManager(), thirdLease.getConnectionManager());
+
+    secondLease.close();
+    thirdLease.close();
+    HttpConnectionManagerRegistry.Lease newLease =
+        HttpConnectionManagerRegistry.acquire(first, 100);
+    assertNotSame(secondLease.getConnectionManager(), newLease.getConnectionManager());
+    newLease.close();
+  }
+
+  @Test
+  public void testDifferentTransportSettingsUseSeparateConnectionManagers() throws Exception {
+    IDatabricksConnectionContext context = createContext("registry-split.databricks.com", "");
+    IDatabricksConnectionContext otherHost = createContext("registry-other.databricks.com", "");
+    IDatabricksConnectionContext proxied =
+        createContext("registry-split.databricks.com", "UseProxy=1;ProxyHost=proxy;ProxyPort=8080");
+    int initialCount = HttpConnectionManagerRegistry.getSharedManagerCount();
+
+    try (HttpConnectionManagerRegistry.Lease lease =
+            HttpConnectionManagerRegistry.acquire(context, 100);
+        HttpConnectionManagerRegistry.Lease otherHostLease =
+            HttpConnectionManagerRegistry.acquire(otherHost, 100);
+        HttpConnectionManagerRegistry.Lease proxiedLease =
+            HttpConnectionManagerRegistry.acquire(proxied, 100);
+        HttpConnectionManagerRegistry.Lease largerLease =
+            HttpConnectionManagerRegistry.acquire(context, 1000)) {
+      assertNotSame(lease.getConnectionManager(), otherHostLease.getConnectionManager());
+      assertNotSame(lease.getConnectionManager(), proxiedLease.getConnectionManager());
+      assertNotSame(lease.getConnectionManager(), largerLease.getConnectionManager());
+      assertEquals(initialCount + 4, HttpConnectionManagerRegistry.getSharedManagerCount());
+    }
+    assertEquals(initialCount, HttpConnectionManagerRegistry.getSharedManagerCount());
+  }
+}
@@ -12,6 +12,8 @@ import com.databricks.jdbc.exception.DatabricksHttpException;
 import com.databricks.sdk.core.DatabricksConfig;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
 import org.apache.http.HttpEntity;
 import org.apache.http.StatusLine;
 import org.apache.http.client.methods.CloseableHttpResponse;
@@ -139,4 +141,76 @@ public class DatabricksHttpTTransportTest {
         DatabricksJdbcConstants.ACCESS_TOKEN_AUTH_TYPE, transport.databricksConfig.getAuthType());
     assertNotNull(transport.databricksConfig.getHttpClient());
   }
+
+  @Test
+  public void flush_CachesAuthHeadersAcrossRequests()
+      throws DatabricksHttpException, IOException, TTransportException {
+    DatabricksHttpTTransport transport =
+        new DatabricksHttpTTransport(
+            mockedHttpClient, testUrl, mockDatabricksConfig, mockConnectionContext);
+    when(mockDatabricksConfig.authenticate())
+        .thenReturn(Collections.singletonMap("Authorization", "Bearer token"));
+    when(mockResponse.getStatusLine()).thenReturn(mockStatusLine);
+    when(mockStatusLine.getStatusCode()).thenReturn(200);
+    when(mockedHttpClient.execute(any(HttpPost.class))).thenReturn(mockResponse);
+
+    byte[] testData = TEST_STRING.getBytes();
+    for (int i = 0; i < 3; i++) {
+      transport.write(testData, 0, testData.length);
+      transport.flush();
+    }
+
+    verify(mockDatabricksConfig, times(1)).authenticate();
+    ArgumentCaptor<HttpPost> requestCaptor = ArgumentCaptor.forClass(HttpPost.class);
+    verify(mockedHttpClient, times(3)).execute(requestCaptor.capture());
+    requestCaptor
+        .getAllValues()
+        .forEach(
+            request ->
+                assertEquals("Bearer token", request.getFirstHeader("Authorization").getValue()));
+  }
+
+  @Test
+  public void flush_RefreshesAuthHeadersAndRetriesOnUnauthorized()
+      throws DatabricksHttpException, IOException, TTransportException {
+    DatabricksHttpTTransport transport =
+        new DatabricksHttpTTransport(
+            mockedHttpClient, testUrl, mockDatabricksConfig, mockConnectionContext);
+    when(mockDatabricksConfig.authenticate())
+        .thenReturn(Collections.singletonMap("Authorization", "Bearer stale"))
+        .thenReturn(Collections.singletonMap("Authorization", "Bearer fresh"));
+    when(mockResponse.getStatusLine()).thenReturn(mockStatusLine);
+    when(mockStatusLine.getStatusCode()).thenReturn(401, 200);
+    when(mockedHttpClient.execute(any(HttpPost.class))).thenReturn(mockResponse);
+
+    byte[] testData = TEST_STRING.getBytes();
+    transport.write(testData, 0, testData.length);
+    transport.flush();
+
+    verify(mockDatabricksConfig, times(2)).authenticate();
+    // The rejected response is closed before the retry, the second one after it is read
+    verify(mockResponse, times(2)).close();
+    ArgumentCaptor<HttpPost> requestCaptor = ArgumentCaptor.forClass(HttpPost.class);
+    verify(mockedHttpClient, times(2)).execute(requestCaptor.capture());
+    assertEquals(
+        "Bearer fresh",
+        requestCaptor.getAllValues().get(1).getFirstHeader("Authorization").getValue());
+    Map<String, String> cachedHeaders = transport.getAuthHeaders();
+    assertEquals("Bearer fresh", cachedHeaders.get("Authorization"));
+  }
+
+  @Test
+  public void resetAccessToken_InvalidatesCachedAuthHeaders() {
+    DatabricksHttpTTransport transport =
+        new DatabricksHttpTTransport(
+            mockedHttpClient, testUrl, mockDatabricksConfig, mockConnectionContext);
+    when(mockDatabricksConfig.authenticate())
+        .thenReturn(Collections.singletonMap("Authorization", "Bearer old"));
+    when(mockDatabricksConfig.getHost()).thenReturn(testUrl);
+    assertEquals("Bearer old", transport.getAuthHeaders().get("Authorization"));
+
+    transport.resetAccessToken(NEW_ACCESS_TOKEN);
+
+    assertEquals("Bearer " + NEW_ACCESS_TOKEN, transport.getAuthHeaders().get("Authorization"));
+  }
 }
@@ -1,24 +1,31 @@
 package com.databricks.jdbc.dbclient.impl.thrift;
 
+import static com.databricks.jdbc.TestConstants.WAREHOUSE_JDBC_URL;
 import static com.databricks.jdbc.common.EnvironmentVariables.DEFAULT_BYTE_LIMIT;
 import static com.databricks.jdbc.common.EnvironmentVariables.DEFAULT_ROW_LIMIT_PER_BLOCK;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.databricks.jdbc.api.impl.DatabricksConnectionContext;
 import com.databricks.jdbc.api.impl.DatabricksResultSet;
 import com.databricks.jdbc.api.internal.IDatabricksConnectionContext;
 import com.databricks.jdbc.api.internal.IDatabricksSession;
 import com.databricks.jdbc.api.internal.IDatabricksStatementInternal;
+import com.databricks.jdbc.common.DatabricksClientConfiguratorManager;
 import com.databricks.jdbc.common.StatementType;
+import com.databricks.jdbc.common.TelemetryAuthHelper;
+import com.databricks.jdbc.dbclient.impl.common.ClientConfigurator;
 import com.databricks.jdbc.dbclient.impl.common.StatementId;
 import com.databricks.jdbc.exception.DatabricksHttpException;
 import com.databricks.jdbc.exception.DatabricksSQLException;
 import com.databricks.jdbc.exception.DatabricksTimeoutException;
 import com.databricks.jdbc.model.client.thrift.generated.*;
+import com.databricks.sdk.core.DatabricksConfig;
 import com.databricks.sdk.service.sql.StatementState;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Properties;
 import org.apache.thrift.TException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -840,4 +847,34 @@ public class DatabricksThriftAccessorTest {
     }
     return request;
   }
+
+  @Test
+  void testClientsCreatedAfterTokenResetUseNewToken() throws Exception {
+    Properties properties = new Properties();
+    properties.put("password", "old-token");
+    IDatabricksConnectionContext context =
+        DatabricksConnectionContext.parse(WAREHOUSE_JDBC_URL, properties);
+    ClientConfigurator clientConfigurator = mock(ClientConfigurator.class);
+    DatabricksConfig databricksConfig = mock(DatabricksConfig.class);
+    when(clientConfigurator.getDatabricksConfig()).thenReturn(databricksConfig);
+    when(databricksConfig.getHost()).thenReturn("https://sample-host.18.azuredatabricks.net");
+    TelemetryAuthHelper.setupAuthMocks(context, clientConfigurator);
+    try {
+      accessor = new DatabricksThriftAccessor(context);
+
+      // No client exists yet, so the pool creates one after the reset
+      accessor.resetAccessToken("new-token");
+
+      String token =
+          accessor
+              .getClientPool()
+              .execute(
+                  client ->
+                      ((DatabricksHttpTTransport) client.getInputProtocol().getTransport())
+                          .databricksConfig.getToken());
+      assertEquals("new-token", token);
+    } finally {
+      DatabricksClientConfiguratorManager.getInstance().removeInstance(context);
+    }
+  }
 }
@@ -30,7 +30,6 @@ import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.stream.Stream;
-import org.apache.thrift.protocol.TProtocol;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -38,7 +37,6 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
-import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -789,15 +787,8 @@ public class DatabricksThriftServiceClientTest {
   void testResetAccessToken() {
     DatabricksThriftServiceClient client =
         new DatabricksThriftServiceClient(thriftAccessor, connectionContext);
-    DatabricksHttpTTransport mockDatabricksHttpTTransport =
-        Mockito.mock(DatabricksHttpTTransport.class);
-    TCLIService.Client mockTCLIServiceClient = Mockito.mock(TCLIService.Client.class);
-    TProtocol mockProtocol = Mockito.mock(TProtocol.class);
-    when(thriftAccessor.getThriftClient()).thenReturn(mockTCLIServiceClient);
-    when(mockTCLIServiceClient.getInputProtocol()).thenReturn(mockProtocol);
-    when(mockProtocol.getTransport()).thenReturn(mockDatabricksHttpTTransport);
     client.resetAccessToken(NEW_ACCESS_TOKEN);
-    verify(mockDatabricksHttpTTransport).resetAccessToken(NEW_ACCESS_TOKEN);
+    verify(thriftAccessor).resetAccessToken(NEW_ACCESS_TOKEN);
   }
 
   @Test
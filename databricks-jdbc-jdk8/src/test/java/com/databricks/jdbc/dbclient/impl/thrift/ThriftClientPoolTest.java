@@ -0,0 +1,108 @@
+package com.databricks.jdbc.dbclient.impl.thrift;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import com.databricks.jdbc.model.client.thrift.generated.TCLIService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.thrift.TException;
+import org.junit.jupiter.api.Test;
+
+public class ThriftClientPoolTest {
+
+  @Test
+  void testClientIsReusedAcrossSequentialCalls() throws TException {
+    AtomicInteger created = new AtomicInteger();
+    ThriftClientPool pool =
+        new ThriftClientPool(
+            () -> {
+              created.incrementAndGet();
+              return mock(TCLIService.Client.class);
+            },
+            4);
+
+    TCLIService.Client first = pool.execute(client -> client);
+    TCLIService.Client second = pool.execute(client -> client);
+
+    assertSame(first, second);
+    assertEquals(1, created.get());
+    assertEquals(0, pool.getInUseCount());
+    assertEquals(1, pool.getIdleCount());
+    assertEquals(1, pool.getPeakInUseCount());
+  }
+
+  @Test
+  void testFailedClientIsDiscarded() throws TException {
+    ThriftClientPool pool = new ThriftClientPool(() -> mock(TCLIService.Client.class), 2);
+    TCLIService.Client failed = pool.execute(client -> client);
+
+    assertThrows(
+        TException.class,
+        () ->
+            pool.execute(
+                client -> {
+                  throw new TException("broken transport");
+                }));
+
+    assertEquals(0, pool.getIdleCount());
+    assertEquals(0, pool.getInUseCount());
+    assertNotSame(failed, pool.execute(client -> client));
+    assertEquals(2, pool.getCreatedCount());
+  }
+
+  @Test
+  void testPoolIsBoundedUnderConcurrency() throws Exception {
+    int maxSize = 2;
+    ThriftClientPool pool = new ThriftClientPool(() -> mock(TCLIService.Client.class), maxSize);
+    ExecutorService executor = Executors.newFixedThreadPool(6);
+    CountDownLatch release = new CountDownLatch(1);
+    List<Future<Integer>> futures = new ArrayList<>();
+    try {
+      for (int i = 0; i < 6; i++) {
+        futures.add(
+            executor.submit(
+                () ->
+                    pool.execute(
+                        client -> {
+                          try {
+                            release.await(5, TimeUnit.SECONDS);
+                          } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                          }
+                          return pool.getInUseCount();
+                        })));
+      }
+      Thread.sleep(100);
+      assertEquals(maxSize, pool.getInUseCount());
+      release.countDown();
+      for (Future<Integer> future : futures) {
+        assertTrue(future.get(5, TimeUnit.SECONDS) <= maxSize);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(maxSize, pool.getCreatedCount());
+    assertEquals(maxSize, pool.getPeakInUseCount());
+    assertEquals(maxSize, pool.getIdleCount());
+    assertTrue(pool.getWaitCount() > 0);
+  }
+
+  @Test
+  void testForEachClientVisitsAllCreatedClients() throws TException {
+    ThriftClientPool pool = new ThriftClientPool(() -> mock(TCLIService.Client.class), 2);
+    pool.execute(client -> pool.execute(inner -> inner));
+
+    List<TCLIService.Client> visited = new ArrayList<>();
+    pool.forEachClient(visited::add);
+
+    assertEquals(2, visited.size());
+  }
+}
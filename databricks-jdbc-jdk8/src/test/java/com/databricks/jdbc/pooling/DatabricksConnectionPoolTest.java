@@ -0,0 +1,165 @@
+package com.databricks.jdbc.pooling;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+import com.databricks.jdbc.api.internal.IDatabricksConnectionInternal;
+import com.databricks.jdbc.exception.DatabricksSQLException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class DatabricksConnectionPoolTest {
+
+  private final List<IDatabricksConnectionInternal> openedConnections = new ArrayList<>();
+
+  private IDatabricksConnectionInternal openConnection() {
+    IDatabricksConnectionInternal connection = mock(IDatabricksConnectionInternal.class);
+    openedConnections.add(connection);
+    return connection;
+  }
+
+  private DatabricksConnectionPool createPool(
+      int maxPoolSize, int minIdle, long idleTimeoutMillis, long maxLifetimeMillis) {
+    return new DatabricksConnectionPool(
+        this::openConnection,
+        maxPoolSize,
+        minIdle,
+        100,
+        idleTimeoutMillis,
+        maxLifetimeMillis,
+        null);
+  }
+
+  @Test
+  public void testReturnedConnectionIsReusedAndReset() throws SQLException {
+    DatabricksConnectionPool pool = createPool(2, 0, 0, 0);
+
+    Connection first = pool.getConnection();
+    assertEquals(1, pool.getActiveConnections());
+    assertEquals(0, pool.getIdleConnections());
+    first.close();
+    assertEquals(0, pool.getActiveConnections());
+    assertEquals(1, pool.getIdleConnections());
+
+    Connection second = pool.getConnection();
+    assertEquals(1, openedConnections.size());
+    IDatabricksConnectionInternal physical = openedConnections.get(0);
+    verify(physical).markSessionStateBaseline();
+    verify(physical).resetSessionState();
+    verify(physical, never()).close();
+    second.close();
+
+    assertEquals(2, pool.getBorrowCount());
+    assertTrue(pool.getMaxWaitMillis() >= 0);
+    pool.close();
+    verify(physical).close();
+    assertThrows(DatabricksSQLException.class, pool::getConnection);
+  }
+
+  @Test
+  public void testBorrowTimesOutWhenPoolIsExhausted() throws SQLException {
+    DatabricksConnectionPool pool = createPool(1, 0, 0, 0);
+
+    Connection connection = pool.getConnection();
+    DatabricksSQLException exception =
+        assertThrows(DatabricksSQLException.class, pool::getConnection);
+    assertTrue(exception.getMessage().contains("Timed out"));
+
+    connection.close();
+    pool.getConnection().close();
+    assertEquals(1, openedConnections.size());
+  }
+
+  @Test
+  public void testConnectionThatCannotBeResetIsClosed() throws SQLException {
+    DatabricksConnectionPool pool = createPool(1, 0, 0, 0);
+
+    Connection connection = pool.getConnection();
+    doThrow(new SQLException("reset failed")).when(openedConnections.get(0)).resetSessionState();
+    connection.close();
+
+    verify(openedConnections.get(0)).close();
+    assertEquals(0, pool.getTotalConnections());
+    pool.getConnection().close();
+    assertEquals(2, openedConnections.size());
+  }
+
+  @Test
+  public void testInvalidIdleConnectionIsReplaced() throws Exception {
+    DatabricksConnectionPool pool = createPool(1, 0, 0, 0);
+    pool.getConnection().close();
+    IDatabricksConnectionInternal stale = openedConnections.get(0);
+    when(stale.isValid(anyInt())).thenReturn(false);
+
+    Thread.sleep(DatabricksConnectionPool.VALIDATION_BYPASS_NANOS / 1_000_000 + 50);
+    pool.getConnection().close();
+
+    verify(stale).close();
+    assertEquals(2, openedConnections.size());
+  }
+
+  @Test
+  public void testExpiredConnectionIsClosedOnReturn() throws Exception {
+    DatabricksConnectionPool pool = createPool(1, 0, 0, 10);
+
+    Connection connection = pool.getConnection();
+    Thread.sleep(20);
+    connection.close();
+
+    verify(openedConnections.get(0)).close();
+    assertEquals(0, pool.getIdleConnections());
+  }
+
+  @Test
+  public void testEvictAndFill() throws Exception {
+    DatabricksConnectionPool pool = createPool(3, 1, 10, 0);
+
+    pool.evictAndFill();
+    assertEquals(1, pool.getIdleConnections());
+
+    Connection first = pool.getConnection();
+    Connection second = pool.getConnection();
+    first.close();
+    second.close();
+    assertEquals(2, pool.getIdleConnections());
+
+    Thread.sleep(20);
+    pool.evictAndFill();
+    assertEquals(1, pool.getIdleConnections());
+    assertEquals(1, pool.getTotalConnections());
+    assertEquals(2, openedConnections.size());
+  }
+
+  @Test
+  public void testFillDoesNotExceedMaxPoolSize() throws Exception {
+    DatabricksConnectionPool pool = createPool(10, 5, 0, 0);
+    List<Connection> borrowed = new ArrayList<>();
+    for (int i = 0; i < 9; i++) {
+      borrowed.add(pool.getConnection());
+    }
+
+    pool.evictAndFill();
+    assertEquals(1, pool.getIdleConnections());
+    assertEquals(10, pool.getTotalConnections());
+
+    // The idle connection is borrowed, leaving no room for another one
+    borrowed.add(pool.getConnection());
+    pool.evictAndFill();
+    assertEquals(0, pool.getIdleConnections());
+    assertEquals(10, pool.getTotalConnections());
+    assertEquals(10, openedConnections.size());
+
+    for (Connection connection : borrowed) {
+      connection.close();
+    }
+    assertEquals(10, pool.getIdleConnections());
+    assertEquals(10, pool.getTotalConnections());
+  }
+}
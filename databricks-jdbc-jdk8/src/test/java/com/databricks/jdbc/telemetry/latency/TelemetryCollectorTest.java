@@ -117,4 +117,14 @@ public class TelemetryCollectorTest {
     assertSame(existing, result);
     assertEquals(statementId, result.getStatementId());
   }
+
+  @Test
+  void testStatusPollCountIsTrackedPerStatement() {
+    String statementId = TEST_STATEMENT_ID + "-polls";
+    assertEquals(0, handler.getStatusPollCount(statementId));
+    handler.recordGetOperationStatus(statementId, 10L);
+    handler.recordGetOperationStatus(statementId, 20L);
+    assertEquals(2, handler.getStatusPollCount(statementId));
+    assertEquals(0, handler.getStatusPollCount(null));
+  }
 }